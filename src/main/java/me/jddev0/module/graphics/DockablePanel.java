@@ -0,0 +1,93 @@
+package me.jddev0.module.graphics;
+
+import java.awt.*;
+import java.awt.event.ActionListener;
+
+import javax.swing.*;
+
+/**
+ * Graphics-Module<br>
+ * Panel which can be shown docked next to the tabs of the {@link LangShellWindow} or in a separate window<br>
+ * Subclasses should only do background work while the panel is active
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public abstract class DockablePanel extends JPanel {
+    private static final long serialVersionUID = 6203318894046719578L;
+
+    private final String title;
+    private final JLabel statusLabel;
+    private final JPanel buttons;
+    private final JButton dockButton;
+
+    private volatile boolean flagActive = false;
+
+    /**
+     * @param dockAction Called on the event dispatch thread if the "Dock"/"Undock" button is pressed
+     */
+    protected DockablePanel(String title, Runnable dockAction) {
+        super(new BorderLayout(0, 5));
+
+        this.title = title;
+
+        setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+        JPanel header = new JPanel(new BorderLayout(5, 0));
+        statusLabel = new JLabel(title);
+        header.add(statusLabel, BorderLayout.CENTER);
+
+        buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        dockButton = new JButton("Undock");
+        dockButton.setFocusable(false);
+        dockButton.addActionListener(e -> dockAction.run());
+        buttons.add(dockButton);
+        header.add(buttons, BorderLayout.EAST);
+        add(header, BorderLayout.NORTH);
+    }
+
+    /**
+     * Adds a button left of the "Dock"/"Undock" button
+     */
+    protected void addButton(String text, ActionListener actionListener) {
+        JButton button = new JButton(text);
+        button.setFocusable(false);
+        button.addActionListener(actionListener);
+        buttons.add(button, buttons.getComponentCount() - 1);
+    }
+
+    /**
+     * Must be called on the event dispatch thread
+     */
+    protected void setStatus(String status) {
+        statusLabel.setText(status);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * The panel is active while it is shown (Docked or undocked)
+     */
+    public void setActive(boolean active) {
+        flagActive = active;
+
+        onActiveChanged(active);
+    }
+
+    public boolean isActive() {
+        return flagActive;
+    }
+
+    protected void onActiveChanged(boolean active) {}
+
+    public void setDocked(boolean docked) {
+        dockButton.setText(docked?"Undock":"Dock");
+    }
+
+    /**
+     * Stops all background work of this panel
+     */
+    public abstract void close();
+}
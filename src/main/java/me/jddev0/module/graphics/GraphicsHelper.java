@@ -1,11 +1,17 @@
 package me.jddev0.module.graphics;
 
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.JTextPane;
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
 import javax.swing.text.Document;
+import javax.swing.text.Element;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyleContext;
 
@@ -17,8 +23,21 @@ import javax.swing.text.StyleContext;
  * @version v0.1.1 beta 1 fix 1
  */
 public final class GraphicsHelper {
+    //Every color has exactly one attribute set
+    private static final Map<Color, AttributeSet> ATTRIBUTE_SETS = new ConcurrentHashMap<>();
+
     private GraphicsHelper() {}
 
+    /**
+     * @return The cached attribute set with the foreground color c
+     */
+    public static AttributeSet getAttributeSet(Color c) {
+        return ATTRIBUTE_SETS.computeIfAbsent(c, color -> {
+            StyleContext sc = StyleContext.getDefaultStyleContext();
+            return sc.addAttribute(sc.getEmptySet(), StyleConstants.Foreground, color);
+        });
+    }
+
     /**
      * Adds text with color to a JTextPane
      *
@@ -27,11 +46,140 @@ public final class GraphicsHelper {
      * @param c The color of the String
      */
     public static void addText(JTextPane pane, String str, Color c) {
-        StyleContext sc = StyleContext.getDefaultStyleContext();
-        AttributeSet as = sc.addAttribute(sc.getEmptySet(), StyleConstants.Foreground, c);
         try {
             Document doc = pane.getDocument();
-            doc.insertString(doc.getLength(), str, as);
+            doc.insertString(doc.getLength(), str, getAttributeSet(c));
         }catch(BadLocationException ignore) {}
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds all runs to a JTextPane, if the document of the pane is a {@link BatchStyledDocument} all runs are added in a single document update
+     *
+     * @param pane The JTextPane to add the runs to
+     * @param runs The texts with their colors
+     */
+    public static void addTexts(JTextPane pane, TextRuns runs) {
+        if(runs.isEmpty())
+            return;
+
+        Document doc = pane.getDocument();
+        if(doc instanceof BatchStyledDocument) {
+            ((BatchStyledDocument)doc).appendRuns(runs);
+
+            return;
+        }
+
+        for(int i = 0;i < runs.size();i++)
+            addText(pane, runs.getText(i), runs.getColor(i));
+    }
+
+    /**
+     * A sequence of texts with their colors, consecutive texts with the same color are merged
+     */
+    public static final class TextRuns {
+        private final List<StringBuilder> texts = new ArrayList<>();
+        private final List<Color> colors = new ArrayList<>();
+
+        public TextRuns add(String text, Color color) {
+            if(text.isEmpty())
+                return this;
+
+            int last = colors.size() - 1;
+            if(last >= 0 && colors.get(last).equals(color)) {
+                texts.get(last).append(text);
+            }else {
+                texts.add(new StringBuilder(text));
+                colors.add(color);
+            }
+
+            return this;
+        }
+
+        public void clear() {
+            texts.clear();
+            colors.clear();
+        }
+
+        public boolean isEmpty() {
+            return colors.isEmpty();
+        }
+
+        public int size() {
+            return colors.size();
+        }
+
+        public String getText(int index) {
+            return texts.get(index).toString();
+        }
+
+        public Color getColor(int index) {
+            return colors.get(index);
+        }
+    }
+
+    /**
+     * A styled document which can append many styled runs with a single document update (One insert event and one undoable edit)
+     */
+    public static class BatchStyledDocument extends DefaultStyledDocument {
+        private static final long serialVersionUID = 6406123620339633931L;
+
+        public void appendRuns(TextRuns runs) {
+            if(runs.isEmpty())
+                return;
+
+            writeLock();
+            try {
+                int offset = getLength();
+                AttributeSet paragraphAttributes = getParagraphElement(offset).getAttributes();
+
+                List<ElementSpec> specs = new ArrayList<>();
+
+                //The text is inserted after the line break of the previous paragraph: The paragraph must be closed first
+                boolean insertingAfterLineBreak = offset > 0 && getText(offset - 1, 1).charAt(0) == '\n';
+                if(insertingAfterLineBreak) {
+                    specs.add(new ElementSpec(paragraphAttributes, ElementSpec.EndTagType));
+                    specs.add(new ElementSpec(paragraphAttributes, ElementSpec.StartTagType));
+                }
+
+                for(int i = 0;i < runs.size();i++) {
+                    String text = runs.getText(i);
+                    AttributeSet attributes = getAttributeSet(runs.getColor(i));
+
+                    int start = 0;
+                    while(start < text.length()) {
+                        int lineBreakIndex = text.indexOf('\n', start);
+                        int end = lineBreakIndex == -1?text.length():lineBreakIndex + 1;
+
+                        char[] chars = text.substring(start, end).toCharArray();
+                        specs.add(new ElementSpec(attributes, ElementSpec.ContentType, chars, 0, chars.length));
+                        if(lineBreakIndex != -1) {
+                            specs.add(new ElementSpec(null, ElementSpec.EndTagType));
+                            specs.add(new ElementSpec(paragraphAttributes, ElementSpec.StartTagType));
+                        }
+
+                        start = end;
+                    }
+                }
+
+                //Merge with the previous text if it has the same color
+                Element previousCharElement = offset == 0?null:getCharacterElement(offset - 1);
+                if(!insertingAfterLineBreak && previousCharElement != null && previousCharElement.getAttributes().isEqual(specs.get(0).getAttributes()))
+                    specs.get(0).setDirection(ElementSpec.JoinPreviousDirection);
+
+                //The text after the last line break belongs to the paragraph which contains the implied line break at the end of the document
+                for(int i = specs.size() - 1;i >= 0;i--) {
+                    if(specs.get(i).getType() == ElementSpec.StartTagType) {
+                        specs.get(i).setDirection(insertingAfterLineBreak?ElementSpec.JoinNextDirection:ElementSpec.JoinFractureDirection);
+
+                        break;
+                    }
+                }
+
+                insert(offset, specs.toArray(new ElementSpec[0]));
+            }catch(BadLocationException ignore) {
+            }finally {
+                writeUnlock();
+            }
+        }
+    }
+}
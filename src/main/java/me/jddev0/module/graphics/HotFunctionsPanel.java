@@ -0,0 +1,211 @@
+package me.jddev0.module.graphics;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import at.jddev0.lang.LangInterpreter;
+import me.jddev0.module.lang.LangCallStatistics;
+import me.jddev0.module.lang.LangExecutionStats;
+import me.jddev0.module.lang.LangSamplingProfiler;
+
+/**
+ * Graphics-Module<br>
+ * Live table of the functions with the highest total time of the selected tab of the {@link LangShellWindow}<br>
+ * The Lang call stack of the executing tab is sampled by a separate thread, the thread is parked while the panel is hidden or the tab is idle<br>
+ * Call counts and times are estimates, see {@link LangSamplingProfiler#sampleCallStack(LangInterpreter, Thread)} for the accuracy of the samples
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class HotFunctionsPanel extends DockablePanel {
+    private static final long serialVersionUID = -3859245021427760351L;
+
+    private static final long SAMPLE_INTERVAL_NANOS = 2000000L;
+    private static final long REFRESH_INTERVAL_NANOS = 1000000000L;
+    private static final long IDLE_POLL_INTERVAL = 100; //In milliseconds
+    private static final int MAX_FUNCTION_COUNT = 25;
+
+    private final Supplier<LangShellTab> selectedTabSupplier;
+
+    private final FunctionTableModel tableModel = new FunctionTableModel();
+
+    private final Object samplerLock = new Object();
+    private final Thread sampler;
+    private volatile boolean flagClosed = false;
+
+    /**
+     * @param selectedTabSupplier Returns the tab whose functions are shown, will be called on the sampler thread
+     */
+    public HotFunctionsPanel(Supplier<LangShellTab> selectedTabSupplier, int fontSize, Runnable dockAction) {
+        super("Hot Functions", dockAction);
+
+        this.selectedTabSupplier = selectedTabSupplier;
+
+        addButton("Reset", e -> {
+            LangShellTab tab = selectedTabSupplier.get();
+            if(tab != null)
+                tab.getCallStatistics().reset();
+
+            tableModel.setFunctions(new ArrayList<>(), 0);
+        });
+
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font(Font.MONOSPACED, Font.PLAIN, fontSize));
+        table.setRowHeight(fontSize + 6);
+        table.setFocusable(false);
+        DefaultTableCellRenderer numberRenderer = new DefaultTableCellRenderer();
+        numberRenderer.setHorizontalAlignment(SwingConstants.RIGHT);
+        for(int i = 1;i < tableModel.getColumnCount();i++)
+            table.getColumnModel().getColumn(i).setCellRenderer(numberRenderer);
+        table.getColumnModel().getColumn(0).setPreferredWidth(fontSize * 16);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        sampler = new Thread(this::sample, "LangShell hot functions sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    /**
+     * The call stack is only sampled while the panel is active
+     */
+    @Override
+    protected void onActiveChanged(boolean active) {
+        synchronized(samplerLock) {
+            samplerLock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops the sampler thread
+     */
+    @Override
+    public void close() {
+        flagClosed = true;
+        setActive(false);
+    }
+
+    private void sample() {
+        LangShellTab lastSampledTab = null;
+        long lastSampleTime = System.nanoTime();
+        long lastRefreshTime = 0;
+        while(!flagClosed) {
+            try {
+                if(!isActive()) {
+                    synchronized(samplerLock) {
+                        while(!isActive() && !flagClosed)
+                            samplerLock.wait();
+                    }
+
+                    lastRefreshTime = 0;
+                    continue;
+                }
+
+                LangShellTab tab = selectedTabSupplier.get();
+                //The execution thread is read first: The interpreter is initialized before the first execution is started
+                boolean executing = tab != null && tab.getExecutionThread() != null;
+                LangInterpreter interpreter = executing?tab.getInterpreter():null;
+                if(lastSampledTab != null && (lastSampledTab != tab || !executing))
+                    lastSampledTab.getCallStatistics().endSampling();
+
+                long now = System.nanoTime();
+                Thread executionThread = executing?tab.getExecutionThread():null;
+                if(interpreter != null && executionThread != null) {
+                    //Inconsistent samples are dropped: Their time is added to the next sample
+                    LangSamplingProfiler.CallStackSample sample = LangSamplingProfiler.sampleCallStack(interpreter, executionThread);
+                    if(sample != null) {
+                        tab.getCallStatistics().addSample(sample.getCallStack(), lastSampledTab == tab?now - lastSampleTime:0);
+
+                        lastSampledTab = tab;
+                        lastSampleTime = now;
+                    }
+                }else {
+                    lastSampledTab = null;
+                    lastSampleTime = now;
+                }
+
+                if(now - lastRefreshTime >= REFRESH_INTERVAL_NANOS) {
+                    lastRefreshTime = now;
+
+                    //The table is sorted on the sampler thread, only the rows are updated on the EDT
+                    LangCallStatistics.Snapshot snapshot = tab == null?null:tab.getCallStatistics().snapshot(MAX_FUNCTION_COUNT);
+                    String title = tab == null?null:tab.getTitle();
+                    SwingUtilities.invokeLater(() -> {
+                        if(snapshot == null) {
+                            setStatus("Hot functions: No tab selected");
+                            tableModel.setFunctions(new ArrayList<>(), 0);
+                        }else {
+                            setStatus("Hot functions of \"" + title + "\" (Sampled: " + LangExecutionStats.formatNanoTime(snapshot.getSampledTime()) +
+                                    (executing?"":", Idle") + ")");
+                            tableModel.setFunctions(snapshot.getFunctions(), snapshot.getSampledTime());
+                        }
+                    });
+                }
+
+                if(executing)
+                    Thread.sleep(SAMPLE_INTERVAL_NANOS / 1000000, (int)(SAMPLE_INTERVAL_NANOS % 1000000));
+                else
+                    Thread.sleep(IDLE_POLL_INTERVAL);
+            }catch(InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static final class FunctionTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 4391227730569358227L;
+
+        private static final String[] COLUMN_NAMES = {"Function", "Calls", "Calls/s", "Total", "Self", "Total %"};
+
+        private List<LangCallStatistics.FunctionStats> functions = new ArrayList<>();
+        private long sampledTime;
+
+        public void setFunctions(List<LangCallStatistics.FunctionStats> functions, long sampledTime) {
+            this.functions = functions;
+            this.sampledTime = sampledTime;
+
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return functions.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_NAMES.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMN_NAMES[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            LangCallStatistics.FunctionStats function = functions.get(rowIndex);
+            switch(columnIndex) {
+                case 0:
+                    return function.getFunctionName();
+                case 1:
+                    return String.format("%,d", function.getCalls());
+                case 2:
+                    return String.format("%,.1f", function.getCallsPerSecond());
+                case 3:
+                    return LangExecutionStats.formatNanoTime(function.getTotalTime());
+                case 4:
+                    return LangExecutionStats.formatNanoTime(function.getSelfTime());
+                case 5:
+                    return String.format("%.1f%%", sampledTime == 0?0:function.getTotalTime() * 100. / sampledTime);
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package me.jddev0.module.graphics;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import at.jddev0.io.TerminalIO;
+import at.jddev0.lang.*;
+import at.jddev0.lang.platform.swing.LangPlatformAPI;
+import me.jddev0.module.lang.LangExecutionStats;
+import me.jddev0.module.lang.LangNativeFunctions;
+import me.jddev0.module.lang.LangParallelMapReduce;
+import me.jddev0.module.lang.LangNotebook;
+
+/**
+ * Uses the io module<br>
+ * <br>
+ * Graphics-Module<br>
+ * Lang notebook: Code is organized in cells with cached outputs, all cells share one interpreter<br>
+ * If a cell is executed, all following cells which depend on variables written by the cell are executed again (See {@link LangNotebook})
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangNotebookWindow extends JDialog {
+    private static final long serialVersionUID = 8069435232941178361L;
+
+    private final LangShellWindow window;
+    private final TerminalIO term;
+    private final int fontSize;
+    private final String[] langArgs;
+
+    private final LangNotebook notebook = new LangNotebook();
+    //Cells are executed on this thread, the interpreter is created by the first execution
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread t = new Thread(runnable, "LangShell notebook");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile LangInterpreter.LangInterpreterInterface lii;
+    private volatile LangParallelMapReduce parallelMapReduce;
+
+    private final JPanel cellsPanel;
+    private final JLabel statusLabel;
+    private final List<Cell> cells = new ArrayList<>();
+
+    //Must only be accessed on the event dispatch thread
+    private boolean flagRunning = false;
+
+    public LangNotebookWindow(LangShellWindow window, TerminalIO term, int fontSize, String[] langArgs, String title) {
+        super(window, title, false);
+
+        this.window = window;
+        this.term = term;
+        this.fontSize = fontSize;
+        this.langArgs = langArgs;
+
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setSize(window.getWidth() * 3 / 4, window.getHeight() * 3 / 4);
+        setLocationRelativeTo(window);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                LangInterpreter.LangInterpreterInterface lii = LangNotebookWindow.this.lii;
+                if(lii != null)
+                    lii.stop();
+                LangParallelMapReduce parallelMapReduce = LangNotebookWindow.this.parallelMapReduce;
+                if(parallelMapReduce != null)
+                    parallelMapReduce.stop();
+
+                executor.shutdownNow();
+            }
+        });
+
+        JPanel contentPane = new JPanel(new BorderLayout(0, 5));
+        contentPane.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        setContentPane(contentPane);
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        JButton addCellButton = new JButton("Add cell");
+        addCellButton.addActionListener(e -> addCell().code.requestFocusInWindow());
+        toolbar.add(addCellButton);
+        JButton runAllButton = new JButton("Run all");
+        runAllButton.addActionListener(e -> execute(-1));
+        toolbar.add(runAllButton);
+        JButton stopButton = new JButton("Stop");
+        stopButton.addActionListener(e -> {
+            LangInterpreter.LangInterpreterInterface lii = this.lii;
+            LangParallelMapReduce parallelMapReduce = this.parallelMapReduce;
+            if(lii != null && flagRunning) {
+                lii.stop();
+                if(parallelMapReduce != null)
+                    parallelMapReduce.stop();
+            }
+        });
+        toolbar.add(stopButton);
+        statusLabel = new JLabel("Press CTRL + ENTER in a cell for executing it and all cells which depend on it");
+        toolbar.add(statusLabel);
+        contentPane.add(toolbar, BorderLayout.NORTH);
+
+        cellsPanel = new JPanel();
+        cellsPanel.setLayout(new BoxLayout(cellsPanel, BoxLayout.Y_AXIS));
+        //Cells are aligned at the top if they do not fill the viewport
+        JPanel cellsPanelWrapper = new JPanel(new BorderLayout());
+        cellsPanelWrapper.add(cellsPanel, BorderLayout.NORTH);
+        JScrollPane scrollPane = new JScrollPane(cellsPanelWrapper);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(fontSize);
+        contentPane.add(scrollPane, BorderLayout.CENTER);
+
+        addCell();
+    }
+
+    private Cell addCell() {
+        Cell cell = new Cell();
+        cells.add(cell);
+        cellsPanel.add(cell);
+        updateCellTitles();
+
+        return cell;
+    }
+
+    private void removeCell(Cell cell) {
+        if(flagRunning) {
+            statusLabel.setText("Cells can not be removed during an execution");
+
+            return;
+        }
+
+        cells.remove(cell);
+        cellsPanel.remove(cell);
+        updateCellTitles();
+    }
+
+    private void updateCellTitles() {
+        for(int i = 0;i < cells.size();i++)
+            cells.get(i).updateTitle(i);
+
+        cellsPanel.revalidate();
+        cellsPanel.repaint();
+    }
+
+    /**
+     * Executes a cell and all cells which depend on it, must be called on the event dispatch thread
+     *
+     * @param cellIndex The index of the cell or -1 for executing all cells
+     */
+    private void execute(int cellIndex) {
+        if(flagRunning) {
+            statusLabel.setText("The notebook is already executing cells: Press \"Stop\" for stopping the execution");
+
+            return;
+        }
+
+        if(cells.isEmpty())
+            return;
+
+        flagRunning = true;
+
+        //The code is read on the event dispatch thread, later edits are used by the next execution
+        List<Cell> cells = new ArrayList<>(this.cells);
+        List<String> codes = new ArrayList<>(cells.size());
+        for(Cell cell:cells)
+            codes.add(cell.code.getText());
+        LangNotebook.CellAnalysis previousAnalysis = cellIndex < 0?null:cells.get(cellIndex).executedAnalysis;
+
+        statusLabel.setText("Executing...");
+        executor.execute(() -> {
+            String status;
+            try {
+                status = executeCells(cells, codes, cellIndex, previousAnalysis);
+            }catch(RuntimeException e) {
+                term.logStackTrace(e, LangNotebookWindow.class);
+
+                status = "The execution failed: " + e.getMessage();
+            }
+
+            String statusText = status;
+            SwingUtilities.invokeLater(() -> {
+                statusLabel.setText(statusText);
+                flagRunning = false;
+            });
+        });
+    }
+
+    /**
+     * Must be called on the executor thread
+     *
+     * @return The status text
+     */
+    private String executeCells(List<Cell> cells, List<String> codes, int cellIndex, LangNotebook.CellAnalysis previousAnalysis) {
+        if(lii == null) {
+            LangPlatformAPI langPlatformAPI = new LangPlatformAPI();
+            lii = Lang.createInterpreterInterface(term, langPlatformAPI, langArgs);
+            lii.setErrorOutputFlag(LangInterpreter.ExecutionFlags.ErrorOutputFlag.ALL);
+            parallelMapReduce = LangNativeFunctions.addNativeFunctions(lii, langPlatformAPI);
+            parallelMapReduce.setThreadContextCapturer(window::captureOutputRoutingOfCurrentThread);
+        }
+
+        List<LangNotebook.CellAnalysis> analyses = new ArrayList<>(codes.size());
+        for(String code:codes)
+            analyses.add(notebook.analyze(code));
+
+        List<Integer> cellsToExecute = new ArrayList<>();
+        if(cellIndex < 0) {
+            for(int i = 0;i < codes.size();i++)
+                cellsToExecute.add(i);
+        }else {
+            cellsToExecute.addAll(LangNotebook.getCellsToExecute(analyses, cellIndex, previousAnalysis));
+        }
+
+        long startTime = System.nanoTime();
+        int executedCount = 0;
+        boolean stopped = false;
+        for(int i:cellsToExecute) {
+            Cell cell = cells.get(i);
+            SwingUtilities.invokeLater(() -> cell.setStatus("Executing..."));
+
+            String output = executeCell(codes.get(i));
+            if(output == null) {
+                stopped = true;
+                SwingUtilities.invokeLater(() -> cell.setStatus("Stopped"));
+
+                break;
+            }
+
+            executedCount++;
+            SwingUtilities.invokeLater(() -> cell.setResult(codes.get(i), analyses.get(i), output));
+        }
+
+        return String.format("%s %d of %d cells in %s (%d cells were up to date)", stopped?"Stopped after executing":"Executed", executedCount,
+                cellsToExecute.size(), LangExecutionStats.formatNanoTime(System.nanoTime() - startTime), codes.size() - cellsToExecute.size());
+    }
+
+    /**
+     * Must be called on the executor thread
+     *
+     * @return The output of the cell with its execution time or null if the execution was stopped
+     */
+    private String executeCell(String code) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        window.captureOutputOfCurrentThread(out);
+
+        long startTime = System.nanoTime();
+        String lastValueText = null;
+        try {
+            DataObject lastVal = lii.exec(code);
+            if(lastVal != null && lastVal.getType() != DataObject.DataType.VOID)
+                lastValueText = lii.getInterpreter().conversions.toText(lastVal, CodePosition.EMPTY).toString();
+        }catch(IOException e) {
+            term.logStackTrace(e, LangNotebookWindow.class);
+        }catch(LangInterpreter.StoppedException e) {
+            lii.resetStopFlag();
+
+            return null;
+        }finally {
+            System.out.flush();
+            window.captureOutputOfCurrentThread(null);
+        }
+        long execTime = System.nanoTime() - startTime;
+
+        StringBuilder builder = new StringBuilder(new String(out.toByteArray(), StandardCharsets.UTF_8));
+        if(lastValueText != null)
+            builder.append(builder.length() == 0 || builder.charAt(builder.length() - 1) == '\n'?"":"\n").append(" ==> ").append(lastValueText).append('\n');
+        builder.append("Executed in ").append(LangExecutionStats.formatNanoTime(execTime));
+
+        return builder.toString();
+    }
+
+    private final class Cell extends JPanel {
+        private static final long serialVersionUID = -6236715532108127440L;
+
+        private final JLabel titleLabel;
+        private final JLabel statusLabel;
+        private final JTextArea code;
+        private final JTextArea output;
+
+        //The code and the analysis of the last execution, must only be accessed on the event dispatch thread
+        private String executedCode;
+        private LangNotebook.CellAnalysis executedAnalysis;
+
+        public Cell() {
+            super(new BorderLayout(0, 3));
+
+            setBorder(BorderFactory.createCompoundBorder(BorderFactory.createEmptyBorder(0, 0, 8, 0),
+                    BorderFactory.createMatteBorder(0, 3, 0, 0, Color.GRAY)));
+
+            JPanel header = new JPanel(new BorderLayout(5, 0));
+            titleLabel = new JLabel();
+            header.add(titleLabel, BorderLayout.WEST);
+            statusLabel = new JLabel("Not executed");
+            statusLabel.setForeground(Color.GRAY);
+            header.add(statusLabel, BorderLayout.CENTER);
+            JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+            JButton runButton = new JButton("Run");
+            runButton.addActionListener(e -> execute(cells.indexOf(this)));
+            buttons.add(runButton);
+            JButton removeButton = new JButton("Remove");
+            removeButton.addActionListener(e -> removeCell(this));
+            buttons.add(removeButton);
+            header.add(buttons, BorderLayout.EAST);
+            add(header, BorderLayout.NORTH);
+
+            Font font = new Font(Font.MONOSPACED, Font.PLAIN, fontSize);
+
+            code = new JTextArea(3, 80);
+            code.setFont(font);
+            code.setTabSize(4);
+            code.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, KeyEvent.CTRL_DOWN_MASK), "executeCell");
+            code.getActionMap().put("executeCell", new AbstractAction() {
+                private static final long serialVersionUID = -2861620532417227017L;
+
+                @Override
+                public void actionPerformed(java.awt.event.ActionEvent e) {
+                    execute(cells.indexOf(Cell.this));
+                }
+            });
+            code.getDocument().addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent e) {
+                    updateModified();
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent e) {
+                    updateModified();
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent e) {}
+            });
+            add(code, BorderLayout.CENTER);
+
+            output = new JTextArea();
+            output.setFont(font);
+            output.setEditable(false);
+            output.setBackground(Color.BLACK);
+            output.setForeground(Color.WHITE);
+            output.setVisible(false);
+            add(output, BorderLayout.SOUTH);
+        }
+
+        public void updateTitle(int index) {
+            titleLabel.setText("[" + (index + 1) + "]");
+        }
+
+        public void setStatus(String status) {
+            statusLabel.setText(status);
+        }
+
+        /**
+         * The output is cached until the cell is executed again
+         */
+        public void setResult(String executedCode, LangNotebook.CellAnalysis executedAnalysis, String output) {
+            this.executedCode = executedCode;
+            this.executedAnalysis = executedAnalysis;
+
+            this.output.setText(output);
+            this.output.setVisible(true);
+            updateModified();
+            revalidate();
+        }
+
+        private void updateModified() {
+            if(executedCode == null)
+                return;
+
+            statusLabel.setText((code.getText().equals(executedCode)?"":"Modified since the last execution - ") + executedAnalysis);
+        }
+
+        @Override
+        public Dimension getMaximumSize() {
+            //The BoxLayout must not stretch the cells vertically
+            return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+        }
+    }
+}
@@ -0,0 +1,1838 @@
+package me.jddev0.module.graphics;
+
+import java.awt.*;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.StringSelection;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.swing.*;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileFilter;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+import at.jddev0.io.TerminalIO;
+import at.jddev0.io.TerminalIO.Level;
+import at.jddev0.lang.*;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.platform.swing.LangPlatformAPI;
+import at.jddev0.lang.LangFunction.AllowedTypes;
+import at.jddev0.lang.LangFunction.LangParameter;
+import me.jddev0.module.lang.LangCallStatistics;
+import me.jddev0.module.lang.LangDocumentationIndex;
+import me.jddev0.module.lang.LangExecutionStats;
+import me.jddev0.module.lang.LangFlightRecorder;
+import me.jddev0.module.lang.LangLatencyStats;
+import me.jddev0.module.lang.LangNativeFunctions;
+import me.jddev0.module.lang.LangParallelMapReduce;
+import me.jddev0.module.lang.LangSessionJournal;
+import me.jddev0.module.lang.LangShellAutoCompleter;
+import me.jddev0.module.lang.LangShellFunctions;
+import me.jddev0.module.lang.LangShellHistory;
+import me.jddev0.module.lang.LangShellOutputDecoder;
+import me.jddev0.module.lang.LangShellRecording;
+import me.jddev0.module.lang.LangShellStatementBuffer;
+import me.jddev0.module.lang.LangShellSyntax;
+import me.jddev0.module.lang.LangSessionSnapshot;
+
+/**
+ * Uses the io module<br>
+ * <br>
+ * Graphics-Module<br>
+ * Lang Shell tab: A single interpreter session of the {@link LangShellWindow}
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangShellTab extends JPanel {
+    private static final long serialVersionUID = -6181839403958127210L;
+
+    private static final Map<LangShellSyntax.Style, Color> STYLE_COLORS = new EnumMap<>(LangShellSyntax.Style.class);
+    static {
+        for(LangShellSyntax.Style style:LangShellSyntax.Style.values())
+            STYLE_COLORS.put(style, new Color(style.getRed(), style.getGreen(), style.getBlue()));
+    }
+
+    private static final int FUNCTION_HELP_CACHE_SIZE = 64;
+
+    private static final int OUTPUT_CHANNEL_CAPACITY = 1024 * 1024;
+    private static final int OUTPUT_DRAIN_INTERVAL = 20;
+    private static final int MAX_OUTPUT_CHARS_PER_DRAIN = 32 * 1024;
+
+    private static final File JOURNAL_DIRECTORY = new File(System.getProperty("user.home"), ".langshell" + File.separator + "journal");
+
+    private final LangShellWindow window;
+    private final String title;
+
+    private final JTextPane shell;
+    private final KeyListener shellKeyListener;
+    private OutputStream shellOutput;
+    //Output of other threads is buffered and added to the shell on the event dispatch thread by the outputDrainTimer
+    private final OutputChannel outputChannel = new OutputChannel(OUTPUT_CHANNEL_CAPACITY, OutputChannel.OverflowPolicy.BLOCK);
+    private final Timer outputDrainTimer;
+    private final GraphicsHelper.TextRuns drainedOutput = new GraphicsHelper.TextRuns();
+    private final TerminalIO term;
+
+    private final int fontSize;
+
+    private File lastLangFileSavedTo = null;
+    private LangSessionJournal journal;
+
+    private final LangShellHistory history = new LangShellHistory();
+
+    private final StringBuilder lineTmp = new StringBuilder();
+    private String lastHistoryEntryUsed = "";
+
+    private String autoCompleteText = "";
+    private int autoCompletePos = 0;
+    private Color lastColor = Color.BLACK;
+
+    private final Queue<String> executionQueue = new LinkedList<>();
+    private final LangShellStatementBuffer statementBuffer = new LangShellStatementBuffer();
+    private boolean flagEnd = false;
+    private volatile boolean flagRunning = false;
+    private boolean flagExecutingQueue = false;
+    private volatile boolean flagClosed = false;
+    //The interpreter is created on the execution thread: Key events are buffered until the initialization is finished
+    private volatile boolean flagInitialized = false;
+    private boolean flagReplayingBufferedInput = false;
+    private final List<KeyEvent> bufferedInput = new ArrayList<>();
+    private String initTimingText = "";
+    private String pendingClonedSessionTitle;
+    private byte[] pendingClonedSession;
+
+    //Recording of the inputs (CTRL + SHIFT + R) and replay of a recording in a new tab (CTRL + SHIFT + P)
+    private volatile LangShellRecording.Recorder recorder;
+    private volatile Thread replayThread;
+    private volatile boolean flagReplayCancelled = false;
+    private boolean flagDispatchingReplayEvent = false;
+    //Only set during a replay
+    private volatile LangLatencyStats replayStats;
+
+    private volatile Thread executionThread;
+    private volatile long executionStartTime;
+    private final LangCallStatistics callStatistics = new LangCallStatistics();
+
+    private final ILangPlatformAPI langPlatformAPI = new LangPlatformAPI();
+    private LangInterpreter.LangInterpreterInterface lii;
+    private LangShellFunctions shellFunctions;
+    private LangParallelMapReduce parallelMapReduce;
+    private final LangShellSyntax syntax = new LangShellSyntax();
+    private LangShellAutoCompleter autoCompleter;
+
+    private final Map<FunctionHelpCacheKey, String> functionHelpCache = Collections.synchronizedMap(new LinkedHashMap<FunctionHelpCacheKey, String>(16, .75f, true) {
+        private static final long serialVersionUID = -2167946387235463316L;
+
+        @Override
+        protected boolean removeEldestEntry(Entry<FunctionHelpCacheKey, String> eldest) {
+            return size() > FUNCTION_HELP_CACHE_SIZE;
+        }
+    });
+
+    /**
+     * @param recoverJournals If true, the user will be asked to recover the sessions of orphaned journals
+     */
+    public LangShellTab(LangShellWindow window, TerminalIO term, int fontSize, String[] langArgs, String title, boolean recoverJournals) {
+        super(new BorderLayout(0, 0));
+
+        this.window = window;
+        this.term = term;
+        this.fontSize = fontSize;
+        this.title = title;
+
+        JScrollPane scrollPane = new JScrollPane();
+        scrollPane.setDoubleBuffered(true);
+        scrollPane.setRequestFocusEnabled(false);
+        scrollPane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS);
+        add(scrollPane, BorderLayout.CENTER);
+
+        //Pane for displaying output
+        shell = new JTextPane(new GraphicsHelper.BatchStyledDocument());
+        shell.setCursor(Cursor.getPredefinedCursor(Cursor.TEXT_CURSOR));
+        shell.setBackground(Color.BLACK);
+        shell.setEditable(false);
+        shell.setAutoscrolls(true);
+        shell.setFont(new Font(Font.MONOSPACED, Font.PLAIN, fontSize));
+        shell.setMargin(new Insets(3, 5, 0, 5));
+        shell.setFocusTraversalKeysEnabled(false);
+        shellKeyListener = new KeyAdapter() {
+            @Override
+            public void keyTyped(KeyEvent e) {
+                //Only the replayed input is added to a tab during a replay
+                if(replayThread != null && !flagDispatchingReplayEvent)
+                    return;
+
+                if(!flagInitialized) {
+                    bufferedInput.add(e);
+
+                    return;
+                }
+
+                //The input must be added after all buffered output
+                drainOutput(Integer.MAX_VALUE);
+
+                if(flagEnd)
+                    return;
+
+                char c = e.getKeyChar();
+                if(c == KeyEvent.CHAR_UNDEFINED)
+                    return;
+                if((c > -1 && c < 8) || c == 12 || (c > 13 && c < 32) || c == 127) //Ignores certain control chars
+                    return;
+
+                recordEvent(recorder -> recorder.keyTyped(c, e.getModifiersEx()));
+
+                if(c == '\b') {
+                    //Remove the last char (if line is not empty)
+                    if(lineTmp.length() > 0) {
+                        removeAutoCompleteText();
+                        try {
+                            Document doc = shell.getDocument();
+                            doc.remove(doc.getLength() - 1, 1);
+                        }catch(BadLocationException ignored) {}
+                        lineTmp.deleteCharAt(lineTmp.length() - 1);
+                        highlightSyntaxLastLine();
+                        updateAutoCompleteText(lineTmp.toString());
+                    }
+                }else if(c == '\n') {
+                    if(autoCompleteText.isEmpty()) {
+                        removeAutoCompleteText();
+                        addLine(lineTmp.toString(), false, false);
+                        lineTmp.delete(0, lineTmp.length());
+                        lastHistoryEntryUsed = "";
+                    }else {
+                        lineTmp.append(autoCompleteText);
+                        GraphicsHelper.addText(shell, autoCompleteText, Color.WHITE);
+                        removeAutoCompleteText();
+                        highlightSyntaxLastLine();
+                        updateAutoCompleteText(lineTmp.toString());
+                    }
+                }else if(c == '\t') { //Cycle through auto completes
+                    int oldAutoCompletePos = autoCompletePos;
+                    removeAutoCompleteText();
+                    autoCompletePos = oldAutoCompletePos + (e.isShiftDown()?-1:1);
+                    updateAutoCompleteText(lineTmp.toString());
+                }else {
+                    removeAutoCompleteText();
+                    lineTmp.append(c);
+                    GraphicsHelper.addText(shell, c + "", Color.WHITE);
+                    highlightSyntaxLastLine();
+                    updateAutoCompleteText(lineTmp.toString());
+                }
+            }
+
+            @Override
+            public void keyPressed(KeyEvent e) {
+                drainOutput(Integer.MAX_VALUE);
+
+                if(e.getKeyCode() == KeyEvent.VK_T && e.isControlDown()) {
+                    if(e.isShiftDown())
+                        cloneTab();
+                    else
+                        window.addTab();
+
+                    return;
+                }else if(e.getKeyCode() == KeyEvent.VK_W && e.isControlDown() && !e.isShiftDown()) {
+                    window.closeTab(LangShellTab.this);
+
+                    return;
+                }else if(e.getKeyCode() == KeyEvent.VK_H && e.isControlDown() && e.isShiftDown()) {
+                    window.toggleHotFunctionsPanel();
+
+                    return;
+                }else if(e.getKeyCode() == KeyEvent.VK_E && e.isControlDown() && e.isShiftDown()) {
+                    window.toggleVariableExplorerPanel();
+
+                    return;
+                }else if(e.getKeyCode() == KeyEvent.VK_N && e.isControlDown() && e.isShiftDown()) {
+                    window.openNotebook();
+
+                    return;
+                }
+
+                if(replayThread != null && !flagDispatchingReplayEvent) {
+                    if(e.getKeyCode() == KeyEvent.VK_C && e.isControlDown() && !e.isShiftDown())
+                        cancelReplay();
+
+                    return;
+                }
+
+                if(!flagInitialized) {
+                    if(e.getKeyCode() == KeyEvent.VK_C && e.isControlDown() && !e.isShiftDown()) {
+                        //Discard the input which was entered during the initialization
+                        bufferedInput.clear();
+                        GraphicsHelper.addText(shell, "^C\n", Color.WHITE);
+                    }else {
+                        bufferedInput.add(e);
+                    }
+
+                    return;
+                }
+
+                if(flagEnd) {
+                    if(e.getKeyCode() == KeyEvent.VK_C && e.isControlDown() && !e.isShiftDown())
+                        window.closeTab(LangShellTab.this);
+
+                    return;
+                }
+
+                //Keys which open dialogs are not recorded, pastes and inserted file paths are recorded as text
+                if(e.getKeyCode() == KeyEvent.VK_UP || e.getKeyCode() == KeyEvent.VK_DOWN || ((e.getKeyCode() == KeyEvent.VK_C ||
+                        e.getKeyCode() == KeyEvent.VK_L) && e.isControlDown() && !e.isShiftDown()))
+                    recordEvent(recorder -> recorder.keyPressed(e.getKeyCode(), e.getModifiersEx()));
+
+                if(e.getKeyCode() == KeyEvent.VK_C && e.isControlDown() && e.isShiftDown()) {
+                    Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(shell.getSelectedText()), null);
+                }else if(e.getKeyCode() == KeyEvent.VK_V && e.isControlDown() && e.isShiftDown()) {
+                    try {
+                        Object copiedRaw = Toolkit.getDefaultToolkit().getSystemClipboard().getContents(null).getTransferData(DataFlavor.stringFlavor);
+                        paste(copiedRaw.toString());
+                    }catch(UnsupportedFlavorException e1) {
+                        term.logln(Level.WARNING, "The clipboard contains no string data!", LangShellWindow.class);
+                    }catch(HeadlessException|IOException e1) {
+                        term.logStackTrace(e1, LangShellWindow.class);
+                    }
+                }else if(e.getKeyCode() == KeyEvent.VK_F1 && e.isControlDown() && e.isShiftDown()) {
+                    new FunctionSearchWindow(window).setVisible(true);
+                }else if(e.getKeyCode() == KeyEvent.VK_F1 && e.isControlDown()) {
+                    String line = lineTmp.toString();
+
+                    String[] tokens = line.split(".(?=\\[\\[|(\\[\\[\\w+\\]\\]::)(\\$|&|fp\\.)|(?<!\\w]]::)(\\$|&|fp\\.)|func\\.|fn\\.|linker\\.|ln\\.|con\\.|parser\\.)");
+                    if(tokens.length == 0)
+                        return;
+
+                    String input = tokens[tokens.length - 1] + autoCompleteText;
+
+                    int bracketIndex = input.indexOf('(');
+                    if(bracketIndex != -1)
+                        input = input.substring(0, bracketIndex);
+
+                    String moduleName = null;
+                    if(input.matches("\\[\\[\\w+\\]\\]::.+")) {
+                        moduleName = input.substring(2, input.indexOf(']'));
+                    }
+
+                    String functionName = input;
+                    DataObject.FunctionPointerObject function = null;
+                    if(input.matches("(func\\.|fn\\.|linker\\.|ln\\.)\\w+")) {
+                        function = lii.getPredefinedFunctions().
+                                get(functionName.substring(functionName.indexOf('.') + 1));
+                    }else if(input.matches("(\\[\\[\\w+\\]\\]::)?(\\$|fp\\.)\\w+")) {
+                        String variableName = input.contains("::")?input.substring(input.indexOf(':') + 2):input;
+
+                        Map<String, DataObject> moduleVars = lii.getModuleExportedVariables(moduleName);
+                        DataObject value = moduleVars == null?lii.getVar(variableName):moduleVars.get(variableName);
+
+                        if(value != null && value.getType() == DataObject.DataType.FUNCTION_POINTER) {
+                            function = value.getFunctionPointer();
+                        }
+                    }
+
+                    new FunctionHelpWindow(window, functionName, function).setVisible(true);
+                }else if(e.getKeyCode() == KeyEvent.VK_I && e.isControlDown() && !e.isShiftDown()) {
+                    window.openSpecialCharInputWindow();
+                }else if(e.getKeyCode() == KeyEvent.VK_S && e.isControlDown()) {
+                    saveLangFile(e.isShiftDown());
+                }else if(e.getKeyCode() == KeyEvent.VK_O && e.isControlDown() && e.isShiftDown()) {
+                    saveOrLoadSessionSnapshot();
+                }else if(e.getKeyCode() == KeyEvent.VK_F && e.isControlDown() && e.isShiftDown()) {
+                    if(!window.isSpecialCharInputWindowOpen()) {
+                        JFileChooser fileChooser = new JFileChooser(".");
+                        fileChooser.setDialogTitle("Select file for inserting the path");
+                        if(fileChooser.showOpenDialog(window) == JFileChooser.APPROVE_OPTION) {
+                            File file = fileChooser.getSelectedFile();
+
+                            insertText(file.getAbsolutePath());
+                        }
+                    }
+                }else if(e.getKeyCode() == KeyEvent.VK_R && e.isControlDown() && e.isShiftDown()) {
+                    toggleRecording();
+                }else if(e.getKeyCode() == KeyEvent.VK_P && e.isControlDown() && e.isShiftDown()) {
+                    replayRecording();
+                }else if(e.getKeyCode() == KeyEvent.VK_C && e.isControlDown() && !e.isShiftDown()) {
+                    if(flagRunning) {
+                        stopExecution();
+                        GraphicsHelper.addText(shell, "^C\n", Color.WHITE);
+                    }else {
+                        end();
+                    }
+                }else if(e.getKeyCode() == KeyEvent.VK_L && e.isControlDown() && !e.isShiftDown()) {
+                    clear();
+                }else if(e.getKeyCode() == KeyEvent.VK_DOWN) {
+                    removeAutoCompleteText();
+                    String historyRet = history.next();
+                    if(historyRet == null)
+                        return;
+
+                    if(history.isBrowsing()) {
+                        String[] lines = historyRet.split("\n");
+                        String lastLine = lines[lines.length - 1];
+
+                        lineTmp.delete(0, lineTmp.length());
+                        lineTmp.append(lastLine);
+
+                        removeLines(lastHistoryEntryUsed);
+                        lastHistoryEntryUsed = historyRet;
+                        addLinesWithoutExec(historyRet);
+                        updateAutoCompleteText(lineTmp.toString());
+                    }else {
+                        removeLines(lastHistoryEntryUsed);
+
+                        String[] lines = historyRet.split("\n");
+                        for(int i = 0;i < lines.length - 1;i++) {
+                            String line = lines[i];
+                            GraphicsHelper.addText(shell, line, Color.WHITE);
+                            highlightSyntaxLastLine();
+                            addLine(line, false, false);
+                        }
+                        lineTmp.delete(0, lineTmp.length());
+                        lineTmp.append(lines[lines.length - 1]);
+                        if(lines.length > 1)
+                            lineTmp.delete(0, 1); //Remove tmp space
+                        GraphicsHelper.addText(shell, lineTmp.toString(), Color.WHITE);
+                        highlightSyntaxLastLine();
+                        updateAutoCompleteText(lineTmp.toString());
+                    }
+                }else if(e.getKeyCode() == KeyEvent.VK_UP) {
+                    if(history.hasPrevious()) {
+                        removeAutoCompleteText();
+                        String currentCommand = null;
+                        if(!history.isBrowsing()) {
+                            currentCommand = lineTmp.toString();
+                            if(statementBuffer.hasPendingCode())
+                                currentCommand = statementBuffer.getPendingCode() + " " + currentCommand; //Add tmp space for split at "\n" in removeLines()
+                            lastHistoryEntryUsed = currentCommand;
+                        }
+
+                        String historyRet = history.previous(currentCommand);
+                        String[] lines = historyRet.split("\n");
+                        String lastLine = lines[lines.length - 1];
+
+                        lineTmp.delete(0, lineTmp.length());
+                        lineTmp.append(lastLine);
+
+                        removeLines(lastHistoryEntryUsed);
+                        lastHistoryEntryUsed = historyRet;
+                        addLinesWithoutExec(historyRet);
+                        updateAutoCompleteText(lineTmp.toString());
+                    }
+                }
+            }
+        };
+        shell.addKeyListener(shellKeyListener);
+        scrollPane.setViewportView(shell);
+
+        outputDrainTimer = new Timer(OUTPUT_DRAIN_INTERVAL, e -> drainOutput(MAX_OUTPUT_CHARS_PER_DRAIN));
+        outputDrainTimer.start();
+
+        initShell(langArgs, recoverJournals);
+    }
+
+    /**
+     * The interpreter is created on the execution thread of this tab, the tab can be shown and receive input immediately
+     */
+    private void initShell(String[] langArgs, boolean recoverJournals) {
+        //System.out is routed to the shellOutput of the tab of the writing thread by the LangShellWindow
+        shellOutput = new LangShellOutputDecoder() {
+            //Colors for the levels
+            private final Color[] colors = {Color.WHITE, new Color(63, 63, 255), Color.MAGENTA, Color.GREEN, Color.YELLOW, new Color(255, 127, 0), Color.RED, new Color(127, 0, 0)};
+            //All output of a flush is added in a single document update
+            private final GraphicsHelper.TextRuns runs = new GraphicsHelper.TextRuns();
+
+            @Override
+            protected void addText(String text, int levelIndex) {
+                runs.add(text, colors[levelIndex]);
+            }
+
+            @Override
+            protected void afterFlush() {
+                if(SwingUtilities.isEventDispatchThread()) {
+                    drainOutput(Integer.MAX_VALUE);
+                    GraphicsHelper.addTexts(shell, runs);
+
+                    //Auto scroll
+                    shell.setCaretPosition(shell.getDocument().getLength());
+                }else {
+                    outputChannel.write(runs);
+                }
+
+                runs.clear();
+            }
+        };
+
+        GraphicsHelper.addText(shell, "Initializing the LangShell...\n", Color.GRAY);
+
+        long initStartTime = System.nanoTime();
+        flagRunning = true;
+        startExecutionThread(() -> {
+            try {
+                initShellInternal(langArgs, recoverJournals, initStartTime);
+            }catch(RuntimeException e) {
+                term.logln(Level.CRITICAL, "The LangShell could not be initialized!", LangShellWindow.class);
+                term.logStackTrace(e, LangShellWindow.class);
+            }
+        });
+    }
+    private void initShellInternal(String[] langArgs, boolean recoverJournals, long initStartTime) {
+        long startTime = System.nanoTime();
+        lii = Lang.createInterpreterInterface(term, langPlatformAPI, langArgs);
+        //Change the "errorOutput" flag to ALL
+        lii.setErrorOutputFlag(LangInterpreter.ExecutionFlags.ErrorOutputFlag.ALL);
+        long interpreterTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        shellFunctions = new LangShellFunctions(lii, term, "func.cloneTab() # Opens a new tab with a copy of all variables and loaded modules of this tab\n" +
+                "func.setOutputPolicy(value) # Sets what happens with output if the shell can not keep up [Value can be one of 'BLOCK', 'DROP', and 'SPILL']\n" +
+                "func.printOutputStats() # Prints the throughput and the count of suppressed and spilled output of this tab");
+        shellFunctions.setDocumentationIndexListener(functionHelpCache::clear);
+        lii.addPredefinedFunctions(shellFunctions);
+        lii.addPredefinedFunctions(this);
+        parallelMapReduce = LangNativeFunctions.addNativeFunctions(lii, langPlatformAPI);
+        parallelMapReduce.setThreadContextCapturer(window::captureOutputRoutingOfCurrentThread);
+        autoCompleter = new LangShellAutoCompleter(lii);
+        long functionsTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        List<File> orphanedJournals = recoverJournals?LangSessionJournal.findOrphanedJournals(JOURNAL_DIRECTORY):new ArrayList<>();
+        try {
+            journal = LangSessionJournal.create(JOURNAL_DIRECTORY, term);
+        }catch(IOException e) {
+            term.logln(Level.WARNING, "The session journal could not be created: Executed code will not be recoverable and can not be saved", LangShellWindow.class);
+            term.logStackTrace(e, LangShellWindow.class);
+        }
+        long journalTime = System.nanoTime() - startTime;
+
+        shellFunctions.updateDocumentationIndexIfOutdated();
+
+        String timingText = String.format("Initialized in %s (Interpreter: %s, Functions: %s, Journal: %s)",
+                LangExecutionStats.formatNanoTime(System.nanoTime() - initStartTime), LangExecutionStats.formatNanoTime(interpreterTime),
+                LangExecutionStats.formatNanoTime(functionsTime), LangExecutionStats.formatNanoTime(journalTime));
+        SwingUtilities.invokeLater(() -> finishInitialization(timingText, orphanedJournals));
+    }
+    /**
+     * Shows the welcome text and executes the input which was entered during the initialization
+     */
+    private void finishInitialization(String timingText, List<File> orphanedJournals) {
+        if(flagClosed) {
+            //The tab was closed during the initialization
+            closeJournal();
+
+            return;
+        }
+
+        initTimingText = timingText;
+        window.startWarmUpIfConfigured();
+
+        drainOutput(Integer.MAX_VALUE);
+        printWelcomeText();
+
+        flagRunning = false;
+        flagInitialized = true;
+
+        recoverOrphanedJournals(orphanedJournals);
+
+        if(pendingClonedSession != null) {
+            loadClonedSession(pendingClonedSessionTitle, pendingClonedSession);
+            pendingClonedSessionTitle = null;
+            pendingClonedSession = null;
+        }
+
+        //Completed lines of the buffered input are added to the execution queue
+        flagReplayingBufferedInput = true;
+        try {
+            for(KeyEvent e:bufferedInput) {
+                if(e.getID() == KeyEvent.KEY_PRESSED)
+                    shellKeyListener.keyPressed(e);
+                else
+                    shellKeyListener.keyTyped(e);
+            }
+        }finally {
+            flagReplayingBufferedInput = false;
+            bufferedInput.clear();
+        }
+
+        executeExecutionQueueIfIdle();
+    }
+    private void recoverOrphanedJournals(List<File> orphanedJournals) {
+        for(File orphanedJournal:orphanedJournals) {
+            String code;
+            try {
+                code = LangSessionJournal.readJournal(orphanedJournal);
+            }catch(IOException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+
+                continue;
+            }
+
+            if(!code.trim().isEmpty()) {
+                Object[] options = {"Re-execute", "Discard", "Keep for later"};
+                int option = JOptionPane.showOptionDialog(window, "A LangShell session which was not closed properly was found (" +
+                                code.split("\n").length + " lines in \"" + orphanedJournal + "\")!\nDo you want to re-execute its code?",
+                        "Recover session", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+                if(option != JOptionPane.YES_OPTION && option != JOptionPane.NO_OPTION)
+                    continue;
+
+                if(option == JOptionPane.YES_OPTION)
+                    executionQueue.add(code);
+            }
+
+            if(!orphanedJournal.delete())
+                term.logf(Level.WARNING, "The session journal \"%s\" could not be deleted\n", LangShellWindow.class, orphanedJournal);
+        }
+    }
+    private void printWelcomeText() {
+        GraphicsHelper.addText(shell, "Lang-Shell", Color.RED);
+        GraphicsHelper.addText(shell, " - Press CTRL + C for cancelling execution or for exiting!\n" +
+                "• Copy with (CTRL + SHIFT + C) and paste with (CTRL + SHIT + V)\n" +
+                "• Press CTRL + F1 for getting a help popup for the current function\n" +
+                "• Press CTRL + SHIFT + F1 for searching the documentation of all functions\n" +
+                "• Press CTRL + S for saving all inputs to a .lang file (Save)\n" +
+                "• Press CTRL + SHIFT + S for saving all inputs to a .lang file (Save As...)\n" +
+                "• Press CTRL + SHIFT + O for saving or loading a session snapshot (Variables and loaded modules)\n" +
+                "• Press CTRL + T for opening a new tab and CTRL + W for closing the current tab\n" +
+                "• Press CTRL + SHIFT + T for opening a new tab with a copy of all variables and loaded modules\n" +
+                "• Press CTRL + I for opening the special char input window\n" +
+                "• Press CTRL + SHIFT + F for opening a file chooser to insert file paths\n" +
+                "• Press CTRL + SHIFT + R for starting or stopping the recording of all inputs of this tab\n" +
+                "• Press CTRL + SHIFT + P for replaying a recording in a new tab and measuring its latencies\n" +
+                "• Press CTRL + SHIFT + H for showing or hiding the hot functions of the current execution\n" +
+                "• Press CTRL + SHIFT + E for showing or hiding the variable explorer\n" +
+                "• Press CTRL + SHIFT + N for opening a notebook (Cells which are executed again if variables they depend on change)\n" +
+                "• Press UP and DOWN for scrolling through the history\n" +
+                "• Press TAB and SHIFT + TAB for scrolling trough auto complete texts\n" +
+                "    ◦ Press ENTER for accepting the auto complete text\n" +
+                "• Press CTRL + L to clear the screen\n" +
+                "• Use func.printHelp() to get information about LangShell functions\n", Color.WHITE);
+        GraphicsHelper.addText(shell, initTimingText + "\n" + window.getWarmUpStatus() + "\n> ", Color.GRAY);
+    }
+
+    //GUI functions
+    @LangFunction("cloneTab")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject cloneTabFunction() {
+        try {
+            byte[] snapshot = createSessionSnapshot();
+            SwingUtilities.invokeLater(() -> window.addTab(title, snapshot));
+        }catch(IOException e) {
+            return lii.setErrnoErrorObject(InterpretingError.SYSTEM_ERROR, "Session could not be cloned: " + e.getMessage());
+        }
+
+        return null;
+    }
+    @LangFunction("setOutputPolicy")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject setOutputPolicyFunction(
+            @LangParameter("$value") DataObject valueObject
+    ) {
+        try {
+            outputChannel.setPolicy(OutputChannel.OverflowPolicy.valueOf(lii.getInterpreter().conversions.toText(valueObject, CodePosition.EMPTY).toString()));
+        }catch(IllegalArgumentException e) {
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$value\") policy must be one of 'BLOCK', 'DROP', 'SPILL'");
+        }
+
+        return null;
+    }
+    @LangFunction("printOutputStats")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject printOutputStatsFunction() {
+        term.logln(Level.DEBUG, outputChannel.getStatistics(), LangShellWindow.class);
+
+        return null;
+    }
+
+    /**
+     * Adds up to maxChars chars of the buffered output of other threads to the shell, must be called on the event dispatch thread
+     */
+    private void drainOutput(int maxChars) {
+        if(outputChannel.drain(drainedOutput, maxChars) == 0)
+            return;
+
+        GraphicsHelper.addTexts(shell, drainedOutput);
+        drainedOutput.clear();
+
+        //Auto scroll
+        shell.setCaretPosition(shell.getDocument().getLength());
+    }
+
+    /**
+     * Adds text after all buffered output, can be called from any thread
+     */
+    private void addOutput(String text, Color color) {
+        if(SwingUtilities.isEventDispatchThread()) {
+            drainOutput(Integer.MAX_VALUE);
+            GraphicsHelper.addText(shell, text, color);
+        }else {
+            outputChannel.write(text, color);
+        }
+    }
+
+    /**
+     * Adds the lines of the pasted text, all completed lines are executed
+     */
+    private void paste(String copied) {
+        recordEvent(recorder -> recorder.paste(copied));
+
+        removeAutoCompleteText();
+        String[] lines = copied.split("\n");
+        for(int i = 0;i < lines.length;i++) {
+            String line = lines[i].trim();
+            GraphicsHelper.addText(shell, line, Color.WHITE);
+            highlightSyntaxLastLine();
+            lineTmp.append(line);
+            if(i != lines.length - 1) { //Line has an '\n' at end -> finished line
+                addLine(lineTmp.toString(), true, true);
+                lineTmp.delete(0, lineTmp.length());
+            }
+        }
+
+        if(lines.length > 1) {
+            addLine(lines[lines.length - 1], true, false);
+            lineTmp.delete(0, lineTmp.length());
+        }
+
+        if(flagReplayingBufferedInput) {
+            //The execution queue is executed after all buffered input was added
+        }else if(flagRunning) {
+            if(!flagExecutingQueue) {
+                executionQueue.clear();
+                term.logln(Level.ERROR, "The interpreter is already executing stuff!\nPress CTRL + C for stopping the execution.", LangShellWindow.class);
+            }
+        }else if(lines.length > 1 && !executionQueue.isEmpty()) {
+            executeCodeFromExecutionQueue();
+        }
+
+        updateAutoCompleteText(lineTmp.toString());
+    }
+
+    /**
+     * Adds text to the current line without executing it (e.g. a file path)
+     */
+    private void insertText(String textInsert) {
+        recordEvent(recorder -> recorder.insert(textInsert));
+
+        removeAutoCompleteText();
+
+        GraphicsHelper.addText(shell, textInsert, Color.WHITE);
+        highlightSyntaxLastLine();
+        lineTmp.append(textInsert);
+
+        updateAutoCompleteText(lineTmp.toString());
+    }
+
+    private void highlightSyntaxLastLine() {
+        try {
+            Document doc = shell.getDocument();
+            int startOfLine;
+            for(startOfLine = doc.getLength() - 1;startOfLine > 0;startOfLine--)
+                if(doc.getText(startOfLine, 1).charAt(0) == '\n')
+                    break;
+            startOfLine++; //The line starts on char after '\n'
+
+            String line = doc.getText(startOfLine, doc.getLength() - startOfLine);
+
+            //Skip "> "
+            startOfLine += line.indexOf('>') + 2;
+            line = line.substring(line.indexOf('>') + 2);
+
+            List<LangShellSyntax.StyledRun> runs;
+            long startTime = System.nanoTime();
+            try {
+                runs = syntax.highlightLine(statementBuffer.getPendingCode(), line);
+            }catch(IOException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+
+                return;
+            }
+            recordReplayLatency("Syntax highlighting", System.nanoTime() - startTime);
+
+            if(runs == null)
+                return;
+
+            GraphicsHelper.TextRuns textRuns = new GraphicsHelper.TextRuns();
+            for(LangShellSyntax.StyledRun run:runs) {
+                Color col = STYLE_COLORS.get(run.getStyle());
+                textRuns.add(run.getText(), col);
+                lastColor = col;
+            }
+
+            doc.remove(startOfLine, doc.getLength() - startOfLine);
+            GraphicsHelper.addTexts(shell, textRuns);
+        }catch(BadLocationException ignore) {}
+
+        //Auto scroll
+        shell.setCaretPosition(shell.getDocument().getLength());
+    }
+
+    private void updateAutoCompleteText(String line) {
+        if(flagReplayingBufferedInput)
+            return;
+
+        Color col = lastColor.darker().darker();
+        if(col.equals(lastColor)) //Color is already the darkest
+            col = lastColor.brighter().brighter();
+
+        long startTime = System.nanoTime();
+        List<LangShellAutoCompleter.AutoComplete> autoCompletes = autoCompleter.getAutoCompletes(line);
+        recordReplayLatency("Auto completion", System.nanoTime() - startTime);
+        if(autoCompletes.isEmpty())
+            return;
+        autoCompletePos = Math.max(-1, Math.min(autoCompletePos, autoCompletes.size()));
+        if(autoCompletePos < 0 || autoCompletePos >= autoCompletes.size()) {
+            autoCompleteText = "";
+        }else {
+            LangShellAutoCompleter.AutoComplete autoComplete = autoCompletes.get(autoCompletePos);
+            autoCompleteText = autoComplete.getText();
+
+            //Mark deprecated function
+            if(autoComplete.isDeprecated())
+                col = Color.RED.darker().darker();
+        }
+
+        GraphicsHelper.addText(shell, autoCompleteText, col);
+    }
+    private void removeAutoCompleteText() {
+        try {
+            Document doc = shell.getDocument();
+            int startOfAutoComplete = doc.getLength() - autoCompleteText.length();
+            doc.remove(startOfAutoComplete, autoCompleteText.length());
+        }catch(BadLocationException ignored) {}
+        autoCompleteText = "";
+        autoCompletePos = 0;
+    }
+
+    private void removeLines(String str) {
+        statementBuffer.reset();
+
+        String[] lines = str.split("\n");
+        for(int i = 0;i < lines.length;i++) {
+            try {
+                Document doc = shell.getDocument();
+                int startOfLine;
+                for(startOfLine = doc.getLength() - 1;startOfLine > 0;startOfLine--)
+                    if(doc.getText(startOfLine, 1).charAt(0) == '\n')
+                        break;
+                doc.remove(startOfLine, doc.getLength() - startOfLine);
+            }catch(BadLocationException ignore) {}
+        }
+
+        GraphicsHelper.addText(shell, "\n> ", Color.WHITE);
+    }
+    private void addLinesWithoutExec(String str) {
+        String lastLine = str;
+        if(str.contains("\n")) {
+            String[] lines = str.split("\n");
+            for(int i = 0;i < lines.length - 1;i++) {
+                String line = lines[i];
+
+                GraphicsHelper.addText(shell, line, Color.WHITE);
+                highlightSyntaxLastLine();
+
+                addLine(line, false, false);
+            }
+            lastLine = lines[lines.length - 1];
+        }
+
+        GraphicsHelper.addText(shell, lastLine, Color.WHITE);
+        highlightSyntaxLastLine();
+    }
+    private void addLine(String line, boolean addToExecutionQueueOrExecute, boolean addNewLinePromptForLinesPutInExecutionQueue) {
+        if(flagReplayingBufferedInput) {
+            //Buffered lines are executed after all buffered input was added
+            addToExecutionQueueOrExecute = true;
+            addNewLinePromptForLinesPutInExecutionQueue = true;
+        }
+
+        LangShellStatementBuffer.Result result = statementBuffer.addLine(line);
+        if(result.isRemoveIndentOfLine()) {
+            //Remove the first indent from actual line
+            try {
+                Document doc = shell.getDocument();
+                int startOfLine;
+                for(startOfLine = doc.getLength() - 1;startOfLine > 0;startOfLine--)
+                    if(doc.getText(startOfLine, 1).charAt(0) == '\n')
+                        break;
+                startOfLine++; //The line starts on char after '\n'
+                doc.remove(startOfLine, 4);
+            }catch(BadLocationException ignored) {}
+        }
+
+        GraphicsHelper.addText(shell, "\n", Color.WHITE);
+        if(result.isComplete()) {
+            history.add(result.getHistoryEntry());
+
+            String code = result.getCode();
+            if(addToExecutionQueueOrExecute) {
+                executionQueue.add(code);
+                if(addNewLinePromptForLinesPutInExecutionQueue)
+                    GraphicsHelper.addText(shell, "> ", Color.WHITE);
+            }else {
+                executeCode(code);
+            }
+        }else {
+            for(int i = 0;i < result.getIndent();i++)
+                GraphicsHelper.addText(shell, "    ", Color.WHITE);
+            GraphicsHelper.addText(shell, "> ", Color.WHITE);
+        }
+    }
+
+    private void printAutoPrintOutput(DataObject lastVal, LangExecutionStats stats) {
+        String output = shellFunctions.getAutoPrintOutput(lastVal, stats);
+        if(output != null)
+            addOutput(output, Color.PINK);
+    }
+
+    private void executeCode(String code) {
+        if(flagRunning) {
+            term.logln(Level.ERROR, "The interpreter is already executing stuff!\nPress CTRL + C for stopping the execution.", LangShellWindow.class);
+        }else {
+            flagRunning = true;
+            if(journal != null)
+                journal.append(code + "\n");
+            startExecutionThread(() -> {
+                long execStartTime = System.nanoTime();
+                LangFlightRecorder.ExecEvent event = new LangFlightRecorder.ExecEvent();
+                event.begin(lii);
+                try {
+                    LangExecutionStats.Recorder statsRecorder = shellFunctions.startExecStatsRecorder();
+                    DataObject lastVal = lii.exec(code);
+                    LangExecutionStats stats = statsRecorder == null?null:shellFunctions.addExecStats(statsRecorder.stop());
+
+                    printAutoPrintOutput(lastVal, stats);
+                }catch(IOException e) {
+                    term.logStackTrace(e, LangShellWindow.class);
+                }catch(LangInterpreter.StoppedException e) {
+                    term.logStackTrace(e, LangShellWindow.class);
+                    lii.resetStopFlag();
+                }
+                event.commit(lii, title, code);
+                onCodeExecuted(code, System.nanoTime() - execStartTime);
+                shellFunctions.updateDocumentationIndexIfOutdated();
+                addOutput("> ", Color.WHITE);
+
+                flagRunning = false;
+            });
+        }
+    }
+
+    private void executeExecutionQueueIfIdle() {
+        if(!flagRunning && !executionQueue.isEmpty())
+            executeCodeFromExecutionQueue();
+    }
+
+    private void executeCodeFromExecutionQueue() {
+        if(flagRunning) {
+            term.logln(Level.ERROR, "The interpreter is already executing stuff!\nPress CTRL + C for stopping the execution.", LangShellWindow.class);
+        }else {
+            flagRunning = true;
+            flagExecutingQueue = true;
+            startExecutionThread(() -> {
+                while(!executionQueue.isEmpty()) {
+                    String code = executionQueue.poll();
+                    if(journal != null)
+                        journal.append(code + "\n");
+                    long execStartTime = System.nanoTime();
+                    LangFlightRecorder.ExecEvent event = new LangFlightRecorder.ExecEvent();
+                    event.begin(lii);
+                    try {
+                        LangExecutionStats.Recorder statsRecorder = shellFunctions.startExecStatsRecorder();
+                        DataObject lastVal = lii.exec(code);
+                        LangExecutionStats stats = statsRecorder == null?null:shellFunctions.addExecStats(statsRecorder.stop());
+
+                        if(executionQueue.isEmpty())
+                            printAutoPrintOutput(lastVal, stats);
+                    }catch(IOException e) {
+                        term.logStackTrace(e, LangShellWindow.class);
+                    }catch(LangInterpreter.StoppedException e) {
+                        term.logStackTrace(e, LangShellWindow.class);
+                        lii.resetStopFlag();
+                    }
+                    event.commit(lii, title, code);
+                    onCodeExecuted(code, System.nanoTime() - execStartTime);
+                }
+                shellFunctions.updateDocumentationIndexIfOutdated();
+                addOutput("> ", Color.WHITE);
+
+                flagExecutingQueue = false;
+                flagRunning = false;
+            });
+        }
+    }
+
+    /**
+     * Must be called on the execution thread after every execution
+     */
+    private void onCodeExecuted(String code, long execTime) {
+        recordEvent(recorder -> recorder.exec(code, execTime));
+        recordReplayLatency("Execution", execTime);
+    }
+
+    /**
+     * Starts a daemon thread whose output is shown in this tab and whose run time is shown in the tab title
+     */
+    private void startExecutionThread(Runnable runnable) {
+        Thread t = new Thread(() -> {
+            window.routeOutputOfCurrentThreadTo(this);
+            try {
+                runnable.run();
+            }finally {
+                executionThread = null;
+
+                window.onExecutionFinished(this);
+            }
+        });
+        t.setDaemon(true);
+        executionStartTime = System.nanoTime();
+        executionThread = t;
+        t.start();
+    }
+
+    private void saveLangFile(boolean chooseFile) {
+        if(journal == null) {
+            term.logln(Level.ERROR, "The inputs can not be saved, because the session journal could not be created", LangShellWindow.class);
+
+            return;
+        }
+
+        File file;
+        if(chooseFile || lastLangFileSavedTo == null) {
+            JFileChooser fileChooser = new JFileChooser(".");
+            fileChooser.setDialogTitle("Select file to save input to");
+            fileChooser.setFileFilter(new FileFilter() {
+                @Override
+                public String getDescription() {
+                    return "Lang files";
+                }
+
+                @Override
+                public boolean accept(File f) {
+                    return f.isDirectory() || f.getName().endsWith(".lang");
+                }
+            });
+
+            if(fileChooser.showSaveDialog(window) != JFileChooser.APPROVE_OPTION)
+                return;
+
+            file = fileChooser.getSelectedFile();
+            if(!file.getName().contains("."))
+                file = new File(file.getAbsolutePath() + ".lang");
+        }else {
+            file = lastLangFileSavedTo;
+        }
+
+        if(file.exists() && (chooseFile || lastLangFileSavedTo == null)) {
+            if(JOptionPane.showOptionDialog(window, "The file already exists!\nDo you want to override it?",
+                    "Select an option", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null, null, null) != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+
+        //The journal already contains all inputs: Saving is a copy of the journal file on the journal writer thread
+        final File langFile = file;
+        journal.copyTo(langFile, e -> SwingUtilities.invokeLater(() -> {
+            if(e != null) {
+                term.logStackTrace(e, LangShellWindow.class);
+
+                return;
+            }
+
+            JOptionPane.showOptionDialog(window, "The file was saved successfully!", "Successfully saved!", JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.INFORMATION_MESSAGE, null, null, null);
+
+            lastLangFileSavedTo = langFile;
+        }));
+    }
+
+    private void saveOrLoadSessionSnapshot() {
+        if(flagRunning) {
+            term.logln(Level.ERROR, "The interpreter is already executing stuff!\nPress CTRL + C for stopping the execution.", LangShellWindow.class);
+
+            return;
+        }
+
+        Object[] options = {"Save", "Load", "Cancel"};
+        int option = JOptionPane.showOptionDialog(window, "Do you want to save the current session or load a session snapshot?",
+                "Session snapshot", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if(option != JOptionPane.YES_OPTION && option != JOptionPane.NO_OPTION)
+            return;
+
+        boolean save = option == JOptionPane.YES_OPTION;
+
+        JFileChooser fileChooser = new JFileChooser(".");
+        fileChooser.setDialogTitle(save?"Select file to save the session snapshot to":"Select session snapshot to load");
+        fileChooser.setFileFilter(new FileFilter() {
+            @Override
+            public String getDescription() {
+                return "LangShell session snapshots";
+            }
+
+            @Override
+            public boolean accept(File f) {
+                return f.isDirectory() || f.getName().endsWith(".langsession");
+            }
+        });
+
+        if((save?fileChooser.showSaveDialog(window):fileChooser.showOpenDialog(window)) != JFileChooser.APPROVE_OPTION)
+            return;
+
+        File file = fileChooser.getSelectedFile();
+        if(save && !file.getName().contains("."))
+            file = new File(file.getAbsolutePath() + ".langsession");
+
+        if(save && file.exists()) {
+            if(JOptionPane.showOptionDialog(window, "The file already exists!\nDo you want to override it?",
+                    "Select an option", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null, null, null) != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+
+        final File snapshotFile = file;
+        flagRunning = true;
+        startExecutionThread(() -> {
+            try {
+                long startTime = System.nanoTime();
+                LangSessionSnapshot.Report report = save?LangSessionSnapshot.save(lii, snapshotFile):LangSessionSnapshot.load(lii, snapshotFile);
+                shellFunctions.logSessionSnapshotReport(save?"saved to":"loaded from", snapshotFile, report, System.nanoTime() - startTime);
+            }catch(IOException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+            }catch(LangInterpreter.StoppedException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+                lii.resetStopFlag();
+            }
+
+            flagRunning = false;
+        });
+    }
+
+    private void toggleRecording() {
+        if(recorder != null) {
+            stopRecording();
+
+            return;
+        }
+
+        if(replayThread != null) {
+            term.logln(Level.ERROR, "The inputs can not be recorded during a replay", LangShellWindow.class);
+
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser(".");
+        fileChooser.setDialogTitle("Select file to record the inputs to");
+        fileChooser.setFileFilter(new FileFilter() {
+            @Override
+            public String getDescription() {
+                return "LangShell recordings";
+            }
+
+            @Override
+            public boolean accept(File f) {
+                return f.isDirectory() || f.getName().endsWith(LangShellRecording.FILE_EXTENSION);
+            }
+        });
+
+        if(fileChooser.showSaveDialog(window) != JFileChooser.APPROVE_OPTION)
+            return;
+
+        File file = fileChooser.getSelectedFile();
+        if(!file.getName().contains("."))
+            file = new File(file.getAbsolutePath() + LangShellRecording.FILE_EXTENSION);
+
+        if(file.exists()) {
+            if(JOptionPane.showOptionDialog(window, "The file already exists!\nDo you want to override it?",
+                    "Select an option", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null, null, null) != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+
+        try {
+            recorder = new LangShellRecording.Recorder(file);
+        }catch(IOException e) {
+            term.logStackTrace(e, LangShellWindow.class);
+        }
+    }
+    private void stopRecording() {
+        LangShellRecording.Recorder recorder = this.recorder;
+        if(recorder == null)
+            return;
+
+        this.recorder = null;
+        try {
+            recorder.close();
+        }catch(IOException e) {
+            term.logStackTrace(e, LangShellWindow.class);
+
+            return;
+        }
+
+        if(!flagClosed)
+            JOptionPane.showOptionDialog(window, "The recording was saved successfully to \"" + recorder.getFile() + "\" (" +
+                            recorder.getEventCount() + " events)!", "Successfully saved!", JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.INFORMATION_MESSAGE, null, null, null);
+    }
+
+    /**
+     * Writes an event to the recording if the inputs are recorded, can be called from any thread
+     */
+    private void recordEvent(RecordingAction action) {
+        LangShellRecording.Recorder recorder = this.recorder;
+        if(recorder == null)
+            return;
+
+        try {
+            action.record(recorder);
+        }catch(IOException e) {
+            this.recorder = null;
+            try {
+                recorder.close();
+            }catch(IOException ignore) {}
+
+            term.logln(Level.ERROR, "The recording was stopped, because it could not be written", LangShellWindow.class);
+            term.logStackTrace(e, LangShellWindow.class);
+        }
+    }
+
+    private void replayRecording() {
+        JFileChooser fileChooser = new JFileChooser(".");
+        fileChooser.setDialogTitle("Select recording to replay");
+        fileChooser.setFileFilter(new FileFilter() {
+            @Override
+            public String getDescription() {
+                return "LangShell recordings";
+            }
+
+            @Override
+            public boolean accept(File f) {
+                return f.isDirectory() || f.getName().endsWith(LangShellRecording.FILE_EXTENSION);
+            }
+        });
+
+        if(fileChooser.showOpenDialog(window) != JFileChooser.APPROVE_OPTION)
+            return;
+
+        File file = fileChooser.getSelectedFile();
+        try {
+            window.addReplayTab(file.getName(), LangShellRecording.read(file));
+        }catch(IOException e) {
+            term.logStackTrace(e, LangShellWindow.class);
+        }
+    }
+
+    /**
+     * Replays the recorded inputs at full speed as soon as the interpreter is initialized: The next input is added after the previous
+     * execution was finished (CTRL + C inputs are added after the recorded delay for stopping the execution at the same time).
+     * The latencies of all stages are printed after the replay.
+     */
+    void startReplay(String recordingName, List<LangShellRecording.Event> events) {
+        Thread t = new Thread(() -> {
+            window.routeOutputOfCurrentThreadTo(this);
+            try {
+                replay(recordingName, events);
+            }catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }finally {
+                replayStats = null;
+                replayThread = null;
+            }
+        }, "LangShell replay");
+        t.setDaemon(true);
+        replayThread = t;
+        t.start();
+    }
+    private void replay(String recordingName, List<LangShellRecording.Event> events) throws InterruptedException {
+        while(!flagInitialized && !flagClosed)
+            Thread.sleep(10);
+        waitForIdleExecution();
+
+        LangLatencyStats stats = new LangLatencyStats();
+        replayStats = stats;
+
+        long startTime = System.nanoTime();
+        long lastInputTime = 0;
+        int replayedInputCount = 0;
+        for(LangShellRecording.Event event:events) {
+            if(flagClosed || flagReplayCancelled)
+                break;
+
+            if(event.getType() == LangShellRecording.EventType.EXEC) {
+                stats.record("Execution (recorded)", event.getDuration());
+
+                continue;
+            }
+
+            if(event.getType() == LangShellRecording.EventType.KEY_PRESSED && event.getValue() == KeyEvent.VK_C)
+                Thread.sleep(Math.max(0, (event.getTime() - lastInputTime) / 1000000));
+            else
+                waitForIdleExecution();
+            lastInputTime = event.getTime();
+
+            try {
+                SwingUtilities.invokeAndWait(() -> dispatchReplayEvent(event, stats));
+            }catch(InvocationTargetException e) {
+                term.logln(Level.ERROR, "The replay was cancelled, because an input could not be replayed", LangShellWindow.class);
+                term.logStackTrace(e.getCause(), LangShellWindow.class);
+
+                break;
+            }
+
+            replayedInputCount++;
+        }
+        waitForIdleExecution();
+        long replayTime = System.nanoTime() - startTime;
+
+        if(flagClosed)
+            return;
+
+        long recordedTime = events.isEmpty()?0:events.get(events.size() - 1).getTime();
+        term.logf(Level.DEBUG, "Replay of \"%s\" %s: %d of %d inputs replayed in %s (Recorded session: %s)\n%s\n", LangShellWindow.class,
+                recordingName, flagReplayCancelled?"cancelled":"finished", replayedInputCount, events.stream().
+                        filter(event -> event.getType() != LangShellRecording.EventType.EXEC).count(),
+                LangExecutionStats.formatNanoTime(replayTime), LangExecutionStats.formatNanoTime(recordedTime),
+                stats.isEmpty()?"No latencies were recorded":stats);
+        addOutput("> ", Color.WHITE);
+    }
+    private void waitForIdleExecution() throws InterruptedException {
+        while(flagRunning && !flagClosed)
+            Thread.sleep(1);
+    }
+
+    /**
+     * Adds a recorded input with the same code path as real inputs and measures the time until the shell is rendered, must be called on
+     * the event dispatch thread
+     */
+    private void dispatchReplayEvent(LangShellRecording.Event event, LangLatencyStats stats) {
+        if(flagClosed)
+            return;
+
+        flagDispatchingReplayEvent = true;
+        try {
+            long startTime = System.nanoTime();
+            String stage;
+            switch(event.getType()) {
+                case KEY_TYPED:
+                    shellKeyListener.keyTyped(new KeyEvent(shell, KeyEvent.KEY_TYPED, System.currentTimeMillis(), event.getModifiers(),
+                            KeyEvent.VK_UNDEFINED, (char)event.getValue()));
+                    stage = "Key typed (to render)";
+
+                    break;
+                case KEY_PRESSED:
+                    shellKeyListener.keyPressed(new KeyEvent(shell, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), event.getModifiers(),
+                            event.getValue(), KeyEvent.CHAR_UNDEFINED));
+                    stage = "Key pressed (to render)";
+
+                    break;
+                case PASTE:
+                    paste(event.getText());
+                    stage = "Paste (to render)";
+
+                    break;
+                case INSERT:
+                    insertText(event.getText());
+                    stage = "Insert (to render)";
+
+                    break;
+                default:
+                    return;
+            }
+
+            //The shell is painted synchronously for including the rendering in the latency
+            if(shell.isShowing())
+                shell.paintImmediately(shell.getVisibleRect());
+
+            stats.record(stage, System.nanoTime() - startTime);
+        }finally {
+            flagDispatchingReplayEvent = false;
+        }
+    }
+
+    private void cancelReplay() {
+        flagReplayCancelled = true;
+        if(flagRunning)
+            stopExecution();
+    }
+
+    /**
+     * Stops the interpreter and the workers of func.parallelMap() and func.parallelReduce()
+     */
+    private void stopExecution() {
+        lii.stop();
+        if(parallelMapReduce != null)
+            parallelMapReduce.stop();
+    }
+
+    private void recordReplayLatency(String stage, long latency) {
+        LangLatencyStats stats = replayStats;
+        if(stats != null)
+            stats.record(stage, latency);
+    }
+
+    /**
+     * Opens a new tab with a copy of all variables and loaded modules of this session
+     */
+    private void cloneTab() {
+        if(flagRunning) {
+            term.logln(Level.ERROR, "The interpreter is already executing stuff!\nPress CTRL + C for stopping the execution.", LangShellWindow.class);
+
+            return;
+        }
+
+        flagRunning = true;
+        startExecutionThread(() -> {
+            try {
+                byte[] snapshot = createSessionSnapshot();
+                SwingUtilities.invokeLater(() -> window.addTab(title, snapshot));
+            }catch(IOException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+            }catch(LangInterpreter.StoppedException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+                lii.resetStopFlag();
+            }
+
+            flagRunning = false;
+        });
+    }
+
+    /**
+     * Must be called on the interpreter thread
+     *
+     * @return An in-memory session snapshot of all variables and loaded modules of this session
+     */
+    private byte[] createSessionSnapshot() throws IOException {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        LangSessionSnapshot.Report report = LangSessionSnapshot.save(lii, snapshot);
+        if(!report.getSkippedVariables().isEmpty() || !report.getSkippedModules().isEmpty())
+            term.logf(Level.WARNING, "Some entries can not be copied to the new tab:\n%s\n", LangShellWindow.class, report);
+
+        return snapshot.toByteArray();
+    }
+
+    /**
+     * Restores the variables and modules of an in-memory session snapshot of another tab on the interpreter thread of this tab
+     */
+    void loadClonedSession(String sourceTitle, byte[] snapshot) {
+        if(!flagInitialized) {
+            pendingClonedSessionTitle = sourceTitle;
+            pendingClonedSession = snapshot;
+
+            return;
+        }
+
+        flagRunning = true;
+        startExecutionThread(() -> {
+            try {
+                long startTime = System.nanoTime();
+                LangSessionSnapshot.Report report = LangSessionSnapshot.load(lii, new ByteArrayInputStream(snapshot));
+                shellFunctions.logSessionSnapshotReport("cloned from", sourceTitle, report, System.nanoTime() - startTime);
+            }catch(IOException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+            }catch(LangInterpreter.StoppedException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+                lii.resetStopFlag();
+            }
+
+            shellFunctions.updateDocumentationIndexIfOutdated();
+
+            flagRunning = false;
+
+            SwingUtilities.invokeLater(this::executeExecutionQueueIfIdle);
+        });
+    }
+
+    /**
+     * Stops the interpreter and closes the session journal
+     */
+    void close() {
+        flagClosed = true;
+
+        stopRecording();
+
+        //Blocked writers of the interpreter thread are released
+        outputDrainTimer.stop();
+        outputChannel.close();
+
+        //If the initialization is not finished yet, the journal will be closed by finishInitialization()
+        if(!flagInitialized)
+            return;
+
+        stopExecution(); //Stop interpreter if tab is closed
+
+        closeJournal();
+    }
+    private void closeJournal() {
+        if(journal != null) {
+            try {
+                journal.close();
+            }catch(IOException e) {
+                term.logStackTrace(e, LangShellWindow.class);
+            }
+        }
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    JTextPane getShell() {
+        return shell;
+    }
+
+    KeyListener getShellKeyListener() {
+        return shellKeyListener;
+    }
+
+    OutputStream getShellOutput() {
+        return shellOutput;
+    }
+
+    boolean isClosed() {
+        return flagClosed;
+    }
+
+    /**
+     * @return The thread which is currently executing code or null if this tab is idle
+     */
+    Thread getExecutionThread() {
+        return executionThread;
+    }
+
+    boolean isRecording() {
+        return recorder != null;
+    }
+
+    long getExecutionStartTime() {
+        return executionStartTime;
+    }
+
+    /**
+     * @return The interpreter of this tab or null if the interpreter was not yet initialized
+     */
+    LangInterpreter getInterpreter() {
+        return lii == null?null:lii.getInterpreter();
+    }
+
+    /**
+     * @return The interpreter interface of this tab or null if the initialization is not finished
+     */
+    LangInterpreter.LangInterpreterInterface getInterpreterInterface() {
+        return flagInitialized?lii:null;
+    }
+
+    LangCallStatistics getCallStatistics() {
+        return callStatistics;
+    }
+
+    private void clear() {
+        shell.setText("");
+        printWelcomeText();
+    }
+    private void end() {
+        flagEnd = true;
+
+        GraphicsHelper.addText(shell, "^C\nTranslation map:\n", Color.WHITE);
+        Map<String, String> lang = lii.getTranslationMap();
+        lang.forEach((key, value) -> {
+            term.logln(Level.DEBUG, key + " = " + value, LangShellWindow.class);
+        });
+
+        boolean isThrowValue = lii.isReturnedValueThrowValue();
+        DataObject retValue = lii.getAndResetReturnValue();
+        if(isThrowValue) {
+            GraphicsHelper.addText(shell, "Throw Value:\n", Color.WHITE);
+            term.logf(Level.DEBUG, "Error code: \"%d\"\nError message: \"%s\"\n", LangShellWindow.class, retValue.getError().getErrno(), retValue.getError().getErrtxt());
+        }else {
+            GraphicsHelper.addText(shell, "Returned Value:\n", Color.WHITE);
+            if(retValue == null)
+                term.logln(Level.DEBUG, "No returned value", LangShellWindow.class);
+            else
+                term.logf(Level.DEBUG, "Returned Value: \"%s\"\n", LangShellWindow.class,
+                        lii.getInterpreter().conversions.toText(retValue, CodePosition.EMPTY));
+        }
+    }
+
+    private final class FunctionHelpWindow extends JDialog {
+        public FunctionHelpWindow(Dialog owner, String rawFunctionName, DataObject.FunctionPointerObject function) {
+            super(owner, false);
+
+            String functionName = (function == null || function.getFunctionName() == null)?
+                    (rawFunctionName == null?function + "":rawFunctionName):(function + "");
+
+            setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            setTitle("Function Help for " + functionName);
+
+            JPanel contentPane = new JPanel();
+            setContentPane(contentPane);
+            contentPane.setLayout(new BorderLayout());
+            contentPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+            JScrollPane scrollPane = new JScrollPane();
+            scrollPane.setDoubleBuffered(true);
+            scrollPane.setRequestFocusEnabled(false);
+            contentPane.add(scrollPane, BorderLayout.CENTER);
+
+            JEditorPane outputPane = new JEditorPane();
+            outputPane.setEditable(false);
+            outputPane.setContentType("text/html");
+            FunctionHelpCacheKey cacheKey = new FunctionHelpCacheKey(functionName, function);
+            String html = functionHelpCache.get(cacheKey);
+            if(html == null) {
+                html = generateHTML(functionName, function);
+                functionHelpCache.put(cacheKey, html);
+            }
+            outputPane.setText(html);
+            scrollPane.setViewportView(outputPane);
+
+            Dimension thisSize = owner.getPreferredSize();
+            Dimension ownerSize = owner.getSize();
+            setSize(new Dimension(Math.min(thisSize.width, ownerSize.width), (int)Math.min(thisSize.height * 1.5, ownerSize.height)));
+            setLocationRelativeTo(owner);
+        }
+
+        private String generateHTML(String functionName, DataObject.FunctionPointerObject function) {
+            functionName = functionName.replace("<", "&lt;").replace(">", "&gt;");
+
+            StringBuilder builder = new StringBuilder();
+            builder.append("<html>");
+            {
+                builder.append("<head>");
+                {
+                    builder.append("<style>");
+                    {
+                        builder.append("h1 { font-size: ").append(fontSize * 1.5).append("px; }");
+                        builder.append("h2 { font-size: ").append(fontSize * 1.4).append("px; }");
+                        builder.append("p, code, li { font-size: ").append(fontSize).append("px; }");
+
+                        builder.append("ul.lvl2 { list-style-type: circle; }");
+
+                        builder.append(".error { color: red; }");
+                    }
+                    builder.append("</style>");
+                }
+                builder.append("</head>");
+
+                builder.append("<body>");
+                {
+                    builder.append("<h1>").append(functionName).append("</h1>");
+                    if(function == null) {
+                        builder.append("<p class='error'>No function found at cursor position!</p>");
+                    }else {
+                        String description = function.getFunctionInfo();
+                        builder.append("<p>Description: ").append(description == null?"No description available":description).append("</p>");
+
+                        if(function.getOverloadedFunctionCount() > 0) {
+                            DataObject.FunctionPointerObject.InternalFunction internalFunction = function.getFunction(0);
+
+                            builder.append("<p>Combinator function info:").append("</p>");
+                            builder.append("<ul>");
+                            {
+                                builder.append("<li>Call count: ").append(internalFunction.getFunction().getCombinatorFunctionCallCount()).append("</li>");
+                            }
+                            builder.append("</ul>");
+                        }
+
+                        builder.append("<h2>Function signatures</h2>");
+                        builder.append("<ul>");
+                        for(DataObject.FunctionPointerObject.InternalFunction internalFunction:function.getFunctions()) {
+                            generateFunctionSignatureHTML(builder, functionName, internalFunction.getFunction());
+                        }
+                        builder.append("</ul>");
+                    }
+                }
+                builder.append("</body>");
+            }
+            builder.append("</html>");
+            return builder.toString();
+        }
+
+        private void generateFunctionSignatureHTML(StringBuilder builder, String functionName, LangBaseFunction function) {
+            List<DataObject> combinatorArguments = function.isCombinatorFunction()?function.getCombinatorProvidedArgumentList():
+                    new ArrayList<>();
+            boolean hideCombinatorArgument = false;
+
+            builder.append("<li><code>");
+            {
+                builder.append(functionName).append(function.toFunctionSignatureSyntax());
+                DataObject.DataTypeConstraint returnTypeConstraint = function.getReturnValueTypeConstraint();
+                if(!returnTypeConstraint.equals(DataObject.CONSTRAINT_NORMAL)) {
+                    builder.append(":").append(returnTypeConstraint.toTypeConstraintSyntax());
+                }
+            }
+            builder.append("</code></li>");
+            builder.append("<ul class='lvl2'>");
+            for(int i = 0;i < function.getParameterList().size();i++) {
+                hideCombinatorArgument |= function.getParameterAnnotationList().get(i) == LangBaseFunction.ParameterAnnotation.VAR_ARGS;
+
+                builder.append("<li>");
+                {
+                    builder.append(function.getParameterList().get(i).getVariableName()).append("</code>");
+
+                    if(!hideCombinatorArgument && combinatorArguments.size() > i) {
+                        builder.append(" (= <code>").append(lii.getInterpreter().conversions.
+                                toText(combinatorArguments.get(i), CodePosition.EMPTY)).append("</code>)");
+                    }
+
+                    String description = function.getParameterInfoList().get(i);
+                    builder.append(": ").append(description == null?"No description available":description).append("</p>");
+                }
+                builder.append("</li>");
+            }
+            builder.append("</ul>");
+        }
+    }
+
+    private final class FunctionSearchWindow extends JDialog {
+        private static final long serialVersionUID = 3271573361844395466L;
+
+        private final JTextField searchField;
+        private final JList<LangDocumentationIndex.SearchResult> resultList;
+        private final JLabel statusLabel;
+
+        public FunctionSearchWindow(Dialog owner) {
+            super(owner, false);
+
+            setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            setTitle("Function Documentation Search");
+
+            JPanel contentPane = new JPanel();
+            setContentPane(contentPane);
+            contentPane.setLayout(new BorderLayout(0, 5));
+            contentPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+            searchField = new JTextField();
+            searchField.setFont(new Font(Font.MONOSPACED, Font.PLAIN, fontSize));
+            searchField.getDocument().addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent e) {
+                    updateResults();
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent e) {
+                    updateResults();
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent e) {
+                    updateResults();
+                }
+            });
+            searchField.addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    if(e.getKeyCode() == KeyEvent.VK_DOWN) {
+                        resultList.requestFocus();
+                        if(resultList.getModel().getSize() > 0)
+                            resultList.setSelectedIndex(0);
+                    }else if(e.getKeyCode() == KeyEvent.VK_ENTER) {
+                        if(resultList.getModel().getSize() > 0)
+                            openHelpWindow(resultList.getModel().getElementAt(0));
+                    }
+                }
+            });
+            contentPane.add(searchField, BorderLayout.NORTH);
+
+            resultList = new JList<>();
+            resultList.setFont(new Font(Font.MONOSPACED, Font.PLAIN, fontSize));
+            resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            resultList.addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    if(e.getKeyCode() == KeyEvent.VK_ENTER && resultList.getSelectedValue() != null)
+                        openHelpWindow(resultList.getSelectedValue());
+                }
+            });
+            resultList.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if(e.getClickCount() == 2 && resultList.getSelectedValue() != null)
+                        openHelpWindow(resultList.getSelectedValue());
+                }
+            });
+
+            JScrollPane scrollPane = new JScrollPane(resultList);
+            scrollPane.setDoubleBuffered(true);
+            contentPane.add(scrollPane, BorderLayout.CENTER);
+
+            statusLabel = new JLabel(" ");
+            contentPane.add(statusLabel, BorderLayout.SOUTH);
+
+            Dimension ownerSize = owner.getSize();
+            setSize(new Dimension(ownerSize.width / 2, ownerSize.height / 2));
+            setLocationRelativeTo(owner);
+
+            //The index will be updated after the current execution otherwise
+            if(!flagRunning)
+                shellFunctions.updateDocumentationIndexIfOutdated();
+        }
+
+        private void updateResults() {
+            LangDocumentationIndex index = shellFunctions.getDocumentationIndex();
+            if(index == null) {
+                statusLabel.setText("The documentation index is being built...");
+
+                return;
+            }
+
+            long startTime = System.nanoTime();
+            List<LangDocumentationIndex.SearchResult> results = index.search(searchField.getText(), 100);
+            long searchTime = System.nanoTime() - startTime;
+
+            resultList.setListData(results.toArray(new LangDocumentationIndex.SearchResult[0]));
+            statusLabel.setText(String.format("%d results (%.3f ms, %d functions indexed)", results.size(), searchTime / 1000000., index.size()));
+        }
+
+        private void openHelpWindow(LangDocumentationIndex.SearchResult result) {
+            new FunctionHelpWindow(window, result.getName(), result.getFunction()).setVisible(true);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordingAction {
+        void record(LangShellRecording.Recorder recorder) throws IOException;
+    }
+
+    private static final class FunctionHelpCacheKey {
+        private final String functionName;
+        private final DataObject.FunctionPointerObject function;
+        private final long callCount;
+
+        public FunctionHelpCacheKey(String functionName, DataObject.FunctionPointerObject function) {
+            this.functionName = functionName;
+            this.function = function;
+
+            //The call count is part of the rendered page
+            this.callCount = (function == null || function.getOverloadedFunctionCount() == 0)?-1:
+                    function.getFunction(0).getFunction().getCombinatorFunctionCallCount();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj)
+                return true;
+
+            if(!(obj instanceof FunctionHelpCacheKey))
+                return false;
+
+            FunctionHelpCacheKey that = (FunctionHelpCacheKey)obj;
+            return function == that.function && callCount == that.callCount && functionName.equals(that.functionName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(functionName, System.identityHashCode(function), callCount);
+        }
+    }
+}
\ No newline at end of file
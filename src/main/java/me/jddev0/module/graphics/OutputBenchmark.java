@@ -0,0 +1,368 @@
+package me.jddev0.module.graphics;
+
+import java.awt.Color;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import javax.swing.JTextPane;
+import javax.swing.text.DefaultStyledDocument;
+
+import at.jddev0.io.TerminalIO;
+import me.jddev0.module.lang.LangExecutionStats;
+import me.jddev0.module.lang.LangShellOutputDecoder;
+
+/**
+ * Uses the io module<br>
+ * <br>
+ * Graphics-Module<br>
+ * Benchmarks of the output path of the TermIO-Control window and the LangShell: Output is written to System.out (With the TerminalIO and
+ * directly), decoded by the {@link LangShellOutputDecoder} and added to different targets. No window is opened, the benchmarks can be
+ * run with java.awt.headless=true.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class OutputBenchmark {
+    private static final Color[] LEVEL_COLORS = {Color.WHITE, new Color(63, 63, 255), Color.MAGENTA, Color.GREEN, Color.YELLOW, new Color(255, 127, 0), Color.RED, new Color(127, 0, 0)};
+
+    private static final int OUTPUT_CHANNEL_CAPACITY = 1024 * 1024;
+    private static final int MAX_OUTPUT_CHARS_PER_DRAIN = 32 * 1024;
+
+    private static final String LONG_LINE;
+    static {
+        char[] chars = new char[4000];
+        for(int i = 0;i < chars.length;i++)
+            chars[i] = (char)('a' + i % 26);
+        LONG_LINE = new String(chars);
+    }
+    private static final String[] TINY_TOKENS = {"1", ", ", "ab", "[", "x", "]", "0.5", " "};
+
+    private final PrintStream resultOut;
+    private final long charsPerRun;
+
+    //System.out is redirected to the decoder of the current target
+    private volatile OutputStream currentTarget;
+    private TerminalIO term;
+
+    /**
+     * @param resultOut The stream to which the results are written
+     * @param charsPerRun The count of decoded chars which are written for every combination of a workload and a target
+     */
+    public OutputBenchmark(PrintStream resultOut, long charsPerRun) {
+        this.resultOut = resultOut;
+        this.charsPerRun = charsPerRun;
+    }
+
+    public void run() {
+        PrintStream oldOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                OutputStream target = currentTarget;
+                if(target != null) {
+                    try {
+                        target.write(b);
+                    }catch(IOException ignore) {}
+                }
+            }
+
+            @Override
+            public void flush() {
+                OutputStream target = currentTarget;
+                if(target != null) {
+                    try {
+                        target.flush();
+                    }catch(IOException ignore) {}
+                }
+            }
+        }, true));
+        try {
+            term = new TerminalIO(null);
+
+            resultOut.printf("Output benchmark (%,d chars per run, headless: %b)\n", charsPerRun, GraphicsEnvironment.isHeadless());
+
+            //Warm up all code paths with smaller runs
+            for(Workload workload:Workload.values())
+                for(TargetType targetType:TargetType.values())
+                    runSingle(workload, targetType, charsPerRun / 10);
+
+            resultOut.printf("%-18s %-26s %12s %14s %14s %12s\n", "Workload", "Target", "Time", "Chars/s", "Alloc/s", "Alloc/char");
+            for(Workload workload:Workload.values()) {
+                for(TargetType targetType:TargetType.values()) {
+                    Result result = runSingle(workload, targetType, charsPerRun);
+
+                    resultOut.printf("%-18s %-26s %12s %14s %14s %12s\n", workload, targetType, LangExecutionStats.formatNanoTime(result.time),
+                            String.format("%,.0f", result.getCharsPerSecond()),
+                            result.allocatedBytes < 0?"-":LangExecutionStats.formatBytes((long)result.getAllocatedBytesPerSecond()) + "/s",
+                            result.allocatedBytes < 0?"-":String.format("%.1f B", result.allocatedBytes / (double)result.chars));
+                }
+            }
+        }finally {
+            currentTarget = null;
+            System.setOut(oldOut);
+        }
+    }
+
+    private Result runSingle(Workload workload, TargetType targetType, long chars) {
+        Target target = targetType.create();
+        currentTarget = target.decoder;
+
+        System.gc();
+
+        long startAllocatedBytes = LangExecutionStats.getCurrentThreadAllocatedBytes();
+        long startTime = System.nanoTime();
+        for(int i = 0;target.decodedChars < chars;i++)
+            workload.write(term, i);
+        target.finish();
+        long time = System.nanoTime() - startTime;
+        long endAllocatedBytes = LangExecutionStats.getCurrentThreadAllocatedBytes();
+
+        currentTarget = null;
+
+        long allocatedBytes = (startAllocatedBytes < 0 || target.otherThreadAllocatedBytes < 0)?-1:
+                endAllocatedBytes - startAllocatedBytes + target.otherThreadAllocatedBytes;
+
+        return new Result(target.decodedChars, time, allocatedBytes);
+    }
+
+    private static final class Result {
+        private final long chars;
+        private final long time;
+        private final long allocatedBytes;
+
+        private Result(long chars, long time, long allocatedBytes) {
+            this.chars = chars;
+            this.time = time;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public double getCharsPerSecond() {
+            return chars * 1000000000. / Math.max(1, time);
+        }
+
+        public double getAllocatedBytesPerSecond() {
+            return allocatedBytes * 1000000000. / Math.max(1, time);
+        }
+    }
+
+    private enum Workload {
+        /**
+         * Messages of all levels written with the TerminalIO
+         */
+        LEVELED_MESSAGES("leveled messages") {
+            @Override
+            public void write(TerminalIO term, int i) {
+                TerminalIO.Level level = LangShellOutputDecoder.LEVELS[1 + i % (LangShellOutputDecoder.LEVELS.length - 1)];
+                term.logln(level, "Message " + i + ": The value of $var is " + i * 31 + " [Took " + (i % 997) + " ms]", OutputBenchmark.class);
+            }
+        },
+        /**
+         * Lines with 4000 chars written with println()
+         */
+        LONG_LINES("long lines") {
+            @Override
+            public void write(TerminalIO term, int i) {
+                System.out.println(LONG_LINE);
+            }
+        },
+        /**
+         * Very short texts which are flushed after every write, every 16th write ends the line
+         */
+        TINY_WRITES("tiny writes") {
+            @Override
+            public void write(TerminalIO term, int i) {
+                System.out.print(TINY_TOKENS[i % TINY_TOKENS.length]);
+                if(i % 16 == 15)
+                    System.out.println();
+                else
+                    System.out.flush();
+            }
+        },
+        /**
+         * 70% leveled messages, 25% tiny writes, and 5% long lines
+         */
+        MIXED("mixed") {
+            @Override
+            public void write(TerminalIO term, int i) {
+                int kind = i % 20;
+                if(kind == 0)
+                    LONG_LINES.write(term, i);
+                else if(kind < 6)
+                    TINY_WRITES.write(term, i);
+                else
+                    LEVELED_MESSAGES.write(term, i);
+            }
+        };
+
+        private final String name;
+
+        Workload(String name) {
+            this.name = name;
+        }
+
+        public abstract void write(TerminalIO term, int i);
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private enum TargetType {
+        /**
+         * The output is decoded only
+         */
+        DECODE_ONLY("decode only") {
+            @Override
+            public Target create() {
+                return new Target() {
+                    @Override
+                    protected void add(GraphicsHelper.TextRuns runs) {}
+                };
+            }
+        },
+        /**
+         * Every run is inserted into a JTextPane with a separate insertString() call
+         */
+        TEXT_PANE_SEQUENTIAL("JTextPane (addText)") {
+            @Override
+            public Target create() {
+                JTextPane pane = new JTextPane(new DefaultStyledDocument());
+                return new Target() {
+                    @Override
+                    protected void add(GraphicsHelper.TextRuns runs) {
+                        GraphicsHelper.addTexts(pane, runs);
+                    }
+                };
+            }
+        },
+        /**
+         * All runs of a flush are inserted into a JTextPane with a single document update (LangShell)
+         */
+        TEXT_PANE_BATCHED("JTextPane (addTexts)") {
+            @Override
+            public Target create() {
+                JTextPane pane = new JTextPane(new GraphicsHelper.BatchStyledDocument());
+                return new Target() {
+                    @Override
+                    protected void add(GraphicsHelper.TextRuns runs) {
+                        GraphicsHelper.addTexts(pane, runs);
+                    }
+                };
+            }
+        },
+        /**
+         * All runs of a flush are appended to the store of an {@link OutputTextView} (TermIO-Control window)
+         */
+        OUTPUT_TEXT_STORE("OutputTextStore") {
+            @Override
+            public Target create() {
+                OutputTextStore store = new OutputTextStore();
+                return new Target() {
+                    @Override
+                    protected void add(GraphicsHelper.TextRuns runs) {
+                        store.append(runs);
+                    }
+                };
+            }
+        },
+        /**
+         * All runs of a flush are written to a blocking {@link OutputChannel} which is drained into a JTextPane by another thread
+         * (LangShell output of interpreter threads)
+         */
+        OUTPUT_CHANNEL("OutputChannel + JTextPane") {
+            @Override
+            public Target create() {
+                return new ChannelTarget();
+            }
+        };
+
+        private final String name;
+
+        TargetType(String name) {
+            this.name = name;
+        }
+
+        public abstract Target create();
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static abstract class Target {
+        protected long decodedChars;
+        protected long otherThreadAllocatedBytes;
+
+        private final GraphicsHelper.TextRuns runs = new GraphicsHelper.TextRuns();
+        private final LangShellOutputDecoder decoder = new LangShellOutputDecoder() {
+            @Override
+            protected void addText(String text, int levelIndex) {
+                runs.add(text, LEVEL_COLORS[levelIndex]);
+                decodedChars += text.length();
+            }
+
+            @Override
+            protected void afterFlush() {
+                add(runs);
+                runs.clear();
+            }
+        };
+
+        protected abstract void add(GraphicsHelper.TextRuns runs);
+
+        /**
+         * Waits until all output was added to the target
+         */
+        protected void finish() {}
+    }
+
+    private static final class ChannelTarget extends Target {
+        private final OutputChannel channel = new OutputChannel(OUTPUT_CHANNEL_CAPACITY, OutputChannel.OverflowPolicy.BLOCK);
+        private final JTextPane pane = new JTextPane(new GraphicsHelper.BatchStyledDocument());
+        private final Thread drainThread;
+        private volatile boolean flagFinished;
+
+        private ChannelTarget() {
+            drainThread = new Thread(() -> {
+                long startAllocatedBytes = LangExecutionStats.getCurrentThreadAllocatedBytes();
+
+                GraphicsHelper.TextRuns drainedRuns = new GraphicsHelper.TextRuns();
+                while(true) {
+                    boolean finished = flagFinished;
+                    if(channel.drain(drainedRuns, MAX_OUTPUT_CHARS_PER_DRAIN) > 0) {
+                        GraphicsHelper.addTexts(pane, drainedRuns);
+                        drainedRuns.clear();
+                    }else if(finished) {
+                        break;
+                    }else {
+                        Thread.yield();
+                    }
+                }
+
+                long endAllocatedBytes = LangExecutionStats.getCurrentThreadAllocatedBytes();
+                otherThreadAllocatedBytes = startAllocatedBytes < 0?-1:endAllocatedBytes - startAllocatedBytes;
+            });
+            drainThread.setDaemon(true);
+            drainThread.start();
+        }
+
+        @Override
+        protected void add(GraphicsHelper.TextRuns runs) {
+            channel.write(runs);
+        }
+
+        @Override
+        protected void finish() {
+            flagFinished = true;
+            try {
+                drainThread.join();
+            }catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
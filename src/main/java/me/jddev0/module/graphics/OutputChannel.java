@@ -0,0 +1,360 @@
+package me.jddev0.module.graphics;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * Graphics-Module<br>
+ * Bounded buffer for colored output between the threads which produce output (e.g. interpreter threads) and the event dispatch thread
+ * which adds the output to a text component: At most capacity chars are buffered, if the buffer is full the {@link OverflowPolicy}
+ * decides what happens with new output.<br>
+ * All methods are thread safe.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class OutputChannel {
+    private static final Color SUMMARY_COLOR = new Color(255, 127, 0);
+
+    private final int capacity;
+    private OverflowPolicy policy;
+
+    private final ArrayDeque<String> texts = new ArrayDeque<>();
+    private final ArrayDeque<Color> colors = new ArrayDeque<>();
+    private int size;
+    private boolean lastCharIsLineBreak = true;
+    private boolean closed;
+
+    //Output which was suppressed since the last summary
+    private long pendingDroppedChars;
+    private long pendingDroppedLines;
+    private long pendingSpilledChars;
+    private long pendingSpilledLines;
+
+    private File spillFile;
+    private Writer spillWriter;
+    private IOException spillException;
+
+    //Statistics
+    private long firstWriteTime = -1;
+    private long lastDeliveryTime = -1;
+    private long writtenChars;
+    private long deliveredChars;
+    private long droppedChars;
+    private long droppedLines;
+    private long spilledChars;
+    private long spilledLines;
+    private long blockedTime;
+    private int maxSize;
+
+    /**
+     * @param capacity The max count of buffered chars, a single write which is larger than the capacity is accepted if the buffer is empty
+     */
+    public OutputChannel(int capacity, OverflowPolicy policy) {
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * Can be called from any thread except the thread which drains this channel if the policy is {@link OverflowPolicy#BLOCK}
+     */
+    public void write(String text, Color color) {
+        write(new GraphicsHelper.TextRuns().add(text, color));
+    }
+
+    /**
+     * All runs are written at once<br>
+     * Can be called from any thread except the thread which drains this channel if the policy is {@link OverflowPolicy#BLOCK}
+     */
+    public synchronized void write(GraphicsHelper.TextRuns runs) {
+        if(closed || runs.isEmpty())
+            return;
+
+        int length = 0;
+        for(int i = 0;i < runs.size();i++)
+            length += runs.getText(i).length();
+
+        if(firstWriteTime == -1)
+            firstWriteTime = System.nanoTime();
+        writtenChars += length;
+
+        if(size > 0 && size + length > capacity) {
+            switch(policy) {
+                case BLOCK:
+                    long startTime = System.nanoTime();
+                    try {
+                        while(!closed && policy == OverflowPolicy.BLOCK && size > 0 && size + length > capacity)
+                            wait();
+                    }catch(InterruptedException e) {
+                        Thread.currentThread().interrupt();
+
+                        drop(runs, length);
+
+                        return;
+                    }finally {
+                        blockedTime += System.nanoTime() - startTime;
+                    }
+
+                    if(closed)
+                        return;
+
+                    if(size > 0 && size + length > capacity) {
+                        //The policy was changed while waiting
+                        if(policy == OverflowPolicy.SPILL)
+                            spill(runs, length);
+                        else
+                            drop(runs, length);
+
+                        return;
+                    }
+
+                    break;
+
+                case DROP:
+                    drop(runs, length);
+
+                    return;
+
+                case SPILL:
+                    spill(runs, length);
+
+                    return;
+            }
+        }
+
+        enqueueSummaryIfSuppressed();
+        for(int i = 0;i < runs.size();i++)
+            enqueue(runs.getText(i), runs.getColor(i));
+    }
+
+    /**
+     * Moves up to maxChars buffered chars to runs, a summary of suppressed output is added if the buffer is empty afterwards
+     *
+     * @return The count of chars which were added to runs
+     */
+    public synchronized int drain(GraphicsHelper.TextRuns runs, int maxChars) {
+        int count = 0;
+        while(count < maxChars && !texts.isEmpty()) {
+            String text = texts.pollFirst();
+            Color color = colors.pollFirst();
+
+            int chars = Math.min(text.length(), maxChars - count);
+            //Surrogate pairs must not be split
+            if(chars < text.length() && Character.isHighSurrogate(text.charAt(chars - 1)))
+                chars = chars == 1?2:chars - 1;
+
+            if(chars < text.length()) {
+                texts.addFirst(text.substring(chars));
+                colors.addFirst(color);
+                text = text.substring(0, chars);
+            }
+
+            runs.add(text, color);
+            count += chars;
+        }
+
+        size -= count;
+        deliveredChars += count;
+
+        if(texts.isEmpty() && enqueueSummaryIfSuppressed()) {
+            String summary = texts.pollFirst();
+            runs.add(summary, colors.pollFirst());
+            size -= summary.length();
+            count += summary.length();
+        }
+
+        if(count > 0) {
+            lastDeliveryTime = System.nanoTime();
+
+            notifyAll();
+        }
+
+        return count;
+    }
+
+    private void enqueue(String text, Color color) {
+        if(text.isEmpty())
+            return;
+
+        texts.addLast(text);
+        colors.addLast(color);
+        size += text.length();
+        maxSize = Math.max(maxSize, size);
+
+        lastCharIsLineBreak = text.charAt(text.length() - 1) == '\n';
+    }
+
+    /**
+     * @return true if a summary was added
+     */
+    private boolean enqueueSummaryIfSuppressed() {
+        if(pendingDroppedChars == 0 && pendingSpilledChars == 0)
+            return false;
+
+        StringBuilder builder = new StringBuilder();
+        if(!lastCharIsLineBreak)
+            builder.append('\n');
+
+        if(pendingDroppedChars > 0)
+            builder.append(String.format("… %,d lines (%,d chars) suppressed\n", pendingDroppedLines, pendingDroppedChars));
+
+        if(pendingSpilledChars > 0) {
+            try {
+                spillWriter.flush();
+            }catch(IOException e) {
+                spillException = e;
+            }
+
+            builder.append(String.format("… %,d lines (%,d chars) written to \"%s\"\n", pendingSpilledLines, pendingSpilledChars, spillFile));
+        }
+
+        pendingDroppedChars = pendingDroppedLines = 0;
+        pendingSpilledChars = pendingSpilledLines = 0;
+
+        enqueue(builder.toString(), SUMMARY_COLOR);
+
+        return true;
+    }
+
+    private void drop(GraphicsHelper.TextRuns runs, int length) {
+        long lines = countLineBreaks(runs);
+
+        pendingDroppedChars += length;
+        pendingDroppedLines += lines;
+        droppedChars += length;
+        droppedLines += lines;
+    }
+
+    private void spill(GraphicsHelper.TextRuns runs, int length) {
+        try {
+            if(spillWriter == null) {
+                if(spillFile == null)
+                    spillFile = File.createTempFile("langshell-output-", ".txt");
+
+                spillWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spillFile, true), StandardCharsets.UTF_8));
+            }
+
+            for(int i = 0;i < runs.size();i++)
+                spillWriter.write(runs.getText(i));
+        }catch(IOException e) {
+            spillException = e;
+            closeSpillWriter();
+
+            //The output is lost if it can not be spilled
+            drop(runs, length);
+
+            return;
+        }
+
+        long lines = countLineBreaks(runs);
+
+        pendingSpilledChars += length;
+        pendingSpilledLines += lines;
+        spilledChars += length;
+        spilledLines += lines;
+    }
+
+    private static long countLineBreaks(GraphicsHelper.TextRuns runs) {
+        long count = 0;
+        for(int i = 0;i < runs.size();i++) {
+            String text = runs.getText(i);
+            for(int j = 0;j < text.length();j++)
+                if(text.charAt(j) == '\n')
+                    count++;
+        }
+
+        return count;
+    }
+
+    private void closeSpillWriter() {
+        if(spillWriter == null)
+            return;
+
+        try {
+            spillWriter.close();
+        }catch(IOException e) {
+            spillException = e;
+        }
+
+        spillWriter = null;
+    }
+
+    public synchronized boolean isEmpty() {
+        return texts.isEmpty() && pendingDroppedChars == 0 && pendingSpilledChars == 0;
+    }
+
+    public synchronized OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public synchronized void setPolicy(OverflowPolicy policy) {
+        this.policy = policy;
+
+        //Blocked writers have to re-check the policy
+        notifyAll();
+    }
+
+    /**
+     * @return The file to which output was spilled or null if no output was spilled yet
+     */
+    public synchronized File getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Discards all buffered output, wakes up blocked writers, and closes the spill file (The spill file is not deleted)<br>
+     * All later writes are ignored
+     */
+    public synchronized void close() {
+        closed = true;
+
+        texts.clear();
+        colors.clear();
+        size = 0;
+
+        closeSpillWriter();
+
+        notifyAll();
+    }
+
+    public synchronized String getStatistics() {
+        long activeTime = (firstWriteTime == -1 || lastDeliveryTime == -1)?0:lastDeliveryTime - firstWriteTime;
+        double throughput = activeTime <= 0?0:deliveredChars * 1000000000. / activeTime;
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Output channel (Policy: %s, Capacity: %,d chars):\n", policy, capacity));
+        builder.append(String.format("    Buffered: %,d chars (Max: %,d chars)\n", size, maxSize));
+        builder.append(String.format("    Written: %,d chars, Shown: %,d chars (%,.0f chars/s)\n", writtenChars, deliveredChars, throughput));
+        builder.append(String.format("    Blocked: %.3f s\n", blockedTime / 1000000000.));
+        builder.append(String.format("    Suppressed: %,d lines (%,d chars)\n", droppedLines, droppedChars));
+        builder.append(String.format("    Spilled: %,d lines (%,d chars)", spilledLines, spilledChars));
+        if(spillFile != null)
+            builder.append(String.format(" to \"%s\"", spillFile));
+        if(spillException != null)
+            builder.append(String.format("\n    Spill error: %s", spillException.getMessage()));
+
+        return builder.toString();
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * The writing thread waits until there is enough space in the buffer
+         */
+        BLOCK,
+        /**
+         * New output is discarded, a summary with the count of the suppressed lines is shown once there is enough space in the buffer
+         */
+        DROP,
+        /**
+         * New output is written to a temporary file, a summary with the path of the file is shown once there is enough space in the buffer
+         */
+        SPILL
+    }
+}
@@ -0,0 +1,268 @@
+package me.jddev0.module.graphics;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Graphics-Module<br>
+ * Append optimized text storage for the {@link OutputTextView}: The text is stored in fixed size chunks, the line starts in a growable index,
+ * and the colors as runs (Run-length encoded). Appending text has a constant cost independent of the size of the already stored text.<br>
+ * Tabs are expanded to spaces and carriage returns are dropped. All methods are thread safe.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class OutputTextStore {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int TAB_SIZE = 8;
+
+    private final List<char[]> chunks = new ArrayList<>();
+    private long length;
+
+    //The start offset of every line, the first line always starts at 0
+    private long[] lineStarts = new long[1024];
+    private int lineCount = 1;
+    private int lastLineLength;
+    private int maxLineLength;
+
+    //Color runs: runColors[i] is used from runStarts[i] to runStarts[i + 1]
+    private long[] runStarts = new long[256];
+    private Color[] runColors = new Color[256];
+    private int runCount;
+
+    public synchronized void append(String text, Color color) {
+        if(text.isEmpty())
+            return;
+
+        if(runCount == 0 || !runColors[runCount - 1].equals(color)) {
+            if(runCount > 0 && runStarts[runCount - 1] == length) {
+                //The last run is empty
+                runColors[runCount - 1] = color;
+            }else {
+                if(runCount == runStarts.length) {
+                    runStarts = Arrays.copyOf(runStarts, runCount * 2);
+                    runColors = Arrays.copyOf(runColors, runCount * 2);
+                }
+
+                runStarts[runCount] = length;
+                runColors[runCount] = color;
+                runCount++;
+            }
+        }
+
+        for(int i = 0;i < text.length();i++) {
+            char c = text.charAt(i);
+            if(c == '\r')
+                continue;
+
+            if(c == '\t') {
+                do {
+                    appendChar(' ');
+                }while(lastLineLength % TAB_SIZE != 0);
+
+                continue;
+            }
+
+            appendChar(c);
+        }
+    }
+
+    public synchronized void append(GraphicsHelper.TextRuns runs) {
+        for(int i = 0;i < runs.size();i++)
+            append(runs.getText(i), runs.getColor(i));
+    }
+
+    private void appendChar(char c) {
+        int chunkIndex = (int)(length >>> CHUNK_BITS);
+        if(chunkIndex == chunks.size())
+            chunks.add(new char[CHUNK_SIZE]);
+
+        chunks.get(chunkIndex)[(int)(length & CHUNK_MASK)] = c;
+        length++;
+
+        if(c == '\n') {
+            if(lineCount == lineStarts.length)
+                lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+
+            lineStarts[lineCount++] = length;
+            lastLineLength = 0;
+        }else {
+            lastLineLength++;
+            if(lastLineLength > maxLineLength)
+                maxLineLength = lastLineLength;
+        }
+    }
+
+    public synchronized void clear() {
+        chunks.clear();
+        length = 0;
+
+        lineStarts = new long[1024];
+        lineCount = 1;
+        lastLineLength = 0;
+        maxLineLength = 0;
+
+        runStarts = new long[256];
+        runColors = new Color[256];
+        runCount = 0;
+    }
+
+    public synchronized long getLength() {
+        return length;
+    }
+
+    public synchronized int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return The length of the longest line (Without the line break)
+     */
+    public synchronized int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    /**
+     * @return The start offset of the line or the length of the text if the line does not exist (anymore)
+     */
+    public synchronized long getLineStart(int line) {
+        if(line >= lineCount)
+            return length;
+
+        return lineStarts[line];
+    }
+
+    /**
+     * @return The length of the line without the line break or 0 if the line does not exist (anymore)
+     */
+    public synchronized int getLineLength(int line) {
+        if(line >= lineCount)
+            return 0;
+
+        if(line == lineCount - 1)
+            return lastLineLength;
+
+        return (int)(lineStarts[line + 1] - lineStarts[line] - 1);
+    }
+
+    public synchronized int getLineOfOffset(long offset) {
+        int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+
+        return index >= 0?index:-index - 2;
+    }
+
+    public synchronized String getText(long start, long end) {
+        start = Math.max(0, start);
+        end = Math.min(length, end);
+        if(end <= start)
+            return "";
+
+        StringBuilder builder = new StringBuilder((int)Math.min(Integer.MAX_VALUE - 8, end - start));
+        copyText(start, end, builder);
+
+        return builder.toString();
+    }
+
+    private void copyText(long start, long end, StringBuilder builder) {
+        while(start < end) {
+            char[] chunk = chunks.get((int)(start >>> CHUNK_BITS));
+            int chunkOffset = (int)(start & CHUNK_MASK);
+            int count = (int)Math.min(end - start, CHUNK_SIZE - chunkOffset);
+
+            builder.append(chunk, chunkOffset, count);
+            start += count;
+        }
+    }
+
+    /**
+     * @param fromColumn The first column (Inclusive)
+     * @param toColumn The last column (Exclusive)
+     * @return The columns of the line with their colors, only the requested range is copied
+     */
+    public synchronized LineSegment getLineSegment(int line, int fromColumn, int toColumn) {
+        long lineStart = getLineStart(line);
+        int lineLength = getLineLength(line);
+
+        fromColumn = Math.max(0, Math.min(fromColumn, lineLength));
+        toColumn = Math.max(fromColumn, Math.min(toColumn, lineLength));
+
+        long start = lineStart + fromColumn;
+        long end = lineStart + toColumn;
+
+        StringBuilder builder = new StringBuilder(toColumn - fromColumn);
+        copyText(start, end, builder);
+        char[] text = new char[builder.length()];
+        builder.getChars(0, builder.length(), text, 0);
+
+        List<Integer> segmentRunStarts = new ArrayList<>();
+        List<Color> segmentRunColors = new ArrayList<>();
+        if(runCount > 0 && start < end) {
+            int runIndex = Arrays.binarySearch(runStarts, 0, runCount, start);
+            if(runIndex < 0)
+                runIndex = -runIndex - 2;
+
+            for(;runIndex < runCount && runStarts[runIndex] < end;runIndex++) {
+                segmentRunStarts.add((int)(Math.max(runStarts[runIndex], start) - start));
+                segmentRunColors.add(runColors[runIndex]);
+            }
+        }
+
+        int[] runOffsets = new int[segmentRunStarts.size()];
+        for(int i = 0;i < runOffsets.length;i++)
+            runOffsets[i] = segmentRunStarts.get(i);
+
+        return new LineSegment(fromColumn, text, runOffsets, segmentRunColors.toArray(new Color[0]));
+    }
+
+    /**
+     * A copy of a part of a single line
+     */
+    public static final class LineSegment {
+        private final int startColumn;
+        private final char[] text;
+        private final int[] runOffsets;
+        private final Color[] runColors;
+
+        private LineSegment(int startColumn, char[] text, int[] runOffsets, Color[] runColors) {
+            this.startColumn = startColumn;
+            this.text = text;
+            this.runOffsets = runOffsets;
+            this.runColors = runColors;
+        }
+
+        public int getStartColumn() {
+            return startColumn;
+        }
+
+        public char[] getText() {
+            return text;
+        }
+
+        public int getRunCount() {
+            return runOffsets.length;
+        }
+
+        /**
+         * @return The offset of the run in the text of this segment
+         */
+        public int getRunOffset(int run) {
+            return runOffsets[run];
+        }
+
+        /**
+         * @return The end offset (Exclusive) of the run in the text of this segment
+         */
+        public int getRunEnd(int run) {
+            return run == runOffsets.length - 1?text.length:runOffsets[run + 1];
+        }
+
+        public Color getRunColor(int run) {
+            return runColors[run];
+        }
+    }
+}
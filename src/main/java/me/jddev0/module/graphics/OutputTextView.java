@@ -0,0 +1,287 @@
+package me.jddev0.module.graphics;
+
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+
+/**
+ * Graphics-Module<br>
+ * Read only output component for large amounts of colored text: The text is stored in an {@link OutputTextStore} and only the visible lines
+ * are painted. Supports selection with the mouse, copying (CTRL + C), selecting everything (CTRL + A), and follows the end of the output
+ * as long as the view is scrolled to the bottom.<br>
+ * Text can be appended from any thread. A monospaced font is expected.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class OutputTextView extends JComponent implements Scrollable {
+    private static final long serialVersionUID = -3306385520419375563L;
+
+    private static final Insets MARGIN = new Insets(3, 5, 0, 5);
+    private static final Color SELECTION_COLOR = new Color(38, 79, 120);
+
+    private final OutputTextStore store = new OutputTextStore();
+    private final AtomicBoolean flagUpdateScheduled = new AtomicBoolean();
+
+    private int charWidth;
+    private int lineHeight;
+    private int ascent;
+
+    private boolean flagFollowTail = true;
+    private long selectionAnchor = -1;
+    private long selectionEnd = -1;
+
+    public OutputTextView() {
+        setOpaque(true);
+        setFocusable(true);
+        setAutoscrolls(true);
+        setCursor(Cursor.getPredefinedCursor(Cursor.TEXT_CURSOR));
+
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if(!SwingUtilities.isLeftMouseButton(e))
+                    return;
+
+                requestFocusInWindow();
+
+                long offset = getOffsetAt(e.getPoint());
+                if(!e.isShiftDown() || selectionAnchor == -1)
+                    selectionAnchor = offset;
+                selectionEnd = offset;
+
+                repaint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if(!SwingUtilities.isLeftMouseButton(e) || selectionAnchor == -1)
+                    return;
+
+                selectionEnd = getOffsetAt(e.getPoint());
+                scrollRectToVisible(new Rectangle(e.getX(), e.getY(), 1, 1));
+
+                repaint();
+            }
+        };
+        addMouseListener(mouseAdapter);
+        addMouseMotionListener(mouseAdapter);
+
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if(e.getKeyCode() == KeyEvent.VK_C && e.isControlDown()) {
+                    String selectedText = getSelectedText();
+                    if(selectedText != null)
+                        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(selectedText), null);
+                }else if(e.getKeyCode() == KeyEvent.VK_A && e.isControlDown()) {
+                    selectionAnchor = 0;
+                    selectionEnd = store.getLength();
+
+                    repaint();
+                }
+            }
+        });
+
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+
+        FontMetrics metrics = getFontMetrics(font);
+        charWidth = Math.max(1, metrics.charWidth('m'));
+        lineHeight = Math.max(1, metrics.getHeight());
+        ascent = metrics.getAscent();
+
+        scheduleUpdate();
+    }
+
+    /**
+     * Can be called from any thread
+     */
+    public void append(String text, Color color) {
+        store.append(text, color);
+
+        scheduleUpdate();
+    }
+
+    /**
+     * Appends all runs at once, can be called from any thread
+     */
+    public void append(GraphicsHelper.TextRuns runs) {
+        if(runs.isEmpty())
+            return;
+
+        store.append(runs);
+
+        scheduleUpdate();
+    }
+
+    /**
+     * Can be called from any thread
+     */
+    public void clear() {
+        store.clear();
+
+        SwingUtilities.invokeLater(() -> {
+            selectionAnchor = selectionEnd = -1;
+            flagFollowTail = true;
+        });
+        scheduleUpdate();
+    }
+
+    public OutputTextStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return The selected text or null if nothing is selected
+     */
+    public String getSelectedText() {
+        if(selectionAnchor == -1 || selectionAnchor == selectionEnd)
+            return null;
+
+        return store.getText(Math.min(selectionAnchor, selectionEnd), Math.max(selectionAnchor, selectionEnd));
+    }
+
+    /**
+     * Scrolls to the end of the output, the view will follow new output afterwards
+     */
+    public void scrollToEnd() {
+        flagFollowTail = true;
+
+        scheduleUpdate();
+    }
+
+    private void scheduleUpdate() {
+        //Many appends between two repaints are coalesced into a single update
+        if(flagUpdateScheduled.compareAndSet(false, true))
+            SwingUtilities.invokeLater(this::update);
+    }
+
+    private void update() {
+        flagUpdateScheduled.set(false);
+
+        Rectangle visibleRect = getVisibleRect();
+        boolean atTail = flagFollowTail || visibleRect.y + visibleRect.height >= getHeight() - lineHeight;
+
+        invalidate();
+        Container parent = getParent();
+        if(parent != null)
+            parent.validate();
+
+        if(atTail && parent instanceof JViewport) {
+            flagFollowTail = false;
+            scrollRectToVisible(new Rectangle(getVisibleRect().x, getHeight() - 1, 1, 1));
+        }
+
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        long width = (long)store.getMaxLineLength() * charWidth + MARGIN.left + MARGIN.right;
+        long height = (long)store.getLineCount() * lineHeight + MARGIN.top + MARGIN.bottom;
+
+        return new Dimension((int)Math.min(Integer.MAX_VALUE, width), (int)Math.min(Integer.MAX_VALUE, height));
+    }
+
+    private long getOffsetAt(Point point) {
+        int lineCount = store.getLineCount();
+        int line = Math.max(0, Math.min(lineCount - 1, (point.y - MARGIN.top) / lineHeight));
+        int column = Math.max(0, Math.round((point.x - MARGIN.left) / (float)charWidth));
+
+        return store.getLineStart(line) + Math.min(column, store.getLineLength(line));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if(clip == null)
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        g.setFont(getFont());
+        if(g instanceof Graphics2D)
+            ((Graphics2D)g).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        int lineCount = store.getLineCount();
+        int firstLine = Math.max(0, (clip.y - MARGIN.top) / lineHeight);
+        int lastLine = Math.min(lineCount - 1, (clip.y + clip.height - MARGIN.top) / lineHeight);
+
+        int firstColumn = Math.max(0, (clip.x - MARGIN.left) / charWidth);
+        int lastColumn = (clip.x + clip.width - MARGIN.left) / charWidth + 1;
+
+        long selectionStart = selectionAnchor == -1?-1:Math.min(selectionAnchor, selectionEnd);
+        long selectionStop = selectionAnchor == -1?-1:Math.max(selectionAnchor, selectionEnd);
+
+        for(int line = firstLine;line <= lastLine;line++) {
+            int y = MARGIN.top + line * lineHeight;
+
+            if(selectionStart != selectionStop) {
+                long lineStart = store.getLineStart(line);
+                long lineEnd = lineStart + store.getLineLength(line) + 1; //Include line break
+                long start = Math.max(lineStart, selectionStart);
+                long end = Math.min(lineEnd, selectionStop);
+                if(start < end) {
+                    g.setColor(SELECTION_COLOR);
+                    g.fillRect(MARGIN.left + (int)(start - lineStart) * charWidth, y, (int)(end - start) * charWidth, lineHeight);
+                }
+            }
+
+            OutputTextStore.LineSegment segment = store.getLineSegment(line, firstColumn, lastColumn);
+            char[] text = segment.getText();
+            for(int run = 0;run < segment.getRunCount();run++) {
+                int runOffset = segment.getRunOffset(run);
+                int runLength = segment.getRunEnd(run) - runOffset;
+                if(runLength <= 0)
+                    continue;
+
+                g.setColor(segment.getRunColor(run));
+                g.drawChars(text, runOffset, runLength, MARGIN.left + (segment.getStartColumn() + runOffset) * charWidth, y + ascent);
+            }
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL?lineHeight:charWidth;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL?Math.max(lineHeight, visibleRect.height - lineHeight):
+                Math.max(charWidth, visibleRect.width - charWidth);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getHeight() > getPreferredSize().height;
+    }
+}
@@ -2,15 +2,11 @@ package me.jddev0.module.graphics;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
-import java.awt.Cursor;
 import java.awt.Font;
-import java.awt.Insets;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.PrintStream;
 import java.util.LinkedList;
 import java.util.List;
@@ -20,12 +16,12 @@ import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
-import javax.swing.JTextPane;
 import javax.swing.ScrollPaneConstants;
 
 import at.jddev0.io.ReaderActionObject;
 import at.jddev0.io.TerminalIO;
 import at.jddev0.io.TerminalIO.Level;
+import me.jddev0.module.lang.LangShellOutputDecoder;
 
 /**
  * Uses the io module<br>
@@ -40,7 +36,7 @@ public class TerminalWindow extends JFrame {
     private static final long serialVersionUID = 3517996790399999763L;
 
     private final JTextField txtEnterCommands;
-    private final JTextPane term;
+    private final OutputTextView term;
 
     private final List<String> history = new LinkedList<String>();
     private int historyPos = 0;
@@ -154,12 +150,9 @@ public class TerminalWindow extends JFrame {
         contentPane.add(scrollPane, BorderLayout.CENTER);
 
         //Pane for displaying output
-        term = new JTextPane();
-        term.setCursor(Cursor.getPredefinedCursor(Cursor.TEXT_CURSOR));
+        term = new OutputTextView();
         term.setBackground(Color.BLACK);
-        term.setEditable(false);
         term.setFont(new Font(Font.MONOSPACED, Font.PLAIN, fontSize));
-        term.setMargin(new Insets(3, 5, 0, 5));
         term.addKeyListener(new KeyAdapter() {
             @Override
             public void keyTyped(KeyEvent e) {
@@ -218,122 +211,27 @@ public class TerminalWindow extends JFrame {
 
         //Sets System.out
         PrintStream out = System.out;
-        System.setOut(new PrintStream(new OutputStream() {
-            //Tmp for multibyte char
-            private final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-
-            private int charsLeftInLogOutput = 0;
-            private int type = 0;
+        System.setOut(new PrintStream(new LangShellOutputDecoder() {
             //Colors for the levels
             private final Color[] colors = {Color.WHITE, new Color(63, 63, 255), Color.MAGENTA, Color.GREEN, Color.YELLOW, new Color(255, 127, 0), Color.RED, new Color(127, 0, 0)};
+            //All output of a flush is appended at once
+            private final GraphicsHelper.TextRuns runs = new GraphicsHelper.TextRuns();
 
             @Override
-            public void write(int b) throws IOException {
+            public void write(int b) {
                 out.write(b);
-                byteOut.write(b);
+                super.write(b);
             }
 
             @Override
-            public void flush() throws IOException {
-                String output = byteOut.toString();
-                byteOut.reset();
-
-                updateOutput(output);
-
-                //Auto scroll
-                term.setCaretPosition(term.getDocument().getLength());
-            }
-
-            private void updateOutput(String output) {
-                if(output.isEmpty())
-                    return;
-
-                if(charsLeftInLogOutput > 0) {
-                    if(output.length() > charsLeftInLogOutput) {
-                        GraphicsHelper.addText(term, output.substring(0, charsLeftInLogOutput), colors[type]);
-
-                        String outputLeft = output.substring(charsLeftInLogOutput);
-                        charsLeftInLogOutput = 0;
-                        updateOutput(outputLeft);
-                    }else {
-                        charsLeftInLogOutput -= output.length();
-
-                        GraphicsHelper.addText(term, output, colors[type]);
-                    }
-
-                    return;
-                }
-
-                int outputLength = getOutputLength(output);
-                if(outputLength == -1) {
-                    type = 0;
-
-                    int bracketIndex = output.indexOf('[', 1); //Ignore "[" at start, because it was already tested
-
-                    if(bracketIndex == -1) {
-                        GraphicsHelper.addText(term, output, colors[type]);
-                    }else {
-                        GraphicsHelper.addText(term, output.substring(0, bracketIndex), colors[type]);
-
-                        String outputLeft = output.substring(bracketIndex);
-                        updateOutput(outputLeft);
-                    }
-
-                    return;
-                }
-
-                charsLeftInLogOutput = outputLength;
-
-                //Sets color of message after new line
-                if(output.startsWith("[" + Level.NOTSET + "]")) {
-                    type = 0;
-                }else if(output.startsWith("[" + Level.USER + "]")) {
-                    type = 1;
-                }else if(output.startsWith("[" + Level.DEBUG + "]")) {
-                    type = 2;
-                }else if(output.startsWith("[" + Level.CONFIG + "]")) {
-                    type = 3;
-                }else if(output.startsWith("[" + Level.INFO + "]")) {
-                    type = 4;
-                }else if(output.startsWith("[" + Level.WARNING + "]")) {
-                    type = 5;
-                }else if(output.startsWith("[" + Level.ERROR + "]")) {
-                    type = 6;
-                }else if(output.startsWith("[" + Level.CRITICAL + "]")) {
-                    type = 7;
-                }
-
-                //Extract message from debug output
-                output = output.split("]: ", 2)[1];
-
-                if(output.startsWith("[From Lang file]: ")) { //Drop "[From Lang file]: " prefix
-                    output = output.substring(18);
-
-                    charsLeftInLogOutput -= 18;
-                }
-
-                updateOutput(output);
+            protected void addText(String text, int levelIndex) {
+                runs.add(text, colors[levelIndex]);
             }
 
-            private int getOutputLength(String output) {
-                if(!output.startsWith("[") || !output.contains("]: "))
-                    return -1;
-
-                int msgLenIndex = output.indexOf("][Msg len: ");
-                if(msgLenIndex == -1)
-                    return -1;
-
-                msgLenIndex += 11; //Index at end of "][Msg len: "
-                int endMsgLenIndex = output.indexOf(']', msgLenIndex);
-                if(endMsgLenIndex == -1)
-                    return -1;
-
-                String msgLen = output.substring(msgLenIndex, endMsgLenIndex);
-                try {
-                    return Integer.parseInt(msgLen);
-                }catch(NumberFormatException e) {
-                    return -1;
-                }
+            @Override
+            protected void afterFlush() {
+                term.append(runs);
+                runs.clear();
             }
         }, true));
     }
@@ -352,11 +250,11 @@ public class TerminalWindow extends JFrame {
         revalidate();
 
         //Auto scroll
-        term.setCaretPosition(term.getDocument().getLength());
+        term.scrollToEnd();
     }
 
     public void clearOutput() {
-        term.setText("");
+        term.clear();
     }
 
     public void setTerminalIO(TerminalIO termIO) {
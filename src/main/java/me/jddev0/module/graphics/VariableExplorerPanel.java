@@ -0,0 +1,439 @@
+package me.jddev0.module.graphics;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+
+import at.jddev0.lang.DataObject;
+import at.jddev0.lang.LangInterpreter;
+import me.jddev0.module.lang.LangExecutionStats;
+import me.jddev0.module.lang.LangValueInspector;
+
+/**
+ * Graphics-Module<br>
+ * Tree of the variables of the selected tab of the {@link LangShellWindow}<br>
+ * Children are only loaded while their parent is expanded, large arrays, lists, and variable maps are split into pages.
+ * Values are read and converted on a separate thread after every execution of the selected tab, the tree is updated incrementally.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class VariableExplorerPanel extends DockablePanel {
+    private static final long serialVersionUID = -1424398513580935172L;
+
+    private final Supplier<LangShellTab> selectedTabSupplier;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread t = new Thread(runnable, "LangShell variable explorer loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final DefaultTreeModel treeModel;
+    private final JTree tree;
+
+    //The following fields must only be accessed on the event dispatch thread
+    private ExplorerNode root;
+    private LangShellTab shownTab;
+    //Is incremented if the root is replaced: Results of older loads are discarded
+    private int generation;
+    private boolean flagRefreshRunning = false;
+    private boolean flagRefreshRequested = false;
+
+    /**
+     * @param selectedTabSupplier Returns the tab whose variables are shown
+     */
+    public VariableExplorerPanel(Supplier<LangShellTab> selectedTabSupplier, int fontSize, Runnable dockAction) {
+        super("Variables", dockAction);
+
+        this.selectedTabSupplier = selectedTabSupplier;
+
+        addButton("Refresh", e -> refresh());
+
+        root = new ExplorerNode(null, null, null, 0, 0);
+        root.flagLoaded = true;
+        treeModel = new DefaultTreeModel(root);
+        tree = new JTree(treeModel);
+        tree.setFont(new Font(Font.MONOSPACED, Font.PLAIN, fontSize));
+        tree.setRowHeight(fontSize + 6);
+        tree.setLargeModel(true);
+        tree.setFocusable(false);
+        tree.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                Object node = event.getPath().getLastPathComponent();
+                if(node instanceof ExplorerNode && !((ExplorerNode)node).flagLoaded)
+                    load((ExplorerNode)node);
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {}
+        });
+        tree.addTreeExpansionListener(new TreeExpansionListener() {
+            @Override
+            public void treeExpanded(TreeExpansionEvent event) {}
+
+            @Override
+            public void treeCollapsed(TreeExpansionEvent event) {
+                //The children of collapsed nodes are released and are no longer refreshed
+                Object node = event.getPath().getLastPathComponent();
+                if(node instanceof ExplorerNode && node != root)
+                    SwingUtilities.invokeLater(() -> unload((ExplorerNode)node));
+            }
+        });
+        add(new JScrollPane(tree), BorderLayout.CENTER);
+    }
+
+    @Override
+    protected void onActiveChanged(boolean active) {
+        if(active)
+            SwingUtilities.invokeLater(this::refresh);
+    }
+
+    /**
+     * Stops the loader thread
+     */
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * Reloads the children of all expanded nodes of the selected tab, must be called on the event dispatch thread
+     */
+    public void refresh() {
+        if(!isActive() || loader.isShutdown())
+            return;
+
+        if(flagRefreshRunning) {
+            flagRefreshRequested = true;
+
+            return;
+        }
+
+        LangShellTab tab = selectedTabSupplier.get();
+        if(tab != shownTab) {
+            shownTab = tab;
+            generation++;
+            root = new ExplorerNode(null, null, null, 0, 0);
+            root.flagLoaded = true;
+            treeModel.setRoot(root);
+        }
+
+        if(tab == null) {
+            setStatus("Variables: No tab selected");
+
+            return;
+        }
+
+        //Parents are before their children
+        List<ExplorerNode> loadedNodes = new ArrayList<>();
+        Deque<ExplorerNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while(!queue.isEmpty()) {
+            ExplorerNode node = queue.poll();
+            loadedNodes.add(node);
+            for(int i = 0;i < node.getChildCount();i++) {
+                if(node.getChildAt(i) instanceof ExplorerNode && ((ExplorerNode)node.getChildAt(i)).flagLoaded)
+                    queue.add((ExplorerNode)node.getChildAt(i));
+            }
+        }
+
+        flagRefreshRunning = true;
+        int generation = this.generation;
+        String title = tab.getTitle();
+        loader.execute(() -> {
+            Map<ExplorerNode, List<ExplorerNode>> children = new LinkedHashMap<>();
+            String status;
+            try {
+                status = loadAll(tab, loadedNodes, children);
+            }catch(RuntimeException e) {
+                //The variables were modified during the refresh
+                status = null;
+                children = null;
+            }
+
+            String statusText = status == null?"Variables of \"" + title + "\": Changed during the refresh":"Variables of \"" + title + "\"" + status;
+            Map<ExplorerNode, List<ExplorerNode>> childrenOfNodes = children;
+            SwingUtilities.invokeLater(() -> {
+                flagRefreshRunning = false;
+
+                if(generation == this.generation) {
+                    setStatus(statusText);
+
+                    if(childrenOfNodes != null)
+                        mergeAll(childrenOfNodes);
+                }
+
+                if(flagRefreshRequested) {
+                    flagRefreshRequested = false;
+                    refresh();
+                }
+            });
+        });
+    }
+
+    /**
+     * Must be called on the loader thread, the children are not loaded if the interpreter is executing code
+     *
+     * @return The status text
+     */
+    private String loadAll(LangShellTab tab, List<ExplorerNode> loadedNodes, Map<ExplorerNode, List<ExplorerNode>> children) {
+        LangInterpreter.LangInterpreterInterface lii = tab.getInterpreterInterface();
+        if(lii == null)
+            return ": Initializing";
+        if(tab.getExecutionThread() != null)
+            return ": Executing (Will be refreshed after the execution)";
+
+        Map<String, DataObject> varMap = lii.getVarMap();
+        List<String> variableNames = LangValueInspector.getVariableNames(varMap);
+        for(ExplorerNode node:loadedNodes)
+            children.put(node, loadChildren(lii.getInterpreter(), varMap, variableNames, node));
+
+        return String.format(" (%,d variables)", variableNames.size());
+    }
+
+    private void load(ExplorerNode node) {
+        node.flagLoaded = true;
+
+        LangShellTab tab = shownTab;
+        if(tab == null || loader.isShutdown())
+            return;
+
+        int generation = this.generation;
+        loader.execute(() -> {
+            List<ExplorerNode> children;
+            try {
+                LangInterpreter.LangInterpreterInterface lii = tab.getInterpreterInterface();
+                if(lii == null || tab.getExecutionThread() != null) {
+                    children = null;
+                }else {
+                    Map<String, DataObject> varMap = lii.getVarMap();
+                    children = loadChildren(lii.getInterpreter(), varMap, node.isVariables()?LangValueInspector.getVariableNames(varMap):null, node);
+                }
+            }catch(RuntimeException e) {
+                children = null;
+            }
+
+            List<ExplorerNode> loadedChildren = children;
+            SwingUtilities.invokeLater(() -> {
+                if(generation != this.generation || !isAttached(node))
+                    return;
+
+                if(loadedChildren == null) {
+                    //Will be loaded if expanded again
+                    node.flagLoaded = false;
+                    tree.collapsePath(new TreePath(node.getPath()));
+                    setStatus("Variables of \"" + tab.getTitle() + "\": Can not be loaded during an execution");
+
+                    return;
+                }
+
+                Map<ExplorerNode, List<ExplorerNode>> childrenOfNodes = new HashMap<>();
+                childrenOfNodes.put(node, loadedChildren);
+                mergeAll(childrenOfNodes);
+            });
+        });
+    }
+
+    private void unload(ExplorerNode node) {
+        if(!node.flagLoaded || tree.isExpanded(new TreePath(node.getPath())) || !isAttached(node))
+            return;
+
+        node.flagLoaded = false;
+        node.removeAllChildren();
+        node.add(new DefaultMutableTreeNode("Loading..."));
+        treeModel.nodeStructureChanged(node);
+    }
+
+    /**
+     * Must be called on the loader thread, the node itself is only read
+     *
+     * @param variableNames The sorted variable names, may be null if the node is not part of the variable map
+     */
+    private static List<ExplorerNode> loadChildren(LangInterpreter interpreter, Map<String, DataObject> varMap, List<String> variableNames, ExplorerNode node) {
+        int from;
+        int to;
+        if(node.isPage()) {
+            from = node.from;
+            to = Math.min(node.to, node.isVariables()?variableNames.size():LangValueInspector.getChildCount(node.value));
+        }else {
+            from = 0;
+            to = node.isVariables()?variableNames.size():LangValueInspector.getChildCount(node.value);
+        }
+
+        List<ExplorerNode> children = new ArrayList<>();
+        if(to - from > LangValueInspector.PAGE_SIZE) {
+            //Nested pages: Every node has at most PAGE_SIZE children
+            long pageSize = LangValueInspector.PAGE_SIZE;
+            while((to - from + pageSize - 1) / pageSize > LangValueInspector.PAGE_SIZE)
+                pageSize *= LangValueInspector.PAGE_SIZE;
+
+            for(long i = from;i < to;i += pageSize)
+                children.add(new ExplorerNode(node.value, null, null, (int)i, (int)Math.min(to, i + pageSize)));
+
+            return children;
+        }
+
+        List<LangValueInspector.Child> values = node.isVariables()?LangValueInspector.getVariables(interpreter, varMap, variableNames, from, to):
+                LangValueInspector.getChildren(interpreter, node.value, from, to);
+        for(LangValueInspector.Child value:values)
+            children.add(new ExplorerNode(value.getValue(), value.getName(), value, 0, 0));
+
+        return children;
+    }
+
+    /**
+     * Replaces the children of the nodes: Children with the same name and the same value are kept (Including their children and their expanded state)
+     */
+    private void mergeAll(Map<ExplorerNode, List<ExplorerNode>> childrenOfNodes) {
+        List<TreePath> expandedPaths = new ArrayList<>();
+        Enumeration<TreePath> expandedDescendants = tree.getExpandedDescendants(new TreePath(root));
+        if(expandedDescendants != null)
+            expandedPaths.addAll(Collections.list(expandedDescendants));
+
+        childrenOfNodes.forEach((node, children) -> {
+            if(isAttached(node))
+                merge(node, children);
+        });
+
+        expandedPaths.sort(Comparator.comparingInt(TreePath::getPathCount));
+        for(TreePath expandedPath:expandedPaths) {
+            ExplorerNode node = (ExplorerNode)expandedPath.getLastPathComponent();
+            if(isAttached(node) && node.flagLoaded && !tree.isExpanded(expandedPath))
+                tree.expandPath(expandedPath);
+        }
+    }
+
+    private void merge(ExplorerNode node, List<ExplorerNode> children) {
+        Map<String, ExplorerNode> oldChildren = new HashMap<>();
+        for(int i = 0;i < node.getChildCount();i++) {
+            if(node.getChildAt(i) instanceof ExplorerNode) {
+                ExplorerNode oldChild = (ExplorerNode)node.getChildAt(i);
+                oldChildren.put(oldChild.getKey(), oldChild);
+            }
+        }
+
+        List<ExplorerNode> mergedChildren = new ArrayList<>(children.size());
+        List<ExplorerNode> childrenWithChangedPlaceholder = new ArrayList<>();
+        for(ExplorerNode child:children) {
+            ExplorerNode oldChild = oldChildren.get(child.getKey());
+            if(oldChild != null && oldChild.value == child.value) {
+                if(oldChild.update(child))
+                    childrenWithChangedPlaceholder.add(oldChild);
+                mergedChildren.add(oldChild);
+            }else {
+                mergedChildren.add(child);
+            }
+        }
+
+        boolean structureChanged = mergedChildren.size() != node.getChildCount();
+        for(int i = 0;!structureChanged && i < mergedChildren.size();i++)
+            structureChanged = mergedChildren.get(i) != node.getChildAt(i);
+
+        if(structureChanged) {
+            node.removeAllChildren();
+            for(ExplorerNode child:mergedChildren)
+                node.add(child);
+
+            treeModel.nodeStructureChanged(node);
+        }else {
+            for(ExplorerNode child:mergedChildren)
+                treeModel.nodeChanged(child);
+            for(ExplorerNode child:childrenWithChangedPlaceholder)
+                treeModel.nodeStructureChanged(child);
+        }
+    }
+
+    private boolean isAttached(ExplorerNode node) {
+        return node.getRoot() == root;
+    }
+
+    private static final class ExplorerNode extends DefaultMutableTreeNode {
+        private static final long serialVersionUID = 2779226591941609011L;
+
+        //Null for the variable map and pages of the variable map
+        private final DataObject value;
+        //Null for pages
+        private final String name;
+        //Range of pages
+        private final int from;
+        private final int to;
+
+        //Is replaced on the event dispatch thread if the node is refreshed
+        private volatile LangValueInspector.Child child;
+        private boolean flagLoaded = false;
+
+        public ExplorerNode(DataObject value, String name, LangValueInspector.Child child, int from, int to) {
+            this.value = value;
+            this.name = name;
+            this.child = child;
+            this.from = from;
+            this.to = to;
+
+            if(isPage() || child != null && child.getChildCount() >= 0)
+                add(new DefaultMutableTreeNode("Loading..."));
+        }
+
+        public boolean isPage() {
+            return name == null && from < to;
+        }
+
+        public boolean isVariables() {
+            return value == null && child == null;
+        }
+
+        public String getKey() {
+            return isPage()?"[" + from + ".." + (to - 1) + "]":name;
+        }
+
+        /**
+         * Takes the description of the reloaded node
+         *
+         * @return true if the placeholder child was added or removed
+         */
+        public boolean update(ExplorerNode reloadedNode) {
+            if(child == null)
+                return false;
+
+            boolean hadChildren = child.getChildCount() >= 0;
+            child = reloadedNode.child;
+            if(flagLoaded || hadChildren == child.getChildCount() >= 0)
+                return false;
+
+            removeAllChildren();
+            if(child.getChildCount() >= 0)
+                add(new DefaultMutableTreeNode("Loading..."));
+
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            if(isPage())
+                return getKey();
+
+            if(child == null)
+                return "Variables";
+
+            String text = name + ": " + child.getTypeText();
+            if(!child.getPreview().isEmpty())
+                text += " = " + child.getPreview();
+            if(child.getSize() != null)
+                text += " (" + LangExecutionStats.formatBytes(child.getSize().getRetainedSize()) + ")";
+
+            return text;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package me.jddev0.module.lang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import at.jddev0.lang.DataObject;
+import at.jddev0.lang.LangInterpreter.LangInterpreterInterface;
+
+/**
+ * Lang-Module<br>
+ * Micro benchmarks of Lang function pointers
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangBenchmark {
+    private static final DataObject.StructObject STRUCT_BENCHMARK_RESULT = new DataObject.StructObject(new String[] {
+            "$iterations", "$min", "$mean", "$median", "$p99", "$max", "$opsPerSecond", "$allocatedBytes"
+    });
+
+    private LangBenchmark() {}
+
+    /**
+     * Calls the function without arguments "warmup" times and afterward "iterations" times while measuring every call
+     */
+    public static Result run(LangInterpreterInterface lii, DataObject.FunctionPointerObject function, String functionName, int iterations, int warmup) {
+        for(int i = 0;i < warmup;i++)
+            lii.callFunctionPointer(function, functionName, new ArrayList<>());
+
+        long[] times = new long[iterations];
+
+        long startAllocatedBytes = LangExecutionStats.getCurrentThreadAllocatedBytes();
+        for(int i = 0;i < iterations;i++) {
+            long startTime = System.nanoTime();
+            lii.callFunctionPointer(function, functionName, new ArrayList<>());
+            times[i] = System.nanoTime() - startTime;
+        }
+        long allocatedBytes = startAllocatedBytes < 0?-1:LangExecutionStats.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+        return new Result(times, allocatedBytes);
+    }
+
+    public static final class Result {
+        private final int iterations;
+        private final long min;
+        private final double mean;
+        private final long median;
+        private final long p99;
+        private final long max;
+        private final double opsPerSecond;
+        private final long allocatedBytes;
+
+        private Result(long[] times, long allocatedBytes) {
+            this.iterations = times.length;
+            this.allocatedBytes = allocatedBytes;
+
+            long[] sortedTimes = Arrays.copyOf(times, times.length);
+            Arrays.sort(sortedTimes);
+
+            long sum = 0;
+            for(long time:sortedTimes)
+                sum += time;
+
+            min = sortedTimes[0];
+            max = sortedTimes[sortedTimes.length - 1];
+            mean = sum / (double)sortedTimes.length;
+            median = sortedTimes[sortedTimes.length / 2];
+            p99 = sortedTimes[Math.max(0, (int)Math.ceil(sortedTimes.length * .99) - 1)];
+            opsPerSecond = sum == 0?Double.POSITIVE_INFINITY:sortedTimes.length * 1000000000. / sum;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public long getMedian() {
+            return median;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        /**
+         * @return The bytes allocated during all measured iterations or -1 if not supported by the JVM
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public DataObject.StructObject toStruct() {
+            return new DataObject.StructObject(STRUCT_BENCHMARK_RESULT, new DataObject[] {
+                    new DataObject().setInt(iterations),
+                    new DataObject().setLong(min),
+                    new DataObject().setDouble(mean),
+                    new DataObject().setLong(median),
+                    new DataObject().setLong(p99),
+                    new DataObject().setLong(max),
+                    new DataObject().setDouble(opsPerSecond),
+                    new DataObject().setLong(allocatedBytes)
+            });
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("Iterations: ").append(iterations);
+            builder.append("\nMin:        ").append(LangExecutionStats.formatNanoTime(min));
+            builder.append("\nMean:       ").append(LangExecutionStats.formatNanoTime((long)mean));
+            builder.append("\nMedian:     ").append(LangExecutionStats.formatNanoTime(median));
+            builder.append("\nP99:        ").append(LangExecutionStats.formatNanoTime(p99));
+            builder.append("\nMax:        ").append(LangExecutionStats.formatNanoTime(max));
+            builder.append("\nOps/sec:    ").append(String.format("%.1f", opsPerSecond));
+            if(allocatedBytes >= 0) {
+                builder.append("\nAllocated:  ").append(LangExecutionStats.formatBytes(allocatedBytes));
+                builder.append(" (").append(LangExecutionStats.formatBytes(allocatedBytes / iterations)).append("/op)");
+            }
+
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+
+import at.jddev0.lang.LangInterpreter;
+
+/**
+ * Lang-Module<br>
+ * Call counts and cumulative times of Lang functions estimated from periodic samples of the Lang call stack<br>
+ * A call is counted if a new stack element is found in a sample: Calls which start and end between two samples are not counted.
+ * Samples should be captured with {@link LangSamplingProfiler#sampleCallStack(LangInterpreter, Thread)}, which drops inconsistent samples.
+ * All methods are thread safe.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangCallStatistics {
+    private final Map<String, Entry> entries = new HashMap<>();
+    private List<LangInterpreter.StackElement> previousCallStack = new ArrayList<>();
+    private long sampledTime;
+    private long lastSnapshotTime = System.nanoTime();
+
+    /**
+     * @param callStack The current Lang call stack of the interpreter thread (The list is copied)
+     * @param interval The time since the previous sample in nanoseconds, the time is added to all functions of the call stack
+     */
+    public synchronized void addSample(List<LangInterpreter.StackElement> callStack, long interval) {
+        callStack = new ArrayList<>(callStack);
+        sampledTime += interval;
+
+        //Stack elements below the first changed element are new calls
+        boolean newCall = false;
+        Set<String> functionsOfSample = new HashSet<>();
+        for(int i = 0;i < callStack.size();i++) {
+            LangInterpreter.StackElement element = callStack.get(i);
+            if(!newCall && (i >= previousCallStack.size() || previousCallStack.get(i) != element))
+                newCall = true;
+
+            String functionName = element == null?null:element.getLangFunctionName();
+            Entry entry = entries.computeIfAbsent(functionName == null?"<main>":functionName, Entry::new);
+            if(newCall)
+                entry.calls++;
+
+            //Recursive calls are counted once per sample
+            if(functionsOfSample.add(entry.functionName))
+                entry.totalTime += interval;
+            if(i == callStack.size() - 1)
+                entry.selfTime += interval;
+        }
+
+        previousCallStack = callStack;
+    }
+
+    /**
+     * Must be called if samples were not captured for some time (e.g. the execution was finished), the next sample will not be
+     * compared with the previous one
+     */
+    public synchronized void endSampling() {
+        previousCallStack = new ArrayList<>();
+    }
+
+    public synchronized void reset() {
+        entries.clear();
+        previousCallStack = new ArrayList<>();
+        sampledTime = 0;
+        lastSnapshotTime = System.nanoTime();
+    }
+
+    /**
+     * The call rates are calculated for the time since the previous snapshot
+     *
+     * @return The maxCount functions with the highest total time
+     */
+    public synchronized Snapshot snapshot(int maxCount) {
+        long now = System.nanoTime();
+        double secondsSinceLastSnapshot = Math.max(1, now - lastSnapshotTime) / 1000000000.;
+        lastSnapshotTime = now;
+
+        List<FunctionStats> functions = new ArrayList<>(entries.size());
+        for(Entry entry:entries.values()) {
+            functions.add(new FunctionStats(entry.functionName, entry.calls, (entry.calls - entry.callsAtLastSnapshot) / secondsSinceLastSnapshot,
+                    entry.totalTime, entry.selfTime));
+            entry.callsAtLastSnapshot = entry.calls;
+        }
+
+        functions.sort(Comparator.comparingLong(FunctionStats::getTotalTime).reversed());
+
+        return new Snapshot(sampledTime, functions.size() > maxCount?new ArrayList<>(functions.subList(0, maxCount)):functions);
+    }
+
+    public static final class Snapshot {
+        private final long sampledTime;
+        private final List<FunctionStats> functions;
+
+        private Snapshot(long sampledTime, List<FunctionStats> functions) {
+            this.sampledTime = sampledTime;
+            this.functions = Collections.unmodifiableList(functions);
+        }
+
+        /**
+         * @return The sum of the intervals of all samples in nanoseconds
+         */
+        public long getSampledTime() {
+            return sampledTime;
+        }
+
+        public List<FunctionStats> getFunctions() {
+            return functions;
+        }
+    }
+
+    public static final class FunctionStats {
+        private final String functionName;
+        private final long calls;
+        private final double callsPerSecond;
+        private final long totalTime;
+        private final long selfTime;
+
+        private FunctionStats(String functionName, long calls, double callsPerSecond, long totalTime, long selfTime) {
+            this.functionName = functionName;
+            this.calls = calls;
+            this.callsPerSecond = callsPerSecond;
+            this.totalTime = totalTime;
+            this.selfTime = selfTime;
+        }
+
+        public String getFunctionName() {
+            return functionName;
+        }
+
+        /**
+         * @return The count of calls which were found in the samples
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        public double getCallsPerSecond() {
+            return callsPerSecond;
+        }
+
+        /**
+         * @return The estimated time in nanoseconds in which the function was on the call stack
+         */
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        /**
+         * @return The estimated time in nanoseconds in which the function was at the top of the call stack
+         */
+        public long getSelfTime() {
+            return selfTime;
+        }
+    }
+
+    private static final class Entry {
+        private final String functionName;
+        private long calls;
+        private long callsAtLastSnapshot;
+        private long totalTime;
+        private long selfTime;
+
+        private Entry(String functionName) {
+            this.functionName = functionName;
+        }
+    }
+}
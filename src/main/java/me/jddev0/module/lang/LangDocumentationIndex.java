@@ -0,0 +1,237 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+
+import at.jddev0.lang.DataObject;
+import at.jddev0.lang.LangBaseFunction;
+import at.jddev0.lang.LangInterpreter.LangInterpreterInterface;
+
+/**
+ * Lang-Module<br>
+ * Full-text index of the names, descriptions, and parameter infos of all predefined functions and all functions exported by modules
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangDocumentationIndex {
+    private static final int NAME_TERM_SCORE = 20;
+    private static final int SIGNATURE_TERM_SCORE = 8;
+    private static final int DESCRIPTION_TERM_SCORE = 5;
+    private static final int PARAMETER_INFO_TERM_SCORE = 2;
+
+    private static final int EXACT_NAME_SCORE = 1000;
+    private static final int NAME_PREFIX_SCORE = 100;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private final NavigableSet<String> terms = new TreeSet<>();
+    private final String fingerprint;
+
+    private LangDocumentationIndex(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates a new index, this method should not be called while the interpreter is loading or unloading modules
+     */
+    public static LangDocumentationIndex build(LangInterpreterInterface lii) {
+        return build(Snapshot.create(lii));
+    }
+    /**
+     * Creates a new index from a snapshot, this method can be called from any thread
+     */
+    public static LangDocumentationIndex build(Snapshot snapshot) {
+        LangDocumentationIndex index = new LangDocumentationIndex(snapshot.fingerprint);
+        snapshot.functions.forEach(index::addEntry);
+
+        return index;
+    }
+
+    /**
+     * @return A value which changes if modules were loaded or unloaded or if predefined functions were added or removed
+     */
+    public static String getFingerprint(LangInterpreterInterface lii) {
+        return lii.getPredefinedFunctions().size() + ":" + new TreeSet<>(lii.getModules().keySet());
+    }
+
+    public boolean isOutdated(LangInterpreterInterface lii) {
+        return !fingerprint.equals(getFingerprint(lii));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Every whitespace separated word of the query must match (As prefix) a word of the function name or of the function documentation
+     *
+     * @return Matching functions sorted by relevance
+     */
+    public List<SearchResult> search(String query, int maxResults) {
+        List<String> queryTerms = tokenize(query, false);
+        if(queryTerms.isEmpty())
+            return new ArrayList<>();
+
+        Map<Integer, Integer> scores = null;
+        for(String queryTerm:queryTerms) {
+            Map<Integer, Integer> termScores = new HashMap<>();
+            for(String term:terms.subSet(queryTerm, true, queryTerm + Character.MAX_VALUE, false)) {
+                //Prefer exact term matches over prefix matches
+                int factor = term.equals(queryTerm)?2:1;
+                postings.get(term).forEach((entryIndex, score) -> termScores.merge(entryIndex, score * factor, Integer::sum));
+            }
+
+            if(scores == null) {
+                scores = termScores;
+            }else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((entryIndex, score) -> score + termScores.get(entryIndex));
+            }
+
+            if(scores.isEmpty())
+                return new ArrayList<>();
+        }
+
+        String lowerCaseQuery = query.trim().toLowerCase(Locale.ENGLISH);
+        List<SearchResult> results = new ArrayList<>(scores.size());
+        scores.forEach((entryIndex, score) -> {
+            Entry entry = entries.get(entryIndex);
+
+            String lowerCaseName = entry.name.toLowerCase(Locale.ENGLISH);
+            String lowerCaseShortName = lowerCaseName.substring(lowerCaseName.lastIndexOf('.') + 1);
+            if(lowerCaseName.equals(lowerCaseQuery) || lowerCaseShortName.equals(lowerCaseQuery))
+                score += EXACT_NAME_SCORE;
+            else if(lowerCaseName.startsWith(lowerCaseQuery) || lowerCaseShortName.startsWith(lowerCaseQuery))
+                score += NAME_PREFIX_SCORE;
+
+            results.add(new SearchResult(entry.name, entry.function, score));
+        });
+
+        results.sort(Comparator.comparingInt(SearchResult::getScore).reversed().thenComparing(SearchResult::getName));
+
+        return results.size() > maxResults?new ArrayList<>(results.subList(0, maxResults)):results;
+    }
+
+    private void addEntry(String name, DataObject.FunctionPointerObject function) {
+        int entryIndex = entries.size();
+        entries.add(new Entry(name, function));
+
+        addTerms(entryIndex, name, NAME_TERM_SCORE);
+        addTerms(entryIndex, function.getFunctionInfo(), DESCRIPTION_TERM_SCORE);
+
+        for(DataObject.FunctionPointerObject.InternalFunction internalFunction:function.getFunctions()) {
+            LangBaseFunction baseFunction = internalFunction.getFunction();
+
+            addTerms(entryIndex, baseFunction.toFunctionSignatureSyntax(), SIGNATURE_TERM_SCORE);
+            for(String parameterInfo:baseFunction.getParameterInfoList())
+                addTerms(entryIndex, parameterInfo, PARAMETER_INFO_TERM_SCORE);
+        }
+    }
+
+    private void addTerms(int entryIndex, String text, int score) {
+        if(text == null)
+            return;
+
+        for(String term:tokenize(text, true)) {
+            terms.add(term);
+            postings.computeIfAbsent(term, key -> new HashMap<>()).merge(entryIndex, score, Integer::sum);
+        }
+    }
+
+    /**
+     * Splits text at all non-alphanumeric chars, camel case words (e.g. "arrayCreate") are additionally split into their parts
+     */
+    private static List<String> tokenize(String text, boolean splitCamelCase) {
+        List<String> tokens = new ArrayList<>();
+        for(String word:text.split("[^\\p{L}\\p{N}]+")) {
+            if(word.isEmpty())
+                continue;
+
+            tokens.add(word.toLowerCase(Locale.ENGLISH));
+
+            if(splitCamelCase) {
+                String[] parts = word.split("(?<=\\p{Ll})(?=\\p{Lu})");
+                if(parts.length > 1)
+                    for(String part:parts)
+                        tokens.add(part.toLowerCase(Locale.ENGLISH));
+            }
+        }
+
+        return tokens;
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final DataObject.FunctionPointerObject function;
+
+        private Entry(String name, DataObject.FunctionPointerObject function) {
+            this.name = name;
+            this.function = function;
+        }
+    }
+
+    /**
+     * The functions which will be indexed: Copied from the interpreter so that the index can be built on another thread
+     */
+    public static final class Snapshot {
+        private final String fingerprint;
+        private final Map<String, DataObject.FunctionPointerObject> functions = new LinkedHashMap<>();
+
+        private Snapshot(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * This method should not be called while the interpreter is loading or unloading modules
+         */
+        public static Snapshot create(LangInterpreterInterface lii) {
+            Snapshot snapshot = new Snapshot(getFingerprint(lii));
+
+            new TreeMap<>(lii.getPredefinedFunctions()).forEach((functionName, function) -> {
+                snapshot.functions.put((function.isLinkerFunction()?"linker.":"func.") + functionName, function);
+            });
+
+            for(String moduleName:new TreeSet<>(lii.getModules().keySet())) {
+                Map<String, DataObject> exportedVariables = lii.getModuleExportedVariables(moduleName);
+                if(exportedVariables == null)
+                    continue;
+
+                new TreeMap<>(exportedVariables).forEach((variableName, value) -> {
+                    if(value != null && value.getType() == DataObject.DataType.FUNCTION_POINTER)
+                        snapshot.functions.put("[[" + moduleName + "]]::" + variableName, value.getFunctionPointer());
+                });
+            }
+
+            return snapshot;
+        }
+    }
+
+    public static final class SearchResult {
+        private final String name;
+        private final DataObject.FunctionPointerObject function;
+        private final int score;
+
+        private SearchResult(String name, DataObject.FunctionPointerObject function, int score) {
+            this.name = name;
+            this.function = function;
+            this.score = score;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataObject.FunctionPointerObject getFunction() {
+            return function;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
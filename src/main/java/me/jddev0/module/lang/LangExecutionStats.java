@@ -0,0 +1,180 @@
+package me.jddev0.module.lang;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import at.jddev0.lang.DataObject;
+
+/**
+ * Lang-Module<br>
+ * Wall time, thread CPU time, allocated bytes, and GC activity of a single execution
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangExecutionStats {
+    private static final DataObject.StructObject STRUCT_EXEC_STATS = new DataObject.StructObject(new String[] {
+            "$wallTime", "$cpuTime", "$allocatedBytes", "$gcCount", "$gcTime"
+    });
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final long wallTime;
+    private final long cpuTime;
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcTime;
+
+    private LangExecutionStats(long wallTime, long cpuTime, long allocatedBytes, long gcCount, long gcTime) {
+        this.wallTime = wallTime;
+        this.cpuTime = cpuTime;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcTime = gcTime;
+    }
+
+    /**
+     * Starts recording on the current thread, {@link Recorder#stop()} must be called on the same thread
+     */
+    public static Recorder start() {
+        return new Recorder();
+    }
+
+    /**
+     * @return The wall time in nanoseconds
+     */
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    /**
+     * @return The CPU time of the executing thread in nanoseconds or -1 if not supported by the JVM
+     */
+    public long getCPUTime() {
+        return cpuTime;
+    }
+
+    /**
+     * @return The bytes allocated by the executing thread or -1 if not supported by the JVM
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The number of garbage collections of all collectors (JVM wide)
+     */
+    public long getGCCount() {
+        return gcCount;
+    }
+
+    /**
+     * @return The accumulated garbage collection time of all collectors in milliseconds (JVM wide)
+     */
+    public long getGCTime() {
+        return gcTime;
+    }
+
+    public DataObject.StructObject toStruct() {
+        return new DataObject.StructObject(STRUCT_EXEC_STATS, new DataObject[] {
+                new DataObject().setLong(wallTime),
+                new DataObject().setLong(cpuTime),
+                new DataObject().setLong(allocatedBytes),
+                new DataObject().setLong(gcCount),
+                new DataObject().setLong(gcTime)
+        });
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(formatNanoTime(wallTime));
+        if(cpuTime >= 0)
+            builder.append(", CPU: ").append(formatNanoTime(cpuTime));
+        if(allocatedBytes >= 0)
+            builder.append(", Alloc: ").append(formatBytes(allocatedBytes));
+        if(gcCount > 0)
+            builder.append(", GC: ").append(gcCount).append("x ").append(gcTime).append(" ms");
+
+        return builder.toString();
+    }
+
+    public static String formatNanoTime(long nanoTime) {
+        if(nanoTime < 1000000L)
+            return String.format("%.3f µs", nanoTime / 1000.);
+        if(nanoTime < 1000000000L)
+            return String.format("%.3f ms", nanoTime / 1000000.);
+
+        return String.format("%.3f s", nanoTime / 1000000000.);
+    }
+
+    public static String formatBytes(long bytes) {
+        if(bytes < 1024)
+            return bytes + " B";
+        if(bytes < 1024 * 1024)
+            return String.format("%.1f KiB", bytes / 1024.);
+        if(bytes < 1024 * 1024 * 1024)
+            return String.format("%.1f MiB", bytes / (1024. * 1024));
+
+        return String.format("%.2f GiB", bytes / (1024. * 1024 * 1024));
+    }
+
+    static long getCurrentThreadCPUTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()?THREAD_MX_BEAN.getCurrentThreadCpuTime():-1;
+    }
+
+    /**
+     * @return The count of bytes allocated by the current thread or -1 if the JVM does not support allocation measurement
+     */
+    public static long getCurrentThreadAllocatedBytes() {
+        if(!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean))
+            return -1;
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)THREAD_MX_BEAN;
+        if(!threadMXBean.isThreadAllocatedMemorySupported() || !threadMXBean.isThreadAllocatedMemoryEnabled())
+            return -1;
+
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static long getGCCountSum() {
+        long sum = 0;
+        for(GarbageCollectorMXBean gcMXBean:ManagementFactory.getGarbageCollectorMXBeans())
+            sum += Math.max(0, gcMXBean.getCollectionCount());
+
+        return sum;
+    }
+
+    static long getGCTimeSum() {
+        long sum = 0;
+        for(GarbageCollectorMXBean gcMXBean:ManagementFactory.getGarbageCollectorMXBeans())
+            sum += Math.max(0, gcMXBean.getCollectionTime());
+
+        return sum;
+    }
+
+    public static final class Recorder {
+        private final long startWallTime;
+        private final long startCPUTime;
+        private final long startAllocatedBytes;
+        private final long startGCCount;
+        private final long startGCTime;
+
+        private Recorder() {
+            startGCCount = getGCCountSum();
+            startGCTime = getGCTimeSum();
+            startAllocatedBytes = getCurrentThreadAllocatedBytes();
+            startCPUTime = getCurrentThreadCPUTime();
+            startWallTime = System.nanoTime();
+        }
+
+        public LangExecutionStats stop() {
+            long wallTime = System.nanoTime() - startWallTime;
+            long cpuTime = startCPUTime < 0?-1:getCurrentThreadCPUTime() - startCPUTime;
+            long allocatedBytes = startAllocatedBytes < 0?-1:getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+            return new LangExecutionStats(wallTime, cpuTime, allocatedBytes, getGCCountSum() - startGCCount, getGCTimeSum() - startGCTime);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package me.jddev0.module.lang;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+
+import at.jddev0.lang.LangInterpreter.LangInterpreterInterface;
+import jdk.jfr.*;
+
+/**
+ * Lang-Module<br>
+ * Java Flight Recorder events of the Lang activity (Executions, module linking, shell output, and shell editor passes)<br>
+ * The events are only committed if a recording is running (e.g. started with "-jfr FILE" or with "jcmd PID JFR.start")
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangFlightRecorder {
+    private LangFlightRecorder() {}
+
+    /**
+     * Starts a recording with the "profile" settings of the JVM and all Lang events, the recording is written to the file if it is stopped
+     * or if the JVM exits
+     */
+    public static Recording startRecording(File file) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("profile");
+        }catch(ParseException e) {
+            throw new IOException("The JFR configuration \"profile\" is invalid", e);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("Lang");
+        recording.setDestination(file.toPath());
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.start();
+
+        return recording;
+    }
+
+    /**
+     * Writes the recording to its destination
+     */
+    public static void stopRecording(Recording recording) {
+        recording.stop();
+        recording.close();
+    }
+
+    @Name("me.jddev0.lang.FileExecution")
+    @Label("Lang File Execution")
+    @Category("Lang")
+    @Description("Creation of an interpreter and execution of a Lang file")
+    public static final class FileExecutionEvent extends Event {
+        @Label("File Name")
+        public String fileName;
+
+        @Label("File Size")
+        @DataAmount
+        public long fileSize;
+    }
+
+    @Name("me.jddev0.lang.Exec")
+    @Label("Lang Exec")
+    @Category("Lang")
+    @Description("Execution of Lang code in an existing interpreter (Shell input or in-line code)")
+    public static final class ExecEvent extends Event {
+        @Label("Source")
+        @Description("Where the code was entered (e.g. the title of a LangShell tab)")
+        public String source;
+
+        @Label("Code Length")
+        @Description("The length of the executed code in chars")
+        public int codeLength;
+
+        @Label("Code Lines")
+        public int codeLines;
+
+        @Label("Modules Changed")
+        @Description("The difference of the count of loaded modules after and before the execution")
+        public int modulesChanged;
+
+        private transient int moduleCountBefore;
+
+        public void begin(LangInterpreterInterface lii) {
+            if(isEnabled())
+                moduleCountBefore = lii.getModules().size();
+
+            begin();
+        }
+
+        public void commit(LangInterpreterInterface lii, String source, String code) {
+            if(!shouldCommit())
+                return;
+
+            this.source = source;
+            codeLength = code.length();
+            codeLines = (int)code.chars().filter(c -> c == '\n').count() + 1;
+            modulesChanged = lii.getModules().size() - moduleCountBefore;
+            commit();
+        }
+    }
+
+    @Name("me.jddev0.lang.ModuleLink")
+    @Label("Lang Module Link")
+    @Category("Lang")
+    @Description("Loading of a Lang module by the LangShell (e.g. while a session snapshot is restored)")
+    public static final class ModuleLinkEvent extends Event {
+        @Label("Module File")
+        public String moduleFile;
+
+        @Label("Module File Size")
+        @DataAmount
+        public long moduleFileSize;
+
+        @Label("Success")
+        public boolean success;
+    }
+
+    @Name("me.jddev0.lang.OutputFlush")
+    @Label("Lang Shell Output Flush")
+    @Category({"Lang", "Shell"})
+    @Description("Decoding of the output of a flush of System.out for a shell window")
+    public static final class OutputFlushEvent extends Event {
+        @Label("Bytes")
+        @DataAmount
+        public int bytes;
+
+        @Label("Chars")
+        public int chars;
+    }
+
+    @Name("me.jddev0.lang.Highlight")
+    @Label("Lang Shell Syntax Highlighting")
+    @Category({"Lang", "Shell"})
+    @Description("Syntax highlighting of the current input line")
+    public static final class HighlightEvent extends Event {
+        @Label("Line Length")
+        public int lineLength;
+
+        @Label("Token Count")
+        public int tokenCount;
+    }
+
+    @Name("me.jddev0.lang.AutoComplete")
+    @Label("Lang Shell Auto Completion")
+    @Category({"Lang", "Shell"})
+    @Description("Search of the auto complete texts for the current input line")
+    public static final class AutoCompleteEvent extends Event {
+        @Label("Line Length")
+        public int lineLength;
+
+        @Label("Result Count")
+        public int resultCount;
+    }
+}
@@ -0,0 +1,117 @@
+package me.jddev0.module.lang;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import at.jddev0.io.TerminalIO;
+import at.jddev0.lang.ILangPlatformAPI;
+
+/**
+ * Lang-Module<br>
+ * Platform API which does not use AWT or Swing: Used by the terminal LangShell and by executions without a display<br>
+ * Input dialogs read a line of an input line source instead (The standard input by default)
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangHeadlessPlatformAPI implements ILangPlatformAPI {
+    private final InputLineSource inputLineSource;
+    private BufferedReader stdinReader;
+
+    public LangHeadlessPlatformAPI() {
+        this(null);
+    }
+
+    /**
+     * @param inputLineSource The source of the answers of input dialogs (Must be used if the standard input is already read by someone else)
+     *                        or null for reading the standard input
+     */
+    public LangHeadlessPlatformAPI(InputLineSource inputLineSource) {
+        this.inputLineSource = inputLineSource;
+    }
+
+    @Override
+    public List<String> getLangFiles(String langPath) {
+        List<String> files = new ArrayList<>();
+
+        String[] fileNames = new File(langPath).list();
+        if(fileNames != null) {
+            for(String fileName:fileNames) {
+                File file = new File(langPath, fileName);
+                if(!file.isDirectory() && file.getName().toLowerCase().endsWith(".lang"))
+                    files.add(file.getPath());
+            }
+        }
+
+        return files;
+    }
+
+    @Override
+    public String getLangPath(String langFile) {
+        String parentPath = new File(langFile).getParent();
+
+        return parentPath == null?"./":parentPath;
+    }
+
+    @Override
+    public String getLangFileName(String langFile) {
+        return new File(langFile).getName();
+    }
+
+    @Override
+    public BufferedReader getLangReader(String langFile) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(langFile), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public InputStream getInputStream(String langFile) throws IOException {
+        return new FileInputStream(langFile);
+    }
+
+    @Override
+    public boolean writeLangFile(File langFile, Map<String, String> translationMap, TerminalIO term) {
+        try(BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(langFile), StandardCharsets.UTF_8))) {
+            for(Map.Entry<String, String> translation:translationMap.entrySet()) {
+                writer.write(translation.getKey() + " = " + translation.getValue().replace("\n", "\\n"));
+                writer.newLine();
+            }
+
+            return true;
+        }catch(IOException e) {
+            if(term != null)
+                term.logStackTrace(e, LangHeadlessPlatformAPI.class);
+
+            return false;
+        }
+    }
+
+    /**
+     * @return The next line of the input line source or null if the end of the input was reached
+     */
+    @Override
+    public synchronized String showInputDialog(String text) throws Exception {
+        if(inputLineSource != null)
+            return inputLineSource.readLine(text + ": ");
+
+        System.out.print(text + ": ");
+        System.out.flush();
+
+        if(stdinReader == null)
+            stdinReader = new BufferedReader(new InputStreamReader(System.in));
+
+        return stdinReader.readLine();
+    }
+
+    @FunctionalInterface
+    public interface InputLineSource {
+        /**
+         * @param prompt Must be shown before the line is read
+         *
+         * @return The line or null if the end of the input was reached
+         */
+        String readLine(String prompt) throws IOException;
+    }
+}
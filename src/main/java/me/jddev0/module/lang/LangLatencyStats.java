@@ -0,0 +1,72 @@
+package me.jddev0.module.lang;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lang-Module<br>
+ * Latency distributions of named stages (e.g. key handling, syntax highlighting, execution), all methods are thread safe
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangLatencyStats {
+    //The stages are printed in the order they were recorded first
+    private final Map<String, Samples> stages = new LinkedHashMap<>();
+
+    /**
+     * @param latency The latency in nanoseconds
+     */
+    public synchronized void record(String stage, long latency) {
+        stages.computeIfAbsent(stage, key -> new Samples()).add(latency);
+    }
+
+    public synchronized boolean isEmpty() {
+        return stages.isEmpty();
+    }
+
+    /**
+     * @return A table with the count, mean, min, median, p90, p99, and max latency of every stage
+     */
+    @Override
+    public synchronized String toString() {
+        int nameWidth = 5;
+        for(String stage:stages.keySet())
+            nameWidth = Math.max(nameWidth, stage.length());
+
+        String format = "%-" + nameWidth + "s %8s %12s %12s %12s %12s %12s %12s";
+        StringBuilder builder = new StringBuilder(String.format(format, "Stage", "Count", "Mean", "Min", "Median", "p90", "p99", "Max"));
+        stages.forEach((stage, samples) -> {
+            long[] sorted = Arrays.copyOf(samples.values, samples.count);
+            Arrays.sort(sorted);
+
+            long sum = 0;
+            for(long value:sorted)
+                sum += value;
+
+            builder.append('\n').append(String.format(format, stage, samples.count, LangExecutionStats.formatNanoTime(sum / sorted.length),
+                    LangExecutionStats.formatNanoTime(sorted[0]), LangExecutionStats.formatNanoTime(percentile(sorted, .5)),
+                    LangExecutionStats.formatNanoTime(percentile(sorted, .9)), LangExecutionStats.formatNanoTime(percentile(sorted, .99)),
+                    LangExecutionStats.formatNanoTime(sorted[sorted.length - 1])));
+        });
+
+        return builder.toString();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.max(0, (int)Math.ceil(sorted.length * percentile) - 1)];
+    }
+
+    private static final class Samples {
+        private long[] values = new long[64];
+        private int count;
+
+        private void add(long value) {
+            if(count == values.length)
+                values = Arrays.copyOf(values, count * 2);
+
+            values[count++] = value;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+
+import at.jddev0.lang.*;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.LangFunction.AllowedTypes;
+import at.jddev0.lang.LangFunction.LangParameter;
+import at.jddev0.lang.LangFunction.LangParameter.NumberValue;
+import at.jddev0.lang.LangFunction.LangParameter.VarArgs;
+
+/**
+ * Lang-Module<br>
+ * Memoization of Lang function pointers: func.memoize(), func.memoizeWithTTL(), and func.memoStats()<br>
+ * Must be added to an interpreter with {@link LangInterpreter.LangInterpreterInterface#addPredefinedFunctions(Object)}
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangMemoFunctions {
+    private static final DataObject.StructObject STRUCT_MEMO_STATS = new DataObject.StructObject(new String[] {
+            "$hits", "$misses", "$evictions", "$expirations", "$size", "$maxEntries"
+    });
+
+    private final LangInterpreter.LangInterpreterInterface lii;
+
+    //The caches of all memoized functions created by this interpreter
+    private final Map<LangNativeFunction, MemoizedFunction> memoizedFunctions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public LangMemoFunctions(LangInterpreter.LangInterpreterInterface lii) {
+        this.lii = lii;
+    }
+
+    @LangFunction("memoize")
+    @AllowedTypes(DataObject.DataType.FUNCTION_POINTER)
+    @SuppressWarnings("unused")
+    public DataObject memoizeFunction(
+            @LangParameter("fp.func") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject,
+            @LangParameter("$maxEntries") @NumberValue Number maxEntriesNumber
+    ) {
+        return memoize(funcObject, maxEntriesNumber, -1);
+    }
+    @LangFunction("memoizeWithTTL")
+    @AllowedTypes(DataObject.DataType.FUNCTION_POINTER)
+    @SuppressWarnings("unused")
+    public DataObject memoizeWithTTLFunction(
+            @LangParameter("fp.func") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject,
+            @LangParameter("$maxEntries") @NumberValue Number maxEntriesNumber,
+            @LangParameter("$ttl") @NumberValue Number ttlNumber
+    ) {
+        long ttl = ttlNumber.longValue();
+        if(ttl < 1)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 3 (\"$ttl\") must be >= 1");
+
+        return memoize(funcObject, maxEntriesNumber, ttl);
+    }
+    private DataObject memoize(DataObject funcObject, Number maxEntriesNumber, long ttl) {
+        int maxEntries = maxEntriesNumber.intValue();
+        if(maxEntries < 1)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 2 (\"$maxEntries\") must be >= 1");
+
+        String functionName = funcObject.getVariableName() == null?"<anonymous>":funcObject.getVariableName();
+        MemoizedFunction memoizedFunction = new MemoizedFunction(lii, funcObject.getFunctionPointer(), functionName, maxEntries, ttl);
+
+        LangNativeFunction nativeFunction = LangNativeFunction.getSingleLangFunctionFromObject(memoizedFunction);
+        memoizedFunctions.put(nativeFunction, memoizedFunction);
+
+        return new DataObject().setFunctionPointer(new DataObject.FunctionPointerObject(nativeFunction));
+    }
+    @LangFunction("memoStats")
+    @AllowedTypes(DataObject.DataType.STRUCT)
+    @SuppressWarnings("unused")
+    public DataObject memoStatsFunction(
+            @LangParameter("fp.memoized") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject
+    ) {
+        for(DataObject.FunctionPointerObject.InternalFunction internalFunction:funcObject.getFunctionPointer().getFunctions()) {
+            LangNativeFunction nativeFunction = internalFunction.getNativeFunction();
+            MemoizedFunction memoizedFunction = nativeFunction == null?null:memoizedFunctions.get(nativeFunction);
+            if(memoizedFunction != null)
+                return new DataObject().setStruct(memoizedFunction.getStats());
+        }
+
+        return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"fp.memoized\") must be a function pointer returned by func.memoize()");
+    }
+
+    /**
+     * Native function which caches the results of a Lang function pointer: The arguments are compared by their structure,
+     * results which are errors are not cached<br>
+     * Mutable results are copied: Every call returns a new value as the function itself would
+     */
+    public static final class MemoizedFunction {
+        private final LangInterpreter.LangInterpreterInterface lii;
+        private final DataObject.FunctionPointerObject function;
+        private final String functionName;
+        private final int maxEntries;
+        //In milliseconds, -1 if entries do not expire
+        private final long ttl;
+
+        private final LinkedHashMap<List<Object>, CacheEntry> cache;
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long expirations;
+
+        private MemoizedFunction(LangInterpreter.LangInterpreterInterface lii, DataObject.FunctionPointerObject function, String functionName,
+                                 int maxEntries, long ttl) {
+            this.lii = lii;
+            this.function = function;
+            this.functionName = functionName;
+            this.maxEntries = maxEntries;
+            this.ttl = ttl;
+
+            //Access order: The eldest entry is the least recently used entry
+            cache = new LinkedHashMap<List<Object>, CacheEntry>(16, .75f, true) {
+                private static final long serialVersionUID = 5027950219474958341L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, CacheEntry> eldest) {
+                    if(size() <= MemoizedFunction.this.maxEntries)
+                        return false;
+
+                    evictions++;
+                    return true;
+                }
+            };
+        }
+
+        @LangFunction("memoized")
+        @SuppressWarnings("unused")
+        public DataObject memoizedFunction(
+                @LangParameter("&args") @VarArgs List<DataObject> argumentList
+        ) {
+            List<Object> key = new ArrayList<>(argumentList.size());
+            for(DataObject argument:argumentList)
+                key.add(toKey(argument, Collections.newSetFromMap(new IdentityHashMap<>())));
+
+            synchronized(cache) {
+                CacheEntry entry = cache.get(key);
+                if(entry != null) {
+                    if(ttl < 0 || System.currentTimeMillis() - entry.creationTime < ttl) {
+                        hits++;
+
+                        return copyResult(entry.value, new IdentityHashMap<>());
+                    }
+
+                    cache.remove(key);
+                    expirations++;
+                }
+
+                misses++;
+            }
+
+            //The lock is not held during the call: Recursive calls of the memoized function use the cache as well
+            DataObject value = lii.callFunctionPointer(function, functionName, LangUtils.separateArgumentsWithArgumentSeparators(argumentList));
+            if(value == null || value.getType() != DataObject.DataType.ERROR) {
+                synchronized(cache) {
+                    cache.put(key, new CacheEntry(copyResult(value, new IdentityHashMap<>()), System.currentTimeMillis()));
+                }
+            }
+
+            return value;
+        }
+
+        private DataObject.StructObject getStats() {
+            synchronized(cache) {
+                return new DataObject.StructObject(STRUCT_MEMO_STATS, new DataObject[] {
+                        new DataObject().setLong(hits),
+                        new DataObject().setLong(misses),
+                        new DataObject().setLong(evictions),
+                        new DataObject().setLong(expirations),
+                        new DataObject().setInt(cache.size()),
+                        new DataObject().setInt(maxEntries)
+                });
+            }
+        }
+
+        /**
+         * @return A deep copy of the value, objects, function pointers, and var pointers are not copied
+         */
+        private static DataObject copyResult(DataObject value, Map<Object, Object> copies) {
+            if(value == null)
+                return null;
+
+            DataObject copy = (DataObject)copies.get(value);
+            if(copy != null)
+                return copy;
+
+            copy = new DataObject();
+            copies.put(value, copy);
+
+            switch(value.getType()) {
+                case TEXT:
+                    return copy.setText(value.getText().toString());
+                case CHAR:
+                    return copy.setChar(value.getChar());
+                case INT:
+                    return copy.setInt(value.getInt());
+                case LONG:
+                    return copy.setLong(value.getLong());
+                case FLOAT:
+                    return copy.setFloat(value.getFloat());
+                case DOUBLE:
+                    return copy.setDouble(value.getDouble());
+                case BYTE_BUFFER:
+                    return copy.setByteBuffer(value.getByteBuffer().clone());
+                case NULL:
+                    return copy.setNull();
+                case VOID:
+                    return copy.setVoid();
+
+                case ARRAY:
+                    DataObject[] arrCopy = (DataObject[])copies.get(value.getArray());
+                    if(arrCopy == null) {
+                        DataObject[] arr = value.getArray();
+                        arrCopy = new DataObject[arr.length];
+                        copies.put(arr, arrCopy);
+                        for(int i = 0;i < arr.length;i++)
+                            arrCopy[i] = copyResult(arr[i], copies);
+                    }
+
+                    return copy.setArray(arrCopy);
+
+                case LIST:
+                    @SuppressWarnings("unchecked")
+                    LinkedList<DataObject> listCopy = (LinkedList<DataObject>)copies.get(value.getList());
+                    if(listCopy == null) {
+                        listCopy = new LinkedList<>();
+                        copies.put(value.getList(), listCopy);
+                        for(DataObject ele:value.getList())
+                            listCopy.add(copyResult(ele, copies));
+                    }
+
+                    return copy.setList(listCopy);
+
+                case STRUCT:
+                    DataObject.StructObject struct = value.getStruct();
+                    //Struct definitions are immutable
+                    if(struct.isDefinition())
+                        return copy.setStruct(struct);
+
+                    DataObject.StructObject structCopy = (DataObject.StructObject)copies.get(struct);
+                    if(structCopy == null) {
+                        String[] memberNames = struct.getMemberNames();
+                        DataObject[] memberCopies = new DataObject[memberNames.length];
+                        for(int i = 0;i < memberNames.length;i++)
+                            memberCopies[i] = copyResult(struct.getMember(memberNames[i]), copies);
+
+                        structCopy = new DataObject.StructObject(struct.getStructBaseDefinition(), memberCopies);
+                        copies.put(struct, structCopy);
+                    }
+
+                    return copy.setStruct(structCopy);
+
+                default:
+                    //Reference types (Objects, function pointers, var pointers, ...) are returned as the function itself would return them
+                    copies.put(value, value);
+                    return value;
+            }
+        }
+
+        /**
+         * @return An immutable representation of the value which is equal for structurally equal values, mutable reference types
+         * (Objects, function pointers, and var pointers) and cyclic values are compared by their identity
+         */
+        private static Object toKey(DataObject value, Set<Object> valuesInProgress) {
+            if(value == null)
+                return null;
+
+            switch(value.getType()) {
+                case TEXT:
+                    return Arrays.asList(value.getType(), value.getText().toString());
+                case CHAR:
+                    return Arrays.asList(value.getType(), value.getChar());
+                case INT:
+                    return Arrays.asList(value.getType(), value.getInt());
+                case LONG:
+                    return Arrays.asList(value.getType(), value.getLong());
+                case FLOAT:
+                    return Arrays.asList(value.getType(), value.getFloat());
+                case DOUBLE:
+                    return Arrays.asList(value.getType(), value.getDouble());
+                case BYTE_BUFFER:
+                    return Arrays.asList(value.getType(), Arrays.toString(value.getByteBuffer()));
+                case NULL:
+                case VOID:
+                    return value.getType();
+
+                case ARRAY:
+                case LIST:
+                    Collection<DataObject> elements = value.getType() == DataObject.DataType.ARRAY?Arrays.asList(value.getArray()):value.getList();
+                    Object collection = value.getType() == DataObject.DataType.ARRAY?value.getArray():value.getList();
+                    if(!valuesInProgress.add(collection))
+                        return new IdentityKey(collection);
+
+                    List<Object> elementKeys = new ArrayList<>(elements.size() + 1);
+                    elementKeys.add(value.getType());
+                    for(DataObject element:elements)
+                        elementKeys.add(toKey(element, valuesInProgress));
+
+                    valuesInProgress.remove(collection);
+                    return elementKeys;
+
+                case STRUCT:
+                    DataObject.StructObject struct = value.getStruct();
+                    if(struct.isDefinition() || !valuesInProgress.add(struct))
+                        return new IdentityKey(struct);
+
+                    List<Object> memberKeys = new ArrayList<>();
+                    memberKeys.add(value.getType());
+                    for(String memberName:struct.getMemberNames()) {
+                        memberKeys.add(memberName);
+                        memberKeys.add(toKey(struct.getMember(memberName), valuesInProgress));
+                    }
+
+                    valuesInProgress.remove(struct);
+                    return memberKeys;
+
+                case OBJECT:
+                    return new IdentityKey(value.getObject());
+                case FUNCTION_POINTER:
+                    return new IdentityKey(value.getFunctionPointer());
+                case VAR_POINTER:
+                    return new IdentityKey(value.getVarPointer().getVar());
+
+                default:
+                    return new IdentityKey(value);
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+        private final DataObject value;
+        private final long creationTime;
+
+        private CacheEntry(DataObject value, long creationTime) {
+            this.value = value;
+            this.creationTime = creationTime;
+        }
+    }
+
+    private static final class IdentityKey {
+        private final Object value;
+
+        private IdentityKey(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey)obj).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package me.jddev0.module.lang;
+
+import at.jddev0.lang.ILangPlatformAPI;
+import at.jddev0.lang.LangInterpreter;
+
+/**
+ * Lang-Module<br>
+ * Adds the native functions which are available in every interpreter of the LangShell, notebooks, and Lang file executions
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangNativeFunctions {
+    private LangNativeFunctions() {}
+
+    /**
+     * @return The parallel map and reduce functions of the interpreter, {@link LangParallelMapReduce#stop()} must be called
+     * if the interpreter is stopped
+     */
+    public static LangParallelMapReduce addNativeFunctions(LangInterpreter.LangInterpreterInterface lii, ILangPlatformAPI langPlatformAPI) {
+        return addNativeFunctions(lii, langPlatformAPI, false);
+    }
+
+    /**
+     * @param parallelWorker If true, the parallel map and reduce functions process all elements sequentially
+     *                       (Used by the worker interpreters of {@link LangParallelMapReduce})
+     */
+    static LangParallelMapReduce addNativeFunctions(LangInterpreter.LangInterpreterInterface lii, ILangPlatformAPI langPlatformAPI, boolean parallelWorker) {
+        lii.addPredefinedFunctions(new LangMemoFunctions(lii));
+        lii.addPredefinedFunctions(new LangPrimitiveCollections(lii));
+        lii.addPredefinedFunctions(new LangTextBuilders(lii));
+        lii.addPredefinedFunctions(new LangParallelArrays(lii));
+
+        LangParallelMapReduce parallelMapReduce = new LangParallelMapReduce(lii, langPlatformAPI, parallelWorker);
+        lii.addPredefinedFunctions(parallelMapReduce);
+
+        return parallelMapReduce;
+    }
+}
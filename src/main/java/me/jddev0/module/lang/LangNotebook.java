@@ -0,0 +1,396 @@
+package me.jddev0.module.lang;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import at.jddev0.lang.AbstractSyntaxTree;
+import at.jddev0.lang.LangParser;
+
+/**
+ * Lang-Module<br>
+ * Dependencies between the cells of a notebook: The variables read and written by a cell are derived from its AST<br>
+ * <br>
+ * Variables used in function bodies are counted for the cell which defines the function and for every cell which uses the function
+ * (Transitively through other functions). Variables which are passed to functions are counted as written, because functions
+ * can modify their arguments (e.g. func.arraySet() or func.listAdd()), only for predefined functions which are known to not modify
+ * their arguments they are counted as read.<br>
+ * Cells which link modules, execute code dynamically, or contain parsing errors are opaque (They may read and write every variable),
+ * this applies to cells which use functions whose bodies do this as well.
+ * Cells which assign values through var pointers ($[...] = ...) are opaque as well, because the written variable is only known at run time.<br>
+ * <br>
+ * The analysis can still miss dependencies: Values which are shared by multiple variables (e.g. an array which is referenced
+ * by two variables) and functions which are used by another name than the name of their definition are not tracked.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangNotebook {
+    private static final int ANALYSIS_CACHE_SIZE = 256;
+
+    private static final String[] PREDEFINED_FUNCTION_PREFIXES = {
+            "func.", "fn.", "linker.", "ln.", "con.", "parser."
+    };
+    private static final String[] OPAQUE_FUNCTION_NAMES = {
+            "func.exec", "fn.exec"
+    };
+    private static final String[] OPAQUE_FUNCTION_PREFIXES = {
+            "linker.", "ln."
+    };
+    //Predefined functions which do not modify their arguments (Names with "fn." are normalized to "func.")
+    private static final Set<String> PURE_FUNCTION_NAMES = new HashSet<>(Arrays.asList(
+            "func.print", "func.println", "func.printf", "func.printTerminal", "func.printError", "func.format",
+            "func.toText", "func.toChar", "func.toNumber", "func.toInt", "func.toLong", "func.toFloat", "func.toDouble",
+            "func.len", "func.arrayLength", "func.arrayGet", "func.listGet", "func.listSize", "func.contains", "func.indexOf",
+            "func.abs", "func.min", "func.max", "func.sqrt", "func.pow", "func.typeOf", "func.isEmpty"
+    ));
+    private static final String[] PURE_FUNCTION_PREFIXES = {
+            "con.", "parser."
+    };
+
+    //Cells are analyzed again for every execution: Unchanged cells are not parsed again
+    private final Map<String, CellAnalysis> analysisCache = new LinkedHashMap<String, CellAnalysis>(16, .75f, true) {
+        private static final long serialVersionUID = -8815137302853498093L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CellAnalysis> eldest) {
+            return size() > ANALYSIS_CACHE_SIZE;
+        }
+    };
+
+    public synchronized CellAnalysis analyze(String code) {
+        CellAnalysis analysis = analysisCache.get(code);
+        if(analysis == null) {
+            analysis = analyzeUncached(code);
+            analysisCache.put(code, analysis);
+        }
+
+        return analysis;
+    }
+
+    /**
+     * @param cells The analyses of the current code of all cells
+     * @param changedCell The index of the cell which was edited or which should be executed again
+     * @param previousAnalysis The analysis of the code of the changed cell at its last execution or null if it was never executed
+     *
+     * @return The indices of the changed cell and of all following cells which read or write variables which are written by the changed cell
+     * (Directly or indirectly) in execution order
+     */
+    public static List<Integer> getCellsToExecute(List<CellAnalysis> cells, int changedCell, CellAnalysis previousAnalysis) {
+        List<Integer> cellsToExecute = new ArrayList<>();
+        cellsToExecute.add(changedCell);
+
+        //Functions can be defined in any cell (Cells can be executed out of order): The definitions of all cells are used
+        Map<String, Set<String>> functionReads = new HashMap<>();
+        Map<String, Set<String>> functionWrites = new HashMap<>();
+        Set<String> opaqueFunctions = new HashSet<>();
+        for(CellAnalysis cell:cells)
+            addFunctions(cell, functionReads, functionWrites, opaqueFunctions);
+        if(previousAnalysis != null)
+            addFunctions(previousAnalysis, functionReads, functionWrites, opaqueFunctions);
+
+        CellAnalysis changed = resolveFunctions(cells.get(changedCell), functionReads, functionWrites, opaqueFunctions);
+        CellAnalysis previous = previousAnalysis == null?null:resolveFunctions(previousAnalysis, functionReads, functionWrites, opaqueFunctions);
+        boolean allVariablesChanged = changed.isOpaque() || previous != null && previous.isOpaque();
+        //Variables which are no longer written by the new code of the changed cell must be restored by the following cells
+        Set<String> changedVariables = new HashSet<>(changed.getWrites());
+        if(previous != null)
+            changedVariables.addAll(previous.getWrites());
+
+        for(int i = changedCell + 1;i < cells.size();i++) {
+            CellAnalysis cell = resolveFunctions(cells.get(i), functionReads, functionWrites, opaqueFunctions);
+
+            boolean dependent = allVariablesChanged || cell.isOpaque() && !changedVariables.isEmpty();
+            //Cells which write a changed variable are executed again as well: The last write must win
+            for(Iterator<String> iterator = changedVariables.iterator();!dependent && iterator.hasNext();) {
+                String variableName = iterator.next();
+                dependent = cell.getReads().contains(variableName) || cell.getWrites().contains(variableName);
+            }
+            if(!dependent)
+                continue;
+
+            cellsToExecute.add(i);
+            changedVariables.addAll(cell.getWrites());
+            if(cell.isOpaque())
+                allVariablesChanged = true;
+        }
+
+        return cellsToExecute;
+    }
+
+    private static void addFunctions(CellAnalysis cell, Map<String, Set<String>> functionReads, Map<String, Set<String>> functionWrites,
+                                     Set<String> opaqueFunctions) {
+        for(Map.Entry<String, Set<String>> function:cell.getFunctionReads().entrySet())
+            functionReads.computeIfAbsent(function.getKey(), key -> new HashSet<>()).addAll(function.getValue());
+        for(Map.Entry<String, Set<String>> function:cell.getFunctionWrites().entrySet())
+            functionWrites.computeIfAbsent(function.getKey(), key -> new HashSet<>()).addAll(function.getValue());
+        opaqueFunctions.addAll(cell.getOpaqueFunctions());
+    }
+
+    /**
+     * @return The analysis of the cell with the variables of all functions which are used by the cell (Transitively)
+     */
+    private static CellAnalysis resolveFunctions(CellAnalysis cell, Map<String, Set<String>> functionReads, Map<String, Set<String>> functionWrites,
+                                                 Set<String> opaqueFunctions) {
+        if(cell.isOpaque())
+            return cell;
+
+        Set<String> reads = new TreeSet<>(cell.getReads());
+        Set<String> writes = new TreeSet<>(cell.getWrites());
+        boolean opaque = false;
+
+        ArrayDeque<String> usedVariables = new ArrayDeque<>(reads);
+        Set<String> visitedFunctions = new HashSet<>();
+        while(!usedVariables.isEmpty()) {
+            String variableName = usedVariables.pop();
+            if(!functionReads.containsKey(variableName) && !functionWrites.containsKey(variableName) || !visitedFunctions.add(variableName))
+                continue;
+
+            if(opaqueFunctions.contains(variableName))
+                opaque = true;
+
+            for(String functionRead:functionReads.getOrDefault(variableName, Collections.emptySet()))
+                if(reads.add(functionRead))
+                    usedVariables.push(functionRead);
+            writes.addAll(functionWrites.getOrDefault(variableName, Collections.emptySet()));
+        }
+
+        return new CellAnalysis(reads, writes, opaque, cell.getFunctionReads(), cell.getFunctionWrites(), cell.getOpaqueFunctions());
+    }
+
+    private static CellAnalysis analyzeUncached(String code) {
+        AbstractSyntaxTree ast;
+        try(BufferedReader reader = new BufferedReader(new StringReader(code))) {
+            ast = new LangParser().parseLines(reader);
+        }catch(IOException|RuntimeException e) {
+            return new CellAnalysis(new TreeSet<>(), new TreeSet<>(), true, new HashMap<>(), new HashMap<>(), new HashSet<>());
+        }
+
+        Set<String> reads = new TreeSet<>();
+        Set<String> writes = new TreeSet<>();
+        Map<String, Set<String>> functionReads = new HashMap<>();
+        Map<String, Set<String>> functionWrites = new HashMap<>();
+        Set<String> opaqueFunctions = new HashSet<>();
+        boolean opaque = analyzeNodes(ast.getChildren(), reads, writes, functionReads, functionWrites, opaqueFunctions);
+
+        return new CellAnalysis(reads, writes, opaque, functionReads, functionWrites, opaqueFunctions);
+    }
+
+    /**
+     * The bodies of functions which are assigned to a variable are analyzed separately and stored for that variable
+     * in addition to being counted for the analyzed nodes
+     *
+     * @return true if the nodes may read and write every variable
+     */
+    private static boolean analyzeNodes(List<AbstractSyntaxTree.Node> nodes, Set<String> reads, Set<String> writes,
+                                        Map<String, Set<String>> functionReads, Map<String, Set<String>> functionWrites, Set<String> opaqueFunctions) {
+        boolean opaque = false;
+
+        //Iterative traversal: Deeply nested code must not cause a StackOverflowError (Only nested function definitions are analyzed recursively)
+        ArrayDeque<AbstractSyntaxTree.Node> stack = new ArrayDeque<>(nodes);
+        while(!stack.isEmpty()) {
+            AbstractSyntaxTree.Node node = stack.pop();
+            if(node instanceof AbstractSyntaxTree.ParsingErrorNode) {
+                opaque = true;
+            }else if(node instanceof AbstractSyntaxTree.AssignmentNode) {
+                AbstractSyntaxTree.AssignmentNode assignment = (AbstractSyntaxTree.AssignmentNode)node;
+                String variableName = getVariableName(assignment.getLvalue());
+                if(variableName != null && variableName.indexOf('[') >= 0) {
+                    opaque = true;
+                }else if(variableName != null) {
+                    variableName = normalizeVariableName(variableName);
+                    writes.add(variableName);
+
+                    if(assignment.getRvalue() instanceof AbstractSyntaxTree.FunctionDefinitionNode) {
+                        Set<String> bodyReads = new HashSet<>();
+                        Set<String> bodyWrites = new HashSet<>();
+                        boolean bodyOpaque = analyzeNodes(Collections.singletonList(assignment.getRvalue()), bodyReads, bodyWrites,
+                                functionReads, functionWrites, opaqueFunctions);
+
+                        functionReads.computeIfAbsent(variableName, key -> new HashSet<>()).addAll(bodyReads);
+                        functionWrites.computeIfAbsent(variableName, key -> new HashSet<>()).addAll(bodyWrites);
+                        if(bodyOpaque)
+                            opaqueFunctions.add(variableName);
+
+                        reads.addAll(bodyReads);
+                        writes.addAll(bodyWrites);
+                        opaque |= bodyOpaque;
+
+                        continue;
+                    }
+                }else {
+                    //Complex lvalues (e.g. translation keys or operations): All variables are counted as read and written
+                    Set<String> lvalueVariables = getVariableNames(assignment.getLvalue());
+                    reads.addAll(lvalueVariables);
+                    writes.addAll(lvalueVariables);
+                }
+
+                stack.push(assignment.getRvalue());
+
+                continue;
+            }else if(node instanceof AbstractSyntaxTree.FunctionDefinitionNode) {
+                stack.addAll(((AbstractSyntaxTree.FunctionDefinitionNode)node).getFunctionBody().getChildren());
+            }else if(node instanceof AbstractSyntaxTree.FunctionCallNode) {
+                String functionName = ((AbstractSyntaxTree.FunctionCallNode)node).getFunctionName();
+                if(isOpaqueFunction(functionName))
+                    opaque = true;
+                else if(!isPredefinedFunction(functionName))
+                    reads.add(normalizeVariableName(functionName));
+
+                //Arguments can be modified by the called function
+                if(!isPureFunction(functionName)) {
+                    for(AbstractSyntaxTree.Node argument:node.getChildren()) {
+                        String argumentVariableName = getVariableName(argument);
+                        if(argumentVariableName != null)
+                            writes.add(normalizeVariableName(argumentVariableName));
+                    }
+                }
+            }else {
+                String variableName = getVariableName(node);
+                if(variableName != null)
+                    reads.add(normalizeVariableName(variableName));
+            }
+
+            for(AbstractSyntaxTree.Node child:node.getChildren())
+                stack.push(child);
+        }
+
+        return opaque;
+    }
+
+    private static Set<String> getVariableNames(AbstractSyntaxTree.Node node) {
+        Set<String> variableNames = new HashSet<>();
+
+        ArrayDeque<AbstractSyntaxTree.Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while(!stack.isEmpty()) {
+            AbstractSyntaxTree.Node child = stack.pop();
+            String variableName = getVariableName(child);
+            if(variableName != null)
+                variableNames.add(normalizeVariableName(variableName));
+
+            for(AbstractSyntaxTree.Node grandChild:child.getChildren())
+                stack.push(grandChild);
+        }
+
+        return variableNames;
+    }
+
+    private static String getVariableName(AbstractSyntaxTree.Node node) {
+        if(node instanceof AbstractSyntaxTree.VariableNameNode)
+            return ((AbstractSyntaxTree.VariableNameNode)node).getVariableName();
+        if(node instanceof AbstractSyntaxTree.UnprocessedVariableNameNode)
+            return ((AbstractSyntaxTree.UnprocessedVariableNameNode)node).getVariableName();
+
+        return null;
+    }
+
+    /**
+     * Dereferencing and referencing of var pointers ($[x], $[[x]]) use the variable itself ($x)
+     */
+    private static String normalizeVariableName(String variableName) {
+        if(!variableName.startsWith("$") || variableName.indexOf('[') < 0)
+            return variableName;
+
+        String normalized = "$" + variableName.substring(1).replace("[", "").replace("]", "");
+        return normalized.length() > 1?normalized:variableName;
+    }
+
+    private static boolean isPredefinedFunction(String functionName) {
+        for(String prefix:PREDEFINED_FUNCTION_PREFIXES)
+            if(functionName.startsWith(prefix))
+                return true;
+
+        return false;
+    }
+
+    private static boolean isPureFunction(String functionName) {
+        if(functionName.startsWith("fn."))
+            functionName = "func." + functionName.substring(3);
+
+        if(PURE_FUNCTION_NAMES.contains(functionName))
+            return true;
+
+        for(String prefix:PURE_FUNCTION_PREFIXES)
+            if(functionName.startsWith(prefix))
+                return true;
+
+        return false;
+    }
+
+    private static boolean isOpaqueFunction(String functionName) {
+        for(String opaqueFunctionName:OPAQUE_FUNCTION_NAMES)
+            if(functionName.equals(opaqueFunctionName))
+                return true;
+
+        for(String prefix:OPAQUE_FUNCTION_PREFIXES)
+            if(functionName.startsWith(prefix))
+                return true;
+
+        return false;
+    }
+
+    public static final class CellAnalysis {
+        private final Set<String> reads;
+        private final Set<String> writes;
+        private final boolean opaque;
+        private final Map<String, Set<String>> functionReads;
+        private final Map<String, Set<String>> functionWrites;
+        private final Set<String> opaqueFunctions;
+
+        private CellAnalysis(Set<String> reads, Set<String> writes, boolean opaque, Map<String, Set<String>> functionReads,
+                             Map<String, Set<String>> functionWrites, Set<String> opaqueFunctions) {
+            this.reads = Collections.unmodifiableSet(reads);
+            this.writes = Collections.unmodifiableSet(writes);
+            this.opaque = opaque;
+            this.functionReads = Collections.unmodifiableMap(functionReads);
+            this.functionWrites = Collections.unmodifiableMap(functionWrites);
+            this.opaqueFunctions = Collections.unmodifiableSet(opaqueFunctions);
+        }
+
+        public Set<String> getReads() {
+            return reads;
+        }
+
+        public Set<String> getWrites() {
+            return writes;
+        }
+
+        /**
+         * @return The variables read by the bodies of the functions which are defined by the cell (Key: The variable of the function)
+         */
+        public Map<String, Set<String>> getFunctionReads() {
+            return functionReads;
+        }
+
+        /**
+         * @return The variables written by the bodies of the functions which are defined by the cell (Key: The variable of the function)
+         */
+        public Map<String, Set<String>> getFunctionWrites() {
+            return functionWrites;
+        }
+
+        /**
+         * @return The variables of the functions defined by the cell whose bodies may read and write every variable
+         */
+        public Set<String> getOpaqueFunctions() {
+            return opaqueFunctions;
+        }
+
+        /**
+         * @return true if the cell may read and write every variable (Module linking, dynamic execution, or parsing errors)
+         */
+        public boolean isOpaque() {
+            return opaque;
+        }
+
+        @Override
+        public String toString() {
+            if(opaque)
+                return "Reads and writes: All variables";
+
+            return "Reads: " + (reads.isEmpty()?"-":String.join(", ", reads)) + "; Writes: " + (writes.isEmpty()?"-":String.join(", ", writes));
+        }
+    }
+}
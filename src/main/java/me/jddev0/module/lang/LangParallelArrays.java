@@ -0,0 +1,451 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import at.jddev0.lang.*;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.LangFunction.AllowedTypes;
+import at.jddev0.lang.LangFunction.LangParameter;
+import at.jddev0.lang.LangFunction.LangParameter.NumberValue;
+
+/**
+ * Lang-Module<br>
+ * Bulk operations on whole Lang arrays of numbers (int, long, float, and double elements) which run on the common fork-join pool<br>
+ * Arrays with less than {@link #PARALLEL_THRESHOLD} elements are processed sequentially: The overhead of splitting the work would be larger
+ * than the work itself<br>
+ * Must be added to an interpreter with {@link LangInterpreter.LangInterpreterInterface#addPredefinedFunctions(Object)}
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangParallelArrays {
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    //Integers and floating point numbers are compared exactly: Converting longs to double would not be transitive above 2^53
+    private static final Comparator<DataObject> NUMERIC_ORDER = (a, b) -> {
+        boolean aIsFloatingPoint = isFloatingPoint(a);
+        boolean bIsFloatingPoint = isFloatingPoint(b);
+        if(aIsFloatingPoint && bIsFloatingPoint)
+            return Double.compare(toDouble(a), toDouble(b));
+
+        if(aIsFloatingPoint)
+            return -compareLongToDouble(toLong(b), toDouble(a));
+        if(bIsFloatingPoint)
+            return compareLongToDouble(toLong(a), toDouble(b));
+
+        return Long.compare(toLong(a), toLong(b));
+    };
+
+    private final LangInterpreter.LangInterpreterInterface lii;
+
+    public LangParallelArrays(LangInterpreter.LangInterpreterInterface lii) {
+        this.lii = lii;
+    }
+
+    @LangFunction("parallelSort")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject parallelSortFunction(
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        DataObject[] elements = arrayObject.getArray();
+        DataObject error = checkNumbers(elements, 1, "&array");
+        if(error != null)
+            return error;
+
+        //Both sorts are stable: Equal numbers of different types keep their order
+        if(elements.length < PARALLEL_THRESHOLD)
+            Arrays.sort(elements, NUMERIC_ORDER);
+        else
+            Arrays.parallelSort(elements, NUMERIC_ORDER);
+
+        return null;
+    }
+    @LangFunction("parallelSum")
+    @AllowedTypes({DataObject.DataType.LONG, DataObject.DataType.DOUBLE})
+    @SuppressWarnings("unused")
+    public DataObject parallelSumFunction(
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        DataObject[] elements = arrayObject.getArray();
+        DataObject error = checkNumbers(elements, 1, "&array");
+        if(error != null)
+            return error;
+
+        NumericArray array = new NumericArray(elements);
+        if(array.floatingPoint)
+            return new DataObject().setDouble(array.sumDoubles());
+
+        return new DataObject().setLong(indices(array.length).mapToLong(i -> array.longs[i]).sum());
+    }
+    @LangFunction("parallelMean")
+    @AllowedTypes(DataObject.DataType.DOUBLE)
+    @SuppressWarnings("unused")
+    public DataObject parallelMeanFunction(
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        DataObject[] elements = arrayObject.getArray();
+        DataObject error = checkNumbers(elements, 1, "&array");
+        if(error != null)
+            return error;
+
+        if(elements.length == 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"&array\") must not be empty");
+
+        return new DataObject().setDouble(new NumericArray(elements).sumDoubles() / elements.length);
+    }
+    @LangFunction("parallelMin")
+    @AllowedTypes({DataObject.DataType.INT, DataObject.DataType.LONG, DataObject.DataType.DOUBLE})
+    @SuppressWarnings("unused")
+    public DataObject parallelMinFunction(
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        return extremum(arrayObject, false);
+    }
+    @LangFunction("parallelMax")
+    @AllowedTypes({DataObject.DataType.INT, DataObject.DataType.LONG, DataObject.DataType.DOUBLE})
+    @SuppressWarnings("unused")
+    public DataObject parallelMaxFunction(
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        return extremum(arrayObject, true);
+    }
+    private DataObject extremum(DataObject arrayObject, boolean max) {
+        DataObject[] elements = arrayObject.getArray();
+        DataObject error = checkNumbers(elements, 1, "&array");
+        if(error != null)
+            return error;
+
+        if(elements.length == 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"&array\") must not be empty");
+
+        NumericArray array = new NumericArray(elements);
+        if(array.floatingPoint) {
+            double value = max?indices(array.length).mapToDouble(i -> array.doubles[i]).max().getAsDouble():
+                    indices(array.length).mapToDouble(i -> array.doubles[i]).min().getAsDouble();
+
+            return new DataObject().setDouble(value);
+        }
+
+        long value = max?indices(array.length).mapToLong(i -> array.longs[i]).max().getAsLong():
+                indices(array.length).mapToLong(i -> array.longs[i]).min().getAsLong();
+
+        return array.allInt?new DataObject().setInt((int)value):new DataObject().setLong(value);
+    }
+    @LangFunction("parallelPrefixSum")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject parallelPrefixSumFunction(
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        DataObject[] elements = arrayObject.getArray();
+        DataObject error = checkNumbers(elements, 1, "&array");
+        if(error != null)
+            return error;
+
+        NumericArray array = new NumericArray(elements);
+        boolean parallel = array.length >= PARALLEL_THRESHOLD;
+        DataObject[] prefixSums = new DataObject[array.length];
+        if(array.floatingPoint) {
+            if(parallel)
+                Arrays.parallelPrefix(array.doubles, Double::sum);
+            else
+                for(int i = 1;i < array.length;i++)
+                    array.doubles[i] += array.doubles[i - 1];
+
+            setAll(prefixSums, i -> new DataObject().setDouble(array.doubles[i]));
+        }else {
+            if(parallel)
+                Arrays.parallelPrefix(array.longs, Long::sum);
+            else
+                for(int i = 1;i < array.length;i++)
+                    array.longs[i] += array.longs[i - 1];
+
+            setAll(prefixSums, i -> new DataObject().setLong(array.longs[i]));
+        }
+
+        return new DataObject().setArray(prefixSums);
+    }
+    @LangFunction("parallelHistogram")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject parallelHistogramFunction(
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject,
+            @LangParameter("$bins") @NumberValue Number binsNumber,
+            @LangParameter("$min") @NumberValue Number minNumber,
+            @LangParameter("$max") @NumberValue Number maxNumber
+    ) {
+        DataObject[] elements = arrayObject.getArray();
+        DataObject error = checkNumbers(elements, 1, "&array");
+        if(error != null)
+            return error;
+
+        int bins = binsNumber.intValue();
+        if(bins < 1)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 2 (\"$bins\") must be >= 1");
+
+        double min = minNumber.doubleValue();
+        double max = maxNumber.doubleValue();
+        if(!(max > min))
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 4 (\"$max\") must be > min");
+
+        //Every worker counts into its own array, the arrays are added afterward
+        double binWidth = (max - min) / bins;
+        int[] counts = indices(elements.length).collect(() -> new int[bins], (workerCounts, i) -> {
+            double value = toDouble(elements[i]);
+            //Values outside of [min, max] and NaN are not counted
+            if(!(value >= min && value <= max))
+                return;
+
+            workerCounts[Math.min((int)((value - min) / binWidth), bins - 1)]++;
+        }, (workerCounts, otherCounts) -> {
+            for(int i = 0;i < bins;i++)
+                workerCounts[i] += otherCounts[i];
+        });
+
+        DataObject[] histogram = new DataObject[bins];
+        for(int i = 0;i < bins;i++)
+            histogram[i] = new DataObject().setInt(counts[i]);
+
+        return new DataObject().setArray(histogram);
+    }
+    @LangFunction("parallelAdd")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject parallelAddFunction(
+            @LangParameter("&a") @AllowedTypes(DataObject.DataType.ARRAY) DataObject aObject,
+            @LangParameter("&b") @AllowedTypes(DataObject.DataType.ARRAY) DataObject bObject
+    ) {
+        return elementWise(aObject, bObject, ElementWiseOperation.ADD);
+    }
+    @LangFunction("parallelSubtract")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject parallelSubtractFunction(
+            @LangParameter("&a") @AllowedTypes(DataObject.DataType.ARRAY) DataObject aObject,
+            @LangParameter("&b") @AllowedTypes(DataObject.DataType.ARRAY) DataObject bObject
+    ) {
+        return elementWise(aObject, bObject, ElementWiseOperation.SUBTRACT);
+    }
+    @LangFunction("parallelMultiply")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject parallelMultiplyFunction(
+            @LangParameter("&a") @AllowedTypes(DataObject.DataType.ARRAY) DataObject aObject,
+            @LangParameter("&b") @AllowedTypes(DataObject.DataType.ARRAY) DataObject bObject
+    ) {
+        return elementWise(aObject, bObject, ElementWiseOperation.MULTIPLY);
+    }
+    @LangFunction("parallelDivide")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject parallelDivideFunction(
+            @LangParameter("&a") @AllowedTypes(DataObject.DataType.ARRAY) DataObject aObject,
+            @LangParameter("&b") @AllowedTypes(DataObject.DataType.ARRAY) DataObject bObject
+    ) {
+        return elementWise(aObject, bObject, ElementWiseOperation.DIVIDE);
+    }
+    private DataObject elementWise(DataObject aObject, DataObject bObject, ElementWiseOperation operation) {
+        DataObject[] aElements = aObject.getArray();
+        DataObject[] bElements = bObject.getArray();
+        if(aElements.length != bElements.length)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"&a\") and argument 2 (\"&b\") must have the same length");
+
+        DataObject error = checkNumbers(aElements, 1, "&a");
+        if(error == null)
+            error = checkNumbers(bElements, 2, "&b");
+        if(error != null)
+            return error;
+
+        DataObject[] result = new DataObject[aElements.length];
+        //Divisions always return doubles: Integer divisions would truncate and fail for 0
+        boolean floatingPoint = operation == ElementWiseOperation.DIVIDE || containsFloatingPoint(aElements) || containsFloatingPoint(bElements);
+        if(floatingPoint) {
+            setAll(result, i -> new DataObject().setDouble(operation.apply(toDouble(aElements[i]), toDouble(bElements[i]))));
+        }else {
+            boolean allInt = containsOnlyInts(aElements) && containsOnlyInts(bElements);
+            setAll(result, i -> {
+                long value = operation.apply(toLong(aElements[i]), toLong(bElements[i]));
+
+                return allInt?new DataObject().setInt((int)value):new DataObject().setLong(value);
+            });
+        }
+
+        return new DataObject().setArray(result);
+    }
+
+    /**
+     * @return null if all elements are numbers or an error
+     */
+    private DataObject checkNumbers(DataObject[] elements, int argumentIndex, String parameterName) {
+        for(int i = 0;i < elements.length;i++) {
+            if(!isNumber(elements[i]))
+                return lii.setErrnoErrorObject(InterpretingError.NO_NUM, "Argument " + argumentIndex + " (\"" + parameterName + "\") element at index " + i +
+                        " must be an int, a long, a float, or a double");
+        }
+
+        return null;
+    }
+
+    private static IntStream indices(int length) {
+        IntStream indices = IntStream.range(0, length);
+
+        return length < PARALLEL_THRESHOLD?indices:indices.parallel();
+    }
+
+    private static <T> void setAll(T[] array, IntFunction<? extends T> generator) {
+        if(array.length < PARALLEL_THRESHOLD)
+            Arrays.setAll(array, generator);
+        else
+            Arrays.parallelSetAll(array, generator);
+    }
+
+    private static boolean isNumber(DataObject value) {
+        if(value == null)
+            return false;
+
+        DataObject.DataType type = value.getType();
+        return type == DataObject.DataType.INT || type == DataObject.DataType.LONG || type == DataObject.DataType.FLOAT ||
+                type == DataObject.DataType.DOUBLE;
+    }
+
+    /**
+     * Consistent with {@link Double#compare(double, double)}: NaN is greater than every long and -0.0 is less than 0
+     */
+    private static int compareLongToDouble(long a, double b) {
+        if(Double.isNaN(b) || b >= 0x1p63)
+            return -1;
+        if(b < -0x1p63)
+            return 1;
+
+        //floor(b) is in the range of a long and can be converted exactly
+        double integerPart = Math.floor(b);
+        int result = Long.compare(a, (long)integerPart);
+        if(result != 0)
+            return result;
+
+        if(b > integerPart)
+            return -1;
+
+        return b == 0 && 1 / b < 0?1:0;
+    }
+
+    private static boolean isFloatingPoint(DataObject value) {
+        return value.getType() == DataObject.DataType.FLOAT || value.getType() == DataObject.DataType.DOUBLE;
+    }
+
+    private static boolean containsFloatingPoint(DataObject[] elements) {
+        for(DataObject element:elements)
+            if(isFloatingPoint(element))
+                return true;
+
+        return false;
+    }
+
+    private static boolean containsOnlyInts(DataObject[] elements) {
+        for(DataObject element:elements)
+            if(element.getType() != DataObject.DataType.INT)
+                return false;
+
+        return true;
+    }
+
+    private static long toLong(DataObject value) {
+        switch(value.getType()) {
+            case INT:
+                return value.getInt();
+            case LONG:
+                return value.getLong();
+            case FLOAT:
+                return (long)value.getFloat();
+            default:
+                return (long)value.getDouble();
+        }
+    }
+
+    private static double toDouble(DataObject value) {
+        switch(value.getType()) {
+            case INT:
+                return value.getInt();
+            case LONG:
+                return value.getLong();
+            case FLOAT:
+                return value.getFloat();
+            default:
+                return value.getDouble();
+        }
+    }
+
+    /**
+     * The elements of a Lang array of numbers copied into a long[] (If all elements are ints or longs) or into a double[]
+     */
+    private static final class NumericArray {
+        private final int length;
+        private final boolean floatingPoint;
+        private final boolean allInt;
+        private final long[] longs;
+        private final double[] doubles;
+
+        private NumericArray(DataObject[] elements) {
+            length = elements.length;
+            floatingPoint = containsFloatingPoint(elements);
+            allInt = containsOnlyInts(elements);
+
+            if(floatingPoint) {
+                longs = null;
+                doubles = new double[length];
+                if(length < PARALLEL_THRESHOLD)
+                    Arrays.setAll(doubles, i -> toDouble(elements[i]));
+                else
+                    Arrays.parallelSetAll(doubles, i -> toDouble(elements[i]));
+            }else {
+                longs = new long[length];
+                doubles = null;
+                if(length < PARALLEL_THRESHOLD)
+                    Arrays.setAll(longs, i -> toLong(elements[i]));
+                else
+                    Arrays.parallelSetAll(longs, i -> toLong(elements[i]));
+            }
+        }
+
+        private double sumDoubles() {
+            if(floatingPoint)
+                //DoubleStream.sum() uses compensated summation
+                return indices(length).mapToDouble(i -> doubles[i]).sum();
+
+            return indices(length).mapToDouble(i -> longs[i]).sum();
+        }
+    }
+
+    private enum ElementWiseOperation {
+        ADD, SUBTRACT, MULTIPLY, DIVIDE;
+
+        private long apply(long a, long b) {
+            switch(this) {
+                case ADD:
+                    return a + b;
+                case SUBTRACT:
+                    return a - b;
+                case MULTIPLY:
+                    return a * b;
+                default:
+                    return a / b;
+            }
+        }
+
+        private double apply(double a, double b) {
+            switch(this) {
+                case ADD:
+                    return a + b;
+                case SUBTRACT:
+                    return a - b;
+                case MULTIPLY:
+                    return a * b;
+                default:
+                    return a / b;
+            }
+        }
+    }
+}
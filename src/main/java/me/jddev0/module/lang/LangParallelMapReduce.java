@@ -0,0 +1,583 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import at.jddev0.lang.*;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.LangFunction.AllowedTypes;
+import at.jddev0.lang.LangFunction.LangParameter;
+
+/**
+ * Lang-Module<br>
+ * func.parallelMap() and func.parallelReduce(): The elements of an array are split into chunks which are processed on a pool of worker
+ * threads, every worker owns an isolated interpreter<br>
+ * <br>
+ * Shared state:<br>
+ * - Before every call, the variables of the caller which contain Lang function pointers or immutable values (Texts, chars, numbers,
+ *   null, void, types, errors, and struct definitions) are copied into the worker interpreters<br>
+ * - Arrays, lists, struct instances, byte buffers, objects, and var pointers of the caller are not copied: Data must be passed as elements<br>
+ * - Elements are copied (Arrays, lists, and structs deeply) before they are passed to the function, assignments in a worker are
+ *   therefore never visible to the caller or to other workers<br>
+ * - Native functions (e.g. func.abs or memoized functions) are bound to the interpreter which created them and can not be called by workers,
+ *   Lang functions which call predefined functions use the predefined functions of the worker interpreter<br>
+ * - Handles of primitive collections and text builders belong to the interpreter which created them<br>
+ * - Calls inside of fp.func are processed sequentially by the calling worker: The workers already use all processors
+ *   (A pool per worker would create up to parallelism² threads and interpreters for nested calls)<br>
+ * Must be added to an interpreter with {@link LangInterpreter.LangInterpreterInterface#addPredefinedFunctions(Object)}
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangParallelMapReduce {
+    //More chunks than workers: Elements which take longer than others do not leave workers idle
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final LangInterpreter.LangInterpreterInterface lii;
+    private final ILangPlatformAPI langPlatformAPI;
+    //true for the functions of worker interpreters
+    private final boolean sequential;
+
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final Set<Worker> busyWorkers = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+    private volatile int callId;
+    private volatile int stoppedCallId = -1;
+    private volatile Supplier<ThreadContext> threadContextCapturer;
+
+    public LangParallelMapReduce(LangInterpreter.LangInterpreterInterface lii, ILangPlatformAPI langPlatformAPI) {
+        this(lii, langPlatformAPI, false);
+    }
+
+    /**
+     * @param sequential If true, all elements are processed on the thread of the caller by the interpreter of the caller
+     */
+    LangParallelMapReduce(LangInterpreter.LangInterpreterInterface lii, ILangPlatformAPI langPlatformAPI, boolean sequential) {
+        this.lii = lii;
+        this.langPlatformAPI = langPlatformAPI;
+        this.sequential = sequential;
+    }
+
+    /**
+     * The pool threads are reused for calls from different contexts: Thread local state of the caller (e.g. the output routing of the LangShell)
+     * must be captured for every call and applied to the worker threads
+     *
+     * @param threadContextCapturer Will be called on the thread of the caller for every call or null
+     */
+    public void setThreadContextCapturer(Supplier<ThreadContext> threadContextCapturer) {
+        this.threadContextCapturer = threadContextCapturer;
+    }
+
+    /**
+     * Stops the execution of all workers: Must be called if the interpreter of the caller is stopped,
+     * because the caller waits for the workers inside of a native function
+     */
+    public void stop() {
+        //Workers which are acquired afterward for the current call are stopped as well
+        stoppedCallId = callId;
+        for(Worker worker:busyWorkers)
+            worker.stop();
+    }
+
+    @LangFunction("parallelMap")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject parallelMapFunction(
+            @LangParameter("fp.func") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject,
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        DataObject error = checkArguments(funcObject, arrayObject);
+        if(error != null)
+            return error;
+
+        DataObject.FunctionPointerObject function = funcObject.getFunctionPointer();
+        String functionName = funcObject.getVariableName() == null?"<anonymous>":funcObject.getVariableName();
+        DataObject[] elements = arrayObject.getArray();
+
+        DataObject[] results = new DataObject[elements.length];
+        error = runChunks(elements.length, (worker, fromIndex, toIndex) -> {
+            for(int i = fromIndex;i < toIndex;i++) {
+                DataObject result = worker.call(function, functionName, copyValue(elements[i], new IdentityHashMap<>()));
+                if(result.getType() == DataObject.DataType.ERROR)
+                    return new ChunkError(i, result.getError());
+
+                results[i] = result;
+            }
+
+            return null;
+        });
+        if(error != null)
+            return error;
+
+        return new DataObject().setArray(results);
+    }
+    @LangFunction("parallelReduce")
+    @SuppressWarnings("unused")
+    public DataObject parallelReduceFunction(
+            @LangParameter("fp.combine") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject,
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        DataObject error = checkArguments(funcObject, arrayObject);
+        if(error != null)
+            return error;
+
+        DataObject[] elements = arrayObject.getArray();
+        if(elements.length == 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 2 (\"&array\") must not be empty");
+
+        DataObject.FunctionPointerObject function = funcObject.getFunctionPointer();
+        String functionName = funcObject.getVariableName() == null?"<anonymous>":funcObject.getVariableName();
+
+        //Every chunk is reduced from left to right, the results of the chunks are combined in order by the caller:
+        //fp.combine must be associative
+        Map<Integer, DataObject> chunkResultsByStartIndex = new ConcurrentSkipListMap<>();
+        error = runChunks(elements.length, (worker, fromIndex, toIndex) -> {
+            DataObject accumulator = copyValue(elements[fromIndex], new IdentityHashMap<>());
+            for(int i = fromIndex + 1;i < toIndex;i++) {
+                accumulator = worker.call(function, functionName, accumulator, copyValue(elements[i], new IdentityHashMap<>()));
+                if(accumulator.getType() == DataObject.DataType.ERROR)
+                    return new ChunkError(i, accumulator.getError());
+            }
+
+            chunkResultsByStartIndex.put(fromIndex, accumulator);
+
+            return null;
+        });
+        if(error != null)
+            return error;
+
+        DataObject accumulator = null;
+        for(Map.Entry<Integer, DataObject> chunkResult:chunkResultsByStartIndex.entrySet()) {
+            if(accumulator == null) {
+                accumulator = chunkResult.getValue();
+
+                continue;
+            }
+
+            accumulator = lii.callFunctionPointer(function, functionName, LangUtils.separateArgumentsWithArgumentSeparators(Arrays.asList(accumulator, chunkResult.getValue())));
+            if(accumulator == null)
+                accumulator = new DataObject().setVoid();
+            else if(accumulator.getType() == DataObject.DataType.ERROR)
+                return lii.setErrnoErrorObject(InterpretingError.getErrorFromErrorCode(accumulator.getError().getErrno()),
+                        "Combining the chunk starting at index " + chunkResult.getKey() + ": " + getErrorMessage(accumulator.getError()));
+        }
+
+        return accumulator;
+    }
+
+    /**
+     * @return null if the arguments can be processed by the workers or an error
+     */
+    private DataObject checkArguments(DataObject funcObject, DataObject arrayObject) {
+        if(!isLangFunction(funcObject.getFunctionPointer()))
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 must be a Lang function: Native functions are bound to the " +
+                    "interpreter which created them (Wrap them in a Lang function, e.g. ($x) -> return func.abs($x))");
+
+        DataObject[] elements = arrayObject.getArray();
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Object> structsInProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+        for(int i = 0;i < elements.length;i++) {
+            String reason = getUncopyableReason(elements[i], "&array[" + i + "]", visited, structsInProgress);
+            if(reason != null)
+                return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, reason);
+        }
+
+        return null;
+    }
+
+    /**
+     * Processes the chunks of [0, length) on the workers and waits until all chunks were processed
+     *
+     * @return null if all chunks were processed successfully or the error of the first failed element
+     */
+    private DataObject runChunks(int length, ChunkTask chunkTask) {
+        if(length == 0)
+            return null;
+
+        if(sequential) {
+            //The caller is a worker: Its interpreter already has the shared variables and is stopped by the worker
+            ChunkError error = chunkTask.run(new Worker(lii, this), 0, length);
+            if(error != null)
+                return lii.setErrnoErrorObject(InterpretingError.getErrorFromErrorCode(error.error.getErrno()),
+                        "Element at index " + error.index + ": " + getErrorMessage(error.error));
+
+            return null;
+        }
+
+        Map<String, DataObject> sharedVariables = getSharedVariables();
+        int currentCallId = ++callId;
+
+        Supplier<ThreadContext> threadContextCapturer = this.threadContextCapturer;
+        ThreadContext threadContext = threadContextCapturer == null?null:threadContextCapturer.get();
+
+        int chunkCount = Math.min(length, parallelism * CHUNKS_PER_WORKER);
+        List<Future<ChunkError>> futures = new ArrayList<>(chunkCount);
+        ExecutorService workerPool = getExecutor();
+        for(int i = 0;i < chunkCount;i++) {
+            int fromIndex = (int)((long)length * i / chunkCount);
+            int toIndex = (int)((long)length * (i + 1) / chunkCount);
+            futures.add(workerPool.submit(() -> {
+                Runnable restoreThreadContext = threadContext == null?null:threadContext.apply();
+                try {
+                    Worker worker = acquireWorker(sharedVariables, currentCallId);
+                    try {
+                        return chunkTask.run(worker, fromIndex, toIndex);
+                    }finally {
+                        releaseWorker(worker);
+                    }
+                }finally {
+                    if(restoreThreadContext != null)
+                        restoreThreadContext.run();
+                }
+            }));
+        }
+
+        ChunkError firstError = null;
+        String exceptionMessage = null;
+        for(Future<ChunkError> future:futures) {
+            try {
+                ChunkError error = future.get();
+                if(error != null && (firstError == null || error.index < firstError.index))
+                    firstError = error;
+            }catch(InterruptedException e) {
+                stop();
+                Thread.currentThread().interrupt();
+
+                return lii.setErrnoErrorObject(InterpretingError.SYSTEM_ERROR, "Interrupted while waiting for the workers");
+            }catch(ExecutionException e) {
+                if(exceptionMessage == null)
+                    exceptionMessage = String.valueOf(e.getCause());
+            }
+        }
+
+        if(firstError != null)
+            return lii.setErrnoErrorObject(InterpretingError.getErrorFromErrorCode(firstError.error.getErrno()),
+                    "Element at index " + firstError.index + ": " + getErrorMessage(firstError.error));
+
+        if(exceptionMessage != null)
+            return lii.setErrnoErrorObject(InterpretingError.SYSTEM_ERROR, "A worker failed: " + exceptionMessage);
+
+        return null;
+    }
+
+    private static String getErrorMessage(DataObject.ErrorObject error) {
+        return error.getMessage() == null?error.getErrtxt():error.getMessage();
+    }
+
+    /**
+     * @return All variables of the current scope of the caller which can be shared with the workers
+     */
+    private Map<String, DataObject> getSharedVariables() {
+        Map<String, DataObject> sharedVariables = new HashMap<>();
+        for(Map.Entry<String, DataObject> var:lii.getVarMap().entrySet()) {
+            DataObject value = var.getValue();
+            if(value == null || value.isLangVar())
+                continue;
+
+            switch(value.getType()) {
+                case TEXT:
+                case CHAR:
+                case INT:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                case NULL:
+                case VOID:
+                case TYPE:
+                case ERROR:
+                    sharedVariables.put(var.getKey(), value);
+                    break;
+
+                case STRUCT:
+                    if(value.getStruct().isDefinition())
+                        sharedVariables.put(var.getKey(), value);
+                    break;
+
+                case FUNCTION_POINTER:
+                    if(isLangFunction(value.getFunctionPointer()))
+                        sharedVariables.put(var.getKey(), value);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        return sharedVariables;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if(executor == null) {
+            executor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread t = new Thread(runnable, "Lang parallel worker");
+                t.setDaemon(true);
+                return t;
+            });
+            //Idle threads are terminated, the worker interpreters are kept for the next call
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        return executor;
+    }
+
+    private Worker acquireWorker(Map<String, DataObject> sharedVariables, int currentCallId) {
+        Worker worker = idleWorkers.poll();
+        if(worker == null)
+            worker = createWorker();
+
+        busyWorkers.add(worker);
+        if(stoppedCallId == currentCallId)
+            worker.stop();
+
+        if(worker.callId != currentCallId) {
+            worker.setSharedVariables(sharedVariables);
+            worker.callId = currentCallId;
+        }
+
+        return worker;
+    }
+
+    private void releaseWorker(Worker worker) {
+        busyWorkers.remove(worker);
+        worker.lii.resetStopFlag();
+        idleWorkers.add(worker);
+    }
+
+    private Worker createWorker() {
+        LangInterpreter.LangInterpreterInterface workerLii = Lang.createInterpreterInterface(null, langPlatformAPI, new String[0]);
+        LangParallelMapReduce workerParallelMapReduce = LangNativeFunctions.addNativeFunctions(workerLii, langPlatformAPI, true);
+
+        return new Worker(workerLii, workerParallelMapReduce);
+    }
+
+    private static boolean isLangFunction(DataObject.FunctionPointerObject functionPointer) {
+        for(DataObject.FunctionPointerObject.InternalFunction internalFunction:functionPointer.getFunctions())
+            if(internalFunction.getNativeFunction() != null)
+                return false;
+
+        return true;
+    }
+
+    /**
+     * @return null if the value can be copied into a worker or the reason why it can not be copied
+     */
+    private static String getUncopyableReason(DataObject value, String path, Set<Object> visited, Set<Object> structsInProgress) {
+        if(value == null || !visited.add(value))
+            return null;
+
+        switch(value.getType()) {
+            case ARRAY:
+                DataObject[] arr = value.getArray();
+                for(int i = 0;i < arr.length;i++) {
+                    String reason = getUncopyableReason(arr[i], path + "[" + i + "]", visited, structsInProgress);
+                    if(reason != null)
+                        return reason;
+                }
+
+                return null;
+
+            case LIST:
+                int i = 0;
+                for(DataObject ele:value.getList()) {
+                    String reason = getUncopyableReason(ele, path + "[" + i++ + "]", visited, structsInProgress);
+                    if(reason != null)
+                        return reason;
+                }
+
+                return null;
+
+            case STRUCT:
+                DataObject.StructObject struct = value.getStruct();
+                if(struct.isDefinition() || visited.contains(struct))
+                    return null;
+
+                //Struct copies are created after all of their members: Cycles can therefore not be copied
+                if(!structsInProgress.add(struct))
+                    return path + ": Structs with cyclic references can not be passed to workers";
+
+                for(String memberName:struct.getMemberNames()) {
+                    String reason = getUncopyableReason(struct.getMember(memberName), path + "." + memberName, visited, structsInProgress);
+                    if(reason != null)
+                        return reason;
+                }
+
+                structsInProgress.remove(struct);
+                visited.add(struct);
+
+                return null;
+
+            case FUNCTION_POINTER:
+                return isLangFunction(value.getFunctionPointer())?null:path + ": Native functions can not be passed to workers";
+
+            case OBJECT:
+                return path + ": Objects and classes can not be passed to workers";
+
+            case VAR_POINTER:
+                return path + ": Var pointers can not be passed to workers";
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Copies mutable values deeply: Shared arrays, lists, and structs stay shared within the copy
+     */
+    private static DataObject copyValue(DataObject value, Map<Object, Object> copies) {
+        if(value == null)
+            return new DataObject().setNull();
+
+        DataObject copy = (DataObject)copies.get(value);
+        if(copy != null)
+            return copy;
+
+        copy = new DataObject();
+        copies.put(value, copy);
+
+        switch(value.getType()) {
+            case TEXT:
+                return copy.setText(value.getText().toString());
+            case CHAR:
+                return copy.setChar(value.getChar());
+            case INT:
+                return copy.setInt(value.getInt());
+            case LONG:
+                return copy.setLong(value.getLong());
+            case FLOAT:
+                return copy.setFloat(value.getFloat());
+            case DOUBLE:
+                return copy.setDouble(value.getDouble());
+            case BYTE_BUFFER:
+                return copy.setByteBuffer(value.getByteBuffer().clone());
+            case VOID:
+                return copy.setVoid();
+            case TYPE:
+                return copy.setTypeValue(value.getTypeValue());
+            case ERROR:
+                return copy.setError(value.getError());
+            case FUNCTION_POINTER:
+                return copy.setFunctionPointer(value.getFunctionPointer());
+
+            case ARRAY:
+                DataObject[] arrCopy = (DataObject[])copies.get(value.getArray());
+                if(arrCopy == null) {
+                    DataObject[] arr = value.getArray();
+                    arrCopy = new DataObject[arr.length];
+                    copies.put(arr, arrCopy);
+                    for(int i = 0;i < arr.length;i++)
+                        arrCopy[i] = copyValue(arr[i], copies);
+                }
+
+                return copy.setArray(arrCopy);
+
+            case LIST:
+                @SuppressWarnings("unchecked")
+                LinkedList<DataObject> listCopy = (LinkedList<DataObject>)copies.get(value.getList());
+                if(listCopy == null) {
+                    listCopy = new LinkedList<>();
+                    copies.put(value.getList(), listCopy);
+                    for(DataObject ele:value.getList())
+                        listCopy.add(copyValue(ele, copies));
+                }
+
+                return copy.setList(listCopy);
+
+            case STRUCT:
+                DataObject.StructObject struct = value.getStruct();
+                //Struct definitions are immutable
+                if(struct.isDefinition())
+                    return copy.setStruct(struct);
+
+                DataObject.StructObject structCopy = (DataObject.StructObject)copies.get(struct);
+                if(structCopy == null) {
+                    String[] memberNames = struct.getMemberNames();
+                    DataObject[] memberCopies = new DataObject[memberNames.length];
+                    for(int i = 0;i < memberNames.length;i++)
+                        memberCopies[i] = copyValue(struct.getMember(memberNames[i]), copies);
+
+                    structCopy = new DataObject.StructObject(struct.getStructBaseDefinition(), memberCopies);
+                    copies.put(struct, structCopy);
+                }
+
+                return copy.setStruct(structCopy);
+
+            default:
+                return copy.setNull();
+        }
+    }
+
+    /**
+     * Thread local state of the caller
+     */
+    @FunctionalInterface
+    public interface ThreadContext {
+        /**
+         * Applies the state to the current worker thread before a chunk is processed
+         *
+         * @return Restores the previous state of the worker thread after the chunk was processed
+         */
+        Runnable apply();
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        /**
+         * @return null if all elements of [fromIndex, toIndex) were processed successfully or the error of the first failed element
+         */
+        ChunkError run(Worker worker, int fromIndex, int toIndex);
+    }
+
+    private static final class ChunkError {
+        private final int index;
+        private final DataObject.ErrorObject error;
+
+        private ChunkError(int index, DataObject.ErrorObject error) {
+            this.index = index;
+            this.error = error;
+        }
+    }
+
+    private static final class Worker {
+        private final LangInterpreter.LangInterpreterInterface lii;
+        //Used if fp.func calls func.parallelMap() or func.parallelReduce() itself (Sequential)
+        private final LangParallelMapReduce parallelMapReduce;
+        private final Set<String> sharedVariableNames = new HashSet<>();
+        //The id of the last call for which the shared variables were copied
+        private int callId = -1;
+
+        private Worker(LangInterpreter.LangInterpreterInterface lii, LangParallelMapReduce parallelMapReduce) {
+            this.lii = lii;
+            this.parallelMapReduce = parallelMapReduce;
+        }
+
+        private void stop() {
+            lii.stop();
+            parallelMapReduce.stop();
+        }
+
+        private void setSharedVariables(Map<String, DataObject> sharedVariables) {
+            //Variables of previous calls which are no longer shared must not be visible
+            Map<String, DataObject> varMap = lii.getVarMap();
+            for(String varName:sharedVariableNames)
+                varMap.remove(varName);
+            sharedVariableNames.clear();
+
+            for(Map.Entry<String, DataObject> var:sharedVariables.entrySet()) {
+                DataObject oldValue = lii.getVar(var.getKey());
+                if(oldValue != null && oldValue.isLangVar())
+                    continue;
+
+                lii.setVar(var.getKey(), copyValue(var.getValue(), new IdentityHashMap<>()), true);
+                sharedVariableNames.add(var.getKey());
+            }
+        }
+
+        private DataObject call(DataObject.FunctionPointerObject function, String functionName, DataObject... arguments) {
+            DataObject result = lii.callFunctionPointer(function, functionName, LangUtils.separateArgumentsWithArgumentSeparators(Arrays.asList(arguments)));
+
+            return result == null?new DataObject().setVoid():result;
+        }
+    }
+}
@@ -0,0 +1,1010 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+
+import at.jddev0.lang.*;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.LangFunction.AllowedTypes;
+import at.jddev0.lang.LangFunction.LangParameter;
+import at.jddev0.lang.LangFunction.LangParameter.NumberValue;
+
+/**
+ * Lang-Module<br>
+ * Numeric collections which store their elements as primitive values instead of one DataObject per element:
+ * int, long, and double vectors and open addressing int to int and text to int hash maps<br>
+ * Collections are referenced by handles (Like the file handles of the IO module) and are freed with func.primitiveFree()<br>
+ * Must be added to an interpreter with {@link LangInterpreter.LangInterpreterInterface#addPredefinedFunctions(Object)}
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangPrimitiveCollections {
+    private final LangInterpreter.LangInterpreterInterface lii;
+
+    private final Map<Integer, Object> collections = new HashMap<>();
+    private int nextHandle = 1;
+
+    public LangPrimitiveCollections(LangInterpreter.LangInterpreterInterface lii) {
+        this.lii = lii;
+    }
+
+    @LangFunction("vectorCreate")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject vectorCreateFunction(
+            @LangParameter("$type") DataObject typeObject,
+            @LangParameter("$size") @NumberValue Number sizeNumber
+    ) {
+        VectorType type = getVectorType(typeObject);
+        if(type == null)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$type\") must be one of 'INT', 'LONG', 'DOUBLE'");
+
+        int size = sizeNumber.intValue();
+        if(size < 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 2 (\"$size\") must be >= 0");
+
+        return addCollection(type.create(size));
+    }
+    @LangFunction("vectorFromArray")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject vectorFromArrayFunction(
+            @LangParameter("$type") DataObject typeObject,
+            @LangParameter("&array") @AllowedTypes(DataObject.DataType.ARRAY) DataObject arrayObject
+    ) {
+        VectorType type = getVectorType(typeObject);
+        if(type == null)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$type\") must be one of 'INT', 'LONG', 'DOUBLE'");
+
+        DataObject[] elements = arrayObject.getArray();
+        PrimitiveVector vector = type.create(elements.length);
+        for(int i = 0;i < elements.length;i++) {
+            Number number = lii.getInterpreter().conversions.toNumber(elements[i], CodePosition.EMPTY);
+            if(number == null)
+                return lii.setErrnoErrorObject(InterpretingError.NO_NUM, "Argument 2 (\"&array\") element at index " + i + " is not a number");
+
+            Number value = toElementValue(vector, number);
+            if(value == null)
+                return notAnElementValueError(vector, "Argument 2 (\"&array\") element at index " + i);
+
+            vector.set(i, value);
+        }
+
+        return addCollection(vector);
+    }
+    @LangFunction("vectorToArray")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject vectorToArrayFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        DataObject[] elements = new DataObject[vector.size()];
+        for(int i = 0;i < elements.length;i++)
+            elements[i] = vector.get(i);
+
+        return new DataObject().setArray(elements);
+    }
+    @LangFunction("vectorSize")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject vectorSizeFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        return new DataObject().setInt(vector.size());
+    }
+    @LangFunction("vectorGet")
+    @AllowedTypes({DataObject.DataType.INT, DataObject.DataType.LONG, DataObject.DataType.DOUBLE})
+    @SuppressWarnings("unused")
+    public DataObject vectorGetFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle,
+            @LangParameter("$index") @NumberValue Number indexNumber
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        int index = indexNumber.intValue();
+        if(index < 0 || index >= vector.size())
+            return lii.setErrnoErrorObject(InterpretingError.INDEX_OUT_OF_BOUNDS, "Argument 2 (\"$index\") must be in [0, " + vector.size() + ")");
+
+        return vector.get(index);
+    }
+    @LangFunction("vectorSet")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject vectorSetFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle,
+            @LangParameter("$index") @NumberValue Number indexNumber,
+            @LangParameter("$value") @NumberValue Number valueNumber
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        int index = indexNumber.intValue();
+        if(index < 0 || index >= vector.size())
+            return lii.setErrnoErrorObject(InterpretingError.INDEX_OUT_OF_BOUNDS, "Argument 2 (\"$index\") must be in [0, " + vector.size() + ")");
+
+        Number value = toElementValue(vector, valueNumber);
+        if(value == null)
+            return notAnElementValueError(vector, "Argument 3 (\"$value\")");
+
+        vector.set(index, value);
+
+        return null;
+    }
+    @LangFunction("vectorAppend")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject vectorAppendFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle,
+            @LangParameter("$value") @NumberValue Number valueNumber
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        Number value = toElementValue(vector, valueNumber);
+        if(value == null)
+            return notAnElementValueError(vector, "Argument 2 (\"$value\")");
+
+        vector.append(value);
+
+        return null;
+    }
+    @LangFunction("vectorFill")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject vectorFillFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle,
+            @LangParameter("$value") @NumberValue Number valueNumber
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        Number value = toElementValue(vector, valueNumber);
+        if(value == null)
+            return notAnElementValueError(vector, "Argument 2 (\"$value\")");
+
+        vector.fill(value);
+
+        return null;
+    }
+    @LangFunction("vectorSlice")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject vectorSliceFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle,
+            @LangParameter("$fromIndex") @NumberValue Number fromIndexNumber,
+            @LangParameter("$toIndex") @NumberValue Number toIndexNumber
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        int fromIndex = fromIndexNumber.intValue();
+        int toIndex = toIndexNumber.intValue();
+        if(fromIndex < 0 || fromIndex > vector.size() || toIndex > vector.size())
+            return lii.setErrnoErrorObject(InterpretingError.INDEX_OUT_OF_BOUNDS, "The slice indices must be in [0, " + vector.size() + "]");
+
+        if(toIndex < fromIndex)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 3 (\"$toIndex\") must be >= fromIndex");
+
+        return addCollection(vector.slice(fromIndex, toIndex));
+    }
+    @LangFunction("vectorSum")
+    @AllowedTypes({DataObject.DataType.LONG, DataObject.DataType.DOUBLE})
+    @SuppressWarnings("unused")
+    public DataObject vectorSumFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        return vector.sum();
+    }
+    @LangFunction("vectorMin")
+    @AllowedTypes({DataObject.DataType.INT, DataObject.DataType.LONG, DataObject.DataType.DOUBLE})
+    @SuppressWarnings("unused")
+    public DataObject vectorMinFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        if(vector.size() == 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$vector\") must not be empty");
+
+        return vector.get(vector.indexOfExtremum(false));
+    }
+    @LangFunction("vectorMax")
+    @AllowedTypes({DataObject.DataType.INT, DataObject.DataType.LONG, DataObject.DataType.DOUBLE})
+    @SuppressWarnings("unused")
+    public DataObject vectorMaxFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        if(vector.size() == 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$vector\") must not be empty");
+
+        return vector.get(vector.indexOfExtremum(true));
+    }
+    @LangFunction("vectorSort")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject vectorSortFunction(
+            @LangParameter("$vector") @NumberValue Number vectorHandle
+    ) {
+        PrimitiveVector vector = getCollection(vectorHandle, PrimitiveVector.class);
+        if(vector == null)
+            return invalidHandleError("$vector", "vector");
+
+        vector.sort();
+
+        return null;
+    }
+
+    @LangFunction("intMapCreate")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject intMapCreateFunction() {
+        return addCollection(new IntIntHashMap());
+    }
+    @LangFunction("textMapCreate")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject textMapCreateFunction() {
+        return addCollection(new TextIntHashMap());
+    }
+    @LangFunction("mapFromArrays")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject mapFromArraysFunction(
+            @LangParameter("&keys") @AllowedTypes(DataObject.DataType.ARRAY) DataObject keysObject,
+            @LangParameter("&values") @AllowedTypes(DataObject.DataType.ARRAY) DataObject valuesObject
+    ) {
+        DataObject[] keys = keysObject.getArray();
+        DataObject[] values = valuesObject.getArray();
+        if(keys.length != values.length)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"&keys\") and argument 2 (\"&values\") must have the same length");
+
+        //The map type is derived from the keys: Text keys create a text map, otherwise every key must be an int
+        boolean textKeys = keys.length > 0 && keys[0].getType() == DataObject.DataType.TEXT;
+        for(int i = 1;i < keys.length;i++)
+            if((keys[i].getType() == DataObject.DataType.TEXT) != textKeys)
+                return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"&keys\") must contain either only texts or no texts " +
+                        "(Element at index " + i + ")");
+
+        PrimitiveMap map = textKeys?new TextIntHashMap():new IntIntHashMap();
+        for(int i = 0;i < keys.length;i++) {
+            Number valueNumber = lii.getInterpreter().conversions.toNumber(values[i], CodePosition.EMPTY);
+            if(valueNumber == null)
+                return lii.setErrnoErrorObject(InterpretingError.NO_NUM, "Argument 2 (\"&values\") element at index " + i + " is not a number");
+
+            Integer value = toInt(valueNumber);
+            if(value == null)
+                return notAnIntError("Argument 2 (\"&values\") element at index " + i);
+
+            DataObject error = putMapEntry(map, keys[i], value, "Argument 1 (\"&keys\") element at index " + i);
+            if(error != null)
+                return error;
+        }
+
+        return addCollection(map);
+    }
+    @LangFunction("mapSize")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject mapSizeFunction(
+            @LangParameter("$map") @NumberValue Number mapHandle
+    ) {
+        PrimitiveMap map = getCollection(mapHandle, PrimitiveMap.class);
+        if(map == null)
+            return invalidHandleError("$map", "map");
+
+        return new DataObject().setInt(map.size());
+    }
+    @LangFunction("mapGet")
+    @AllowedTypes({DataObject.DataType.INT, DataObject.DataType.NULL})
+    @SuppressWarnings("unused")
+    public DataObject mapGetFunction(
+            @LangParameter("$map") @NumberValue Number mapHandle,
+            @LangParameter("$key") DataObject keyObject
+    ) {
+        PrimitiveMap map = getCollection(mapHandle, PrimitiveMap.class);
+        if(map == null)
+            return invalidHandleError("$map", "map");
+
+        int index;
+        if(map instanceof IntIntHashMap) {
+            Number key = lii.getInterpreter().conversions.toNumber(keyObject, CodePosition.EMPTY);
+            if(key == null)
+                return lii.setErrnoErrorObject(InterpretingError.NO_NUM, "Argument 2 (\"$key\") must be a number for int maps");
+
+            Integer intKey = toInt(key);
+            if(intKey == null)
+                return notAnIntError("Argument 2 (\"$key\")");
+
+            index = ((IntIntHashMap)map).indexOf(intKey);
+        }else {
+            index = ((TextIntHashMap)map).indexOf(lii.getInterpreter().conversions.toText(keyObject, CodePosition.EMPTY).toString());
+        }
+
+        return index < 0?new DataObject().setNull():new DataObject().setInt(map.valueAt(index));
+    }
+    @LangFunction("mapSet")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject mapSetFunction(
+            @LangParameter("$map") @NumberValue Number mapHandle,
+            @LangParameter("$key") DataObject keyObject,
+            @LangParameter("$value") @NumberValue Number valueNumber
+    ) {
+        PrimitiveMap map = getCollection(mapHandle, PrimitiveMap.class);
+        if(map == null)
+            return invalidHandleError("$map", "map");
+
+        Integer value = toInt(valueNumber);
+        if(value == null)
+            return notAnIntError("Argument 3 (\"$value\")");
+
+        return putMapEntry(map, keyObject, value, "Argument 2 (\"$key\")");
+    }
+    @LangFunction("mapRemove")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject mapRemoveFunction(
+            @LangParameter("$map") @NumberValue Number mapHandle,
+            @LangParameter("$key") DataObject keyObject
+    ) {
+        PrimitiveMap map = getCollection(mapHandle, PrimitiveMap.class);
+        if(map == null)
+            return invalidHandleError("$map", "map");
+
+        boolean removed;
+        if(map instanceof IntIntHashMap) {
+            Number key = lii.getInterpreter().conversions.toNumber(keyObject, CodePosition.EMPTY);
+            if(key == null)
+                return lii.setErrnoErrorObject(InterpretingError.NO_NUM, "Argument 2 (\"$key\") must be a number for int maps");
+
+            Integer intKey = toInt(key);
+            if(intKey == null)
+                return notAnIntError("Argument 2 (\"$key\")");
+
+            removed = ((IntIntHashMap)map).remove(intKey);
+        }else {
+            removed = ((TextIntHashMap)map).remove(lii.getInterpreter().conversions.toText(keyObject, CodePosition.EMPTY).toString());
+        }
+
+        return new DataObject().setInt(removed?1:0);
+    }
+    @LangFunction("mapKeys")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject mapKeysFunction(
+            @LangParameter("$map") @NumberValue Number mapHandle
+    ) {
+        PrimitiveMap map = getCollection(mapHandle, PrimitiveMap.class);
+        if(map == null)
+            return invalidHandleError("$map", "map");
+
+        DataObject[] keys = new DataObject[map.size()];
+        int i = 0;
+        for(int index = 0;index < map.capacity();index++)
+            if(map.isUsed(index))
+                keys[i++] = map.keyAt(index);
+
+        return new DataObject().setArray(keys);
+    }
+    @LangFunction("mapValues")
+    @AllowedTypes(DataObject.DataType.ARRAY)
+    @SuppressWarnings("unused")
+    public DataObject mapValuesFunction(
+            @LangParameter("$map") @NumberValue Number mapHandle
+    ) {
+        PrimitiveMap map = getCollection(mapHandle, PrimitiveMap.class);
+        if(map == null)
+            return invalidHandleError("$map", "map");
+
+        DataObject[] values = new DataObject[map.size()];
+        int i = 0;
+        for(int index = 0;index < map.capacity();index++)
+            if(map.isUsed(index))
+                values[i++] = new DataObject().setInt(map.valueAt(index));
+
+        return new DataObject().setArray(values);
+    }
+
+    @LangFunction("primitiveFree")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject primitiveFreeFunction(
+            @LangParameter("$handle") @NumberValue Number handle
+    ) {
+        if(collections.remove(handle.intValue()) == null)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$handle\") must be a vector or map handle");
+
+        return null;
+    }
+
+    private DataObject addCollection(Object collection) {
+        int handle = nextHandle++;
+        collections.put(handle, collection);
+
+        return new DataObject().setInt(handle);
+    }
+
+    private <T> T getCollection(Number handle, Class<T> collectionClass) {
+        Object collection = collections.get(handle.intValue());
+
+        return collectionClass.isInstance(collection)?collectionClass.cast(collection):null;
+    }
+
+    private DataObject invalidHandleError(String parameterName, String collectionName) {
+        return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"" + parameterName + "\") must be a " + collectionName + " handle");
+    }
+
+    private DataObject notAnIntError(String description) {
+        return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, description + " must be a whole number in the range of an int");
+    }
+
+    private DataObject notAnElementValueError(PrimitiveVector vector, String description) {
+        if(vector instanceof IntVector)
+            return notAnIntError(description);
+
+        return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, description + " must be a whole number in the range of a long");
+    }
+
+    /**
+     * @return The number converted to the element type of the vector or null if it can not be stored without losing its value
+     */
+    private static Number toElementValue(PrimitiveVector vector, Number number) {
+        if(vector instanceof IntVector)
+            return toInt(number);
+        if(vector instanceof LongVector)
+            return toLong(number);
+
+        return number;
+    }
+
+    /**
+     * @return The number as int or null if the number has a fractional part or is out of the range of an int
+     */
+    private static Integer toInt(Number number) {
+        if(number instanceof Integer)
+            return (Integer)number;
+
+        if(number instanceof Float || number instanceof Double) {
+            double value = number.doubleValue();
+            if(value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+                return null;
+
+            return (int)value;
+        }
+
+        long value = number.longValue();
+        if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+            return null;
+
+        return (int)value;
+    }
+
+    /**
+     * @return The number as long or null if the number has a fractional part or is out of the range of a long
+     */
+    private static Long toLong(Number number) {
+        if(number instanceof Float || number instanceof Double) {
+            double value = number.doubleValue();
+            //(double)Long.MAX_VALUE is rounded up to 2^63 which is out of range
+            if(value != Math.rint(value) || value < -0x1p63 || value >= 0x1p63)
+                return null;
+
+            return (long)value;
+        }
+
+        return number.longValue();
+    }
+
+    private VectorType getVectorType(DataObject typeObject) {
+        try {
+            return VectorType.valueOf(lii.getInterpreter().conversions.toText(typeObject, CodePosition.EMPTY).toString());
+        }catch(IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return null if the entry was added or an error
+     */
+    private DataObject putMapEntry(PrimitiveMap map, DataObject keyObject, int value, String keyDescription) {
+        if(map instanceof IntIntHashMap) {
+            Number key = lii.getInterpreter().conversions.toNumber(keyObject, CodePosition.EMPTY);
+            if(key == null)
+                return lii.setErrnoErrorObject(InterpretingError.NO_NUM, keyDescription + " must be a number for int maps");
+
+            Integer intKey = toInt(key);
+            if(intKey == null)
+                return notAnIntError(keyDescription);
+
+            ((IntIntHashMap)map).put(intKey, value);
+        }else {
+            ((TextIntHashMap)map).put(lii.getInterpreter().conversions.toText(keyObject, CodePosition.EMPTY).toString(), value);
+        }
+
+        return null;
+    }
+
+    private enum VectorType {
+        INT, LONG, DOUBLE;
+
+        private PrimitiveVector create(int size) {
+            switch(this) {
+                case INT:
+                    return new IntVector(new int[Math.max(size, 8)], size);
+                case LONG:
+                    return new LongVector(new long[Math.max(size, 8)], size);
+                default:
+                    return new DoubleVector(new double[Math.max(size, 8)], size);
+            }
+        }
+    }
+
+    private interface PrimitiveVector {
+        int size();
+        DataObject get(int index);
+        void set(int index, Number value);
+        void append(Number value);
+        void fill(Number value);
+        PrimitiveVector slice(int fromIndex, int toIndex);
+        DataObject sum();
+        int indexOfExtremum(boolean max);
+        void sort();
+    }
+
+    private static final class IntVector implements PrimitiveVector {
+        private int[] elements;
+        private int size;
+
+        private IntVector(int[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public DataObject get(int index) {
+            return new DataObject().setInt(elements[index]);
+        }
+
+        @Override
+        public void set(int index, Number value) {
+            elements[index] = value.intValue();
+        }
+
+        @Override
+        public void append(Number value) {
+            if(size == elements.length)
+                elements = Arrays.copyOf(elements, size + (size >> 1) + 1);
+
+            elements[size++] = value.intValue();
+        }
+
+        @Override
+        public void fill(Number value) {
+            Arrays.fill(elements, 0, size, value.intValue());
+        }
+
+        @Override
+        public PrimitiveVector slice(int fromIndex, int toIndex) {
+            return new IntVector(Arrays.copyOfRange(elements, fromIndex, Math.max(toIndex, fromIndex + 1)), toIndex - fromIndex);
+        }
+
+        @Override
+        public DataObject sum() {
+            long sum = 0;
+            for(int i = 0;i < size;i++)
+                sum += elements[i];
+
+            return new DataObject().setLong(sum);
+        }
+
+        @Override
+        public int indexOfExtremum(boolean max) {
+            int index = 0;
+            for(int i = 1;i < size;i++)
+                if(max?elements[i] > elements[index]:elements[i] < elements[index])
+                    index = i;
+
+            return index;
+        }
+
+        @Override
+        public void sort() {
+            Arrays.sort(elements, 0, size);
+        }
+    }
+
+    private static final class LongVector implements PrimitiveVector {
+        private long[] elements;
+        private int size;
+
+        private LongVector(long[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public DataObject get(int index) {
+            return new DataObject().setLong(elements[index]);
+        }
+
+        @Override
+        public void set(int index, Number value) {
+            elements[index] = value.longValue();
+        }
+
+        @Override
+        public void append(Number value) {
+            if(size == elements.length)
+                elements = Arrays.copyOf(elements, size + (size >> 1) + 1);
+
+            elements[size++] = value.longValue();
+        }
+
+        @Override
+        public void fill(Number value) {
+            Arrays.fill(elements, 0, size, value.longValue());
+        }
+
+        @Override
+        public PrimitiveVector slice(int fromIndex, int toIndex) {
+            return new LongVector(Arrays.copyOfRange(elements, fromIndex, Math.max(toIndex, fromIndex + 1)), toIndex - fromIndex);
+        }
+
+        @Override
+        public DataObject sum() {
+            long sum = 0;
+            for(int i = 0;i < size;i++)
+                sum += elements[i];
+
+            return new DataObject().setLong(sum);
+        }
+
+        @Override
+        public int indexOfExtremum(boolean max) {
+            int index = 0;
+            for(int i = 1;i < size;i++)
+                if(max?elements[i] > elements[index]:elements[i] < elements[index])
+                    index = i;
+
+            return index;
+        }
+
+        @Override
+        public void sort() {
+            Arrays.sort(elements, 0, size);
+        }
+    }
+
+    private static final class DoubleVector implements PrimitiveVector {
+        private double[] elements;
+        private int size;
+
+        private DoubleVector(double[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public DataObject get(int index) {
+            return new DataObject().setDouble(elements[index]);
+        }
+
+        @Override
+        public void set(int index, Number value) {
+            elements[index] = value.doubleValue();
+        }
+
+        @Override
+        public void append(Number value) {
+            if(size == elements.length)
+                elements = Arrays.copyOf(elements, size + (size >> 1) + 1);
+
+            elements[size++] = value.doubleValue();
+        }
+
+        @Override
+        public void fill(Number value) {
+            Arrays.fill(elements, 0, size, value.doubleValue());
+        }
+
+        @Override
+        public PrimitiveVector slice(int fromIndex, int toIndex) {
+            return new DoubleVector(Arrays.copyOfRange(elements, fromIndex, Math.max(toIndex, fromIndex + 1)), toIndex - fromIndex);
+        }
+
+        @Override
+        public DataObject sum() {
+            //Kahan summation: Long series of doubles would otherwise accumulate rounding errors
+            double sum = 0;
+            double compensation = 0;
+            for(int i = 0;i < size;i++) {
+                double y = elements[i] - compensation;
+                double t = sum + y;
+                compensation = (t - sum) - y;
+                sum = t;
+            }
+
+            return new DataObject().setDouble(sum);
+        }
+
+        @Override
+        public int indexOfExtremum(boolean max) {
+            int index = 0;
+            for(int i = 1;i < size;i++)
+                if(max?Double.compare(elements[i], elements[index]) > 0:Double.compare(elements[i], elements[index]) < 0)
+                    index = i;
+
+            return index;
+        }
+
+        @Override
+        public void sort() {
+            Arrays.sort(elements, 0, size);
+        }
+    }
+
+    /**
+     * Open addressing hash map with linear probing and int values: Removed entries are filled by shifting the following entries
+     * of their probe sequence backward (No tombstones)
+     */
+    private static abstract class PrimitiveMap {
+        protected static final int MIN_CAPACITY = 16;
+
+        protected int[] values = new int[MIN_CAPACITY];
+        protected int size;
+
+        public int size() {
+            return size;
+        }
+
+        public int capacity() {
+            return values.length;
+        }
+
+        public int valueAt(int index) {
+            return values[index];
+        }
+
+        public abstract boolean isUsed(int index);
+        public abstract DataObject keyAt(int index);
+
+        protected abstract int hashAt(int index);
+        protected abstract void moveEntry(int fromIndex, int toIndex);
+        protected abstract void clearEntry(int index);
+        protected abstract void resize(int newCapacity);
+
+        protected int mask() {
+            return values.length - 1;
+        }
+
+        protected static int mix(int hash) {
+            hash *= 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+
+        /**
+         * Must be called after an entry was added
+         */
+        protected void growIfFull() {
+            //Load factor: 0.5
+            if(++size > values.length >> 1)
+                resize(values.length << 1);
+        }
+
+        protected void removeAt(int index) {
+            size--;
+
+            int mask = mask();
+            int gap = index;
+            for(int i = (index + 1) & mask;isUsed(i);i = (i + 1) & mask) {
+                int home = hashAt(i) & mask;
+                //The entry can be moved into the gap if its home slot is not cyclically in (gap, i]
+                if(((i - home) & mask) >= ((i - gap) & mask)) {
+                    moveEntry(i, gap);
+                    gap = i;
+                }
+            }
+
+            clearEntry(gap);
+        }
+    }
+
+    private static final class IntIntHashMap extends PrimitiveMap {
+        private int[] keys = new int[MIN_CAPACITY];
+        private boolean[] used = new boolean[MIN_CAPACITY];
+
+        public int indexOf(int key) {
+            int mask = mask();
+            for(int i = mix(key) & mask;used[i];i = (i + 1) & mask)
+                if(keys[i] == key)
+                    return i;
+
+            return -1;
+        }
+
+        public void put(int key, int value) {
+            int mask = mask();
+            int i = mix(key) & mask;
+            for(;used[i];i = (i + 1) & mask) {
+                if(keys[i] == key) {
+                    values[i] = value;
+
+                    return;
+                }
+            }
+
+            used[i] = true;
+            keys[i] = key;
+            values[i] = value;
+            growIfFull();
+        }
+
+        public boolean remove(int key) {
+            int index = indexOf(key);
+            if(index < 0)
+                return false;
+
+            removeAt(index);
+            return true;
+        }
+
+        @Override
+        public boolean isUsed(int index) {
+            return used[index];
+        }
+
+        @Override
+        public DataObject keyAt(int index) {
+            return new DataObject().setInt(keys[index]);
+        }
+
+        @Override
+        protected int hashAt(int index) {
+            return mix(keys[index]);
+        }
+
+        @Override
+        protected void moveEntry(int fromIndex, int toIndex) {
+            keys[toIndex] = keys[fromIndex];
+            values[toIndex] = values[fromIndex];
+            used[toIndex] = true;
+        }
+
+        @Override
+        protected void clearEntry(int index) {
+            used[index] = false;
+        }
+
+        @Override
+        protected void resize(int newCapacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+
+            keys = new int[newCapacity];
+            values = new int[newCapacity];
+            used = new boolean[newCapacity];
+            size = 0;
+            for(int i = 0;i < oldUsed.length;i++)
+                if(oldUsed[i])
+                    put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static final class TextIntHashMap extends PrimitiveMap {
+        //null: Unused slot
+        private String[] keys = new String[MIN_CAPACITY];
+
+        public int indexOf(String key) {
+            int mask = mask();
+            for(int i = mix(key.hashCode()) & mask;keys[i] != null;i = (i + 1) & mask)
+                if(keys[i].equals(key))
+                    return i;
+
+            return -1;
+        }
+
+        public void put(String key, int value) {
+            int mask = mask();
+            int i = mix(key.hashCode()) & mask;
+            for(;keys[i] != null;i = (i + 1) & mask) {
+                if(keys[i].equals(key)) {
+                    values[i] = value;
+
+                    return;
+                }
+            }
+
+            keys[i] = key;
+            values[i] = value;
+            growIfFull();
+        }
+
+        public boolean remove(String key) {
+            int index = indexOf(key);
+            if(index < 0)
+                return false;
+
+            removeAt(index);
+            return true;
+        }
+
+        @Override
+        public boolean isUsed(int index) {
+            return keys[index] != null;
+        }
+
+        @Override
+        public DataObject keyAt(int index) {
+            return new DataObject().setText(keys[index]);
+        }
+
+        @Override
+        protected int hashAt(int index) {
+            return mix(keys[index].hashCode());
+        }
+
+        @Override
+        protected void moveEntry(int fromIndex, int toIndex) {
+            keys[toIndex] = keys[fromIndex];
+            values[toIndex] = values[fromIndex];
+        }
+
+        @Override
+        protected void clearEntry(int index) {
+            keys[index] = null;
+        }
+
+        @Override
+        protected void resize(int newCapacity) {
+            String[] oldKeys = keys;
+            int[] oldValues = values;
+
+            keys = new String[newCapacity];
+            values = new int[newCapacity];
+            size = 0;
+            for(int i = 0;i < oldKeys.length;i++)
+                if(oldKeys[i] != null)
+                    put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
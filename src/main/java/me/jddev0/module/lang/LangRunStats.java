@@ -0,0 +1,265 @@
+package me.jddev0.module.lang;
+
+import java.lang.management.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lang-Module<br>
+ * Process wide cost of a single CLI run (lang FILE or lang -e CODE): Wall time per phase, process CPU time, allocated bytes,
+ * GC activity per collector, peak memory usage, and thread count<br>
+ * The interpreter parses and executes the code in a single call, so the parse time is an estimate of a separate parse pass which
+ * is not included in the wall time (The CPU time and allocated bytes include the separate parse pass)
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangRunStats {
+    private final long startupTime;
+    private final long parseTimeEstimate;
+    private final long executeTime;
+    private final long cpuTime;
+    private final long allocatedBytes;
+    private final List<CollectorStats> collectors;
+    private final long peakHeapBytes;
+    private final long peakMetaspaceBytes;
+    private final int peakThreadCount;
+
+    private LangRunStats(long startupTime, long parseTimeEstimate, long executeTime, long cpuTime, long allocatedBytes, List<CollectorStats> collectors,
+                         long peakHeapBytes, long peakMetaspaceBytes, int peakThreadCount) {
+        this.startupTime = startupTime;
+        this.parseTimeEstimate = parseTimeEstimate;
+        this.executeTime = executeTime;
+        this.cpuTime = cpuTime;
+        this.allocatedBytes = allocatedBytes;
+        this.collectors = collectors;
+        this.peakHeapBytes = peakHeapBytes;
+        this.peakMetaspaceBytes = peakMetaspaceBytes;
+        this.peakThreadCount = peakThreadCount;
+    }
+
+    /**
+     * Starts recording, the startup phase begins with the start of the JVM
+     */
+    public static Recorder start() {
+        return new Recorder();
+    }
+
+    /**
+     * @return The time from the start of the JVM until the interpreter was created in nanoseconds
+     */
+    public long getStartupTime() {
+        return startupTime;
+    }
+
+    /**
+     * @return The time of a separate pass for parsing the Lang code in nanoseconds (Part of neither the execute phase nor the wall time)
+     */
+    public long getParseTimeEstimate() {
+        return parseTimeEstimate;
+    }
+
+    /**
+     * @return The time of parsing and executing the Lang code by the interpreter in nanoseconds
+     */
+    public long getExecuteTime() {
+        return executeTime;
+    }
+
+    /**
+     * @return The time of the startup and execute phase in nanoseconds (Without the separate parse pass)
+     */
+    public long getWallTime() {
+        return startupTime + executeTime;
+    }
+
+    /**
+     * @return The CPU time of the process in nanoseconds or -1 if not supported by the JVM
+     */
+    public long getCPUTime() {
+        return cpuTime;
+    }
+
+    /**
+     * @return The bytes allocated by all live threads or -1 if not supported by the JVM
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public List<CollectorStats> getCollectors() {
+        return collectors;
+    }
+
+    /**
+     * @return The sum of the peak usages of all heap memory pools
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * @return The peak usage of the metaspace or -1 if the JVM has no metaspace memory pool
+     */
+    public long getPeakMetaspaceBytes() {
+        return peakMetaspaceBytes;
+    }
+
+    public int getPeakThreadCount() {
+        return peakThreadCount;
+    }
+
+    public String toJSON() {
+        StringBuilder builder = new StringBuilder("{");
+        builder.append("\"wallTimeNs\":").append(getWallTime()).
+                append(",\"startupTimeNs\":").append(startupTime).
+                append(",\"parseTimeEstimateNs\":").append(parseTimeEstimate).
+                append(",\"executeTimeNs\":").append(executeTime).
+                append(",\"cpuTimeNs\":").append(cpuTime).
+                append(",\"allocatedBytes\":").append(allocatedBytes).
+                append(",\"gc\":[");
+        for(int i = 0;i < collectors.size();i++) {
+            CollectorStats collector = collectors.get(i);
+            if(i > 0)
+                builder.append(',');
+
+            builder.append("{\"name\":\"").append(collector.name.replace("\\", "\\\\").replace("\"", "\\\"")).
+                    append("\",\"count\":").append(collector.count).
+                    append(",\"timeMs\":").append(collector.time).append('}');
+        }
+        builder.append("],\"peakHeapBytes\":").append(peakHeapBytes).
+                append(",\"peakMetaspaceBytes\":").append(peakMetaspaceBytes).
+                append(",\"peakThreadCount\":").append(peakThreadCount).append('}');
+
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-16s%s (Startup: %s, Parse & execute: %s)\n", "Wall time:", LangExecutionStats.formatNanoTime(getWallTime()),
+                LangExecutionStats.formatNanoTime(startupTime), LangExecutionStats.formatNanoTime(executeTime)));
+        builder.append(String.format("%-16s~%s (Separate parse pass, not part of the wall time)\n", "Parse time:", LangExecutionStats.formatNanoTime(parseTimeEstimate)));
+        builder.append(String.format("%-16s%s\n", "CPU time:", cpuTime < 0?"-":LangExecutionStats.formatNanoTime(cpuTime)));
+        builder.append(String.format("%-16s%s\n", "Allocated:", allocatedBytes < 0?"-":LangExecutionStats.formatBytes(allocatedBytes)));
+        for(CollectorStats collector:collectors)
+            builder.append(String.format("%-16s%s: %dx %d ms\n", "GC:", collector.name, collector.count, collector.time));
+        builder.append(String.format("%-16s%s\n", "Peak heap:", LangExecutionStats.formatBytes(peakHeapBytes)));
+        builder.append(String.format("%-16s%s\n", "Peak metaspace:", peakMetaspaceBytes < 0?"-":LangExecutionStats.formatBytes(peakMetaspaceBytes)));
+        builder.append(String.format("%-16s%d", "Peak threads:", peakThreadCount));
+
+        return builder.toString();
+    }
+
+    public static final class CollectorStats {
+        private final String name;
+        private final long count;
+        private final long time;
+
+        private CollectorStats(String name, long count, long time) {
+            this.name = name;
+            this.count = count;
+            this.time = time;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The accumulated collection time in milliseconds
+         */
+        public long getTime() {
+            return time;
+        }
+    }
+
+    public static final class Recorder {
+        private final long startupStartTime;
+        private long parseEstimateStartTime = -1;
+        private long parseTimeEstimate;
+        private long executeStartTime = -1;
+
+        private Recorder() {
+            //The time between the start of the JVM and the creation of this recorder is part of the startup phase
+            long timeSinceJVMStart = Math.max(0, System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+            startupStartTime = System.nanoTime() - timeSinceJVMStart * 1000000L;
+        }
+
+        /**
+         * Starts the separate parse pass, its time is removed from the startup phase
+         */
+        public void startParseEstimate() {
+            parseEstimateStartTime = System.nanoTime();
+        }
+
+        public void stopParseEstimate() {
+            if(parseEstimateStartTime < 0)
+                return;
+
+            parseTimeEstimate += System.nanoTime() - parseEstimateStartTime;
+            parseEstimateStartTime = -1;
+        }
+
+        /**
+         * Ends the startup phase and starts the execute phase
+         */
+        public void startExecution() {
+            executeStartTime = System.nanoTime();
+        }
+
+        public LangRunStats stop() {
+            long endTime = System.nanoTime();
+            long executeStartTime = this.executeStartTime < 0?endTime:this.executeStartTime;
+
+            List<CollectorStats> collectors = new ArrayList<>();
+            for(GarbageCollectorMXBean gcMXBean:ManagementFactory.getGarbageCollectorMXBeans())
+                collectors.add(new CollectorStats(gcMXBean.getName(), Math.max(0, gcMXBean.getCollectionCount()), Math.max(0, gcMXBean.getCollectionTime())));
+
+            long peakHeapBytes = 0;
+            long peakMetaspaceBytes = -1;
+            for(MemoryPoolMXBean memoryPoolMXBean:ManagementFactory.getMemoryPoolMXBeans()) {
+                MemoryUsage peakUsage = memoryPoolMXBean.getPeakUsage();
+                if(peakUsage == null)
+                    continue;
+
+                if(memoryPoolMXBean.getType() == MemoryType.HEAP)
+                    peakHeapBytes += peakUsage.getUsed();
+                else if(memoryPoolMXBean.getName().equals("Metaspace"))
+                    peakMetaspaceBytes = peakUsage.getUsed();
+            }
+
+            return new LangRunStats(Math.max(0, executeStartTime - startupStartTime - parseTimeEstimate), parseTimeEstimate, endTime - executeStartTime,
+                    getProcessCPUTime(), getAllocatedBytesOfAllThreads(), collectors, peakHeapBytes, peakMetaspaceBytes,
+                    ManagementFactory.getThreadMXBean().getPeakThreadCount());
+        }
+
+        private static long getProcessCPUTime() {
+            OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
+            if(!(osMXBean instanceof com.sun.management.OperatingSystemMXBean))
+                return -1;
+
+            return ((com.sun.management.OperatingSystemMXBean)osMXBean).getProcessCpuTime();
+        }
+
+        private static long getAllocatedBytesOfAllThreads() {
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if(!(threadMXBean instanceof com.sun.management.ThreadMXBean))
+                return -1;
+
+            com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean)threadMXBean;
+            if(!sunThreadMXBean.isThreadAllocatedMemorySupported() || !sunThreadMXBean.isThreadAllocatedMemoryEnabled())
+                return -1;
+
+            long sum = 0;
+            for(long allocatedBytes:sunThreadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds()))
+                sum += Math.max(0, allocatedBytes);
+
+            return sum;
+        }
+    }
+}
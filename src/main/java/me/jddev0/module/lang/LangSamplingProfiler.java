@@ -0,0 +1,251 @@
+package me.jddev0.module.lang;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import at.jddev0.lang.DataObject;
+import at.jddev0.lang.LangInterpreter;
+import at.jddev0.lang.LangInterpreter.LangInterpreterInterface;
+
+/**
+ * Lang-Module<br>
+ * Sampling profiler which periodically captures the Lang call stack and the Java stack of the interpreter thread<br>
+ * The samples are estimates: The call stack of the interpreter is not thread-safe and is read by the sampler thread (See
+ * {@link #sampleCallStack(LangInterpreter, Thread)}), samples whose call stack changed while it was read are dropped
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangSamplingProfiler {
+    public static final long DEFAULT_SAMPLE_INTERVAL_NANOS = 1000000L;
+
+    private static final double MIN_PRINTED_PERCENTAGE = .5;
+    private static final int MAX_PRINTED_DEPTH = 32;
+    private static final int MAX_PRINTED_JAVA_METHODS = 10;
+    private static final int MAX_SAMPLE_ATTEMPTS = 3;
+
+    private LangSamplingProfiler() {}
+
+    /**
+     * Executes the call on the current thread while a sampler thread captures the stacks of the current thread
+     */
+    public static Profile profile(LangInterpreterInterface lii, long sampleIntervalNanos, Supplier<DataObject> call) {
+        Thread interpreterThread = Thread.currentThread();
+        LangInterpreter interpreter = lii.getInterpreter();
+        int startCallStackDepth = interpreter.getCallStackElements().size();
+
+        Profile profile = new Profile();
+
+        Thread sampler = new Thread(() -> {
+            while(!Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(sampleIntervalNanos);
+
+                CallStackSample sample = sampleCallStack(interpreter, interpreterThread);
+                if(sample == null) {
+                    profile.droppedSampleCount++;
+
+                    continue;
+                }
+
+                List<LangInterpreter.StackElement> callStack = sample.callStack;
+                StackTraceElement[] javaStack = sample.javaStack;
+
+                List<String> frames = new ArrayList<>();
+                for(int i = Math.min(startCallStackDepth, callStack.size());i < callStack.size();i++) {
+                    LangInterpreter.StackElement element = callStack.get(i);
+                    String functionName = element == null?null:element.getLangFunctionName();
+                    frames.add(functionName == null?"<main>":functionName);
+                }
+
+                profile.addSample(frames, javaStack.length == 0?null:javaStack[0]);
+            }
+        }, "LangShell-Profiler-Sampler");
+        sampler.setDaemon(true);
+        sampler.setPriority(Thread.MAX_PRIORITY);
+
+        long startTime = System.nanoTime();
+        sampler.start();
+        try {
+            profile.returnValue = call.get();
+        }finally {
+            sampler.interrupt();
+            try {
+                sampler.join();
+            }catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            profile.wallTime = System.nanoTime() - startTime;
+        }
+
+        return profile;
+    }
+
+    /**
+     * Captures the Lang call stack and the Java stack of the interpreter thread from another thread<br>
+     * The call stack of the interpreter is not thread-safe: It is copied before and after the Java stack is captured (Which waits until
+     * the interpreter thread reaches a safepoint) and the sample is only used if both copies contain the same stack elements.
+     * Remaining inaccuracy: Calls which start and end between both copies are not detected, and the Java memory model does not guarantee
+     * that the copies contain the latest stack elements
+     *
+     * @return The sample or null if the call stack changed in every attempt
+     */
+    public static CallStackSample sampleCallStack(LangInterpreter interpreter, Thread interpreterThread) {
+        for(int i = 0;i < MAX_SAMPLE_ATTEMPTS;i++) {
+            try {
+                List<LangInterpreter.StackElement> callStackBefore = interpreter.getCallStackElements();
+                StackTraceElement[] javaStack = interpreterThread.getStackTrace();
+                List<LangInterpreter.StackElement> callStackAfter = interpreter.getCallStackElements();
+
+                if(isSameCallStack(callStackBefore, callStackAfter))
+                    return new CallStackSample(new ArrayList<>(callStackAfter), javaStack);
+            }catch(RuntimeException ignore) {
+                //The call stack was modified while it was copied
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isSameCallStack(List<LangInterpreter.StackElement> a, List<LangInterpreter.StackElement> b) {
+        if(a.size() != b.size())
+            return false;
+
+        for(int i = 0;i < a.size();i++)
+            if(a.get(i) != b.get(i))
+                return false;
+
+        return true;
+    }
+
+    public static final class CallStackSample {
+        private final List<LangInterpreter.StackElement> callStack;
+        private final StackTraceElement[] javaStack;
+
+        private CallStackSample(List<LangInterpreter.StackElement> callStack, StackTraceElement[] javaStack) {
+            this.callStack = callStack;
+            this.javaStack = javaStack;
+        }
+
+        public List<LangInterpreter.StackElement> getCallStack() {
+            return callStack;
+        }
+
+        public StackTraceElement[] getJavaStack() {
+            return javaStack;
+        }
+    }
+
+    public static final class Profile {
+        private final Node root = new Node("<root>");
+        private final Map<String, Integer> collapsedStacks = new HashMap<>();
+        private final Map<String, Integer> javaSelfSamples = new HashMap<>();
+        private int sampleCount;
+        private int droppedSampleCount;
+        private long wallTime;
+        private DataObject returnValue;
+
+        private Profile() {}
+
+        private void addSample(List<String> frames, StackTraceElement topJavaFrame) {
+            sampleCount++;
+            root.count++;
+
+            Node node = root;
+            for(String frame:frames) {
+                node = node.children.computeIfAbsent(frame, Node::new);
+                node.count++;
+            }
+
+            String javaMethod = topJavaFrame == null?"<unknown>":topJavaFrame.getClassName() + "." + topJavaFrame.getMethodName();
+            javaSelfSamples.merge(javaMethod, 1, Integer::sum);
+
+            StringBuilder collapsedStack = new StringBuilder("<root>");
+            for(String frame:frames)
+                collapsedStack.append(';').append(frame.replace(';', ':'));
+            collapsedStack.append(";java:").append(javaMethod);
+            collapsedStacks.merge(collapsedStack.toString(), 1, Integer::sum);
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        public DataObject getReturnValue() {
+            return returnValue;
+        }
+
+        /**
+         * Writes the samples in the collapsed stack format ("frame;frame;frame count" per line) used by flame graph tools
+         */
+        public void writeCollapsedStacks(File file) throws IOException {
+            try(BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                for(Map.Entry<String, Integer> collapsedStack:new TreeMap<>(collapsedStacks).entrySet()) {
+                    writer.write(collapsedStack.getKey());
+                    writer.write(' ');
+                    writer.write(Integer.toString(collapsedStack.getValue()));
+                    writer.newLine();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("Samples: ").append(sampleCount);
+            if(droppedSampleCount > 0)
+                builder.append(" (").append(droppedSampleCount).append(" dropped)");
+            builder.append(", Wall time: ").append(LangExecutionStats.formatNanoTime(wallTime));
+
+            if(sampleCount == 0)
+                return builder.toString();
+
+            builder.append("\nHot paths (Lang call stack):");
+            appendNode(builder, root, 0);
+
+            builder.append("\nHot Java methods (self):");
+            javaSelfSamples.entrySet().stream().
+                    sorted(Map.Entry.<String, Integer>comparingByValue().reversed()).
+                    limit(MAX_PRINTED_JAVA_METHODS).
+                    forEach(entry -> builder.append(String.format("\n    %5.1f%% %6d  %s", entry.getValue() * 100. / sampleCount,
+                            entry.getValue(), entry.getKey())));
+
+            return builder.toString();
+        }
+
+        private void appendNode(StringBuilder builder, Node node, int depth) {
+            builder.append(String.format("\n    %5.1f%% %6d  ", node.count * 100. / sampleCount, node.count));
+            for(int i = 0;i < depth;i++)
+                builder.append("  ");
+            builder.append(node.name);
+
+            if(depth == MAX_PRINTED_DEPTH)
+                return;
+
+            node.children.values().stream().
+                    filter(child -> child.count * 100. / sampleCount >= MIN_PRINTED_PERCENTAGE).
+                    sorted(Comparator.comparingInt((Node child) -> child.count).reversed()).
+                    forEachOrdered(child -> appendNode(builder, child, depth + 1));
+        }
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Map<String, Node> children = new HashMap<>();
+        private int count;
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package me.jddev0.module.lang;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import at.jddev0.io.TerminalIO;
+
+/**
+ * Lang-Module<br>
+ * Append-only journal of all code executed in a LangShell session<br>
+ * <br>
+ * Chunks are written on a background thread and flushed once per batch of queued chunks.
+ * The journal file is locked while the session is running and deleted if the session is closed normally,
+ * every journal which is not locked by a running session is therefore left over from a crashed session.<br>
+ * Journals of this JVM are never opened a second time: Closing another channel of the file would release the lock of the session (POSIX).
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangSessionJournal implements Closeable {
+    private static final String JOURNAL_FILE_PREFIX = "session-";
+    private static final String JOURNAL_FILE_SUFFIX = ".lang";
+
+    //The journals which are open in this JVM, modified and checked while holding the lock of this set
+    private static final Set<File> OPEN_JOURNALS = ConcurrentHashMap.newKeySet();
+
+    private final File file;
+    private final TerminalIO term;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final Writer writer;
+
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    private LangSessionJournal(File file, TerminalIO term) throws IOException {
+        this.file = file;
+        this.term = term;
+
+        synchronized(OPEN_JOURNALS) {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.READ);
+            try {
+                lock = channel.tryLock();
+            }catch(IOException|RuntimeException e) {
+                channel.close();
+
+                throw e;
+            }
+            if(lock == null) {
+                channel.close();
+
+                throw new IOException("The journal file \"" + file + "\" is locked by another process");
+            }
+
+            OPEN_JOURNALS.add(file);
+        }
+
+        writer = new BufferedWriter(new OutputStreamWriter(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte)b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                ByteBuffer buf = ByteBuffer.wrap(b, off, len);
+                while(buf.hasRemaining())
+                    channel.write(buf);
+            }
+        }, StandardCharsets.UTF_8));
+
+        writerThread = new Thread(this::writeEntries, "LangShell-Journal-Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Creates a new journal in the provided directory (The directory will be created if it does not exist)
+     *
+     * @param term Errors of the journal writer thread are logged to term
+     */
+    public static LangSessionJournal create(File journalDirectory, TerminalIO term) throws IOException {
+        if(!journalDirectory.isDirectory() && !journalDirectory.mkdirs())
+            throw new IOException("The journal directory \"" + journalDirectory + "\" could not be created");
+
+        //The new file must not be probed by findOrphanedJournals() before it is locked
+        synchronized(OPEN_JOURNALS) {
+            return new LangSessionJournal(File.createTempFile(JOURNAL_FILE_PREFIX, JOURNAL_FILE_SUFFIX, journalDirectory).getAbsoluteFile(), term);
+        }
+    }
+
+    /**
+     * @return All journals in the provided directory which are not used by a running session
+     */
+    public static List<File> findOrphanedJournals(File journalDirectory) {
+        List<File> orphanedJournals = new ArrayList<>();
+
+        File[] files = journalDirectory.listFiles((dir, name) -> name.startsWith(JOURNAL_FILE_PREFIX) && name.endsWith(JOURNAL_FILE_SUFFIX));
+        if(files == null)
+            return orphanedJournals;
+
+        synchronized(OPEN_JOURNALS) {
+            for(File journalFile:files) {
+                //Journals of this JVM must not be opened: Closing the probe channel would release their locks
+                if(OPEN_JOURNALS.contains(journalFile.getAbsoluteFile()))
+                    continue;
+
+                try(FileChannel journalChannel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+                    FileLock journalLock = journalChannel.tryLock();
+                    if(journalLock == null)
+                        continue;
+
+                    journalLock.release();
+
+                    orphanedJournals.add(journalFile);
+                }catch(OverlappingFileLockException|IOException ignore) {
+                    //Not accessible
+                }
+            }
+        }
+
+        return orphanedJournals;
+    }
+
+    /**
+     * @return The content of an orphaned journal
+     */
+    public static String readJournal(File journalFile) throws IOException {
+        return new String(Files.readAllBytes(journalFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Queues a chunk of executed code, the chunk will be written in the background
+     */
+    public void append(String code) {
+        if(closed)
+            return;
+
+        queue.add(new JournalEntry(code, null, null));
+    }
+
+    /**
+     * Copies the journal to the target file after all previously appended chunks were written
+     *
+     * @param callback Will be called on the journal writer thread with null if the copy succeeded or the occurred exception
+     */
+    public void copyTo(File target, Consumer<IOException> callback) {
+        if(closed) {
+            callback.accept(new IOException("The journal is already closed"));
+
+            return;
+        }
+
+        queue.add(new JournalEntry(null, target, callback));
+    }
+
+    /**
+     * Writes all pending chunks and deletes the journal file
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed)
+            return;
+
+        closed = true;
+        queue.add(JournalEntry.CLOSE);
+
+        try {
+            writerThread.join();
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized(OPEN_JOURNALS) {
+            try {
+                try {
+                    lock.release();
+                }finally {
+                    channel.close();
+                }
+
+                Files.deleteIfExists(file.toPath());
+            }finally {
+                OPEN_JOURNALS.remove(file);
+            }
+        }
+    }
+
+    private void writeEntries() {
+        List<JournalEntry> batch = new ArrayList<>();
+        while(true) {
+            try {
+                batch.add(queue.take());
+            }catch(InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            try {
+                for(JournalEntry entry:batch) {
+                    if(entry == JournalEntry.CLOSE) {
+                        writer.flush();
+
+                        return;
+                    }
+
+                    if(entry.code != null) {
+                        writer.write(entry.code);
+                    }else {
+                        writer.flush();
+
+                        IOException exception = null;
+                        try(FileChannel targetChannel = FileChannel.open(entry.copyTarget.toPath(), StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                            long size = channel.size();
+                            long position = 0;
+                            while(position < size)
+                                position += channel.transferTo(position, size - position, targetChannel);
+                        }catch(IOException e) {
+                            exception = e;
+                        }
+
+                        entry.callback.accept(exception);
+                    }
+                }
+
+                //Flush once per batch: Data is handed to the OS and therefore not lost if the JVM crashes
+                writer.flush();
+            }catch(IOException e) {
+                if(term != null)
+                    term.logStackTrace(e, LangSessionJournal.class);
+            }
+
+            batch.clear();
+        }
+    }
+
+    private static final class JournalEntry {
+        private static final JournalEntry CLOSE = new JournalEntry(null, null, null);
+
+        private final String code;
+        private final File copyTarget;
+        private final Consumer<IOException> callback;
+
+        private JournalEntry(String code, File copyTarget, Consumer<IOException> callback) {
+            this.code = code;
+            this.copyTarget = copyTarget;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package me.jddev0.module.lang;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import at.jddev0.lang.DataObject;
+import at.jddev0.lang.LangInterpreter;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.LangInterpreter.LangInterpreterInterface;
+import at.jddev0.lang.LangModule;
+import at.jddev0.lang.LangUtils;
+
+/**
+ * Lang-Module<br>
+ * Binary snapshots of the variables and loaded modules of a Lang interpreter
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangSessionSnapshot {
+    private static final int MAGIC = 0x4C535331; //"LSS1"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte TAG_REF = 0;
+    private static final byte TAG_NEW = 1;
+
+    private LangSessionSnapshot() {}
+
+    /**
+     * Writes all serializable variables of the current scope and the paths of all loaded modules to a file
+     *
+     * @return A report containing the names of all saved variables and the reasons for all skipped variables
+     */
+    public static Report save(LangInterpreterInterface lii, File file) throws IOException {
+        try(OutputStream out = new FileOutputStream(file)) {
+            return save(lii, out);
+        }
+    }
+
+    /**
+     * Writes all serializable variables of the current scope and the paths of all loaded modules to a stream, the stream will be closed
+     *
+     * @return A report containing the names of all saved variables and the reasons for all skipped variables
+     */
+    public static Report save(LangInterpreterInterface lii, OutputStream outputStream) throws IOException {
+        Report report = new Report();
+
+        Map<String, DataObject> varsToSave = new LinkedHashMap<>();
+        for(Map.Entry<String, DataObject> var:new TreeMap<>(lii.getVarMap()).entrySet()) {
+            DataObject value = var.getValue();
+            if(value == null || value.isLangVar())
+                continue;
+
+            String reason = getUnserializableReason(value, var.getKey(), Collections.newSetFromMap(new IdentityHashMap<>()),
+                    Collections.newSetFromMap(new IdentityHashMap<>()));
+            if(reason == null) {
+                varsToSave.put(var.getKey(), value);
+                report.processedVariables.add(var.getKey());
+            }else {
+                report.skippedVariables.put(var.getKey(), reason);
+            }
+        }
+
+        List<String> modulePaths = new ArrayList<>();
+        for(Map.Entry<String, LangModule> module:lii.getModules().entrySet()) {
+            String modulePath = module.getValue().getFile();
+            if(modulePath == null) {
+                report.skippedModules.put(module.getKey(), "The module was not loaded from a file");
+
+                continue;
+            }
+
+            modulePaths.add(modulePath);
+            report.processedModules.add(module.getKey());
+        }
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(outputStream)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            out.writeInt(modulePaths.size());
+            for(String modulePath:modulePaths)
+                writeString(out, modulePath);
+
+            SnapshotWriter writer = new SnapshotWriter(out);
+            out.writeInt(varsToSave.size());
+            for(Map.Entry<String, DataObject> var:varsToSave.entrySet()) {
+                writeString(out, var.getKey());
+                writer.writeDataObject(var.getValue());
+            }
+        }
+
+        return report;
+    }
+
+    /**
+     * Loads not yet loaded modules and restores all variables of a snapshot into the current scope
+     *
+     * @return A report containing the names of all restored variables and modules and the reasons for all skipped entries
+     */
+    public static Report load(LangInterpreterInterface lii, File file) throws IOException {
+        try(InputStream in = new FileInputStream(file)) {
+            return load(lii, in);
+        }
+    }
+
+    /**
+     * Loads not yet loaded modules and restores all variables of a snapshot stream into the current scope, the stream will be closed
+     *
+     * @return A report containing the names of all restored variables and modules and the reasons for all skipped entries
+     */
+    public static Report load(LangInterpreterInterface lii, InputStream inputStream) throws IOException {
+        Report report = new Report();
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(inputStream)))) {
+            if(in.readInt() != MAGIC)
+                throw new IOException("The data is not a LangShell session snapshot");
+
+            int formatVersion = in.readInt();
+            if(formatVersion != FORMAT_VERSION)
+                throw new IOException("Unsupported session snapshot version: " + formatVersion);
+
+            int moduleCount = in.readInt();
+            List<String> modulePaths = new ArrayList<>(moduleCount);
+            for(int i = 0;i < moduleCount;i++)
+                modulePaths.add(readString(in));
+
+            //Modules must be loaded before the variables are restored, because the variables might override exported values
+            Set<String> loadedModulePaths = new HashSet<>();
+            for(LangModule module:lii.getModules().values())
+                if(module.getFile() != null)
+                    loadedModulePaths.add(new File(module.getFile()).getAbsolutePath());
+
+            DataObject.FunctionPointerObject loadModuleFunction = lii.getPredefinedFunctions().get("loadModule");
+            for(String modulePath:modulePaths) {
+                if(loadedModulePaths.contains(new File(modulePath).getAbsolutePath())) {
+                    report.skippedModules.put(modulePath, "The module is already loaded");
+
+                    continue;
+                }
+
+                if(!new File(modulePath).exists()) {
+                    report.skippedModules.put(modulePath, "The module file does not exist anymore");
+
+                    continue;
+                }
+
+                LangFlightRecorder.ModuleLinkEvent event = new LangFlightRecorder.ModuleLinkEvent();
+                event.begin();
+                try {
+                    DataObject ret = lii.callFunctionPointer(loadModuleFunction, "loadModule", LangUtils.
+                            separateArgumentsWithArgumentSeparators(Arrays.asList(new DataObject().setText(modulePath))));
+                    if(ret != null && ret.getType() == DataObject.DataType.ERROR)
+                        report.skippedModules.put(modulePath, ret.getError().getErrtxt() + ": " + ret.getError().getMessage());
+                    else
+                        report.processedModules.add(modulePath);
+                }catch(LangInterpreter.StoppedException e) {
+                    throw e;
+                }catch(RuntimeException e) {
+                    report.skippedModules.put(modulePath, e.toString());
+                }finally {
+                    if(event.shouldCommit()) {
+                        event.moduleFile = modulePath;
+                        event.moduleFileSize = new File(modulePath).length();
+                        event.success = report.processedModules.contains(modulePath);
+                        event.commit();
+                    }
+                }
+            }
+
+            SnapshotReader reader = new SnapshotReader(in);
+            int varCount = in.readInt();
+            for(int i = 0;i < varCount;i++) {
+                String varName = readString(in);
+                DataObject value = reader.readDataObject();
+
+                DataObject oldValue = lii.getVar(varName);
+                if(oldValue != null && oldValue.isLangVar()) {
+                    report.skippedVariables.put(varName, "Lang vars can not be overridden");
+
+                    continue;
+                }
+
+                boolean finalData = value.isFinalData();
+                value.setFinalData(false);
+                lii.setVar(varName, value, true);
+                if(finalData)
+                    lii.getVar(varName).setFinalData(true);
+
+                report.processedVariables.add(varName);
+            }
+        }
+
+        return report;
+    }
+
+    private static String getUnserializableReason(DataObject dataObject, String path, Set<Object> visited, Set<Object> structsInProgress) {
+        if(dataObject == null)
+            return null;
+
+        if(!visited.add(dataObject))
+            return null;
+
+        switch(dataObject.getType()) {
+            case TEXT:
+            case CHAR:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case BYTE_BUFFER:
+            case NULL:
+            case VOID:
+            case TYPE:
+            case ERROR:
+                return null;
+
+            case VAR_POINTER:
+                return getUnserializableReason(dataObject.getVarPointer().getVar(), "$[" + path + "]", visited, structsInProgress);
+
+            case ARRAY:
+                if(!visited.add(dataObject.getArray()))
+                    return null;
+
+                DataObject[] arr = dataObject.getArray();
+                for(int i = 0;i < arr.length;i++) {
+                    String reason = getUnserializableReason(arr[i], path + "[" + i + "]", visited, structsInProgress);
+                    if(reason != null)
+                        return reason;
+                }
+
+                return null;
+
+            case LIST:
+                if(!visited.add(dataObject.getList()))
+                    return null;
+
+                int i = 0;
+                for(DataObject ele:dataObject.getList()) {
+                    String reason = getUnserializableReason(ele, path + "[" + i++ + "]", visited, structsInProgress);
+                    if(reason != null)
+                        return reason;
+                }
+
+                return null;
+
+            case STRUCT:
+                DataObject.StructObject struct = dataObject.getStruct();
+                if(visited.contains(struct))
+                    return null;
+
+                //Structs are immutable and must be created after all of their members: Cycles can therefore not be restored
+                if(!structsInProgress.add(struct))
+                    return path + ": Structs with cyclic references can not be saved";
+
+                DataObject.StructObject structDefinition = struct.isDefinition()?struct:struct.getStructBaseDefinition();
+                for(String memberName:structDefinition.getMemberNames())
+                    if(structDefinition.getTypeConstraint(memberName) != null)
+                        return path + ": Structs with member type constraints can not be saved";
+
+                if(!struct.isDefinition()) {
+                    for(String memberName:struct.getMemberNames()) {
+                        String reason = getUnserializableReason(struct.getMember(memberName), path + "." + memberName, visited, structsInProgress);
+                        if(reason != null)
+                            return reason;
+                    }
+                }
+
+                structsInProgress.remove(struct);
+                visited.add(struct);
+
+                return null;
+
+            case FUNCTION_POINTER:
+                return path + ": Function pointers (" + dataObject.getFunctionPointer() + ") can not be saved";
+
+            case OBJECT:
+                return path + ": Objects and classes can not be saved";
+        }
+
+        return path + ": The data type " + dataObject.getType() + " can not be saved";
+    }
+
+    private static void writeString(DataOutput out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Shared values (Same DataObject, array, list, or struct) are written once and referenced by id afterward
+     */
+    private static final class SnapshotWriter {
+        private final DataOutputStream out;
+        private final Map<Object, Integer> ids = new IdentityHashMap<>();
+
+        private SnapshotWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private boolean writeReferenceOrRegister(Object value) throws IOException {
+            Integer id = ids.get(value);
+            if(id != null) {
+                out.writeByte(TAG_REF);
+                out.writeInt(id);
+
+                return true;
+            }
+
+            ids.put(value, ids.size());
+            out.writeByte(TAG_NEW);
+
+            return false;
+        }
+
+        private void writeDataObject(DataObject dataObject) throws IOException {
+            if(dataObject == null)
+                dataObject = new DataObject().setNull();
+
+            if(writeReferenceOrRegister(dataObject))
+                return;
+
+            out.writeByte(dataObject.getType().ordinal());
+            out.writeBoolean(dataObject.isFinalData());
+
+            switch(dataObject.getType()) {
+                case TEXT:
+                    writeString(out, dataObject.getText().toString());
+                    break;
+
+                case CHAR:
+                    out.writeInt(dataObject.getChar());
+                    break;
+
+                case INT:
+                    out.writeInt(dataObject.getInt());
+                    break;
+
+                case LONG:
+                    out.writeLong(dataObject.getLong());
+                    break;
+
+                case FLOAT:
+                    out.writeFloat(dataObject.getFloat());
+                    break;
+
+                case DOUBLE:
+                    out.writeDouble(dataObject.getDouble());
+                    break;
+
+                case BYTE_BUFFER:
+                    out.writeInt(dataObject.getByteBuffer().length);
+                    out.write(dataObject.getByteBuffer());
+                    break;
+
+                case TYPE:
+                    out.writeByte(dataObject.getTypeValue().ordinal());
+                    break;
+
+                case ERROR:
+                    out.writeInt(dataObject.getError().getErrno());
+                    writeString(out, dataObject.getError().getMessage() == null?"":dataObject.getError().getMessage());
+                    break;
+
+                case VAR_POINTER:
+                    writeDataObject(dataObject.getVarPointer().getVar());
+                    break;
+
+                case ARRAY:
+                    DataObject[] arr = dataObject.getArray();
+                    if(writeReferenceOrRegister(arr))
+                        break;
+
+                    out.writeInt(arr.length);
+                    for(DataObject ele:arr)
+                        writeDataObject(ele);
+                    break;
+
+                case LIST:
+                    List<DataObject> list = dataObject.getList();
+                    if(writeReferenceOrRegister(list))
+                        break;
+
+                    out.writeInt(list.size());
+                    for(DataObject ele:list)
+                        writeDataObject(ele);
+                    break;
+
+                case STRUCT:
+                    writeStruct(dataObject.getStruct());
+                    break;
+
+                default:
+                    //NULL and VOID have no value
+                    break;
+            }
+        }
+
+        private void writeStruct(DataObject.StructObject struct) throws IOException {
+            if(writeReferenceOrRegister(struct))
+                return;
+
+            out.writeBoolean(struct.isDefinition());
+            if(struct.isDefinition()) {
+                String[] memberNames = struct.getMemberNames();
+                out.writeInt(memberNames.length);
+                for(String memberName:memberNames)
+                    writeString(out, memberName);
+
+                return;
+            }
+
+            writeStruct(struct.getStructBaseDefinition());
+            for(String memberName:struct.getMemberNames())
+                writeDataObject(struct.getMember(memberName));
+        }
+    }
+
+    private static final class SnapshotReader {
+        private final DataInputStream in;
+        private final List<Object> values = new ArrayList<>();
+
+        private SnapshotReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T readReference(Class<T> type) throws IOException {
+            byte tag = in.readByte();
+            if(tag == TAG_NEW)
+                return null;
+
+            if(tag != TAG_REF)
+                throw new IOException("Invalid session snapshot: Unknown tag " + tag);
+
+            int id = in.readInt();
+            if(id < 0 || id >= values.size() || values.get(id) == null || !type.isInstance(values.get(id)))
+                throw new IOException("Invalid session snapshot: Invalid reference " + id);
+
+            return (T)values.get(id);
+        }
+
+        private DataObject readDataObject() throws IOException {
+            DataObject dataObject = readReference(DataObject.class);
+            if(dataObject != null)
+                return dataObject;
+
+            dataObject = new DataObject();
+            values.add(dataObject);
+
+            DataObject.DataType[] dataTypes = DataObject.DataType.values();
+            int typeOrdinal = in.readUnsignedByte();
+            if(typeOrdinal >= dataTypes.length)
+                throw new IOException("Invalid session snapshot: Unknown data type " + typeOrdinal);
+
+            DataObject.DataType type = dataTypes[typeOrdinal];
+            boolean finalData = in.readBoolean();
+
+            switch(type) {
+                case TEXT:
+                    dataObject.setText(readString(in));
+                    break;
+
+                case CHAR:
+                    dataObject.setChar(in.readInt());
+                    break;
+
+                case INT:
+                    dataObject.setInt(in.readInt());
+                    break;
+
+                case LONG:
+                    dataObject.setLong(in.readLong());
+                    break;
+
+                case FLOAT:
+                    dataObject.setFloat(in.readFloat());
+                    break;
+
+                case DOUBLE:
+                    dataObject.setDouble(in.readDouble());
+                    break;
+
+                case BYTE_BUFFER:
+                    byte[] byteBuf = new byte[in.readInt()];
+                    in.readFully(byteBuf);
+                    dataObject.setByteBuffer(byteBuf);
+                    break;
+
+                case TYPE:
+                    int typeValueOrdinal = in.readUnsignedByte();
+                    if(typeValueOrdinal >= dataTypes.length)
+                        throw new IOException("Invalid session snapshot: Unknown data type " + typeValueOrdinal);
+
+                    dataObject.setTypeValue(dataTypes[typeValueOrdinal]);
+                    break;
+
+                case ERROR:
+                    InterpretingError error = InterpretingError.getErrorFromErrorCode(in.readInt());
+                    String message = readString(in);
+                    dataObject.setError(new DataObject.ErrorObject(error, message.isEmpty()?null:message));
+                    break;
+
+                case VAR_POINTER:
+                    dataObject.setVarPointer(new DataObject.VarPointerObject(readDataObject()));
+                    break;
+
+                case ARRAY:
+                    DataObject[] arr = readReference(DataObject[].class);
+                    if(arr == null) {
+                        arr = new DataObject[in.readInt()];
+                        values.add(arr);
+
+                        for(int i = 0;i < arr.length;i++)
+                            arr[i] = readDataObject();
+                    }
+
+                    dataObject.setArray(arr);
+                    break;
+
+                case LIST:
+                    LinkedList<DataObject> list = readReference(LinkedList.class);
+                    if(list == null) {
+                        list = new LinkedList<>();
+                        values.add(list);
+
+                        int size = in.readInt();
+                        for(int i = 0;i < size;i++)
+                            list.add(readDataObject());
+                    }
+
+                    dataObject.setList(list);
+                    break;
+
+                case STRUCT:
+                    dataObject.setStruct(readStruct());
+                    break;
+
+                case NULL:
+                    dataObject.setNull();
+                    break;
+
+                case VOID:
+                    dataObject.setVoid();
+                    break;
+
+                default:
+                    throw new IOException("Invalid session snapshot: The data type " + type + " is not supported");
+            }
+
+            dataObject.setFinalData(finalData);
+
+            return dataObject;
+        }
+
+        private DataObject.StructObject readStruct() throws IOException {
+            DataObject.StructObject struct = readReference(DataObject.StructObject.class);
+            if(struct != null)
+                return struct;
+
+            //Reserve id: Structs are immutable after creation and are registered after all members were read
+            int id = values.size();
+            values.add(null);
+
+            if(in.readBoolean()) {
+                String[] memberNames = new String[in.readInt()];
+                for(int i = 0;i < memberNames.length;i++)
+                    memberNames[i] = readString(in);
+
+                struct = new DataObject.StructObject(memberNames);
+            }else {
+                DataObject.StructObject structDefinition = readStruct();
+                if(!structDefinition.isDefinition())
+                    throw new IOException("Invalid session snapshot: Struct instance base is not a struct definition");
+
+                DataObject[] memberValues = new DataObject[structDefinition.getMemberNames().length];
+                for(int i = 0;i < memberValues.length;i++)
+                    memberValues[i] = readDataObject();
+
+                struct = new DataObject.StructObject(structDefinition, memberValues);
+            }
+
+            values.set(id, struct);
+
+            return struct;
+        }
+    }
+
+    public static final class Report {
+        private final List<String> processedVariables = new ArrayList<>();
+        private final Map<String, String> skippedVariables = new LinkedHashMap<>();
+        private final List<String> processedModules = new ArrayList<>();
+        private final Map<String, String> skippedModules = new LinkedHashMap<>();
+
+        private Report() {}
+
+        public List<String> getProcessedVariables() {
+            return Collections.unmodifiableList(processedVariables);
+        }
+
+        public Map<String, String> getSkippedVariables() {
+            return Collections.unmodifiableMap(skippedVariables);
+        }
+
+        public List<String> getProcessedModules() {
+            return Collections.unmodifiableList(processedModules);
+        }
+
+        public Map<String, String> getSkippedModules() {
+            return Collections.unmodifiableMap(skippedModules);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("Variables: ").append(processedVariables.size());
+            builder.append("\nModules: ").append(processedModules.size());
+
+            if(!skippedVariables.isEmpty()) {
+                builder.append("\nSkipped variables:");
+                skippedVariables.forEach((varName, reason) -> builder.append("\n    ").append(varName).append(": ").append(reason));
+            }
+
+            if(!skippedModules.isEmpty()) {
+                builder.append("\nSkipped modules:");
+                skippedModules.forEach((moduleName, reason) -> builder.append("\n    ").append(moduleName).append(": ").append(reason));
+            }
+
+            return builder.toString();
+        }
+    }
+}
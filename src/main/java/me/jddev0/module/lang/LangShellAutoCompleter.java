@@ -0,0 +1,219 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import at.jddev0.lang.DataObject;
+import at.jddev0.lang.LangInterpreter.LangInterpreterInterface;
+
+/**
+ * Lang-Module<br>
+ * Auto complete texts for the LangShell input line
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangShellAutoCompleter {
+    //Lists for auto complete
+    private static final List<String> LANG_DATA_AND_EXECUTION_FLAGS = Arrays.asList("allowTermRedirect = ", "errorOutput = ", "name = ", "nativeStackTraces = ", "test = ",
+            "rawVariableNames = ", "version = ");
+    private static final List<String> CONTROL_FLOW_STATEMENTS = Arrays.asList("break", "catch", "continue", "elif(", "else", "endif", "endloop", "endtry", "finally", "foreach(", "if(",
+            "loop", "nontry", "repeat(", "softtry", "try", "until(", "while(");
+    private static final List<String> PARSER_FUNCTIONS = Arrays.asList("con(", "math(", "norm(", "op(");
+
+    private final LangInterpreterInterface lii;
+
+    public LangShellAutoCompleter(LangInterpreterInterface lii) {
+        this.lii = lii;
+    }
+
+    /**
+     * @return All auto complete texts (The text which must be appended to the line) in the order in which they should be cycled through
+     */
+    public List<AutoComplete> getAutoCompletes(String line) {
+        LangFlightRecorder.AutoCompleteEvent event = new LangFlightRecorder.AutoCompleteEvent();
+        event.begin();
+
+        List<AutoComplete> autoCompletes = findAutoCompletes(line);
+
+        if(event.shouldCommit()) {
+            event.lineLength = line.length();
+            event.resultCount = autoCompletes.size();
+            event.commit();
+        }
+
+        return autoCompletes;
+    }
+    private List<AutoComplete> findAutoCompletes(String line) {
+        if(line.startsWith("lang.") && !line.contains(" ")) {
+            int indexConNameStart = line.indexOf('.') + 1;
+            String conNameStart = indexConNameStart == line.length()?"":line.substring(indexConNameStart);
+            return LANG_DATA_AND_EXECUTION_FLAGS.stream().
+                    filter(conName -> conName.startsWith(conNameStart) && !conName.equals(conNameStart)).
+                    map(conName -> new AutoComplete(conName.substring(conNameStart.length()), false)).
+                    collect(Collectors.toList());
+        }
+
+        String[] tokens = line.split(".(?=\\[\\[|(\\[\\[\\w+\\]\\]::)(\\$|&|fp\\.)|(?<!\\w]]::)(\\$|&|fp\\.)|func\\.|fn\\.|linker\\.|ln\\.|con\\.|parser\\.)");
+        if(tokens.length == 0)
+            return new ArrayList<>();
+
+        String lastToken = tokens[tokens.length - 1];
+        if(lastToken.matches("(\\[\\[\\w+\\]\\]::)?(\\$|&|fp\\.).*")) {
+            Map<String, DataObject> moduleVariables = null;
+            if(lastToken.matches("(\\[\\[\\w+\\]\\]::).*")) {
+                int moduleIdentifierEndIndex = lastToken.indexOf(']');
+                String moduleName = lastToken.substring(2, moduleIdentifierEndIndex);
+                lastToken = lastToken.substring(moduleIdentifierEndIndex + 4);
+
+                moduleVariables = lii.getModuleExportedVariables(moduleName);
+            }
+
+            final int appendClosingBracketCount;
+            if(lastToken.matches("\\$\\**\\[*\\w*")) {
+                //Handle var pointer referencing and dereferencing "$*" and "$["
+
+                lastToken = lastToken.replace("*", ""); //Ignore "*"
+
+                int oldLen = lastToken.length();
+                lastToken = lastToken.replace("[", ""); //Ignore "["
+                int diff = oldLen - lastToken.length();
+                if(diff == 0 && !lastToken.isEmpty())
+                    appendClosingBracketCount = -1;
+                else
+                    appendClosingBracketCount = diff;
+            }else {
+                appendClosingBracketCount = -1;
+            }
+
+            final String lastTokenCopy = lastToken;
+            return (moduleVariables == null?lii.getVarMap():moduleVariables).keySet().stream().filter(varName -> {
+                int oldLen = varName.length();
+                varName = varName.replace("[", "");
+
+                return (oldLen == varName.length() || appendClosingBracketCount > -1) && varName.startsWith(lastTokenCopy) && !varName.equals(lastTokenCopy);
+            }).sorted().map(varName -> {
+                String autoCompleteText = varName.replace("]", "");
+
+                int openingBracketCountVarName = (int)autoCompleteText.chars().filter(c -> c == '[').count();
+                int diff = Math.max(0, openingBracketCountVarName - Math.max(0, appendClosingBracketCount));
+                for(int i = 0;i < diff;i++)
+                    autoCompleteText = "$[" + autoCompleteText.substring(1);
+
+                autoCompleteText = autoCompleteText.substring(openingBracketCountVarName - diff + lastTokenCopy.length()) + (lastTokenCopy.startsWith("fp.")?"(":"");
+
+                StringBuilder builder = new StringBuilder(autoCompleteText);
+                for(int i = 0;i < Math.max(appendClosingBracketCount, openingBracketCountVarName);i++)
+                    builder.append(']');
+
+                return new AutoComplete(builder.toString(), false);
+            }).collect(Collectors.toList());
+        }else if(lastToken.matches("\\[\\[.*")) {
+            final String lastTokenCopy = lastToken.substring(2); //Remove "[["
+
+            return lii.getModules().keySet().stream().filter(moduleName -> {
+                return moduleName.startsWith(lastTokenCopy);
+            }).sorted().map(moduleName -> new AutoComplete(moduleName.substring(lastTokenCopy.length()) + "]]::", false)).
+                    collect(Collectors.toList());
+        }else if(lastToken.matches("(linker|ln)\\.unloadModule.*")) {
+            int indexArgumentNameStart = lastToken.indexOf('.') + 13;
+            String argumentStart = indexArgumentNameStart == lastToken.length()?"":lastToken.substring(indexArgumentNameStart);
+            boolean hasParentheses = argumentStart.startsWith("(");
+            if(hasParentheses)
+                argumentStart = argumentStart.substring(1);
+
+            final String argumentStartCopy = argumentStart;
+            return lii.getModules().keySet().stream().filter(moduleName -> {
+                return moduleName.startsWith(argumentStartCopy);
+            }).sorted().map(moduleName -> new AutoComplete((hasParentheses?"":"(") + moduleName.substring(argumentStartCopy.length()) + ")", false)).
+                    collect(Collectors.toList());
+        }else if(lastToken.matches("(func|fn|linker|ln)\\..*")) {
+            boolean isLinkerFunction = lastToken.startsWith("linker.") || lastToken.startsWith("ln.");
+            int indexFunctionNameStart = lastToken.indexOf('.') + 1;
+            String functionNameStart = indexFunctionNameStart == lastToken.length()?"":lastToken.substring(indexFunctionNameStart);
+            List<String> autoCompletes = lii.getPredefinedFunctions().entrySet().stream().filter(entry -> {
+                        return entry.getValue().isLinkerFunction() == isLinkerFunction;
+                    }).map(Entry::getKey).filter(functionName ->
+                            functionName.startsWith(functionNameStart) && !functionName.equals(functionNameStart)).
+                    sorted().collect(Collectors.toList());
+
+            if(autoCompletes.contains("setAutoPrintMode")) {
+                autoCompletes = new LinkedList<>(autoCompletes);
+
+                int index = autoCompletes.indexOf("setAutoPrintMode");
+
+                //Replace original
+                autoCompletes.set(index, "setAutoPrintMode(NONE)");
+
+                //Add other modes
+                autoCompletes.add(index + 1, "setAutoPrintMode(AUTO)");
+                autoCompletes.add(index + 2, "setAutoPrintMode(DEBUG)");
+            }
+
+            if(autoCompletes.contains("setTimingMode")) {
+                autoCompletes = new LinkedList<>(autoCompletes);
+
+                int index = autoCompletes.indexOf("setTimingMode");
+
+                //Replace original
+                autoCompletes.set(index, "setTimingMode(NONE)");
+
+                //Add other modes
+                autoCompletes.add(index + 1, "setTimingMode(RECORD)");
+                autoCompletes.add(index + 2, "setTimingMode(PRINT)");
+            }
+
+            return autoCompletes.stream().map(autoComplete -> {
+                String autoCompleteText = autoComplete.substring(functionNameStart.length());
+                if(autoComplete.startsWith("setAutoPrintMode") || autoComplete.startsWith("setTimingMode"))
+                    return new AutoComplete(autoCompleteText, false);
+
+                //Mark deprecated function
+                boolean deprecated = lii.getPredefinedFunctions().get(autoComplete).isDeprecated();
+
+                return new AutoComplete(autoCompleteText + "(", deprecated);
+            }).collect(Collectors.toList());
+        }else if(lastToken.matches("con\\..*")) {
+            int indexConNameStart = lastToken.indexOf('.') + 1;
+            String conNameStart = indexConNameStart == lastToken.length()?"":lastToken.substring(indexConNameStart);
+            return CONTROL_FLOW_STATEMENTS.stream().
+                    filter(conName -> conName.startsWith(conNameStart) && !conName.equals(conNameStart)).
+                    map(conName -> new AutoComplete(conName.substring(conNameStart.length()), false)).
+                    collect(Collectors.toList());
+        }else if(lastToken.matches("parser\\..*")) {
+            int indexConNameStart = lastToken.indexOf('.') + 1;
+            String functionNameStart = indexConNameStart == lastToken.length()?"":lastToken.substring(indexConNameStart);
+            return PARSER_FUNCTIONS.stream().
+                    filter(functionName -> functionName.startsWith(functionNameStart) && !functionName.equals(functionNameStart)).
+                    map(functionName -> new AutoComplete(functionName.substring(functionNameStart.length()), false)).
+                    collect(Collectors.toList());
+        }
+
+        return new ArrayList<>();
+    }
+
+    public static final class AutoComplete {
+        private final String text;
+        private final boolean deprecated;
+
+        private AutoComplete(String text, boolean deprecated) {
+            this.text = text;
+            this.deprecated = deprecated;
+        }
+
+        /**
+         * @return The text which must be appended to the input line
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return true if the auto completed function is deprecated
+         */
+        public boolean isDeprecated() {
+            return deprecated;
+        }
+    }
+}
@@ -0,0 +1,937 @@
+package me.jddev0.module.lang;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import at.jddev0.io.TerminalIO;
+import at.jddev0.io.TerminalIO.Level;
+import at.jddev0.lang.*;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.LangFunction.AllowedTypes;
+import at.jddev0.lang.LangFunction.LangParameter;
+import at.jddev0.lang.LangFunction.LangParameter.CallByPointer;
+import at.jddev0.lang.LangFunction.LangParameter.NumberValue;
+import at.jddev0.lang.LangFunction.LangParameter.VarArgs;
+
+/**
+ * Lang-Module<br>
+ * Debug functions, auto print output, and execution stats of the LangShell which are shared by all LangShell front ends
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangShellFunctions {
+    private static final int MAX_SEARCH_HELP_RESULTS = 25;
+    private static final int EXEC_STATS_HISTORY_SIZE = 100;
+    private static final int HEAP_REPORT_SIZE = 20;
+
+    private final LangInterpreter.LangInterpreterInterface lii;
+    private final TerminalIO term;
+    private final String shellSpecificHelpText;
+
+    private AutoPrintMode autoPrintMode = AutoPrintMode.AUTO;
+    private TimingMode timingMode = TimingMode.NONE;
+    private final Deque<LangExecutionStats> execStatsHistory = new ArrayDeque<>();
+
+    private final LangLexer lexer = new LangLexer();
+
+    private volatile LangDocumentationIndex documentationIndex;
+    private volatile boolean flagBuildingDocumentationIndex = false;
+    private Runnable documentationIndexListener;
+
+    /**
+     * @param shellSpecificHelpText Help text for the functions of the LangShell front end which is appended to the output of func.printHelp() or null
+     */
+    public LangShellFunctions(LangInterpreter.LangInterpreterInterface lii, TerminalIO term, String shellSpecificHelpText) {
+        this.lii = lii;
+        this.term = term;
+        this.shellSpecificHelpText = shellSpecificHelpText;
+    }
+
+    /**
+     * @param documentationIndexListener Will be called after the documentation index was rebuilt (Might be called from any thread)
+     */
+    public void setDocumentationIndexListener(Runnable documentationIndexListener) {
+        this.documentationIndexListener = documentationIndexListener;
+    }
+
+    /**
+     * @return A started recorder or null if the timing mode is NONE
+     */
+    public LangExecutionStats.Recorder startExecStatsRecorder() {
+        return timingMode == TimingMode.NONE?null:LangExecutionStats.start();
+    }
+
+    public LangExecutionStats addExecStats(LangExecutionStats stats) {
+        synchronized(execStatsHistory) {
+            if(execStatsHistory.size() == EXEC_STATS_HISTORY_SIZE)
+                execStatsHistory.pollFirst();
+
+            execStatsHistory.addLast(stats);
+        }
+
+        return stats;
+    }
+
+    /**
+     * @param stats The stats of the execution or null if no stats were recorded
+     * @return The auto print output (" ==> value\n") of an execution or null if nothing should be printed
+     */
+    public String getAutoPrintOutput(DataObject lastVal, LangExecutionStats stats) {
+        String statsText = (stats == null || timingMode != TimingMode.PRINT)?"":" [" + stats + "]";
+
+        if(autoPrintMode == AutoPrintMode.AUTO)
+            return " ==> " + (lastVal == null?null:lii.getInterpreter().conversions.toText(lastVal, CodePosition.EMPTY)) + statsText + "\n";
+        else if(autoPrintMode == AutoPrintMode.DEBUG)
+            return " ==> " + getDebugString(lastVal, 4) + statsText + "\n";
+        else if(!statsText.isEmpty())
+            return " ==>" + statsText + "\n";
+
+        return null;
+    }
+
+    @LangFunction("printHelp")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject printHelpFunction() {
+        term.logln(Level.DEBUG, "func.printHelp() # Prints this help text\n" +
+                "func.printDebug(value) # Prints debug information about the provided DataObject\n" +
+                "func.printTokens(text) # Prints the tokens returned by the LangLexer for the input text\n" +
+                "func.printAST(text) # Prints the AST tree returned by the LangParser for the input text\n" +
+                "func.setAutoPrintMode(value) # Sets the auto print mode [Value can be one of 'NONE', 'AUTO', and 'DEBUG']\n" +
+                "func.setTimingMode(value) # Sets the timing mode [Value can be one of 'NONE', 'RECORD', and 'PRINT']\n" +
+                "func.lastExecStats() # Returns the wall time, CPU time, allocated bytes, and GC count and time of the last recorded execution\n" +
+                "func.printExecStatsHistory() # Prints the execution stats of the last " + EXEC_STATS_HISTORY_SIZE + " recorded executions\n" +
+                "func.benchmark(fp.func, iterations, warmup) # Calls fp.func warmup times and measures iterations calls afterward [Returns &BenchmarkResult]\n" +
+                "func.profile(fp.func, args...) # Calls fp.func with args while sampling the call stack and prints the hot paths [Returns the value returned by fp.func]\n" +
+                "    The call stack is read by another thread: Samples are estimates, samples whose call stack changed while being read are dropped\n" +
+                "func.profileToFile(path, fp.func, args...) # Like func.profile() but additionally writes the samples as collapsed stacks to a file\n" +
+                "func.sizeOf(value) # Returns the estimated shallow and retained heap size of the value [Returns &SizeEstimate]\n" +
+                "func.heapReport() # Prints the " + HEAP_REPORT_SIZE + " variables with the largest estimated retained heap size\n" +
+                "func.searchHelp(text) # Prints all functions whose name or documentation matches the search text\n" +
+                "func.saveSession(path) # Saves all variables and the paths of all loaded modules to a session snapshot file\n" +
+                "func.loadSession(path) # Loads the modules and restores the variables of a session snapshot file\n" +
+                "func.memoize(fp.func, maxEntries) # Returns a function pointer which caches the results of fp.func for structurally equal arguments (LRU eviction)\n" +
+                "func.memoizeWithTTL(fp.func, maxEntries, ttl) # Like func.memoize() but cached results expire after ttl milliseconds\n" +
+                "func.memoStats(fp.memoized) # Returns the hits, misses, evictions, and expirations of a memoized function [Returns &MemoStats]\n" +
+                "func.vectorCreate(type, size) # Creates a zero-filled vector of primitive values [Type can be one of 'INT', 'LONG', and 'DOUBLE'] [Returns the handle]\n" +
+                "func.vectorFromArray(type, &array) # Creates a vector of primitive values from the elements of the array [Returns the handle]\n" +
+                "func.vectorToArray(vector) # Returns the elements of the vector as array\n" +
+                "func.vectorSize(vector), func.vectorGet(vector, index), func.vectorSet(vector, index, value), func.vectorAppend(vector, value), func.vectorFill(vector, value)\n" +
+                "func.vectorSlice(vector, fromIndex, toIndex) # Creates a copy of the elements in [fromIndex, toIndex) [Returns the handle]\n" +
+                "func.vectorSum(vector), func.vectorMin(vector), func.vectorMax(vector), func.vectorSort(vector)\n" +
+                "func.intMapCreate(), func.textMapCreate() # Creates an open addressing hash map with int or text keys and int values [Returns the handle]\n" +
+                "func.mapFromArrays(&keys, &values) # Creates a text map if all keys are texts and an int map if no key is a text [Returns the handle]\n" +
+                "func.mapSize(map), func.mapGet(map, key) [Returns null if not found], func.mapSet(map, key, value), func.mapRemove(map, key), func.mapKeys(map), func.mapValues(map) # Int keys and values must be whole numbers\n" +
+                "func.primitiveFree(handle) # Frees a vector or map\n" +
+                "func.textBuilderCreate() # Creates a mutable text builder for building large texts in linear time [Returns the handle]\n" +
+                "func.textBuilderAppend(builder, values...) # Appends the text representations of all values\n" +
+                "func.textBuilderInsert(builder, index, value) # Inserts the text representation of value at index\n" +
+                "func.textBuilderLength(builder), func.textBuilderSubstring(builder, fromIndex, toIndex), func.textBuilderToText(builder)\n" +
+                "func.textBuilderWriteToFile(builder, path) # Writes the text to a file (UTF-8) without creating a copy of the whole text\n" +
+                "func.textBuilderFree(builder) # Frees a text builder\n" +
+                "func.parallelSort(&array) # Sorts an array of numbers in place on the fork-join pool\n" +
+                "func.parallelSum(&array), func.parallelMean(&array), func.parallelMin(&array), func.parallelMax(&array)\n" +
+                "func.parallelPrefixSum(&array) # Returns an array with the prefix sums of an array of numbers\n" +
+                "func.parallelHistogram(&array, bins, min, max) # Returns an array with the counts of the numbers in bins equal sized bins between min and max\n" +
+                "func.parallelAdd(&a, &b), func.parallelSubtract(&a, &b), func.parallelMultiply(&a, &b), func.parallelDivide(&a, &b) # Element-wise arithmetic [Returns a new array]\n" +
+                "func.parallelMap(fp.func, &array) # Calls fp.func for every element on worker interpreters [Returns an array with the results in order]\n" +
+                "func.parallelReduce(fp.combine, &array) # Combines all elements with fp.combine on worker interpreters, fp.combine must be associative\n" +
+                "    Only Lang function pointers and immutable values (text, numbers, ...) of the caller are copied into the workers, elements are deep copied" +
+                (shellSpecificHelpText == null?"":"\n" + shellSpecificHelpText), LangShellFunctions.class);
+
+        return null;
+    }
+    @LangFunction("printDebug")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject printDebugFunction(
+            @LangParameter("$value") @CallByPointer DataObject pointerObject
+    ) {
+        DataObject dereferencedVarPointer = pointerObject.getVarPointer().getVar();
+
+        String builder = "Debug[" +
+                (dereferencedVarPointer.getVariableName() == null?"<ANONYMOUS>":dereferencedVarPointer.getVariableName()) +
+                "]:\n" + getDebugString(dereferencedVarPointer, 4);
+
+        term.logln(Level.DEBUG, builder, LangShellFunctions.class);
+
+        return null;
+    }
+    @LangFunction("printTokens")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject printTokensFunction(
+            @LangParameter("$code") @AllowedTypes(DataObject.DataType.TEXT) DataObject codeObject
+    ) {
+        try(BufferedReader reader = new BufferedReader(new StringReader(codeObject.getText().toString()))) {
+            lexer.resetPositionVars();
+            List<Token> tokens = lexer.readTokens(reader);
+
+            term.logln(Level.DEBUG, tokens.stream().map(Token::toString).collect(Collectors.joining("\n")), LangShellFunctions.class);
+        }catch(IOException e) {
+            term.logStackTrace(e, LangShellFunctions.class);
+        }
+
+        return null;
+    }
+    @LangFunction("printAST")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject printASTFunction(
+            @LangParameter("$code") @AllowedTypes(DataObject.DataType.TEXT) DataObject codeObject
+    ) {
+        try(BufferedReader reader = new BufferedReader(new StringReader(codeObject.getText().toString()))) {
+            AbstractSyntaxTree ast = new LangParser().parseLines(reader);
+
+            term.logln(Level.DEBUG, ast.toString(), LangShellFunctions.class);
+        }catch(IOException e) {
+            term.logStackTrace(e, LangShellFunctions.class);
+        }
+
+        return null;
+    }
+    @LangFunction("setAutoPrintMode")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject setAutoPrintModeFunction(
+            @LangParameter("$value") DataObject valueObject
+    ) {
+        try {
+            autoPrintMode = AutoPrintMode.valueOf(lii.getInterpreter().conversions.toText(valueObject, CodePosition.EMPTY).toString());
+        }catch(IllegalArgumentException e) {
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$value\") mode must be one of 'NONE', 'AUTO', 'DEBUG'");
+        }
+
+        return null;
+    }
+    @LangFunction("benchmark")
+    @AllowedTypes(DataObject.DataType.STRUCT)
+    @SuppressWarnings("unused")
+    public DataObject benchmarkFunction(
+            @LangParameter("fp.func") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject,
+            @LangParameter("$iterations") @NumberValue Number iterationsNumber,
+            @LangParameter("$warmup") @NumberValue Number warmupNumber
+    ) {
+        int iterations = iterationsNumber.intValue();
+        if(iterations < 1)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 2 (\"$iterations\") must be >= 1");
+
+        int warmup = warmupNumber.intValue();
+        if(warmup < 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 3 (\"$warmup\") must be >= 0");
+
+        String functionName = funcObject.getVariableName() == null?"<anonymous>":funcObject.getVariableName();
+        LangBenchmark.Result result = LangBenchmark.run(lii, funcObject.getFunctionPointer(), functionName, iterations, warmup);
+
+        term.logln(Level.DEBUG, "Benchmark[" + functionName + "]:\n" + result, LangShellFunctions.class);
+
+        return new DataObject().setStruct(result.toStruct());
+    }
+    @LangFunction("profile")
+    @SuppressWarnings("unused")
+    public DataObject profileFunction(
+            @LangParameter("fp.func") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject,
+            @LangParameter("&args") @VarArgs List<DataObject> argumentList
+    ) {
+        return profile(null, funcObject, argumentList);
+    }
+    @LangFunction("profileToFile")
+    @SuppressWarnings("unused")
+    public DataObject profileToFileFunction(
+            @LangParameter("$path") @AllowedTypes(DataObject.DataType.TEXT) DataObject pathObject,
+            @LangParameter("fp.func") @AllowedTypes(DataObject.DataType.FUNCTION_POINTER) DataObject funcObject,
+            @LangParameter("&args") @VarArgs List<DataObject> argumentList
+    ) {
+        return profile(new File(pathObject.getText().toString()), funcObject, argumentList);
+    }
+    private DataObject profile(File collapsedStacksFile, DataObject funcObject, List<DataObject> argumentList) {
+        String functionName = funcObject.getVariableName() == null?"<anonymous>":funcObject.getVariableName();
+
+        LangSamplingProfiler.Profile profile = LangSamplingProfiler.profile(lii, LangSamplingProfiler.DEFAULT_SAMPLE_INTERVAL_NANOS,
+                () -> lii.callFunctionPointer(funcObject.getFunctionPointer(), functionName,
+                        LangUtils.separateArgumentsWithArgumentSeparators(argumentList)));
+
+        term.logln(Level.DEBUG, "Profile[" + functionName + "]:\n" + profile, LangShellFunctions.class);
+
+        if(collapsedStacksFile != null) {
+            try {
+                profile.writeCollapsedStacks(collapsedStacksFile);
+            }catch(IOException e) {
+                return lii.setErrnoErrorObject(InterpretingError.SYSTEM_ERROR, "Collapsed stacks could not be written: " + e.getMessage());
+            }
+        }
+
+        return profile.getReturnValue();
+    }
+    @LangFunction("sizeOf")
+    @AllowedTypes(DataObject.DataType.STRUCT)
+    @SuppressWarnings("unused")
+    public DataObject sizeOfFunction(
+            @LangParameter("$value") @CallByPointer DataObject pointerObject
+    ) {
+        DataObject dereferencedVarPointer = pointerObject.getVarPointer().getVar();
+
+        return new DataObject().setStruct(LangSizeEstimator.estimate(dereferencedVarPointer).toStruct());
+    }
+    @LangFunction("heapReport")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject heapReportFunction() {
+        long startTime = System.nanoTime();
+
+        Map<String, LangSizeEstimator.Estimate> estimates = new HashMap<>();
+        Set<Object> visitedByAllVars = Collections.newSetFromMap(new IdentityHashMap<>());
+        long totalRetainedSize = 0;
+        for(Entry<String, DataObject> var:lii.getVarMap().entrySet()) {
+            if(var.getValue() == null || var.getValue().isLangVar())
+                continue;
+
+            estimates.put(var.getKey(), LangSizeEstimator.estimate(var.getValue()));
+
+            //Values shared between variables are only counted once for the total size
+            totalRetainedSize += LangSizeEstimator.estimate(var.getValue(), visitedByAllVars).getRetainedSize();
+        }
+
+        StringBuilder builder = new StringBuilder("Heap report (Estimated retained sizes):");
+        estimates.entrySet().stream().
+                sorted(Comparator.comparingLong((Entry<String, LangSizeEstimator.Estimate> entry) -> entry.getValue().getRetainedSize()).reversed()).
+                limit(HEAP_REPORT_SIZE).
+                forEachOrdered(entry -> builder.append(String.format("\n    %12s  %s (%d values)", LangExecutionStats.formatBytes(entry.getValue().getRetainedSize()),
+                        entry.getKey(), entry.getValue().getValueCount())));
+        builder.append("\nTotal of all ").append(estimates.size()).append(" variables: ").append(LangExecutionStats.formatBytes(totalRetainedSize));
+        builder.append(String.format(" (Report created in %.3f ms)", (System.nanoTime() - startTime) / 1000000.));
+
+        term.logln(Level.DEBUG, builder.toString(), LangShellFunctions.class);
+
+        return null;
+    }
+    @LangFunction("searchHelp")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject searchHelpFunction(
+            @LangParameter("$text") @AllowedTypes(DataObject.DataType.TEXT) DataObject textObject
+    ) {
+        //The index can be built directly, because this function is executed on the interpreter thread
+        LangDocumentationIndex index = documentationIndex;
+        if(index == null || index.isOutdated(lii)) {
+            index = LangDocumentationIndex.build(lii);
+            setDocumentationIndex(index);
+        }
+
+        long startTime = System.nanoTime();
+        List<LangDocumentationIndex.SearchResult> results = index.search(textObject.getText().toString(), MAX_SEARCH_HELP_RESULTS);
+        long searchTime = System.nanoTime() - startTime;
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(results.size()).append(" results (").append(String.format("%.3f", searchTime / 1000000.)).append(" ms):");
+        for(LangDocumentationIndex.SearchResult result:results) {
+            String description = result.getFunction().getFunctionInfo();
+
+            builder.append("\n    ").append(result.getName());
+            if(description != null)
+                builder.append(" # ").append(description.split("\n", 2)[0]);
+        }
+
+        term.logln(Level.DEBUG, builder.toString(), LangShellFunctions.class);
+
+        return null;
+    }
+    @LangFunction("saveSession")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject saveSessionFunction(
+            @LangParameter("$path") @AllowedTypes(DataObject.DataType.TEXT) DataObject pathObject
+    ) {
+        File file = new File(pathObject.getText().toString());
+        try {
+            long startTime = System.nanoTime();
+            LangSessionSnapshot.Report report = LangSessionSnapshot.save(lii, file);
+            logSessionSnapshotReport("saved to", file, report, System.nanoTime() - startTime);
+        }catch(IOException e) {
+            return lii.setErrnoErrorObject(InterpretingError.SYSTEM_ERROR, "Session snapshot could not be saved: " + e.getMessage());
+        }
+
+        return null;
+    }
+    @LangFunction("loadSession")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject loadSessionFunction(
+            @LangParameter("$path") @AllowedTypes(DataObject.DataType.TEXT) DataObject pathObject
+    ) {
+        File file = new File(pathObject.getText().toString());
+        if(!file.exists())
+            return lii.setErrnoErrorObject(InterpretingError.FILE_NOT_FOUND, "Session snapshot \"" + file + "\" was not found");
+
+        try {
+            long startTime = System.nanoTime();
+            LangSessionSnapshot.Report report = LangSessionSnapshot.load(lii, file);
+            logSessionSnapshotReport("loaded from", file, report, System.nanoTime() - startTime);
+        }catch(IOException e) {
+            return lii.setErrnoErrorObject(InterpretingError.SYSTEM_ERROR, "Session snapshot could not be loaded: " + e.getMessage());
+        }
+
+        return null;
+    }
+    @LangFunction("setTimingMode")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject setTimingModeFunction(
+            @LangParameter("$value") DataObject valueObject
+    ) {
+        try {
+            timingMode = TimingMode.valueOf(lii.getInterpreter().conversions.toText(valueObject, CodePosition.EMPTY).toString());
+        }catch(IllegalArgumentException e) {
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$value\") mode must be one of 'NONE', 'RECORD', 'PRINT'");
+        }
+
+        return null;
+    }
+    @LangFunction("lastExecStats")
+    @AllowedTypes({DataObject.DataType.STRUCT, DataObject.DataType.NULL})
+    @SuppressWarnings("unused")
+    public DataObject lastExecStatsFunction() {
+        LangExecutionStats stats;
+        synchronized(execStatsHistory) {
+            stats = execStatsHistory.peekLast();
+        }
+
+        return stats == null?new DataObject().setNull():new DataObject().setStruct(stats.toStruct());
+    }
+    @LangFunction("printExecStatsHistory")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject printExecStatsHistoryFunction() {
+        List<LangExecutionStats> history;
+        synchronized(execStatsHistory) {
+            history = new ArrayList<>(execStatsHistory);
+        }
+
+        if(history.isEmpty()) {
+            term.logln(Level.DEBUG, "No executions were recorded (Use func.setTimingMode(RECORD) to enable recording)", LangShellFunctions.class);
+
+            return null;
+        }
+
+        long wallTimeSum = 0;
+        StringBuilder builder = new StringBuilder("Execution stats:");
+        for(int i = 0;i < history.size();i++) {
+            builder.append("\n    ").append(i - history.size()).append(": ").append(history.get(i));
+            wallTimeSum += history.get(i).getWallTime();
+        }
+        builder.append("\nTotal wall time: ").append(LangExecutionStats.formatNanoTime(wallTimeSum));
+
+        term.logln(Level.DEBUG, builder.toString(), LangShellFunctions.class);
+
+        return null;
+    }
+    @LangFunction("getParserLineNumber")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject getParserLineNumberFunction() {
+        return new DataObject().setInt(lii.getParserLineNumber());
+    }
+    @LangFunction("setParserLineNumber")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject setParserLineNumberFunction(
+            @LangParameter("$lineNumber") @NumberValue Number number
+    ) {
+        int lineNumber = number.intValue();
+        if(lineNumber < 0)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$lineNumber\") must be >= 0");
+
+        lii.setParserLineNumber(lineNumber);
+
+        return null;
+    }
+    @LangFunction("resetParserLineNumber")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject resetParserLineNumberFunction() {
+        lii.resetParserPositionVars();
+
+        return null;
+    }
+    /**
+     * Disable the input() function: It would not work in the LangShell, because the "TermIO-Control" window is not accessible
+     * and the terminal input is read by the LangShell
+     */
+    @LangFunction("input")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject inputFunctionRemoval(
+            @LangParameter("$dummy") @VarArgs DataObject dummy
+    ) {
+        return lii.setErrnoErrorObject(InterpretingError.FUNCTION_NOT_SUPPORTED, "Function not supported in the LangShell");
+    }
+
+    private void setDocumentationIndex(LangDocumentationIndex index) {
+        documentationIndex = index;
+
+        if(documentationIndexListener != null)
+            documentationIndexListener.run();
+    }
+    /**
+     * @return The documentation index or null if it was not yet built
+     */
+    public LangDocumentationIndex getDocumentationIndex() {
+        return documentationIndex;
+    }
+    /**
+     * Rebuilds the documentation index in the background if modules were loaded or unloaded since the last build<br>
+     * Must not be called while the interpreter is executing code: The functions are copied on the calling thread
+     */
+    public void updateDocumentationIndexIfOutdated() {
+        LangDocumentationIndex index = documentationIndex;
+        if(flagBuildingDocumentationIndex || (index != null && !index.isOutdated(lii)))
+            return;
+
+        LangDocumentationIndex.Snapshot snapshot = LangDocumentationIndex.Snapshot.create(lii);
+
+        flagBuildingDocumentationIndex = true;
+        Thread t = new Thread(() -> {
+            try {
+                setDocumentationIndex(LangDocumentationIndex.build(snapshot));
+            }finally {
+                flagBuildingDocumentationIndex = false;
+            }
+        });
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+    }
+
+    public void logSessionSnapshotReport(String action, Object source, LangSessionSnapshot.Report report, long nanoTime) {
+        boolean hasSkippedEntries = !report.getSkippedVariables().isEmpty() || !report.getSkippedModules().isEmpty();
+
+        term.logf(hasSkippedEntries?Level.WARNING:Level.DEBUG, "Session snapshot %s \"%s\" in %.3f ms%s:\n%s\n", LangShellFunctions.class,
+                action, source, nanoTime / 1000000., hasSkippedEntries?" (Some entries were skipped)":"", report);
+    }
+
+    public String getDebugString(DataObject dataObject, int maxRecursionDepth) {
+        if(dataObject == null)
+            return "<NULL>";
+
+        if(maxRecursionDepth < 1)
+            return "<Max recursion depth reached>";
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("Raw Text: ");
+        builder.append(lii.getInterpreter().conversions.toText(dataObject, CodePosition.EMPTY));
+        builder.append("\nType: ");
+        builder.append(dataObject.getType());
+        builder.append("\nFinal: ");
+        builder.append(dataObject.isFinalData());
+        builder.append("\nStatic: ");
+        builder.append(dataObject.isStaticData());
+        builder.append("\nCopy static & final modifiers: ");
+        builder.append(dataObject.isCopyStaticAndFinalModifiers());
+        builder.append("\nLang var: ");
+        builder.append(dataObject.isLangVar());
+        builder.append("\nVariable Name: ");
+        builder.append(dataObject.getVariableName());
+        builder.append("\nMember of: ");
+        builder.append(dataObject.getMemberOfClassId());
+        builder.append("\nVisibility: ");
+        builder.append(dataObject.getMemberVisibility());
+        builder.append("\nType constraint: ");
+        builder.append(dataObject.getTypeConstraint().toTypeConstraintSyntax());
+        builder.append("\nAllowed types: ");
+        builder.append(dataObject.getTypeConstraint().printAllowedTypes());
+        builder.append("\nNot allowed types: ");
+        builder.append(dataObject.getTypeConstraint().printNotAllowedTypes());
+        switch(dataObject.getType()) {
+            case VAR_POINTER:
+                builder.append("\nPointing to: {\n");
+                String[] debugStringLines = getDebugString(dataObject.getVarPointer().getVar(), maxRecursionDepth - 1).split("\\n");
+                for(String debugStringLine:debugStringLines) {
+                    builder.append("    ");
+                    builder.append(debugStringLine);
+                    builder.append("\n");
+                }
+                builder.append("}");
+                break;
+
+            case STRUCT:
+                boolean isStructDefinition = dataObject.getStruct().isDefinition();
+                builder.append("\nIs struct definition: ");
+                builder.append(isStructDefinition);
+                builder.append("\nMembers:");
+                for(String memberName:dataObject.getStruct().getMemberNames()) {
+                    builder.append("\n    ");
+                    builder.append(memberName);
+
+                    if(isStructDefinition) {
+                        if(dataObject.getStruct().getTypeConstraint(memberName) != null)
+                            builder.append(dataObject.getStruct().getTypeConstraint(memberName).toTypeConstraintSyntax());
+                    }else {
+                        DataObject member = dataObject.getStruct().getMember(memberName);
+
+                        builder.append(": {\n");
+                        debugStringLines = getDebugString(member, maxRecursionDepth > 1?1:0).split("\\n");
+                        for(String debugStringLine:debugStringLines) {
+                            builder.append("        ");
+                            builder.append(debugStringLine);
+                            builder.append("\n");
+                        }
+                        builder.append("    }");
+                    }
+                }
+                break;
+
+            case OBJECT:
+                boolean isClass = dataObject.getObject().isClass();
+                builder.append("\nIs class: ");
+                builder.append(isClass);
+
+                builder.append("\nStatic members:");
+                for(DataObject staticMember:dataObject.getObject().getStaticMembers()) {
+                    builder.append("\n    ");
+
+                    builder.append(staticMember.getMemberVisibility());
+                    builder.append("(");
+                    builder.append(staticMember.getMemberOfClassId());
+                    builder.append(")");
+                    builder.append(" ");
+
+                    builder.append(staticMember.getVariableName());
+
+                    if(!staticMember.getTypeConstraint().equals(DataObject.getTypeConstraintFor(staticMember.getVariableName())))
+                        builder.append(staticMember.getTypeConstraint().toTypeConstraintSyntax());
+
+                    builder.append(": {\n");
+                    debugStringLines = getDebugString(staticMember, maxRecursionDepth > 1?1:0).split("\\n");
+                    for(String debugStringLine:debugStringLines) {
+                        builder.append("        ");
+                        builder.append(debugStringLine);
+                        builder.append("\n");
+                    }
+                    builder.append("    }");
+                }
+
+                builder.append("\nMembers:");
+                for(int i = 0;i < dataObject.getObject().getMemberNames().length;i++) {
+                    String memberName = dataObject.getObject().getMemberNames()[i];
+                    builder.append("\n    ");
+
+                    builder.append(dataObject.getObject().getMemberVisibility()[i]);
+                    if(dataObject.getObject().getMemberOfClass()[i] != null) {
+                        builder.append("(");
+                        builder.append(dataObject.getObject().getMemberOfClass()[i].getClassName() == null?"<class>":
+                                dataObject.getObject().getMemberOfClass()[i].getClassName());
+                        builder.append(")");
+                    }
+                    builder.append(" ");
+
+                    if(dataObject.getObject().getMemberFinalFlags()[i])
+                        builder.append("final:");
+
+                    builder.append(memberName);
+
+                    if(isClass) {
+                        if(dataObject.getObject().getMemberTypeConstraints()[i] != null)
+                            builder.append(dataObject.getObject().getMemberTypeConstraints()[i].toTypeConstraintSyntax());
+                    }else {
+                        DataObject member = dataObject.getObject().getMember(memberName);
+
+                        builder.append(": {\n");
+                        debugStringLines = getDebugString(member, maxRecursionDepth > 1?1:0).split("\\n");
+                        for(String debugStringLine:debugStringLines) {
+                            builder.append("        ");
+                            builder.append(debugStringLine);
+                            builder.append("\n");
+                        }
+                        builder.append("    }");
+                    }
+                }
+
+                builder.append("\nConstructors:");
+                for(int i = 0;i < dataObject.getObject().getConstructors().getOverloadedFunctionCount();i++) {
+                    DataObject.FunctionPointerObject.InternalFunction constructor = dataObject.getObject().getConstructors().getFunction(i);
+
+                    builder.append("\n    ");
+
+                    switch(Optional.ofNullable(constructor.getMemberVisibility()).orElse(DataObject.Visibility.PUBLIC)) {
+                        case PUBLIC:
+                            builder.append("+");
+                            break;
+
+                        case PROTECTED:
+                            builder.append("~");
+                            break;
+
+                        case PRIVATE:
+                            builder.append("-");
+                            break;
+                    }
+
+                    builder.append("construct");
+                    builder.append(constructor.toFunctionSignatureSyntax());
+
+
+                    builder.append(": {\n");
+                    debugStringLines = getDebugString(new DataObject().setFunctionPointer(dataObject.getObject().
+                                    getConstructors().withFunctions(Arrays.asList(constructor))),
+                            maxRecursionDepth > 1?1:0).split("\\n");
+                    for(String debugStringLine:debugStringLines) {
+                        builder.append("        ");
+                        builder.append(debugStringLine);
+                        builder.append("\n");
+                    }
+                    builder.append("    }");
+                }
+
+                builder.append("\nMethods:");
+                dataObject.getObject().getMethods().forEach((methodName, overloadedMethodDefinitions) -> {
+                    for(int i = 0;i < overloadedMethodDefinitions.getOverloadedFunctionCount();i++) {
+                        DataObject.FunctionPointerObject.InternalFunction methodDefinition = overloadedMethodDefinitions.getFunction(i);
+
+                        builder.append("\n    ");
+
+                        switch(Optional.ofNullable(methodDefinition.getMemberVisibility()).orElse(DataObject.Visibility.PUBLIC)) {
+                            case PUBLIC:
+                                builder.append("+");
+                                break;
+
+                            case PROTECTED:
+                                builder.append("~");
+                                break;
+
+                            case PRIVATE:
+                                builder.append("-");
+                                break;
+                        }
+
+                        builder.append(methodName);
+                        builder.append(methodDefinition.toFunctionSignatureSyntax());
+
+
+                        builder.append(": {\n");
+                        String[] debugStringLinesMethod = getDebugString(new DataObject().setFunctionPointer(overloadedMethodDefinitions.
+                                        withFunctions(Arrays.asList(methodDefinition))),
+                                maxRecursionDepth > 1?1:0).split("\\n");
+                        for(String debugStringLine:debugStringLinesMethod) {
+                            builder.append("        ");
+                            builder.append(debugStringLine);
+                            builder.append("\n");
+                        }
+                        builder.append("    }");
+                    }
+                });
+
+                builder.append("\nParrent classes:");
+                for(int i = 0;i < dataObject.getObject().getParentClasses().length;i++) {
+                    DataObject.LangObject parentClass = dataObject.getObject().getParentClasses()[i];
+
+                    builder.append("\n    ");
+                    builder.append(i);
+                    builder.append(": {\n");
+                    String[] debugStringLinesMethod = getDebugString(new DataObject().setObject(parentClass),
+                            maxRecursionDepth > 1?1:0).split("\\n");
+                    for(String debugStringLine:debugStringLinesMethod) {
+                        builder.append("        ");
+                        builder.append(debugStringLine);
+                        builder.append("\n");
+                    }
+                    builder.append("    }");
+                }
+                break;
+
+            case BYTE_BUFFER:
+                builder.append("\nSize: ");
+                builder.append(dataObject.getByteBuffer().length);
+                break;
+
+            case ARRAY:
+                builder.append("\nSize: ");
+                builder.append(dataObject.getArray().length);
+                builder.append("\nElements:");
+                for(int i = 0;i < dataObject.getArray().length;i++) {
+                    DataObject ele = dataObject.getArray()[i];
+                    builder.append("\n    arr(");
+                    builder.append(i);
+                    builder.append("): {\n");
+                    debugStringLines = getDebugString(ele, maxRecursionDepth > 1?1:0).split("\\n");
+                    for(String debugStringLine:debugStringLines) {
+                        builder.append("        ");
+                        builder.append(debugStringLine);
+                        builder.append("\n");
+                    }
+                    builder.append("    }");
+                }
+                break;
+
+            case LIST:
+                builder.append("\nSize: ");
+                builder.append(dataObject.getList().size());
+                builder.append("\nElements:");
+                for(int i = 0;i < dataObject.getList().size();i++) {
+                    DataObject ele = dataObject.getList().get(i);
+                    builder.append("\n    list(");
+                    builder.append(i);
+                    builder.append("): {\n");
+                    debugStringLines = getDebugString(ele, maxRecursionDepth > 1?1:0).split("\\n");
+                    for(String debugStringLine:debugStringLines) {
+                        builder.append("        ");
+                        builder.append(debugStringLine);
+                        builder.append("\n");
+                    }
+                    builder.append("    }");
+                }
+                break;
+
+            case FUNCTION_POINTER:
+                builder.append("\nFunction-Name: ");
+                builder.append(dataObject.getFunctionPointer().getFunctionName());
+                builder.append("\nFunction info: ");
+                builder.append(dataObject.getFunctionPointer().getFunctionInfo());
+                builder.append("\nIs bound: ");
+                builder.append(dataObject.getFunctionPointer().getThisObject() != null);
+                builder.append("\nLinker Function: ");
+                builder.append(dataObject.getFunctionPointer().isLinkerFunction());
+                builder.append("\nDeprecated: ");
+                boolean deprecated = dataObject.getFunctionPointer().isDeprecated();
+                builder.append(deprecated);
+                if(deprecated) {
+                    builder.append("\n    Will be removed in: ");
+                    builder.append(dataObject.getFunctionPointer().getDeprecatedRemoveVersion());
+                    builder.append("\n    Replacement function: ");
+                    builder.append(dataObject.getFunctionPointer().getDeprecatedReplacementFunction());
+                }
+                builder.append("\nInternal Functions: {");
+                for(int i = 0;i < dataObject.getFunctionPointer().getOverloadedFunctionCount();i++) {
+                    DataObject.FunctionPointerObject.InternalFunction internalFunction = dataObject.getFunctionPointer().getFunction(i);
+                    builder.append("\n    ").append(i).append(": ");
+                    builder.append("\n    Super level: ");
+                    builder.append(internalFunction.getSuperLevel());
+                    builder.append("\n    Function-Type: ");
+                    builder.append(internalFunction.getFunctionPointerType());
+                    builder.append("\n    Lang-Path: ");
+                    builder.append(internalFunction.getLangPath());
+                    builder.append("\n    Lang-File: ");
+                    builder.append(internalFunction.getLangFile());
+                    builder.append("\n    Member of: ");
+                    builder.append(internalFunction.getMemberOfClass() == null?null:(
+                            internalFunction.getMemberOfClass().getClassName() == null?"<class>":internalFunction.getMemberOfClass().getClassName()));
+                    builder.append("\n    Visibility: ");
+                    builder.append(internalFunction.getMemberVisibility());
+                    builder.append("\n    Normal Function: ");
+                    LangNormalFunction normalFunction = internalFunction.getNormalFunction();
+                    if(normalFunction == null) {
+                        builder.append(normalFunction);
+                    }else {
+                        builder.append("{");
+                        builder.append("\n        Raw String: ");
+                        builder.append(normalFunction);
+                        builder.append("\n        Function signature:");
+                        {
+                            List<DataObject> parameterList = normalFunction.getParameterList();
+                            List<DataObject.DataTypeConstraint> paramaterDataTypeConstraintList = normalFunction.getParameterDataTypeConstraintList();
+                            List<String> parameterInfoList = normalFunction.getParameterInfoList();
+                            builder.append("\n            Function Signature: ");
+                            builder.append(normalFunction.toFunctionSignatureSyntax());
+                            builder.append("\n        Combinator Function: ");
+                            builder.append(normalFunction.isCombinatorFunction());
+                            builder.append("\n        Combinator Function Call Count: ");
+                            builder.append(normalFunction.getCombinatorFunctionCallCount());
+                            builder.append("\n        Combinator Function Arguments: ");
+                            builder.append(normalFunction.getCombinatorProvidedArgumentList());
+                            builder.append("\n            Return Value Type Constraint: ");
+                            builder.append(normalFunction.getReturnValueTypeConstraint().toTypeConstraintSyntax());
+                            builder.append("\n            Parameters: ");
+                            for(int j = 0;j < parameterList.size();j++) {
+                                builder.append("\n                Parameter ");
+                                builder.append(j + 1);
+                                builder.append(" (\"");
+                                builder.append(parameterList.get(j).getVariableName());
+                                builder.append("\"): ");
+                                builder.append("\n                    Data type constraint: ");
+                                builder.append(paramaterDataTypeConstraintList.get(j).toTypeConstraintSyntax());
+                                builder.append("\n                    Parameter info: ");
+                                builder.append(parameterInfoList.get(j));
+                            }
+                        }
+                        builder.append("\n        Function Body: {");
+                        String[] tokens = normalFunction.getFunctionBody().toString().split("\\n");
+                        for(String token:tokens) {
+                            builder.append("\n            ");
+                            builder.append(token);
+                        }
+                        builder.append("\n    }");
+                    }
+                    builder.append("\n    Native Function: ");
+                    LangNativeFunction nativeFunction = internalFunction.getNativeFunction();
+                    if(nativeFunction == null) {
+                        builder.append(nativeFunction);
+                    }else {
+                        builder.append("{");
+                        builder.append("\n        Raw String: ");
+                        builder.append(nativeFunction);
+                        builder.append("\n        Function name: ");
+                        builder.append(nativeFunction.getFunctionName());
+                        builder.append("\n        Function signatures:");
+                        List<DataObject> parameterList = nativeFunction.getParameterList();
+                        List<DataObject.DataTypeConstraint> paramaterDataTypeConstraintList = nativeFunction.getParameterDataTypeConstraintList();
+                        List<String> parameterInfoList = nativeFunction.getParameterInfoList();
+                        builder.append("\n        Is method: ");
+                        builder.append(nativeFunction.isMethod());
+                        builder.append("\n        Combinator Function: ");
+                        builder.append(nativeFunction.isCombinatorFunction());
+                        builder.append("\n        Combinator Function Call Count: ");
+                        builder.append(nativeFunction.getCombinatorFunctionCallCount());
+                        builder.append("\n        Combinator Function Arguments: ");
+                        builder.append(nativeFunction.getCombinatorProvidedArgumentList());
+                        builder.append("\n        Function Signature: ");
+                        builder.append(nativeFunction.toFunctionSignatureSyntax());
+                        builder.append("\n        Return Value Type Constraint: ");
+                        builder.append(nativeFunction.getReturnValueTypeConstraint().toTypeConstraintSyntax());
+                        builder.append("\n        Parameters: ");
+                        for(int j = 0;j < parameterList.size();j++) {
+                            builder.append("\n            Parameter ");
+                            builder.append(j + 1);
+                            builder.append(" (\"");
+                            builder.append(parameterList.get(j).getVariableName());
+                            builder.append("\"): ");
+                            builder.append("\n                Data type constraint: ");
+                            builder.append(paramaterDataTypeConstraintList.get(j).toTypeConstraintSyntax());
+                            builder.append("\n                Parameter info: ");
+                            builder.append(parameterInfoList.get(j));
+                        }
+                        builder.append("\n    }");
+                    }
+                    builder.append("\n");
+                }
+                builder.append("\n}");
+                break;
+
+            case ERROR:
+                builder.append("\nError-Code: ");
+                builder.append(dataObject.getError().getErrno());
+                builder.append("\nError-Text: ");
+                builder.append(dataObject.getError().getErrtxt());
+                builder.append("\nError-Message: ");
+                builder.append(dataObject.getError().getMessage());
+                break;
+
+            default:
+                break;
+        }
+
+        return builder.toString();
+    }
+
+    public enum AutoPrintMode {
+        NONE, AUTO, DEBUG
+    }
+
+    public enum TimingMode {
+        NONE, RECORD, PRINT
+    }
+}
@@ -0,0 +1,74 @@
+package me.jddev0.module.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lang-Module<br>
+ * Input history of the LangShell (UP and DOWN)
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangShellHistory {
+    private final List<String> history = new ArrayList<>();
+    private int historyPos = 0;
+    private String currentCommand = "";
+
+    /**
+     * Empty entries and duplicates of the last entry are ignored, the history position is reset to the end
+     */
+    public void add(String entry) {
+        if(!entry.trim().isEmpty() && (history.isEmpty() || !history.get(history.size() - 1).equals(entry)))
+            history.add(entry);
+
+        historyPos = history.size();
+        currentCommand = "";
+    }
+
+    public boolean hasPrevious() {
+        return historyPos > 0;
+    }
+
+    /**
+     * @param currentInput The not yet executed input which will be restored if the end of the history is reached again with {@link #next()}
+     * @return The previous entry or null if there is none
+     */
+    public String previous(String currentInput) {
+        if(!hasPrevious())
+            return null;
+
+        if(historyPos == history.size())
+            currentCommand = currentInput;
+
+        historyPos--;
+
+        return history.get(historyPos);
+    }
+
+    /**
+     * @return The next entry, the input which was stored by {@link #previous(String)} if the end of the history was reached, or null if the end was already reached before
+     */
+    public String next() {
+        if(historyPos < history.size() - 1) {
+            historyPos++;
+
+            return history.get(historyPos);
+        }
+
+        if(historyPos == history.size() - 1) {
+            historyPos++;
+
+            return currentCommand;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return true if an entry of the history is currently displayed instead of the current input
+     */
+    public boolean isBrowsing() {
+        return historyPos < history.size();
+    }
+}
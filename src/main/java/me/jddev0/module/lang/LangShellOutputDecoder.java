@@ -0,0 +1,150 @@
+package me.jddev0.module.lang;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import at.jddev0.io.TerminalIO.Level;
+
+/**
+ * Lang-Module<br>
+ * Decodes the log output format of the TerminalIO ("[LEVEL]...[Msg len: N]...]: msg") into the messages and their levels<br>
+ * The output is decoded if the stream is flushed
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public abstract class LangShellOutputDecoder extends OutputStream {
+    /**
+     * The level index of output which was not written by the TerminalIO
+     */
+    public static final int LEVEL_INDEX_NOTSET = 0;
+    /**
+     * The levels in the order of their level index
+     */
+    public static final Level[] LEVELS = {Level.NOTSET, Level.USER, Level.DEBUG, Level.CONFIG, Level.INFO, Level.WARNING, Level.ERROR, Level.CRITICAL};
+
+    //Tmp for multibyte char
+    private final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+
+    private int charsLeftInLogOutput;
+    private int type = LEVEL_INDEX_NOTSET;
+
+    /**
+     * Called for every decoded part of the output
+     *
+     * @param levelIndex The index of the level in {@link #LEVELS}
+     */
+    protected abstract void addText(String text, int levelIndex);
+
+    /**
+     * Called after the flushed output was decoded
+     */
+    protected void afterFlush() {}
+
+    @Override
+    public void write(int b) {
+        byteOut.write(b);
+    }
+
+    @Override
+    public void flush() {
+        LangFlightRecorder.OutputFlushEvent event = new LangFlightRecorder.OutputFlushEvent();
+        event.begin();
+
+        int bytes = byteOut.size();
+        String output = byteOut.toString();
+        byteOut.reset();
+
+        updateOutput(output);
+
+        afterFlush();
+
+        if(event.shouldCommit()) {
+            event.bytes = bytes;
+            event.chars = output.length();
+            event.commit();
+        }
+    }
+
+    private void updateOutput(String output) {
+        if(output.isEmpty())
+            return;
+
+        if(charsLeftInLogOutput > 0) {
+            if(output.length() > charsLeftInLogOutput) {
+                addText(output.substring(0, charsLeftInLogOutput), type);
+
+                String outputLeft = output.substring(charsLeftInLogOutput);
+                charsLeftInLogOutput = 0;
+                updateOutput(outputLeft);
+            }else {
+                charsLeftInLogOutput -= output.length();
+
+                addText(output, type);
+            }
+
+            return;
+        }
+
+        int outputLength = getOutputLength(output);
+        if(outputLength == -1) {
+            type = LEVEL_INDEX_NOTSET;
+
+            int bracketIndex = output.indexOf('[', 1); //Ignore "[" at start, because it was already tested
+
+            if(bracketIndex == -1) {
+                addText(output, type);
+            }else {
+                addText(output.substring(0, bracketIndex), type);
+
+                String outputLeft = output.substring(bracketIndex);
+                updateOutput(outputLeft);
+            }
+
+            return;
+        }
+
+        charsLeftInLogOutput = outputLength;
+
+        //Sets level of message after new line
+        for(int i = 0;i < LEVELS.length;i++) {
+            if(output.startsWith("[" + LEVELS[i] + "]")) {
+                type = i;
+
+                break;
+            }
+        }
+
+        //Extract message from debug output
+        output = output.split("]: ", 2)[1];
+
+        if(output.startsWith("[From Lang file]: ")) { //Drop "[From Lang file]: " prefix
+            output = output.substring(18);
+
+            charsLeftInLogOutput -= 18;
+        }
+
+        updateOutput(output);
+    }
+
+    private int getOutputLength(String output) {
+        if(!output.startsWith("[") || !output.contains("]: "))
+            return -1;
+
+        int msgLenIndex = output.indexOf("][Msg len: ");
+        if(msgLenIndex == -1)
+            return -1;
+
+        msgLenIndex += 11; //Index at end of "][Msg len: "
+        int endMsgLenIndex = output.indexOf(']', msgLenIndex);
+        if(endMsgLenIndex == -1)
+            return -1;
+
+        String msgLen = output.substring(msgLenIndex, endMsgLenIndex);
+        try {
+            return Integer.parseInt(msgLen);
+        }catch(NumberFormatException e) {
+            return -1;
+        }
+    }
+}
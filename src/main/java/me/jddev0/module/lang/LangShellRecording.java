@@ -0,0 +1,248 @@
+package me.jddev0.module.lang;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Lang-Module<br>
+ * Recording of the inputs of a LangShell session (Typed chars, pressed keys, pastes, and executed code with their timestamps) which can be
+ * replayed as a reproducible workload<br>
+ * The recording is stored as gzip compressed text with one event per line: "TIME TYPE VALUE..." where TIME is the time since the start of
+ * the recording in microseconds
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangShellRecording {
+    public static final String FILE_EXTENSION = ".langrec";
+
+    private static final String HEADER = "LangShellRecording v1";
+
+    private LangShellRecording() {}
+
+    /**
+     * @return All events of the recording in the order they were recorded
+     */
+    public static List<Event> read(File file) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if(!HEADER.equals(header))
+                throw new IOException("\"" + file + "\" is not a LangShell recording");
+
+            String line;
+            int lineNumber = 1;
+            while((line = reader.readLine()) != null) {
+                lineNumber++;
+                if(line.isEmpty())
+                    continue;
+
+                try {
+                    events.add(parseEvent(line));
+                }catch(RuntimeException e) {
+                    throw new IOException("Invalid event in line " + lineNumber + " of \"" + file + "\"", e);
+                }
+            }
+        }
+
+        return Collections.unmodifiableList(events);
+    }
+
+    private static Event parseEvent(String line) {
+        String[] tokens = line.split(" ", 3);
+        long time = Long.parseLong(tokens[0]) * 1000;
+        EventType type = EventType.fromCode(tokens[1]);
+        switch(type) {
+            case KEY_TYPED:
+            case KEY_PRESSED:
+                String[] values = tokens[2].split(" ");
+                return new Event(time, type, Integer.parseInt(values[0]), Integer.parseInt(values[1]), null, 0);
+
+            case PASTE:
+            case INSERT:
+                return new Event(time, type, 0, 0, unescape(tokens[2]), 0);
+
+            case EXEC:
+                String[] durationAndCode = tokens[2].split(" ", 2);
+                return new Event(time, type, 0, 0, unescape(durationAndCode[1]), Long.parseLong(durationAndCode[0]) * 1000);
+        }
+
+        throw new IllegalArgumentException("Unknown event type");
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for(int i = 0;i < text.length();i++) {
+            char c = text.charAt(i);
+            if(c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                builder.append(next == 'n'?'\n':(next == 'r'?'\r':next));
+            }else {
+                builder.append(c);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    public enum EventType {
+        /**
+         * Value: The typed char
+         */
+        KEY_TYPED("T"),
+        /**
+         * Value: The key code of the pressed key
+         */
+        KEY_PRESSED("P"),
+        /**
+         * Text: The pasted text
+         */
+        PASTE("V"),
+        /**
+         * Text: The text which was inserted by a dialog (e.g. a file path)
+         */
+        INSERT("I"),
+        /**
+         * Text: The executed code, Duration: The execution time
+         */
+        EXEC("E");
+
+        private final String code;
+
+        EventType(String code) {
+            this.code = code;
+        }
+
+        private static EventType fromCode(String code) {
+            for(EventType type:values())
+                if(type.code.equals(code))
+                    return type;
+
+            throw new IllegalArgumentException("Unknown event type \"" + code + "\"");
+        }
+    }
+
+    public static final class Event {
+        private final long time;
+        private final EventType type;
+        private final int value;
+        private final int modifiers;
+        private final String text;
+        private final long duration;
+
+        private Event(long time, EventType type, int value, int modifiers, String text, long duration) {
+            this.time = time;
+            this.type = type;
+            this.value = value;
+            this.modifiers = modifiers;
+            this.text = text;
+            this.duration = duration;
+        }
+
+        /**
+         * @return The time since the start of the recording in nanoseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public EventType getType() {
+            return type;
+        }
+
+        /**
+         * @return The typed char or the key code of the pressed key
+         */
+        public int getValue() {
+            return value;
+        }
+
+        /**
+         * @return The extended modifiers of the key event
+         */
+        public int getModifiers() {
+            return modifiers;
+        }
+
+        /**
+         * @return The pasted, inserted, or executed text or null for key events
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return The execution time in nanoseconds of EXEC events
+         */
+        public long getDuration() {
+            return duration;
+        }
+    }
+
+    /**
+     * Writes the events of a session, all methods are thread safe
+     */
+    public static final class Recorder implements Closeable {
+        private final File file;
+        private final Writer writer;
+        private final long startTime = System.nanoTime();
+        private int eventCount;
+
+        public Recorder(File file) throws IOException {
+            this.file = file;
+
+            writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8));
+            writer.write(HEADER + "\n");
+        }
+
+        public void keyTyped(char c, int modifiers) throws IOException {
+            writeEvent(EventType.KEY_TYPED, (int)c + " " + modifiers);
+        }
+
+        public void keyPressed(int keyCode, int modifiers) throws IOException {
+            writeEvent(EventType.KEY_PRESSED, keyCode + " " + modifiers);
+        }
+
+        public void paste(String text) throws IOException {
+            writeEvent(EventType.PASTE, escape(text));
+        }
+
+        public void insert(String text) throws IOException {
+            writeEvent(EventType.INSERT, escape(text));
+        }
+
+        /**
+         * @param duration The execution time in nanoseconds
+         */
+        public void exec(String code, long duration) throws IOException {
+            writeEvent(EventType.EXEC, duration / 1000 + " " + escape(code));
+        }
+
+        private synchronized void writeEvent(EventType type, String value) throws IOException {
+            writer.write((System.nanoTime() - startTime) / 1000 + " " + type.code + " " + value + "\n");
+            eventCount++;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public synchronized int getEventCount() {
+            return eventCount;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+}
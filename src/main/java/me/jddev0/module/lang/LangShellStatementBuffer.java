@@ -0,0 +1,197 @@
+package me.jddev0.module.lang;
+
+import at.jddev0.lang.LangUtils;
+
+/**
+ * Lang-Module<br>
+ * Collects the input lines of the LangShell until a statement is complete (Blocks, control flow statements, multiline texts, and line continuations)
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangShellStatementBuffer {
+    private final StringBuilder multiLineTmp = new StringBuilder();
+    private int indent = 0;
+    private boolean flagMultilineText = false;
+    private boolean flagLineContinuation = false;
+
+    /**
+     * @return The result of the line, the returned object is only valid until the next call of this method
+     */
+    public Result addLine(String line) {
+        if(!flagMultilineText && !flagLineContinuation && indent == 0) {
+            flagMultilineText = containsMultilineText(line);
+            if(!flagMultilineText)
+                flagLineContinuation = line.endsWith("\\");
+            if(line.trim().endsWith("{") || (line.trim().startsWith("con.") && !line.trim().startsWith("con.end") && !line.trim().startsWith("con.break") &&
+                    !line.trim().startsWith("con.continue")) ||
+                    flagMultilineText || flagLineContinuation) {
+                indent++;
+                multiLineTmp.append(line);
+                multiLineTmp.append("\n");
+
+                return new Result(null, false, indent);
+            }
+
+            return new Result(line, false, 0);
+        }
+
+        boolean removeIndentOfLine = false;
+
+        if(!flagMultilineText) {
+            flagMultilineText = containsMultilineText(line);
+            if(flagMultilineText) {
+                if(flagLineContinuation)
+                    flagLineContinuation = false;
+                else
+                    indent++;
+            }
+        }
+
+        if(!flagMultilineText && (line.trim().endsWith("{") || line.trim().startsWith("con.if") || line.trim().startsWith("con.loop") || line.trim().startsWith("con.while") ||
+                line.trim().startsWith("con.until") || line.trim().startsWith("con.repeat") || line.trim().startsWith("con.foreach") || line.trim().startsWith("con.try") ||
+                line.trim().startsWith("con.softtry") || line.trim().startsWith("con.nontry")))
+            indent++;
+
+        multiLineTmp.append(line);
+        multiLineTmp.append("\n");
+
+        if(!flagMultilineText && (line.trim().startsWith("}") || (line.trim().startsWith("con.") && !line.trim().startsWith("con.loop") && !line.trim().startsWith("con.while") &&
+                !line.trim().startsWith("con.until") && !line.trim().startsWith("con.repeat") && !line.trim().startsWith("con.foreach") && !line.trim().startsWith("con.if") &&
+                !line.trim().startsWith("con.try") && !line.trim().startsWith("con.starttry") && !line.trim().startsWith("con.nontry") && !line.trim().startsWith("con.break") &&
+                !line.trim().startsWith("con.continue")))) {
+            indent--;
+
+            if(line.trim().startsWith("con.") && !line.trim().startsWith("con.end"))
+                indent++;
+
+            removeIndentOfLine = true;
+        }
+
+        if(flagMultilineText && hasMultilineTextEnd(line)) {
+            flagMultilineText = false;
+            indent--;
+
+            removeIndentOfLine = true;
+        }
+
+        if(!flagMultilineText) {
+            if(flagLineContinuation) {
+                flagLineContinuation = line.endsWith("\\");
+                if(!flagLineContinuation)
+                    indent--;
+            }else {
+                flagLineContinuation = line.endsWith("\\");
+                if(flagLineContinuation)
+                    indent++;
+            }
+        }
+
+        if(indent < 1) {
+            indent = 0;
+            String code = multiLineTmp.toString();
+            multiLineTmp.delete(0, multiLineTmp.length());
+
+            return new Result(code, removeIndentOfLine, 0);
+        }
+
+        return new Result(null, removeIndentOfLine, indent);
+    }
+
+    /**
+     * @return The already entered lines of the current statement (Every line ends with "\n")
+     */
+    public String getPendingCode() {
+        return multiLineTmp.toString();
+    }
+
+    public boolean hasPendingCode() {
+        return multiLineTmp.length() > 0;
+    }
+
+    /**
+     * Discards all lines of the current statement
+     */
+    public void reset() {
+        flagMultilineText = flagLineContinuation = false;
+        multiLineTmp.delete(0, multiLineTmp.length());
+        indent = 0;
+    }
+
+    private static boolean containsMultilineText(String line) {
+        while(line.contains("{{{")) {
+            //Ignore escaped multiline text start sequences
+            int startIndex = line.indexOf("{{{");
+            if(startIndex > 0 && !LangUtils.isBackslashAtIndexEscaped(line, startIndex - 1)) {
+                line = line.substring(startIndex + 3);
+                continue;
+            }
+
+            int index = line.indexOf("}}}");
+            if(index == -1)
+                return true;
+
+            line = line.substring(index + 3);
+        }
+
+        return false;
+    }
+    private static boolean hasMultilineTextEnd(String line) {
+        while(line.contains("}}}")) {
+            int index = line.indexOf("{{{");
+            if(index == -1)
+                return true;
+
+            line = line.substring(index + 3);
+        }
+
+        return false;
+    }
+
+    public static final class Result {
+        private final String code;
+        private final boolean removeIndentOfLine;
+        private final int indent;
+
+        private Result(String code, boolean removeIndentOfLine, int indent) {
+            this.code = code;
+            this.removeIndentOfLine = removeIndentOfLine;
+            this.indent = indent;
+        }
+
+        /**
+         * @return The code of the completed statement or null if more lines are required
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * @return The completed statement without the trailing line break of multiline statements or null if more lines are required
+         */
+        public String getHistoryEntry() {
+            if(code == null)
+                return null;
+
+            return code.endsWith("\n")?code.substring(0, code.length() - 1):code;
+        }
+
+        public boolean isComplete() {
+            return code != null;
+        }
+
+        /**
+         * @return true if the line closes a block and should therefore be displayed with one indent less than the prompt it was entered at
+         */
+        public boolean isRemoveIndentOfLine() {
+            return removeIndentOfLine;
+        }
+
+        /**
+         * @return The indent level for the prompt of the next line
+         */
+        public int getIndent() {
+            return indent;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package me.jddev0.module.lang;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import at.jddev0.lang.CodePosition;
+import at.jddev0.lang.LangLexer;
+import at.jddev0.lang.Token;
+
+/**
+ * Lang-Module<br>
+ * Syntax highlighting of the LangShell input line, the styles are independent of the UI toolkit
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangShellSyntax {
+    private final LangLexer lexer = new LangLexer();
+
+    /**
+     * Splits the last line of the current statement into styled runs
+     *
+     * @param previousLines The already entered lines of the current multiline statement (Every line ends with "\n")
+     * @param line The line which should be highlighted (Without the prompt)
+     * @return The styled runs of the line or null if the line can not be highlighted
+     */
+    public List<StyledRun> highlightLine(String previousLines, String line) throws IOException {
+        LangFlightRecorder.HighlightEvent event = new LangFlightRecorder.HighlightEvent();
+        event.begin();
+
+        List<StyledRun> runs = highlightLine(previousLines, line, event);
+
+        if(event.shouldCommit()) {
+            event.lineLength = line.length();
+            event.commit();
+        }
+
+        return runs;
+    }
+    private List<StyledRun> highlightLine(String previousLines, String line, LangFlightRecorder.HighlightEvent event) throws IOException {
+        String code = previousLines + line;
+        List<Token> tokens;
+        try(BufferedReader reader = new BufferedReader(new StringReader(code))) {
+            lexer.resetPositionVars();
+
+            tokens = lexer.readTokens(reader);
+        }
+        event.tokenCount = tokens.size();
+
+        //Extract tokens for last line
+        int lineStartIndex = -2;
+        for(int i = tokens.size() - 1;i >= 0;i--) {
+            if(tokens.get(i).getTokenType() == Token.TokenType.EOL) {
+                if(lineStartIndex == -2) {
+                    //Skip EOL after last line
+                    lineStartIndex = -1;
+                }else {
+                    lineStartIndex = i + 1;
+                    break;
+                }
+            }
+        }
+
+        if(lineStartIndex < 0)
+            lineStartIndex = 0;
+
+        if(lineStartIndex >= tokens.size())
+            return null;
+
+        List<Token> tokensBeforeCurrentLine = new ArrayList<>(tokens.subList(0, lineStartIndex));
+        tokens = new ArrayList<>(tokens.subList(lineStartIndex, tokens.size()));
+
+        //Add not yet closed START_COMMENT and START_DOC_COMMENT tokens to current line
+        for(int i = tokensBeforeCurrentLine.size() - 1;i >= 0;i--) {
+            Token t = tokensBeforeCurrentLine.get(i);
+            Token.TokenType tokenType = t.getTokenType();
+            if(tokenType == Token.TokenType.END_COMMENT)
+                break;
+
+            if(tokenType == Token.TokenType.START_COMMENT || tokenType == Token.TokenType.START_DOC_COMMENT) {
+                tokens.add(0, new Token(CodePosition.EMPTY, t.getValue(), t.getTokenType()));
+
+                break;
+            }
+        }
+
+        //TODO:
+        //- dereferencingAndReferencingOperatorFlag: OPERATOR_BRACKET
+
+        boolean lineEndsWithBracket = false;
+        for(int i = tokens.size() - 1;i >= 0;i--) {
+            if(tokens.get(i).getTokenType() == Token.TokenType.WHITESPACE ||
+                    tokens.get(i).getTokenType() == Token.TokenType.EOL ||
+                    tokens.get(i).getTokenType() == Token.TokenType.EOF)
+                continue;
+
+            if(tokens.get(i).getTokenType() == Token.TokenType.OPENING_BLOCK_BRACKET &&
+                    tokens.get(i).getValue().equals("{")) {
+                lineEndsWithBracket = true;
+                break;
+            }
+
+            break;
+        }
+
+        //Split Identifier tokens to add different color for module prefix
+        for(int i = tokens.size() - 1;i >= 0;i--) {
+            Token t = tokens.get(i);
+            if(t.getTokenType() == Token.TokenType.IDENTIFIER && t.getValue().startsWith("[[") &&
+                    t.getValue().contains("]]::")) {
+                int modulePrefixEndIndex = t.getValue().indexOf("]]::") + 4;
+                tokens.set(i, new Token(t.pos, t.getValue().substring(0, modulePrefixEndIndex),
+                        Token.TokenType.IDENTIFIER));
+                tokens.add(i + 1, new Token(t.pos, t.getValue().substring(modulePrefixEndIndex),
+                        Token.TokenType.IDENTIFIER));
+            }
+        }
+
+        List<StyledRun> runs = new ArrayList<>();
+
+        boolean docCommentFlag = false;
+        boolean commentFlag = false;
+        int columnFromIndex = 0;
+        for(Token t:tokens) {
+            int tokenSize = 0;
+            Style style = Style.NORMAL;
+
+            switch(t.getTokenType()) {
+                case START_COMMENT:
+                    commentFlag = true;
+
+                    if(!t.getPos().equals(CodePosition.EMPTY))
+                        tokenSize = t.getValue().length();
+
+                    break;
+
+                case START_DOC_COMMENT:
+                    docCommentFlag = true;
+
+                    if(!t.getPos().equals(CodePosition.EMPTY))
+                        tokenSize = t.getValue().length();
+
+                    break;
+
+                case END_COMMENT:
+                    commentFlag = false;
+                    docCommentFlag = false;
+
+                    tokenSize = t.getValue().length();
+
+                    break;
+
+                case WHITESPACE:
+                    tokenSize = t.getValue().length();
+
+                    break;
+
+                case OPERATOR:
+                case OPENING_BRACKET:
+                case CLOSING_BRACKET:
+                case OPENING_BLOCK_BRACKET:
+                case CLOSING_BLOCK_BRACKET:
+                case ASSIGNMENT:
+                case ARGUMENT_SEPARATOR:
+                    tokenSize = t.getValue().length();
+
+                    style = Style.OPERATOR_BRACKET;
+
+                    break;
+
+                case IDENTIFIER:
+                    tokenSize = t.getValue().length();
+
+                    if(t.getValue().startsWith("[[") && t.getValue().contains("]]::"))
+                        style = Style.MODULE_PREFIX;
+                    else if(t.getValue().contains("$") || t.getValue().contains("&"))
+                        style = Style.VARIABLE_IDENTIFIER;
+                    else
+                        style = Style.FUNCTION;
+
+                    break;
+
+                case LITERAL_NUMBER:
+                    tokenSize = t.getValue().length();
+
+                    style = Style.NUMBER;
+
+                    break;
+
+                case START_MULTILINE_TEXT:
+                case END_MULTILINE_TEXT:
+                case SINGLE_LINE_TEXT_QUOTES:
+                case LITERAL_TEXT:
+                    tokenSize = t.getValue().length();
+
+                    style = Style.TEXT;
+
+                    break;
+
+                case LITERAL_NULL:
+                case ESCAPE_SEQUENCE:
+                case LINE_CONTINUATION:
+                    tokenSize = t.getValue().length();
+
+                    style = Style.KEYWORD;
+
+                    break;
+
+                case PARSER_FUNCTION_IDENTIFIER:
+                    tokenSize = t.getValue().length();
+
+                    style = Style.FUNCTION;
+
+                    break;
+
+                case OTHER:
+                    tokenSize = t.getValue().length();
+
+                    if(t.getValue().equals("return") || t.getValue().equals("throw") ||
+                            t.getValue().equals("class") || t.getValue().equals("struct") ||
+                            t.getValue().equals("function") || t.getValue().equals("overload") ||
+                            t.getValue().equals("combinator") ||
+                            t.getValue().equals("super") || t.getValue().equals("override") ||
+                            t.getValue().equals("final") || t.getValue().equals("static") ||
+                            t.getValue().equals("construct") || t.getValue().equals("private") ||
+                            t.getValue().equals("protected") || t.getValue().equals("public") ||
+                            t.getValue().startsWith("con.") ||
+                            (lineEndsWithBracket && (t.getValue().equals("break") ||
+                                    t.getValue().equals("catch") || t.getValue().equals("continue") ||
+                                    t.getValue().equals("elif") || t.getValue().equals("else") ||
+                                    t.getValue().equals("finally") || t.getValue().equals("foreach") ||
+                                    t.getValue().equals("if") || t.getValue().equals("loop") ||
+                                    t.getValue().equals("nontry") || t.getValue().equals("repeat") ||
+                                    t.getValue().equals("softtry") || t.getValue().equals("try") ||
+                                    t.getValue().equals("until") || t.getValue().equals("while"))))
+                        style = Style.KEYWORD;
+                    else if(t.getValue().startsWith("fp.") || t.getValue().startsWith("mp.") ||
+                            t.getValue().startsWith("fn.") || t.getValue().startsWith("ln.") ||
+                            t.getValue().startsWith("func.") || t.getValue().startsWith("linker.") ||
+                            t.getValue().startsWith("parser."))
+                        style = Style.FUNCTION;
+                    else
+                        style = Style.MIGHT_BE_TEXT;
+
+                    break;
+
+                case EOF:
+                case EOL:
+                case LEXER_ERROR:
+                    break;
+            }
+
+            if(tokenSize == 0)
+                continue;
+
+            //Override style with comment style if inside comment
+            if(docCommentFlag)
+                style = Style.DOC_COMMENT;
+            else if(commentFlag)
+                style = Style.COMMENT;
+
+            if(columnFromIndex >= line.length())
+                break;
+
+            runs.add(new StyledRun(line.substring(columnFromIndex, Math.min(columnFromIndex + tokenSize, line.length())), style));
+            columnFromIndex += tokenSize;
+
+            if(columnFromIndex >= line.length())
+                break;
+        }
+
+        if(columnFromIndex < line.length() - 1)
+            runs.add(new StyledRun(line.substring(columnFromIndex), Style.NORMAL));
+
+        return runs;
+    }
+
+    public enum Style {
+        VARIABLE_IDENTIFIER(152, 118, 170),
+        MODULE_PREFIX(178, 82, 0),
+        OPERATOR_BRACKET(192, 192, 192),
+        COMMENT(98, 151, 85),
+        DOC_COMMENT(0, 127, 0),
+        NUMBER(104, 151, 187),
+        KEYWORD(204, 120, 50),
+        FUNCTION(255, 198, 109),
+        TEXT(110, 184, 63),
+        MIGHT_BE_TEXT(136, 162, 122),
+        NORMAL(255, 255, 255);
+
+        private final int red;
+        private final int green;
+        private final int blue;
+
+        Style(int red, int green, int blue) {
+            this.red = red;
+            this.green = green;
+            this.blue = blue;
+        }
+
+        public int getRed() {
+            return red;
+        }
+
+        public int getGreen() {
+            return green;
+        }
+
+        public int getBlue() {
+            return blue;
+        }
+    }
+
+    public static final class StyledRun {
+        private final String text;
+        private final Style style;
+
+        public StyledRun(String text, Style style) {
+            this.text = text;
+            this.style = style;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public Style getStyle() {
+            return style;
+        }
+    }
+}
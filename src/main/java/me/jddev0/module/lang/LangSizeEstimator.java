@@ -0,0 +1,209 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+
+import at.jddev0.lang.DataObject;
+
+/**
+ * Lang-Module<br>
+ * Estimates the heap size of Lang values<br>
+ * <br>
+ * The sizes are estimated for a 64-bit JVM with compressed references and are not exact:
+ * The retained size is the size of all values reachable from a value (Each value is only counted once),
+ * values which are shared with other variables are therefore counted for every variable.
+ * Function bodies and classes are not included.
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangSizeEstimator {
+    private static final DataObject.StructObject STRUCT_SIZE_ESTIMATE = new DataObject.StructObject(new String[] {
+            "$shallowSize", "$retainedSize", "$valueCount"
+    });
+
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+
+    private static final int DATA_OBJECT_SIZE = 80;
+    private static final int STRING_SIZE = 24;
+    private static final int LINKED_LIST_SIZE = 32;
+    private static final int LINKED_LIST_NODE_SIZE = 24;
+    private static final int VAR_POINTER_SIZE = 16;
+    private static final int STRUCT_SIZE = 32;
+    private static final int OBJECT_SIZE = 64;
+    private static final int FUNCTION_POINTER_SIZE = 48;
+    private static final int INTERNAL_FUNCTION_SIZE = 32;
+    private static final int ERROR_SIZE = 24;
+
+    private LangSizeEstimator() {}
+
+    public static Estimate estimate(DataObject dataObject) {
+        return estimate(dataObject, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * @param visited Values in this set are not counted, all counted values will be added
+     */
+    public static Estimate estimate(DataObject dataObject, Set<Object> visited) {
+        if(dataObject == null)
+            return new Estimate(0, 0, 0);
+
+        long shallowSize = getShallowSize(dataObject);
+        long retainedSize = 0;
+        long valueCount = 0;
+
+        //Iterative traversal: Deeply nested values must not cause a StackOverflowError
+        ArrayDeque<DataObject> stack = new ArrayDeque<>();
+        if(visited.add(dataObject))
+            stack.push(dataObject);
+
+        while(!stack.isEmpty()) {
+            DataObject value = stack.pop();
+            retainedSize += getShallowSize(value);
+            valueCount++;
+
+            switch(value.getType()) {
+                case VAR_POINTER:
+                    pushIfNotVisited(stack, visited, value.getVarPointer().getVar());
+                    break;
+
+                case ARRAY:
+                    DataObject[] arr = value.getArray();
+                    if(visited.add(arr)) {
+                        retainedSize += align(ARRAY_HEADER_SIZE + (long)REFERENCE_SIZE * arr.length);
+                        for(DataObject ele:arr)
+                            pushIfNotVisited(stack, visited, ele);
+                    }
+                    break;
+
+                case LIST:
+                    List<DataObject> list = value.getList();
+                    if(visited.add(list)) {
+                        retainedSize += LINKED_LIST_SIZE + (long)LINKED_LIST_NODE_SIZE * list.size();
+                        for(DataObject ele:list)
+                            pushIfNotVisited(stack, visited, ele);
+                    }
+                    break;
+
+                case STRUCT:
+                    DataObject.StructObject struct = value.getStruct();
+                    if(visited.add(struct)) {
+                        String[] memberNames = struct.getMemberNames();
+                        retainedSize += STRUCT_SIZE + align(ARRAY_HEADER_SIZE + (long)REFERENCE_SIZE * memberNames.length);
+                        if(!struct.isDefinition())
+                            for(String memberName:memberNames)
+                                pushIfNotVisited(stack, visited, struct.getMember(memberName));
+                    }
+                    break;
+
+                case OBJECT:
+                    DataObject.LangObject object = value.getObject();
+                    if(visited.add(object)) {
+                        String[] memberNames = object.getMemberNames();
+                        retainedSize += OBJECT_SIZE + align(ARRAY_HEADER_SIZE + (long)REFERENCE_SIZE * memberNames.length);
+                        if(!object.isClass())
+                            for(String memberName:memberNames)
+                                pushIfNotVisited(stack, visited, object.getMember(memberName));
+                    }
+                    break;
+
+                case FUNCTION_POINTER:
+                    DataObject.FunctionPointerObject function = value.getFunctionPointer();
+                    if(visited.add(function)) {
+                        retainedSize += FUNCTION_POINTER_SIZE + (long)INTERNAL_FUNCTION_SIZE * function.getOverloadedFunctionCount();
+                        for(DataObject.FunctionPointerObject.InternalFunction internalFunction:function.getFunctions()) {
+                            if(!internalFunction.getFunction().isCombinatorFunction())
+                                continue;
+
+                            List<DataObject> combinatorArguments = internalFunction.getFunction().getCombinatorProvidedArgumentList();
+                            if(combinatorArguments != null && visited.add(combinatorArguments)) {
+                                retainedSize += align(ARRAY_HEADER_SIZE + (long)REFERENCE_SIZE * combinatorArguments.size());
+                                for(DataObject argument:combinatorArguments)
+                                    pushIfNotVisited(stack, visited, argument);
+                            }
+                        }
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        return new Estimate(shallowSize, retainedSize, valueCount);
+    }
+
+    private static void pushIfNotVisited(ArrayDeque<DataObject> stack, Set<Object> visited, DataObject value) {
+        if(value != null && visited.add(value))
+            stack.push(value);
+    }
+
+    /**
+     * @return The size of the DataObject and of the data which can not be shared with other DataObjects
+     */
+    private static long getShallowSize(DataObject dataObject) {
+        switch(dataObject.getType()) {
+            case TEXT:
+                //Compact strings: Most Lang texts are Latin-1 texts
+                return DATA_OBJECT_SIZE + STRING_SIZE + align(ARRAY_HEADER_SIZE + (long)dataObject.getText().length());
+
+            case BYTE_BUFFER:
+                return DATA_OBJECT_SIZE + align(ARRAY_HEADER_SIZE + (long)dataObject.getByteBuffer().length);
+
+            case VAR_POINTER:
+                return DATA_OBJECT_SIZE + VAR_POINTER_SIZE;
+
+            case ERROR:
+                String message = dataObject.getError().getMessage();
+                return DATA_OBJECT_SIZE + ERROR_SIZE + (message == null?0:STRING_SIZE + align(ARRAY_HEADER_SIZE + (long)message.length()));
+
+            default:
+                return DATA_OBJECT_SIZE;
+        }
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    public static final class Estimate {
+        private final long shallowSize;
+        private final long retainedSize;
+        private final long valueCount;
+
+        private Estimate(long shallowSize, long retainedSize, long valueCount) {
+            this.shallowSize = shallowSize;
+            this.retainedSize = retainedSize;
+            this.valueCount = valueCount;
+        }
+
+        public long getShallowSize() {
+            return shallowSize;
+        }
+
+        public long getRetainedSize() {
+            return retainedSize;
+        }
+
+        /**
+         * @return The number of counted DataObjects
+         */
+        public long getValueCount() {
+            return valueCount;
+        }
+
+        public DataObject.StructObject toStruct() {
+            return new DataObject.StructObject(STRUCT_SIZE_ESTIMATE, new DataObject[] {
+                    new DataObject().setLong(shallowSize),
+                    new DataObject().setLong(retainedSize),
+                    new DataObject().setLong(valueCount)
+            });
+        }
+
+        @Override
+        public String toString() {
+            return "Shallow: " + LangExecutionStats.formatBytes(shallowSize) + ", Retained: " + LangExecutionStats.formatBytes(retainedSize) +
+                    " (" + valueCount + " values)";
+        }
+    }
+}
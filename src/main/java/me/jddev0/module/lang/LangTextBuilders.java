@@ -0,0 +1,253 @@
+package me.jddev0.module.lang;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import at.jddev0.lang.*;
+import at.jddev0.lang.LangInterpreter.InterpretingError;
+import at.jddev0.lang.LangFunction.AllowedTypes;
+import at.jddev0.lang.LangFunction.LangParameter;
+import at.jddev0.lang.LangFunction.LangParameter.NumberValue;
+import at.jddev0.lang.LangFunction.LangParameter.VarArgs;
+
+/**
+ * Lang-Module<br>
+ * Mutable text builders for assembling large texts in linear time: Repeated text concatenation creates a new text for every step<br>
+ * Builders are referenced by handles (Like the file handles of the IO module) and are freed with func.textBuilderFree()<br>
+ * Must be added to an interpreter with {@link LangInterpreter.LangInterpreterInterface#addPredefinedFunctions(Object)}
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangTextBuilders {
+    private final LangInterpreter.LangInterpreterInterface lii;
+
+    private final Map<Integer, TextRope> builders = new HashMap<>();
+    private int nextHandle = 1;
+
+    public LangTextBuilders(LangInterpreter.LangInterpreterInterface lii) {
+        this.lii = lii;
+    }
+
+    @LangFunction("textBuilderCreate")
+    @AllowedTypes(DataObject.DataType.INT)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderCreateFunction() {
+        int handle = nextHandle++;
+        builders.put(handle, new TextRope());
+
+        return new DataObject().setInt(handle);
+    }
+    @LangFunction("textBuilderAppend")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderAppendFunction(
+            @LangParameter("$builder") @NumberValue Number builderHandle,
+            @LangParameter("&values") @VarArgs List<DataObject> valueList
+    ) {
+        TextRope builder = builders.get(builderHandle.intValue());
+        if(builder == null)
+            return invalidHandleError();
+
+        for(DataObject value:valueList)
+            builder.append(lii.getInterpreter().conversions.toText(value, CodePosition.EMPTY));
+
+        return null;
+    }
+    @LangFunction("textBuilderInsert")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderInsertFunction(
+            @LangParameter("$builder") @NumberValue Number builderHandle,
+            @LangParameter("$index") @NumberValue Number indexNumber,
+            @LangParameter("$value") DataObject valueObject
+    ) {
+        TextRope builder = builders.get(builderHandle.intValue());
+        if(builder == null)
+            return invalidHandleError();
+
+        long index = indexNumber.longValue();
+        if(index < 0 || index > builder.length())
+            return lii.setErrnoErrorObject(InterpretingError.INDEX_OUT_OF_BOUNDS, "Argument 2 (\"$index\") must be in [0, " + builder.length() + "]");
+
+        builder.insert(index, lii.getInterpreter().conversions.toText(valueObject, CodePosition.EMPTY));
+
+        return null;
+    }
+    @LangFunction("textBuilderLength")
+    @AllowedTypes(DataObject.DataType.LONG)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderLengthFunction(
+            @LangParameter("$builder") @NumberValue Number builderHandle
+    ) {
+        TextRope builder = builders.get(builderHandle.intValue());
+        if(builder == null)
+            return invalidHandleError();
+
+        return new DataObject().setLong(builder.length());
+    }
+    @LangFunction("textBuilderSubstring")
+    @AllowedTypes(DataObject.DataType.TEXT)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderSubstringFunction(
+            @LangParameter("$builder") @NumberValue Number builderHandle,
+            @LangParameter("$fromIndex") @NumberValue Number fromIndexNumber,
+            @LangParameter("$toIndex") @NumberValue Number toIndexNumber
+    ) {
+        TextRope builder = builders.get(builderHandle.intValue());
+        if(builder == null)
+            return invalidHandleError();
+
+        long fromIndex = fromIndexNumber.longValue();
+        long toIndex = toIndexNumber.longValue();
+        if(fromIndex < 0 || toIndex > builder.length())
+            return lii.setErrnoErrorObject(InterpretingError.INDEX_OUT_OF_BOUNDS, "The substring indices must be in [0, " + builder.length() + "]");
+
+        if(toIndex < fromIndex)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 3 (\"$toIndex\") must be >= fromIndex");
+
+        if(toIndex - fromIndex > Integer.MAX_VALUE - 8)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "The substring is too long for a text, use func.textBuilderWriteToFile() instead");
+
+        return new DataObject().setText(builder.substring(fromIndex, toIndex));
+    }
+    @LangFunction("textBuilderToText")
+    @AllowedTypes(DataObject.DataType.TEXT)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderToTextFunction(
+            @LangParameter("$builder") @NumberValue Number builderHandle
+    ) {
+        TextRope builder = builders.get(builderHandle.intValue());
+        if(builder == null)
+            return invalidHandleError();
+
+        if(builder.length() > Integer.MAX_VALUE - 8)
+            return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "The text builder is too long for a text, use func.textBuilderWriteToFile() instead");
+
+        return new DataObject().setText(builder.substring(0, builder.length()));
+    }
+    @LangFunction("textBuilderWriteToFile")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderWriteToFileFunction(
+            @LangParameter("$builder") @NumberValue Number builderHandle,
+            @LangParameter("$path") @AllowedTypes(DataObject.DataType.TEXT) DataObject pathObject
+    ) {
+        TextRope builder = builders.get(builderHandle.intValue());
+        if(builder == null)
+            return invalidHandleError();
+
+        File file = new File(pathObject.getText().toString());
+        try(Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            builder.writeTo(writer);
+        }catch(IOException e) {
+            return lii.setErrnoErrorObject(InterpretingError.SYSTEM_ERROR, "Text builder could not be written: " + e.getMessage());
+        }
+
+        return null;
+    }
+    @LangFunction("textBuilderFree")
+    @AllowedTypes(DataObject.DataType.VOID)
+    @SuppressWarnings("unused")
+    public DataObject textBuilderFreeFunction(
+            @LangParameter("$builder") @NumberValue Number builderHandle
+    ) {
+        if(builders.remove(builderHandle.intValue()) == null)
+            return invalidHandleError();
+
+        return null;
+    }
+
+    private DataObject invalidHandleError() {
+        return lii.setErrnoErrorObject(InterpretingError.INVALID_ARGUMENTS, "Argument 1 (\"$builder\") must be a text builder handle");
+    }
+
+    /**
+     * Text stored as a list of chunks of at most {@link #MAX_CHUNK_LENGTH} chars: Appending is amortized O(length of the appended text),
+     * inserting only moves the chars of a single chunk, and writing never creates a copy of the whole text
+     */
+    private static final class TextRope {
+        private static final int MAX_CHUNK_LENGTH = 16384;
+
+        private final List<StringBuilder> chunks = new ArrayList<>();
+        private long length;
+
+        public long length() {
+            return length;
+        }
+
+        public void append(CharSequence text) {
+            int offset = 0;
+            while(offset < text.length()) {
+                StringBuilder lastChunk = chunks.isEmpty()?null:chunks.get(chunks.size() - 1);
+                if(lastChunk == null || lastChunk.length() >= MAX_CHUNK_LENGTH) {
+                    lastChunk = new StringBuilder();
+                    chunks.add(lastChunk);
+                }
+
+                int count = Math.min(text.length() - offset, MAX_CHUNK_LENGTH - lastChunk.length());
+                lastChunk.append(text, offset, offset + count);
+                offset += count;
+            }
+
+            length += text.length();
+        }
+
+        public void insert(long index, CharSequence text) {
+            if(index == length) {
+                append(text);
+
+                return;
+            }
+
+            int chunkIndex = 0;
+            long chunkStart = 0;
+            while(chunkStart + chunks.get(chunkIndex).length() <= index)
+                chunkStart += chunks.get(chunkIndex++).length();
+
+            StringBuilder chunk = chunks.get(chunkIndex);
+            chunk.insert((int)(index - chunkStart), text);
+            length += text.length();
+
+            if(chunk.length() > MAX_CHUNK_LENGTH) {
+                //Split the oversized chunk into chunks of at most MAX_CHUNK_LENGTH chars
+                List<StringBuilder> splitChunks = new ArrayList<>();
+                for(int offset = 0;offset < chunk.length();offset += MAX_CHUNK_LENGTH)
+                    splitChunks.add(new StringBuilder(chunk.subSequence(offset, Math.min(offset + MAX_CHUNK_LENGTH, chunk.length()))));
+
+                chunks.remove(chunkIndex);
+                chunks.addAll(chunkIndex, splitChunks);
+            }
+        }
+
+        public String substring(long fromIndex, long toIndex) {
+            StringBuilder builder = new StringBuilder((int)(toIndex - fromIndex));
+
+            long chunkStart = 0;
+            for(StringBuilder chunk:chunks) {
+                long chunkEnd = chunkStart + chunk.length();
+                if(chunkEnd > fromIndex && chunkStart < toIndex)
+                    builder.append(chunk, (int)(Math.max(fromIndex, chunkStart) - chunkStart), (int)(Math.min(toIndex, chunkEnd) - chunkStart));
+
+                if(chunkEnd >= toIndex)
+                    break;
+
+                chunkStart = chunkEnd;
+            }
+
+            return builder.toString();
+        }
+
+        public void writeTo(Writer writer) throws IOException {
+            char[] buffer = new char[MAX_CHUNK_LENGTH];
+            for(StringBuilder chunk:chunks) {
+                chunk.getChars(0, chunk.length(), buffer, 0);
+                writer.write(buffer, 0, chunk.length());
+            }
+        }
+    }
+}
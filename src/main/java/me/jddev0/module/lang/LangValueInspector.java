@@ -0,0 +1,246 @@
+package me.jddev0.module.lang;
+
+import java.util.*;
+
+import at.jddev0.lang.CodePosition;
+import at.jddev0.lang.DataObject;
+import at.jddev0.lang.LangInterpreter;
+
+/**
+ * Lang-Module<br>
+ * Paged access to the children of Lang values (Variables, elements, and members) with a short description of every child<br>
+ * The values are read without synchronization: Must only be used while the interpreter is not executing code,
+ * concurrent modifications will cause RuntimeExceptions which should be handled by retrying later
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public final class LangValueInspector {
+    /**
+     * The max count of children of a range, ranges with more children are split into sub ranges
+     */
+    public static final int PAGE_SIZE = 1000;
+
+    private static final int MAX_PREVIEW_LENGTH = 200;
+
+    private LangValueInspector() {}
+
+    /**
+     * @return The count of children of the value or -1 if the value can not have children
+     */
+    public static int getChildCount(DataObject value) {
+        if(value == null)
+            return -1;
+
+        switch(value.getType()) {
+            case ARRAY:
+                return value.getArray().length;
+            case LIST:
+                return value.getList().size();
+            case STRUCT:
+                return value.getStruct().isDefinition()?-1:value.getStruct().getMemberNames().length;
+            case OBJECT:
+                DataObject.LangObject object = value.getObject();
+                return object.isClass()?object.getStaticMembers().length:object.getMemberNames().length;
+            case VAR_POINTER:
+                return 1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @return The children with the indices in [from, to) of the value
+     */
+    public static List<Child> getChildren(LangInterpreter interpreter, DataObject value, int from, int to) {
+        List<Child> children = new ArrayList<>(Math.max(0, to - from));
+        switch(value.getType()) {
+            case ARRAY:
+                DataObject[] arr = value.getArray();
+                for(int i = from;i < Math.min(to, arr.length);i++)
+                    children.add(inspect(interpreter, "[" + i + "]", arr[i]));
+                break;
+
+            case LIST:
+                //Linked lists: Elements are not accessed by index
+                ListIterator<DataObject> iterator = value.getList().listIterator(from);
+                for(int i = from;i < to && iterator.hasNext();i++)
+                    children.add(inspect(interpreter, "[" + i + "]", iterator.next()));
+                break;
+
+            case STRUCT:
+                DataObject.StructObject struct = value.getStruct();
+                String[] memberNames = struct.getMemberNames();
+                for(int i = from;i < Math.min(to, memberNames.length);i++)
+                    children.add(inspect(interpreter, memberNames[i], struct.getMember(memberNames[i])));
+                break;
+
+            case OBJECT:
+                DataObject.LangObject object = value.getObject();
+                if(object.isClass()) {
+                    DataObject[] staticMembers = object.getStaticMembers();
+                    for(int i = from;i < Math.min(to, staticMembers.length);i++)
+                        children.add(inspect(interpreter, staticMembers[i].getVariableName(), staticMembers[i]));
+                }else {
+                    memberNames = object.getMemberNames();
+                    for(int i = from;i < Math.min(to, memberNames.length);i++)
+                        children.add(inspect(interpreter, memberNames[i], object.getMember(memberNames[i])));
+                }
+                break;
+
+            case VAR_POINTER:
+                if(from == 0 && to > 0)
+                    children.add(inspect(interpreter, "*", value.getVarPointer().getVar()));
+                break;
+
+            default:
+                break;
+        }
+
+        return children;
+    }
+
+    /**
+     * @return The names of all variables sorted by name
+     */
+    public static List<String> getVariableNames(Map<String, DataObject> varMap) {
+        List<String> variableNames = new ArrayList<>(varMap.keySet());
+        Collections.sort(variableNames);
+
+        return variableNames;
+    }
+
+    /**
+     * @param variableNames The sorted names of the variables of the var map
+     *
+     * @return The variables with the indices in [from, to) of the sorted variable names
+     */
+    public static List<Child> getVariables(LangInterpreter interpreter, Map<String, DataObject> varMap, List<String> variableNames, int from, int to) {
+        List<Child> children = new ArrayList<>(Math.max(0, to - from));
+        for(int i = from;i < Math.min(to, variableNames.size());i++) {
+            DataObject value = varMap.get(variableNames.get(i));
+            if(value != null)
+                children.add(inspect(interpreter, variableNames.get(i), value));
+        }
+
+        return children;
+    }
+
+    public static Child inspect(LangInterpreter interpreter, String name, DataObject value) {
+        if(value == null)
+            return new Child(name, null, "-", "<NULL>", -1, null);
+
+        int childCount = getChildCount(value);
+        return new Child(name, value, getTypeText(value, childCount), getPreview(interpreter, value), childCount, LangSizeEstimator.estimate(value));
+    }
+
+    private static String getTypeText(DataObject value, int childCount) {
+        switch(value.getType()) {
+            case ARRAY:
+            case LIST:
+                return value.getType() + String.format("[%,d]", childCount);
+            case TEXT:
+                return value.getType() + String.format("(%,d)", value.getText().length());
+            case BYTE_BUFFER:
+                return value.getType() + String.format("(%,d)", value.getByteBuffer().length);
+            case STRUCT:
+                return value.getStruct().isDefinition()?"STRUCT definition":"STRUCT";
+            case OBJECT:
+                return value.getObject().isClass()?"OBJECT class":"OBJECT";
+            default:
+                return value.getType().toString();
+        }
+    }
+
+    /**
+     * Composite values have no preview, because their children are shown
+     */
+    private static String getPreview(LangInterpreter interpreter, DataObject value) {
+        switch(value.getType()) {
+            case ARRAY:
+            case LIST:
+            case OBJECT:
+            case BYTE_BUFFER:
+                return "";
+
+            case STRUCT:
+                DataObject.StructObject struct = value.getStruct();
+                return struct.isDefinition()?truncate(String.join(", ", struct.getMemberNames())):"";
+
+            case TEXT:
+                CharSequence text = value.getText();
+                return "\"" + truncate(text.subSequence(0, Math.min(text.length(), MAX_PREVIEW_LENGTH + 1)).toString()) + "\"";
+
+            case VAR_POINTER:
+                DataObject var = value.getVarPointer().getVar();
+                return "-> " + (var == null || var.getVariableName() == null?"<ANONYMOUS>":var.getVariableName());
+
+            default:
+                //Scalar values are converted without calling Lang code
+                try {
+                    return truncate(String.valueOf(interpreter.conversions.toText(value, CodePosition.EMPTY)));
+                }catch(RuntimeException e) {
+                    return "<" + e.getClass().getSimpleName() + ">";
+                }
+        }
+    }
+
+    private static String truncate(String text) {
+        text = text.replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
+        return text.length() > MAX_PREVIEW_LENGTH?text.substring(0, MAX_PREVIEW_LENGTH) + "...":text;
+    }
+
+    public static final class Child {
+        private final String name;
+        private final DataObject value;
+        private final String typeText;
+        private final String preview;
+        private final int childCount;
+        private final LangSizeEstimator.Estimate size;
+
+        private Child(String name, DataObject value, String typeText, String preview, int childCount, LangSizeEstimator.Estimate size) {
+            this.name = name;
+            this.value = value;
+            this.typeText = typeText;
+            this.preview = preview;
+            this.childCount = childCount;
+            this.size = size;
+        }
+
+        /**
+         * @return The variable name, the index ("[i]"), or the member name
+         */
+        public String getName() {
+            return name;
+        }
+
+        public DataObject getValue() {
+            return value;
+        }
+
+        /**
+         * @return The data type with the length of texts and byte buffers and the count of elements of arrays and lists
+         */
+        public String getTypeText() {
+            return typeText;
+        }
+
+        public String getPreview() {
+            return preview;
+        }
+
+        /**
+         * @return The count of children or -1 if the value can not have children
+         */
+        public int getChildCount() {
+            return childCount;
+        }
+
+        /**
+         * @return The estimated size or null if the value is null
+         */
+        public LangSizeEstimator.Estimate getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,603 @@
+package me.jddev0.module.terminal;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import at.jddev0.io.TerminalIO;
+import at.jddev0.io.TerminalIO.Level;
+import at.jddev0.lang.*;
+import me.jddev0.module.lang.LangExecutionStats;
+import me.jddev0.module.lang.LangFlightRecorder;
+import me.jddev0.module.lang.LangHeadlessPlatformAPI;
+import me.jddev0.module.lang.LangNativeFunctions;
+import me.jddev0.module.lang.LangParallelMapReduce;
+import me.jddev0.module.lang.LangShellAutoCompleter;
+import me.jddev0.module.lang.LangShellFunctions;
+import me.jddev0.module.lang.LangShellHistory;
+import me.jddev0.module.lang.LangShellOutputDecoder;
+import me.jddev0.module.lang.LangShellStatementBuffer;
+import me.jddev0.module.lang.LangShellSyntax;
+
+/**
+ * Uses the io module<br>
+ * <br>
+ * Terminal-Module<br>
+ * Lang Shell in the OS shell: The terminal is switched to raw mode (With stty) for a line editor with syntax highlighting, history, and auto complete.
+ * If there is no terminal (Or stty is not available) the lines of the standard input are executed without any line editing.<br>
+ * No windows are created: AWT is never initialized
+ *
+ * @author JDDev0
+ * @version v1.0.0
+ */
+public class LangTerminalShell {
+    private static final int CTRL_C = 3;
+    private static final int CTRL_D = 4;
+    private static final int CTRL_L = 12;
+    private static final int ESC = 27;
+    private static final int DEL = 127;
+    private static final int END_OF_INPUT = -1;
+
+    private static final long ESCAPE_SEQUENCE_TIMEOUT = 50; //In milliseconds
+
+    private static final String ANSI_RESET = "\033[0m";
+    private static final String ANSI_CLEAR_TO_END_OF_LINE = "\033[K";
+    private static final String ANSI_CLEAR_TO_END_OF_SCREEN = "\033[J";
+    private static final String ANSI_CLEAR_SCREEN = "\033[H\033[2J";
+
+    //Colors for the levels (The same colors as in the LangShell window)
+    private static final int[][] LEVEL_COLORS = {{255, 255, 255}, {63, 63, 255}, {255, 0, 255}, {0, 255, 0}, {255, 255, 0}, {255, 127, 0}, {255, 0, 0}, {127, 0, 0}};
+    private static final int[] WELCOME_COLOR = {255, 0, 0};
+    private static final int[] AUTO_PRINT_COLOR = {255, 175, 175};
+    private static final int[] AUTO_COMPLETE_COLOR = {124, 124, 124};
+    private static final int[] DEPRECATED_AUTO_COMPLETE_COLOR = {124, 0, 0};
+
+    private final PrintStream out;
+    private final TerminalIO term;
+
+    private final LangInterpreter.LangInterpreterInterface lii;
+    private final LangShellFunctions shellFunctions;
+    private final LangParallelMapReduce parallelMapReduce;
+    private final LangShellSyntax syntax = new LangShellSyntax();
+    private final LangShellStatementBuffer statementBuffer = new LangShellStatementBuffer();
+    private final LangShellHistory history = new LangShellHistory();
+    private final LangShellAutoCompleter autoCompleter;
+
+    //Input is buffered while code is executed
+    private final BlockingQueue<Integer> inputQueue = new LinkedBlockingQueue<>();
+    private final StringBuilder lineTmp = new StringBuilder();
+    private int indent = 0;
+    private String autoCompleteText = "";
+    private boolean autoCompleteDeprecated = false;
+    private int autoCompletePos = 0;
+
+    private volatile boolean flagRunning = false;
+    private volatile boolean flagReadingInputLine = false;
+    private boolean flagEnd = false;
+    private boolean flagRawMode = false;
+    private String oldTerminalSettings;
+    //Only used in line mode
+    private BufferedReader lineModeReader;
+
+    public LangTerminalShell(String[] langArgs) {
+        out = System.out;
+
+        //The standard input is read by the shell: Input dialogs read the next line of the shell input
+        ILangPlatformAPI langPlatformAPI = new LangHeadlessPlatformAPI(this::readInputLine);
+
+        //Sets System.out: The log output of the TerminalIO is printed with the colors of the levels
+        System.setOut(new PrintStream(new LangShellOutputDecoder() {
+            @Override
+            protected void addText(String text, int levelIndex) {
+                print(text, LEVEL_COLORS[levelIndex]);
+            }
+
+            @Override
+            protected void afterFlush() {
+                out.flush();
+            }
+        }, true));
+
+        term = new TerminalIO(null);
+
+        lii = Lang.createInterpreterInterface(term, langPlatformAPI, langArgs);
+        //Change the "errorOutput" flag to ALL
+        lii.setErrorOutputFlag(LangInterpreter.ExecutionFlags.ErrorOutputFlag.ALL);
+
+        shellFunctions = new LangShellFunctions(lii, term, null);
+        lii.addPredefinedFunctions(shellFunctions);
+        parallelMapReduce = LangNativeFunctions.addNativeFunctions(lii, langPlatformAPI);
+        autoCompleter = new LangShellAutoCompleter(lii);
+    }
+
+    /**
+     * Runs the shell until the end of the input is reached or the user exits the shell
+     */
+    public void run() {
+        Thread restoreTerminalHook = new Thread(this::disableRawMode);
+        try {
+            flagRawMode = enableRawMode();
+            if(flagRawMode) {
+                Runtime.getRuntime().addShutdownHook(restoreTerminalHook);
+
+                runRawMode();
+            }else {
+                runLineMode();
+            }
+        }catch(IOException e) {
+            term.logStackTrace(e, LangTerminalShell.class);
+        }finally {
+            if(flagRawMode) {
+                disableRawMode();
+                Runtime.getRuntime().removeShutdownHook(restoreTerminalHook);
+            }
+
+            //Reset the printStream output
+            System.setOut(out);
+        }
+    }
+
+    private void runRawMode() {
+        Thread inputThread = new Thread(() -> {
+            try {
+                Reader reader = new InputStreamReader(System.in, StandardCharsets.UTF_8);
+                int c;
+                while((c = reader.read()) != -1) {
+                    if(c == CTRL_C && flagRunning) {
+                        lii.stop();
+                        parallelMapReduce.stop();
+                        print("^C\n", null);
+
+                        //Cancels the input line which is read by the executed code
+                        if(flagReadingInputLine)
+                            inputQueue.add(CTRL_C);
+
+                        continue;
+                    }
+
+                    inputQueue.add(c);
+                }
+            }catch(IOException e) {
+                term.logStackTrace(e, LangTerminalShell.class);
+            }
+
+            inputQueue.add(END_OF_INPUT);
+        }, "LangShell-Input");
+        inputThread.setDaemon(true);
+        inputThread.start();
+
+        printWelcomeText();
+        shellFunctions.updateDocumentationIndexIfOutdated();
+        renderInputLine(statementBuffer.getPendingCode());
+
+        try {
+            while(!flagEnd) {
+                int c = inputQueue.take();
+                if(c == END_OF_INPUT || c == CTRL_C || (c == CTRL_D && lineTmp.length() == 0 && !statementBuffer.hasPendingCode())) {
+                    print(c == CTRL_C?"^C\n":"\n", null);
+                    end();
+
+                    break;
+                }
+
+                handleInput(c);
+            }
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLineMode() throws IOException {
+        lineModeReader = new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while((line = lineModeReader.readLine()) != null) {
+            LangShellStatementBuffer.Result result = statementBuffer.addLine(line);
+            if(result.isComplete()) {
+                history.add(result.getHistoryEntry());
+                executeCode(result.getCode());
+            }
+        }
+
+        end();
+    }
+
+    /**
+     * Reads a line for Lang code which is executed by the shell (e.g. for input dialogs), must be called on the thread which executes the code
+     *
+     * @return The line or null if the end of the input was reached
+     */
+    private String readInputLine(String prompt) throws IOException {
+        System.out.flush();
+        out.print(prompt);
+        out.flush();
+
+        if(!flagRawMode)
+            return lineModeReader == null?null:lineModeReader.readLine();
+
+        //The input thread queues the chars while code is executed: The line is read from the queue without echo of the terminal
+        StringBuilder line = new StringBuilder();
+        flagReadingInputLine = true;
+        try {
+            while(true) {
+                int c = inputQueue.take();
+                if(c == CTRL_C)
+                    return null;
+
+                if(c == END_OF_INPUT) {
+                    //The shell will be ended after the execution
+                    inputQueue.add(END_OF_INPUT);
+                    out.print("\n");
+                    out.flush();
+
+                    return line.length() == 0?null:line.toString();
+                }
+
+                if(c == '\r' || c == '\n') {
+                    out.print("\n");
+                    out.flush();
+
+                    return line.toString();
+                }
+
+                if(c == '\b' || c == DEL) {
+                    if(line.length() > 0) {
+                        line.deleteCharAt(line.length() - 1);
+                        out.print("\b \b");
+                    }
+                }else if(c >= ' ') {
+                    line.append((char)c);
+                    out.print((char)c);
+                }
+                out.flush();
+            }
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while reading the input");
+        }finally {
+            flagReadingInputLine = false;
+        }
+    }
+
+    private void handleInput(int c) throws InterruptedException {
+        if(c == ESC) {
+            handleEscapeSequence();
+        }else if(c == '\b' || c == DEL) {
+            //Remove the last char (if line is not empty)
+            if(lineTmp.length() > 0) {
+                lineTmp.deleteCharAt(lineTmp.length() - 1);
+                updateAutoCompleteText(0);
+                renderInputLine(statementBuffer.getPendingCode());
+            }
+        }else if(c == '\r' || c == '\n') {
+            if(autoCompleteText.isEmpty()) {
+                addLine();
+            }else {
+                lineTmp.append(autoCompleteText);
+                updateAutoCompleteText(0);
+                renderInputLine(statementBuffer.getPendingCode());
+            }
+        }else if(c == '\t') { //Cycle through auto completes
+            updateAutoCompleteText(autoCompletePos + 1);
+            renderInputLine(statementBuffer.getPendingCode());
+        }else if(c == CTRL_L) {
+            out.print(ANSI_CLEAR_SCREEN);
+            renderInputLine(statementBuffer.getPendingCode());
+        }else if(c >= ' ') {
+            lineTmp.append((char)c);
+            updateAutoCompleteText(0);
+            renderInputLine(statementBuffer.getPendingCode());
+        }
+        //Other control chars are ignored
+    }
+
+    private void handleEscapeSequence() throws InterruptedException {
+        Integer c = inputQueue.poll(ESCAPE_SEQUENCE_TIMEOUT, TimeUnit.MILLISECONDS);
+        if(c == null || (c != '[' && c != 'O')) {
+            if(c != null && c == END_OF_INPUT)
+                inputQueue.add(END_OF_INPUT);
+
+            return;
+        }
+
+        //Read until final byte of the control sequence (Parameters like in "ESC[3~" are ignored)
+        do {
+            c = inputQueue.poll(ESCAPE_SEQUENCE_TIMEOUT, TimeUnit.MILLISECONDS);
+            if(c == null)
+                return;
+
+            if(c == END_OF_INPUT) {
+                inputQueue.add(END_OF_INPUT);
+
+                return;
+            }
+        }while(c < 0x40 || c > 0x7E);
+
+        switch(c.intValue()) {
+            case 'A':
+                showPreviousHistoryEntry();
+                break;
+            case 'B':
+                showNextHistoryEntry();
+                break;
+            case 'Z': //SHIFT + TAB
+                updateAutoCompleteText(autoCompletePos - 1);
+                renderInputLine(statementBuffer.getPendingCode());
+                break;
+        }
+    }
+
+    private void showPreviousHistoryEntry() {
+        if(!history.hasPrevious())
+            return;
+
+        String currentInput = history.isBrowsing()?null:statementBuffer.getPendingCode() + lineTmp;
+        showInput(history.previous(currentInput));
+    }
+
+    private void showNextHistoryEntry() {
+        String historyRet = history.next();
+        if(historyRet != null)
+            showInput(historyRet);
+    }
+
+    /**
+     * Replaces all lines of the current statement with the input
+     */
+    private void showInput(String input) {
+        int lineCount = getPendingLineCount();
+        if(lineCount > 0)
+            out.print("\033[" + lineCount + "A");
+        out.print("\r" + ANSI_CLEAR_TO_END_OF_SCREEN);
+
+        statementBuffer.reset();
+        indent = 0;
+
+        String[] lines = input.split("\n", -1);
+        for(int i = 0;i < lines.length - 1;i++) {
+            lineTmp.delete(0, lineTmp.length());
+            lineTmp.append(lines[i]);
+            addLineWithoutExec();
+        }
+
+        lineTmp.delete(0, lineTmp.length());
+        lineTmp.append(lines[lines.length - 1]);
+        updateAutoCompleteText(0);
+        renderInputLine(statementBuffer.getPendingCode());
+    }
+
+    private int getPendingLineCount() {
+        String pendingCode = statementBuffer.getPendingCode();
+
+        int count = 0;
+        for(int i = 0;i < pendingCode.length();i++)
+            if(pendingCode.charAt(i) == '\n')
+                count++;
+
+        return count;
+    }
+
+    private void addLine() {
+        LangShellStatementBuffer.Result result = addLineWithoutExec();
+        if(result.isComplete()) {
+            history.add(result.getHistoryEntry());
+            executeCode(result.getCode());
+        }
+
+        updateAutoCompleteText(0);
+        renderInputLine(statementBuffer.getPendingCode());
+    }
+
+    /**
+     * Adds the line to the statement buffer and prints the line with the final indent
+     */
+    private LangShellStatementBuffer.Result addLineWithoutExec() {
+        String previousLines = statementBuffer.getPendingCode();
+        LangShellStatementBuffer.Result result = statementBuffer.addLine(lineTmp.toString());
+
+        //Remove the first indent from actual line
+        if(result.isRemoveIndentOfLine() && indent > 0)
+            indent--;
+
+        autoCompleteText = "";
+        renderInputLine(previousLines);
+        out.print("\n");
+        out.flush();
+
+        lineTmp.delete(0, lineTmp.length());
+        indent = result.getIndent();
+
+        return result;
+    }
+
+    private void executeCode(String code) {
+        flagRunning = true;
+        LangFlightRecorder.ExecEvent event = new LangFlightRecorder.ExecEvent();
+        event.begin(lii);
+        try {
+            LangExecutionStats.Recorder statsRecorder = shellFunctions.startExecStatsRecorder();
+            DataObject lastVal = lii.exec(code);
+            LangExecutionStats stats = statsRecorder == null?null:shellFunctions.addExecStats(statsRecorder.stop());
+
+            String output = shellFunctions.getAutoPrintOutput(lastVal, stats);
+            if(output != null)
+                print(output, AUTO_PRINT_COLOR);
+        }catch(IOException e) {
+            term.logStackTrace(e, LangTerminalShell.class);
+        }catch(LangInterpreter.StoppedException e) {
+            term.logStackTrace(e, LangTerminalShell.class);
+            lii.resetStopFlag();
+        }finally {
+            flagRunning = false;
+        }
+        event.commit(lii, "LangTerminalShell", code);
+
+        shellFunctions.updateDocumentationIndexIfOutdated();
+    }
+
+    private void updateAutoCompleteText(int autoCompletePos) {
+        autoCompleteText = "";
+        autoCompleteDeprecated = false;
+
+        List<LangShellAutoCompleter.AutoComplete> autoCompletes = autoCompleter.getAutoCompletes(lineTmp.toString());
+        if(autoCompletes.isEmpty()) {
+            this.autoCompletePos = 0;
+
+            return;
+        }
+
+        this.autoCompletePos = Math.max(-1, Math.min(autoCompletePos, autoCompletes.size()));
+        if(this.autoCompletePos >= 0 && this.autoCompletePos < autoCompletes.size()) {
+            LangShellAutoCompleter.AutoComplete autoComplete = autoCompletes.get(this.autoCompletePos);
+            autoCompleteText = autoComplete.getText();
+            autoCompleteDeprecated = autoComplete.isDeprecated();
+        }
+    }
+
+    /**
+     * Redraws the current input line with syntax highlighting and the auto complete text
+     *
+     * @param previousLines The already entered lines of the current statement which are used for the syntax highlighting
+     */
+    private void renderInputLine(String previousLines) {
+        StringBuilder builder = new StringBuilder("\r" + ANSI_CLEAR_TO_END_OF_LINE);
+        for(int i = 0;i < indent;i++)
+            builder.append("    ");
+        builder.append("> ");
+
+        String line = lineTmp.toString();
+        int highlightedLength = 0;
+        try {
+            List<LangShellSyntax.StyledRun> runs = syntax.highlightLine(previousLines, line);
+            if(runs != null) {
+                for(LangShellSyntax.StyledRun run:runs) {
+                    LangShellSyntax.Style style = run.getStyle();
+                    builder.append(ansiColor(new int[] {style.getRed(), style.getGreen(), style.getBlue()})).append(run.getText());
+                    highlightedLength += run.getText().length();
+                }
+                builder.append(ANSI_RESET);
+            }
+        }catch(IOException e) {
+            highlightedLength = 0;
+            builder.append(ANSI_RESET);
+        }
+        builder.append(line.substring(Math.min(highlightedLength, line.length())));
+
+        if(!autoCompleteText.isEmpty()) {
+            builder.append(ansiColor(autoCompleteDeprecated?DEPRECATED_AUTO_COMPLETE_COLOR:AUTO_COMPLETE_COLOR)).append(autoCompleteText).append(ANSI_RESET);
+
+            //Move cursor back to the end of the input
+            builder.append("\033[").append(autoCompleteText.length()).append("D");
+        }
+
+        out.print(builder);
+        out.flush();
+    }
+
+    private void printWelcomeText() {
+        print("Lang-Shell", WELCOME_COLOR);
+        print(" - Press CTRL + C for cancelling execution or for exiting!\n" +
+                "• Press CTRL + D in an empty line for exiting\n" +
+                "• Press UP and DOWN for scrolling through the history\n" +
+                "• Press TAB and SHIFT + TAB for scrolling trough auto complete texts\n" +
+                "    ◦ Press ENTER for accepting the auto complete text\n" +
+                "• Press CTRL + L to clear the screen\n" +
+                "• Use func.printHelp() to get information about LangShell functions\n", null);
+    }
+
+    private void end() {
+        flagEnd = true;
+
+        print("Translation map:\n", null);
+        Map<String, String> lang = lii.getTranslationMap();
+        lang.forEach((key, value) -> {
+            term.logln(Level.DEBUG, key + " = " + value, LangTerminalShell.class);
+        });
+
+        boolean isThrowValue = lii.isReturnedValueThrowValue();
+        DataObject retValue = lii.getAndResetReturnValue();
+        if(isThrowValue) {
+            print("Throw Value:\n", null);
+            term.logf(Level.DEBUG, "Error code: \"%d\"\nError message: \"%s\"\n", LangTerminalShell.class, retValue.getError().getErrno(), retValue.getError().getErrtxt());
+        }else {
+            print("Returned Value:\n", null);
+            if(retValue == null)
+                term.logln(Level.DEBUG, "No returned value", LangTerminalShell.class);
+            else
+                term.logf(Level.DEBUG, "Returned Value: \"%s\"\n", LangTerminalShell.class,
+                        lii.getInterpreter().conversions.toText(retValue, CodePosition.EMPTY));
+        }
+    }
+
+    /**
+     * @param color The RGB color of the text or null for the default color (The color is ignored if the terminal is not in raw mode)
+     */
+    private void print(String text, int[] color) {
+        if(flagRawMode && color != null)
+            out.print(ansiColor(color) + text + ANSI_RESET);
+        else
+            out.print(text);
+
+        out.flush();
+    }
+
+    private static String ansiColor(int[] color) {
+        return "\033[38;2;" + color[0] + ";" + color[1] + ";" + color[2] + "m";
+    }
+
+    /**
+     * @return true if the terminal was switched to raw mode
+     */
+    private boolean enableRawMode() {
+        if(System.console() == null)
+            return false;
+
+        try {
+            oldTerminalSettings = stty("-g").trim();
+            stty("-icanon -echo -isig min 1");
+
+            return true;
+        }catch(IOException e) {
+            return false;
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+
+    private synchronized void disableRawMode() {
+        if(oldTerminalSettings == null)
+            return;
+
+        try {
+            stty(oldTerminalSettings);
+            oldTerminalSettings = null;
+        }catch(IOException e) {
+            out.println("The terminal settings could not be restored (Use \"stty sane\"): " + e.getMessage());
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String stty(String args) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("sh", "-c", "stty " + args + " < /dev/tty").redirectErrorStream(true).start();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(InputStream in = process.getInputStream()) {
+            byte[] buf = new byte[256];
+            int len;
+            while((len = in.read(buf)) != -1)
+                output.write(buf, 0, len);
+        }
+
+        if(process.waitFor() != 0)
+            throw new IOException("stty " + args + " failed: " + output.toString().trim());
+
+        return output.toString();
+    }
+}
@@ -6,6 +6,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -13,16 +14,24 @@ import java.util.stream.Collectors;
 
 import at.jddev0.lang.*;
 import me.jddev0.module.graphics.LangShellWindow;
+import me.jddev0.module.graphics.OutputBenchmark;
 import me.jddev0.module.graphics.TerminalWindow;
+import me.jddev0.module.lang.LangFlightRecorder;
+import me.jddev0.module.lang.LangHeadlessPlatformAPI;
+import me.jddev0.module.lang.LangNativeFunctions;
+import me.jddev0.module.lang.LangRunStats;
+import me.jddev0.module.terminal.LangTerminalShell;
 import at.jddev0.io.ReaderActionObject;
 import at.jddev0.io.TerminalIO;
 import at.jddev0.io.TerminalIO.Level;
 import at.jddev0.lang.LangInterpreter.LangInterpreterInterface;
 import at.jddev0.lang.platform.swing.LangPlatformAPI;
+import jdk.jfr.Recording;
 
 public class Startup {
     private static boolean is4k;
-    private static final ILangPlatformAPI langPlatformAPI = new LangPlatformAPI();
+    //Created for the selected mode: The Swing platform API must not be loaded by the headless modes
+    private static ILangPlatformAPI langPlatformAPI;
 
     public static void main(String[] args) {
         if(args.length > 0 && (!args[0].startsWith("-") || args[0].equals("-e") || args[0].startsWith("--") || args[0].startsWith("-h"))) {
@@ -58,6 +67,9 @@ public class Startup {
             boolean printTranslations = false;
             boolean printReturnedValue = false;
             boolean warnings = false;
+            boolean printStats = false;
+            boolean printStatsAsJSON = false;
+            String jfrFile = null;
             String[] langArgs = null;
 
             argument_processing_loop:
@@ -73,6 +85,25 @@ public class Startup {
                     case "-warnings":
                         warnings = true;
                         break;
+                    case "-stats":
+                        printStats = true;
+                        break;
+                    case "-statsJson":
+                        printStats = true;
+                        printStatsAsJSON = true;
+                        break;
+                    case "-jfr":
+                        if(i + 1 == args.length) {
+                            System.err.println("FILE argument for \"-jfr\" is missing");
+
+                            printHelp();
+
+                            System.exit(1);
+                            return;
+                        }
+
+                        jfrFile = args[++i];
+                        break;
                     case "-langArgs":
                     case "--":
                         langArgs = Arrays.copyOfRange(args, i + 1, args.length);
@@ -87,14 +118,92 @@ public class Startup {
                 }
             }
 
-            if(langFileExecution)
-                executeLangFile(args[0], printTranslations, printReturnedValue, warnings, langArgs);
-            else
-                executeLangCode(args[1], printTranslations, printReturnedValue, warnings, langArgs);
+            //The startup phase of the stats begins with the start of the JVM
+            LangRunStats.Recorder statsRecorder = printStats?LangRunStats.start():null;
+
+            Recording jfrRecording = null;
+            if(jfrFile != null) {
+                try {
+                    jfrRecording = LangFlightRecorder.startRecording(new File(jfrFile));
+                }catch(IOException|RuntimeException e) {
+                    System.err.printf("The JFR recording could not be started: %s\n", e.getMessage());
+
+                    System.exit(1);
+                    return;
+                }
+            }
+
+            langPlatformAPI = isHeadless()?new LangHeadlessPlatformAPI():new LangPlatformAPI();
+            try {
+                if(langFileExecution)
+                    executeLangFile(args[0], printTranslations, printReturnedValue, warnings, langArgs, statsRecorder);
+                else
+                    executeLangCode(args[1], printTranslations, printReturnedValue, warnings, langArgs, statsRecorder);
+            }finally {
+                if(jfrRecording != null)
+                    LangFlightRecorder.stopRecording(jfrRecording);
+            }
+
+            if(statsRecorder != null) {
+                LangRunStats stats = statsRecorder.stop();
+                System.err.println(printStatsAsJSON?stats.toJSON():"----------------- Stats ------------------\n" + stats);
+            }
+
+            return;
+        }
+
+        if(args.length > 0 && args[0].equals("-shell")) {
+            //The LangShell in the OS shell must not initialize AWT
+            System.setProperty("java.awt.headless", "true");
+
+            String[] langArgs = null;
+            if(args.length > 1) {
+                if(!args[1].equals("-langArgs") && !args[1].equals("--")) {
+                    System.err.printf("Unknown argument \"%s\" for \"-shell\"\n", args[1]);
+
+                    printHelp();
+
+                    System.exit(1);
+                    return;
+                }
+
+                langArgs = Arrays.copyOfRange(args, 2, args.length);
+            }
+
+            new LangTerminalShell(langArgs).run();
 
             return;
         }
 
+        if(args.length > 0 && args[0].equals("-benchmarkOutput")) {
+            //The output path is benchmarked without any window
+            System.setProperty("java.awt.headless", "true");
+
+            long charsPerRun = 2000000;
+            if(args.length > 1) {
+                try {
+                    charsPerRun = Long.parseLong(args[1]);
+                }catch(NumberFormatException e) {
+                    charsPerRun = -1;
+                }
+
+                if(charsPerRun < 1 || args.length > 2) {
+                    System.err.printf("Invalid arguments \"%s\" for \"-benchmarkOutput\"\n", String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+
+                    printHelp();
+
+                    System.exit(1);
+                    return;
+                }
+            }
+
+            new OutputBenchmark(System.out, charsPerRun).run();
+
+            return;
+        }
+
+        langPlatformAPI = new LangPlatformAPI();
+
         //Check if main monitor has a screen size larger than 1440p
         Dimension dim = Toolkit.getDefaultToolkit().getScreenSize();
         is4k = dim.height > 1440;
@@ -134,7 +243,7 @@ public class Startup {
             String[] langArgs = Arrays.copyOfRange(input, langFileIndex + 1, input.length);
             try {
                 term.logln(Level.DEBUG, "------------- Start of Lang --------------", Startup.class);
-                LangInterpreterInterface lii = Lang.createInterpreterInterface(input[langFileIndex], false, term, langPlatformAPI, errorOutput, langArgs);
+                LangInterpreterInterface lii = executeLangFileRecorded(lang, () -> createLangFileInterpreter(input[langFileIndex], term, errorOutput, langArgs));
                 Map<String, String> translations = lii.getTranslationMap();
                 term.logln(Level.DEBUG, "-------------- Translations --------------", Startup.class);
                 translations.forEach((key, value) -> {
@@ -265,6 +374,22 @@ public class Startup {
         }
     }
 
+    /**
+     * Checks if there is no display without loading AWT (Like GraphicsEnvironment.isHeadless(), but Wayland displays are detected as well)
+     */
+    private static boolean isHeadless() {
+        String headless = System.getProperty("java.awt.headless");
+        if(headless != null)
+            return Boolean.parseBoolean(headless);
+
+        String osName = System.getProperty("os.name", "");
+        if(osName.startsWith("Windows") || osName.startsWith("Mac"))
+            return false;
+
+        //Wayland sessions without XWayland do not set DISPLAY
+        return System.getenv("DISPLAY") == null && System.getenv("WAYLAND_DISPLAY") == null;
+    }
+
     private static int getFontSize() {
         return is4k?24:12;
     }
@@ -274,7 +399,7 @@ public class Startup {
         System.out.println("================================");
         System.out.println("Interprets Lang code & files");
         System.out.println();
-        System.out.println("Usage: lang COMMAND [ARGs]... | lang -log COMMAND [ARGs]... | lang -e CODE [EXECUTION_ARGs]... [LANG_ARGs]... | lang FILE [EXECUTION_ARGs]... [LANG_ARGs]...");
+        System.out.println("Usage: lang COMMAND [ARGs]... | lang -log COMMAND [ARGs]... | lang -shell [-langArgs LANG_ARGs]... | lang -benchmarkOutput [CHARS_PER_RUN] | lang -e CODE [EXECUTION_ARGs]... [LANG_ARGs]... | lang FILE [EXECUTION_ARGs]... [LANG_ARGs]...");
         System.out.println();
         System.out.println("COMMANDs");
         System.out.println("--------");
@@ -283,6 +408,8 @@ public class Startup {
         System.out.println("    -printAST -FILE                   Prints the AST of a Lang file to standard output");
         System.out.println("    -printTokens -FILE                Prints the tokens of a Lang file to standard output");
         System.out.println("    -startShell                       Opens the \"LangShell\" (REPL) window");
+        System.out.println("    -shell [-langArgs LANG_ARGs]...   Starts the \"LangShell\" (REPL) directly in the OS shell without any window");
+        System.out.println("    -benchmarkOutput [CHARS_PER_RUN]  Benchmarks the output path of the windows without any window (Default: 2000000 chars per run)");
         System.out.println("    -toogle4k                         Changes the fontSize");
         System.out.println("    -printHelp                        Prints this help page");
         System.out.println("    -clear                            Clears the output of the \"TermIO-Control\" window");
@@ -302,24 +429,47 @@ public class Startup {
         System.out.println("    -printTranslations                Prints all Translations after the execution of the Lang file finished to standard output");
         System.out.println("    -printReturnedValue               Prints the returned or thrown value of the Lang file if any");
         System.out.println("    -warnings                         Enables the output of warnings which occur");
+        System.out.println("    -stats                            Prints the wall time (Startup and execute phase), an estimate of the parse time, CPU time, allocated bytes, GC activity, and peak memory usage and thread count to standard error");
+        System.out.println("    -statsJson                        Same as \"-stats\", but prints the stats as a single JSON line");
+        System.out.println("    -jfr FILE                         Records the execution with the Java Flight Recorder (Including Lang events) to FILE");
         System.out.println("    -langArgs                         Indicates the start of the Lang args arguments (Everything after this argument will be interpreted as Lang args)");
         System.out.println("    --                                Alias for \"-langArgs\"");
     }
 
-    private static void executeLangCode(String langCode, boolean printTranslations, boolean printReturnedValue, boolean warnings, String[] langArgs) {
+    /**
+     * @param statsRecorder Records the phases of the execution if not null
+     */
+    private static void executeLangCode(String langCode, boolean printTranslations, boolean printReturnedValue, boolean warnings, String[] langArgs,
+                                        LangRunStats.Recorder statsRecorder) {
         try {
             LangInterpreterInterface lii = Lang.createInterpreterInterface(null, langPlatformAPI, langArgs);
             if(warnings)
                 lii.setErrorOutputFlag(LangInterpreter.ExecutionFlags.ErrorOutputFlag.ALL);
+            LangNativeFunctions.addNativeFunctions(lii, langPlatformAPI);
+
+            if(statsRecorder != null) {
+                //The interpreter parses and executes the code in a single call: The code is parsed separately for estimating the parse time
+                statsRecorder.startParseEstimate();
+                new LangParser().parseLines(new BufferedReader(new StringReader(langCode)));
+                statsRecorder.stopParseEstimate();
+                statsRecorder.startExecution();
+            }
 
+            LangFlightRecorder.ExecEvent event = new LangFlightRecorder.ExecEvent();
+            event.begin(lii);
             lii.exec(langCode);
+            event.commit(lii, "-e", langCode);
             printPostExecutionOutput(lii, printTranslations, printReturnedValue);
         }catch(IOException e) {
             e.printStackTrace();
         }
     }
 
-    private static void executeLangFile(String langFile, boolean printTranslations, boolean printReturnedValue, boolean warnings, String[] langArgs) {
+    /**
+     * @param statsRecorder Records the phases of the execution if not null
+     */
+    private static void executeLangFile(String langFile, boolean printTranslations, boolean printReturnedValue, boolean warnings, String[] langArgs,
+                                        LangRunStats.Recorder statsRecorder) {
         File lang = new File(langFile);
         if(!lang.exists()) {
             System.err.printf("The Lang file %s wasn't found!\n", langFile);
@@ -329,13 +479,66 @@ public class Startup {
 
         LangInterpreter.ExecutionFlags.ErrorOutputFlag errorOutput = warnings?LangInterpreter.ExecutionFlags.ErrorOutputFlag.ALL:null;
         try {
-            LangInterpreterInterface lii = Lang.createInterpreterInterface(langFile, false, null, langPlatformAPI, errorOutput, langArgs);
+            if(statsRecorder != null) {
+                //The interpreter is created and executes the file in a single call: The file is parsed separately for estimating the parse time
+                statsRecorder.startParseEstimate();
+                try(BufferedReader reader = new BufferedReader(new FileReader(lang))) {
+                    new LangParser().parseLines(reader);
+                }finally {
+                    statsRecorder.stopParseEstimate();
+                }
+                statsRecorder.startExecution();
+            }
+
+            LangInterpreterInterface lii = executeLangFileRecorded(lang, () -> createLangFileInterpreter(langFile, null, errorOutput, langArgs));
             printPostExecutionOutput(lii, printTranslations, printReturnedValue);
         }catch(IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Emits a JFR event for the execution of the Lang file
+     */
+    private static LangInterpreterInterface executeLangFileRecorded(File langFile, LangFileExecution execution) throws IOException {
+        LangFlightRecorder.FileExecutionEvent event = new LangFlightRecorder.FileExecutionEvent();
+        event.begin();
+        try {
+            return execution.execute();
+        }finally {
+            if(event.shouldCommit()) {
+                event.fileName = langFile.getPath();
+                event.fileSize = langFile.length();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Creates the interpreter before the file is executed: Lang.createInterpreterInterface() executes the file immediately, which would
+     * not allow adding the predefined functions of the LangShell (e.g. func.memoize())
+     */
+    private static LangInterpreterInterface createLangFileInterpreter(String langFile, TerminalIO term,
+                                                                      LangInterpreter.ExecutionFlags.ErrorOutputFlag errorOutput, String[] langArgs) throws IOException {
+        LangInterpreter interpreter = new LangInterpreter(langPlatformAPI.getLangPath(langFile), langPlatformAPI.getLangFileName(langFile),
+                term, langPlatformAPI, langArgs);
+        LangInterpreterInterface lii = new LangInterpreterInterface(interpreter);
+        if(errorOutput != null)
+            lii.setErrorOutputFlag(errorOutput);
+        LangNativeFunctions.addNativeFunctions(lii, langPlatformAPI);
+
+        try(BufferedReader reader = langPlatformAPI.getLangReader(langFile)) {
+            interpreter.interpretLines(reader);
+        }
+
+        return lii;
+    }
+
+    @FunctionalInterface
+    private interface LangFileExecution {
+        LangInterpreterInterface execute() throws IOException;
+    }
+
     private static void printPostExecutionOutput(LangInterpreterInterface lii, boolean printTranslations, boolean printReturnedValue) {
         if(printTranslations) {
             Map<String, String> translations = lii.getTranslationMap();